@@ -158,6 +158,7 @@ compressor
     | SNAPPY
     | LZ4
     | GZIP
+    | ZSTD
     ;
 
 attributeClause
@@ -638,7 +639,7 @@ dateExpression
     ;
 
 encoding
-    : PLAIN | DICTIONARY | RLE | DIFF | TS_2DIFF | GORILLA | REGULAR
+    : PLAIN | DICTIONARY | RLE | DIFF | TS_2DIFF | GORILLA | REGULAR | FRONT_CODING | FSST
     ;
 
 realLiteral
@@ -888,6 +889,14 @@ REGULAR
     : R E G U L A R
     ;
 
+FRONT_CODING
+    : F R O N T '_' C O D I N G
+    ;
+
+FSST
+    : F S S T
+    ;
+
 BITMAP
     : B I T M A P
     ;
@@ -1128,6 +1137,10 @@ LZ4
    : L Z '4' 
    ;
 
+ZSTD
+   : Z S T D
+   ;
+
 LATEST
     : L A T E S T
     ;
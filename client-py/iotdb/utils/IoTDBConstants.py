@@ -40,6 +40,8 @@ class TSEncoding(Enum):
     GORILLA_V1 = 6
     REGULAR = 7
     GORILLA = 8
+    FRONT_CODING = 9
+    FSST = 10
 
 @unique
 class Compressor(Enum):
@@ -51,3 +53,4 @@ class Compressor(Enum):
     PAA = 5
     PLA = 6
     LZ4 = 7
+    ZSTD = 8
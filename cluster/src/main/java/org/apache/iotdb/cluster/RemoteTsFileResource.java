@@ -45,6 +45,12 @@ public class RemoteTsFileResource extends TsFileResource {
    */
   private boolean isPlanRangeUnique = false;
 
+  /**
+   * The length of the TsFile when the snapshot is taken, -1 if unknown. As the file is closed, the
+   * receiver can use it to check if the file is completely downloaded.
+   */
+  private long tsFileLength = -1;
+
   public RemoteTsFileResource() {
     setClosed(true);
     this.timeIndex = IoTDBDescriptor.getInstance().getConfig().getTimeIndexLevel().getTimeIndex();
@@ -53,6 +59,7 @@ public class RemoteTsFileResource extends TsFileResource {
   private RemoteTsFileResource(TsFileResource other) throws IOException {
     super(other);
     withModification = new File(getModFile().getFilePath()).exists();
+    tsFileLength = getTsFile().length();
     setClosed(true);
   }
 
@@ -96,6 +103,7 @@ public class RemoteTsFileResource extends TsFileResource {
       dataOutputStream.writeLong(minPlanIndex);
 
       dataOutputStream.writeByte(isPlanRangeUnique ? 1 : 0);
+      dataOutputStream.writeLong(tsFileLength);
     } catch (IOException ignored) {
       // unreachable
     }
@@ -119,6 +127,7 @@ public class RemoteTsFileResource extends TsFileResource {
     minPlanIndex = buffer.getLong();
 
     isPlanRangeUnique = buffer.get() == 1;
+    tsFileLength = buffer.getLong();
 
     isRemote = true;
   }
@@ -146,4 +155,8 @@ public class RemoteTsFileResource extends TsFileResource {
   public void setPlanRangeUnique(boolean planRangeUnique) {
     isPlanRangeUnique = planRangeUnique;
   }
+
+  public long getTsFileLength() {
+    return tsFileLength;
+  }
 }
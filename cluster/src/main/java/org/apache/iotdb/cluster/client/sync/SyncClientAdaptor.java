@@ -28,14 +28,17 @@ import org.apache.iotdb.cluster.rpc.thrift.CheckStatusResponse;
 import org.apache.iotdb.cluster.rpc.thrift.ExecutNonQueryReq;
 import org.apache.iotdb.cluster.rpc.thrift.GetAggrResultRequest;
 import org.apache.iotdb.cluster.rpc.thrift.GetAllPathsResult;
+import org.apache.iotdb.cluster.rpc.thrift.GetMultSeriesAggrResultRequest;
 import org.apache.iotdb.cluster.rpc.thrift.GroupByRequest;
 import org.apache.iotdb.cluster.rpc.thrift.LastQueryRequest;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
 import org.apache.iotdb.cluster.rpc.thrift.PreviousFillRequest;
+import org.apache.iotdb.cluster.rpc.thrift.PullFileInfo;
 import org.apache.iotdb.cluster.rpc.thrift.PullSchemaRequest;
 import org.apache.iotdb.cluster.rpc.thrift.PullSnapshotRequest;
 import org.apache.iotdb.cluster.rpc.thrift.RaftService.AsyncClient;
 import org.apache.iotdb.cluster.rpc.thrift.SingleSeriesQueryRequest;
+import org.apache.iotdb.cluster.rpc.thrift.SlotLoads;
 import org.apache.iotdb.cluster.rpc.thrift.StartUpStatus;
 import org.apache.iotdb.cluster.rpc.thrift.TNodeStatus;
 import org.apache.iotdb.cluster.server.RaftServer;
@@ -105,6 +108,37 @@ public class SyncClientAdaptor {
     return responseRef.get();
   }
 
+  public static Long migrateSlots(
+      AsyncMetaClient asyncMetaClient, Map<Integer, Node> slotNewHeaders)
+      throws TException, InterruptedException {
+    AtomicReference<Long> responseRef = new AtomicReference<>();
+    GenericHandler<Long> handler = new GenericHandler<>(asyncMetaClient.getNode(), responseRef);
+    asyncMetaClient.migrateSlots(slotNewHeaders, handler);
+    synchronized (responseRef) {
+      if (responseRef.get() == null) {
+        responseRef.wait(RaftServer.getConnectionTimeoutInMS());
+      }
+    }
+    return responseRef.get();
+  }
+
+  public static List<SlotLoads> getSlotLoads(AsyncMetaClient client)
+      throws TException, InterruptedException {
+    AtomicReference<List<SlotLoads>> resultRef = new AtomicReference<>();
+    GenericHandler<List<SlotLoads>> handler = new GenericHandler<>(client.getNode(), resultRef);
+
+    client.getSlotLoads(handler);
+    synchronized (resultRef) {
+      if (resultRef.get() == null) {
+        resultRef.wait(RaftServer.getReadOperationTimeoutMS());
+      }
+    }
+    if (handler.getException() != null) {
+      throw new TException(handler.getException());
+    }
+    return resultRef.get();
+  }
+
   public static Boolean matchTerm(
       AsyncClient client, Node target, long prevLogIndex, long prevLogTerm, Node header)
       throws TException, InterruptedException {
@@ -337,6 +371,17 @@ public class SyncClientAdaptor {
     return resultReference.get();
   }
 
+  public static List<ByteBuffer> getMultSeriesAggrResult(
+      AsyncDataClient client, GetMultSeriesAggrResultRequest request)
+      throws TException, InterruptedException {
+    AtomicReference<List<ByteBuffer>> resultReference = new AtomicReference<>();
+    GenericHandler<List<ByteBuffer>> handler =
+        new GenericHandler<>(client.getNode(), resultReference);
+
+    client.getMultSeriesAggrResult(request, handler);
+    return handler.getResult(RaftServer.getReadOperationTimeoutMS());
+  }
+
   public static List<String> getUnregisteredMeasurements(
       AsyncDataClient client, Node header, List<String> seriesPaths)
       throws TException, InterruptedException {
@@ -444,6 +489,15 @@ public class SyncClientAdaptor {
     return handler.getResult(RaftServer.getWriteOperationTimeoutMS());
   }
 
+  public static PullFileInfo getPullFileInfo(AsyncDataClient client, String remotePath)
+      throws InterruptedException, TException {
+    AtomicReference<PullFileInfo> result = new AtomicReference<>();
+    GenericHandler<PullFileInfo> handler = new GenericHandler<>(client.getNode(), result);
+
+    client.getPullFileInfo(remotePath, handler);
+    return handler.getResult(RaftServer.getWriteOperationTimeoutMS());
+  }
+
   public static List<ByteBuffer> getGroupByResult(
       AsyncDataClient client, Node header, long executorId, long curStartTime, long curEndTime)
       throws InterruptedException, TException {
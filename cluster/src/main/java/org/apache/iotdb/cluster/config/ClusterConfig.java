@@ -64,6 +64,21 @@ public class ClusterConfig {
 
   private boolean useBatchInLogCatchUp = true;
 
+  /**
+   * max number of batched AppendEntries requests that a leader sends to a follower without waiting
+   * for their responses, only takes effect when the async server is used.
+   */
+  private int maxAppendEntriesInFlight = 8;
+
+  /**
+   * whether the log dispatcher adapts the number of logs in a batched AppendEntries request to the
+   * observed round-trip time and the lag of each follower.
+   */
+  private boolean enableAdaptiveLogBatch = true;
+
+  /** whether the logs in a batched AppendEntries request are compressed with Snappy together. */
+  @ClusterConsistent private boolean enableLogBatchCompression = false;
+
   /** max number of committed logs to be saved */
   private int minNumOfLogsInMem = 1000;
 
@@ -103,6 +118,13 @@ public class ClusterConfig {
 
   private boolean enableRaftLogPersistence = true;
 
+  /**
+   * Whether the data inserted by applying the Raft logs of data groups skip the WAL of the storage
+   * engine. The Raft logs are then kept until the data they inserted are flushed, and they are
+   * applied again after a restart. Only takes effect when the Raft log persistence is enabled.
+   */
+  private boolean enableRaftLogAsWal = false;
+
   private int flushRaftLogThreshold = 10000;
 
   /**
@@ -125,6 +147,45 @@ public class ClusterConfig {
 
   private int pullSnapshotRetryIntervalMs = (int) TimeUnit.SECONDS.toMillis(5);
 
+  /** The maximum number of remote files a node pulls concurrently when installing snapshots. */
+  private int maxConcurrentFilePulls = 4;
+
+  /**
+   * The port on which the node sends files to the nodes pulling them with zero copy, 0 means a free
+   * port is chosen and a negative value disables it, see FileTransferService.
+   */
+  private int internalFileTransferPort = 0;
+
+  /** The number of bytes fetched by one request when pulling a remote file. */
+  private int filePullFetchSize = 1024 * 1024;
+
+  /**
+   * The total throughput of pulling remote files on a node in MB/s, 0 means no limit. Bounding it
+   * keeps the catch-up of a new node from exhausting the network or disks of the serving nodes.
+   */
+  private int filePullThroughputMbPerSec = 0;
+
+  /** The maximum number of slots moved by one load rebalance. */
+  private int maxSlotsPerRebalance = 16;
+
+  /**
+   * The minimum interval between two load rebalances applied by the meta leader, so the slots moved
+   * by the last one are pulled before more are moved.
+   */
+  private long slotRebalanceIntervalMs = 10 * 60 * 1000L;
+
+  /**
+   * A load rebalance only moves slots away from the data groups loaded more than this percentage
+   * above the average.
+   */
+  private int slotRebalanceImbalancePercent = 20;
+
+  /**
+   * The max number of batches a remote series reader fetches ahead of the query consuming them, 0
+   * means a batch is only fetched when the query needs it.
+   */
+  private int maxPrefetchBatches = 4;
+
   /**
    * The maximum value of the raft log index stored in the memory per raft group, These indexes are
    * used to index the location of the log on the disk
@@ -167,6 +228,19 @@ public class ClusterConfig {
    */
   private long maxReadLogLag = 1000L;
 
+  /**
+   * When set to true, a leader serves STRONG/MID consistency reads locally only while a majority of
+   * its group acknowledged its heartbeats within the lease, and a follower rejects elections while
+   * its leader is still online, so that no other leader can be elected during the lease.
+   */
+  private boolean enableLeaderLeaseRead = false;
+
+  /**
+   * When set to true, the concurrent reads of a follower share one request of the leader's commit
+   * index instead of sending a request each.
+   */
+  private boolean enableBatchedReadIndex = true;
+
   private boolean openServerRpcPort = false;
 
   /**
@@ -204,6 +278,30 @@ public class ClusterConfig {
     this.useBatchInLogCatchUp = useBatchInLogCatchUp;
   }
 
+  public int getMaxAppendEntriesInFlight() {
+    return maxAppendEntriesInFlight;
+  }
+
+  public void setMaxAppendEntriesInFlight(int maxAppendEntriesInFlight) {
+    this.maxAppendEntriesInFlight = maxAppendEntriesInFlight;
+  }
+
+  public boolean isEnableAdaptiveLogBatch() {
+    return enableAdaptiveLogBatch;
+  }
+
+  public void setEnableAdaptiveLogBatch(boolean enableAdaptiveLogBatch) {
+    this.enableAdaptiveLogBatch = enableAdaptiveLogBatch;
+  }
+
+  public boolean isEnableLogBatchCompression() {
+    return enableLogBatchCompression;
+  }
+
+  public void setEnableLogBatchCompression(boolean enableLogBatchCompression) {
+    this.enableLogBatchCompression = enableLogBatchCompression;
+  }
+
   public int getInternalMetaPort() {
     return internalMetaPort;
   }
@@ -348,6 +446,14 @@ public class ClusterConfig {
     this.enableRaftLogPersistence = enableRaftLogPersistence;
   }
 
+  public boolean isEnableRaftLogAsWal() {
+    return enableRaftLogAsWal;
+  }
+
+  public void setEnableRaftLogAsWal(boolean enableRaftLogAsWal) {
+    this.enableRaftLogAsWal = enableRaftLogAsWal;
+  }
+
   public boolean isUseAsyncApplier() {
     return useAsyncApplier;
   }
@@ -396,6 +502,70 @@ public class ClusterConfig {
     this.pullSnapshotRetryIntervalMs = pullSnapshotRetryIntervalMs;
   }
 
+  public int getMaxConcurrentFilePulls() {
+    return maxConcurrentFilePulls;
+  }
+
+  public void setMaxConcurrentFilePulls(int maxConcurrentFilePulls) {
+    this.maxConcurrentFilePulls = maxConcurrentFilePulls;
+  }
+
+  public int getInternalFileTransferPort() {
+    return internalFileTransferPort;
+  }
+
+  public void setInternalFileTransferPort(int internalFileTransferPort) {
+    this.internalFileTransferPort = internalFileTransferPort;
+  }
+
+  public int getFilePullFetchSize() {
+    return filePullFetchSize;
+  }
+
+  public void setFilePullFetchSize(int filePullFetchSize) {
+    this.filePullFetchSize = filePullFetchSize;
+  }
+
+  public int getFilePullThroughputMbPerSec() {
+    return filePullThroughputMbPerSec;
+  }
+
+  public void setFilePullThroughputMbPerSec(int filePullThroughputMbPerSec) {
+    this.filePullThroughputMbPerSec = filePullThroughputMbPerSec;
+  }
+
+  public int getMaxSlotsPerRebalance() {
+    return maxSlotsPerRebalance;
+  }
+
+  public void setMaxSlotsPerRebalance(int maxSlotsPerRebalance) {
+    this.maxSlotsPerRebalance = maxSlotsPerRebalance;
+  }
+
+  public long getSlotRebalanceIntervalMs() {
+    return slotRebalanceIntervalMs;
+  }
+
+  public void setSlotRebalanceIntervalMs(long slotRebalanceIntervalMs) {
+    this.slotRebalanceIntervalMs = slotRebalanceIntervalMs;
+  }
+
+  public int getSlotRebalanceImbalancePercent() {
+    return slotRebalanceImbalancePercent;
+  }
+
+  public void setSlotRebalanceImbalancePercent(int slotRebalanceImbalancePercent) {
+    this.slotRebalanceImbalancePercent = slotRebalanceImbalancePercent;
+  }
+
+  public int getMaxPrefetchBatches() {
+    return maxPrefetchBatches;
+  }
+
+  public void setMaxPrefetchBatches(int maxPrefetchBatches) {
+    this.maxPrefetchBatches = maxPrefetchBatches;
+  }
+
   public int getMaxRaftLogIndexSizeInMemory() {
     return maxRaftLogIndexSizeInMemory;
   }
@@ -464,6 +634,22 @@ public class ClusterConfig {
     this.maxReadLogLag = maxReadLogLag;
   }
 
+  public boolean isEnableLeaderLeaseRead() {
+    return enableLeaderLeaseRead;
+  }
+
+  public void setEnableLeaderLeaseRead(boolean enableLeaderLeaseRead) {
+    this.enableLeaderLeaseRead = enableLeaderLeaseRead;
+  }
+
+  public boolean isEnableBatchedReadIndex() {
+    return enableBatchedReadIndex;
+  }
+
+  public void setEnableBatchedReadIndex(boolean enableBatchedReadIndex) {
+    this.enableBatchedReadIndex = enableBatchedReadIndex;
+  }
+
   public String getInternalIp() {
     return internalIp;
   }
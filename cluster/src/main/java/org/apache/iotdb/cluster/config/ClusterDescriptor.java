@@ -195,6 +195,23 @@ public class ClusterDescriptor {
             properties.getProperty(
                 "use_batch_in_catch_up", String.valueOf(config.isUseBatchInLogCatchUp()))));
 
+    config.setMaxAppendEntriesInFlight(
+        Integer.parseInt(
+            properties.getProperty(
+                "max_append_entries_in_flight",
+                String.valueOf(config.getMaxAppendEntriesInFlight()))));
+
+    config.setEnableAdaptiveLogBatch(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_adaptive_log_batch", String.valueOf(config.isEnableAdaptiveLogBatch()))));
+
+    config.setEnableLogBatchCompression(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_log_batch_compression",
+                String.valueOf(config.isEnableLogBatchCompression()))));
+
     config.setMinNumOfLogsInMem(
         Integer.parseInt(
             properties.getProperty(
@@ -243,6 +260,11 @@ public class ClusterDescriptor {
                 "is_enable_raft_log_persistence",
                 String.valueOf(config.isEnableRaftLogPersistence()))));
 
+    config.setEnableRaftLogAsWal(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_raft_log_as_wal", String.valueOf(config.isEnableRaftLogAsWal()))));
+
     config.setFlushRaftLogThreshold(
         Integer.parseInt(
             properties.getProperty(
@@ -293,6 +315,60 @@ public class ClusterDescriptor {
         Long.parseLong(
             properties.getProperty("max_read_log_lag", String.valueOf(config.getMaxReadLogLag()))));
 
+    config.setEnableLeaderLeaseRead(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_leader_lease_read", String.valueOf(config.isEnableLeaderLeaseRead()))));
+
+    config.setEnableBatchedReadIndex(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_batched_read_index", String.valueOf(config.isEnableBatchedReadIndex()))));
+
+    config.setMaxConcurrentFilePulls(
+        Integer.parseInt(
+            properties.getProperty(
+                "max_concurrent_file_pulls", String.valueOf(config.getMaxConcurrentFilePulls()))));
+
+    config.setInternalFileTransferPort(
+        Integer.parseInt(
+            properties.getProperty(
+                "internal_file_transfer_port",
+                String.valueOf(config.getInternalFileTransferPort()))));
+
+    config.setFilePullFetchSize(
+        Integer.parseInt(
+            properties.getProperty(
+                "file_pull_fetch_size", String.valueOf(config.getFilePullFetchSize()))));
+
+    config.setFilePullThroughputMbPerSec(
+        Integer.parseInt(
+            properties.getProperty(
+                "file_pull_throughput_mb_per_sec",
+                String.valueOf(config.getFilePullThroughputMbPerSec()))));
+
+    config.setMaxSlotsPerRebalance(
+        Integer.parseInt(
+            properties.getProperty(
+                "max_slots_per_rebalance", String.valueOf(config.getMaxSlotsPerRebalance()))));
+
+    config.setSlotRebalanceIntervalMs(
+        Long.parseLong(
+            properties.getProperty(
+                "slot_rebalance_interval_ms",
+                String.valueOf(config.getSlotRebalanceIntervalMs()))));
+
+    config.setSlotRebalanceImbalancePercent(
+        Integer.parseInt(
+            properties.getProperty(
+                "slot_rebalance_imbalance_percent",
+                String.valueOf(config.getSlotRebalanceImbalancePercent()))));
+
+    config.setMaxPrefetchBatches(
+        Integer.parseInt(
+            properties.getProperty(
+                "max_prefetch_batches", String.valueOf(config.getMaxPrefetchBatches()))));
+
     config.setMaxClientPerNodePerMember(
         Integer.parseInt(
             properties.getProperty(
@@ -55,7 +55,9 @@ import org.apache.iotdb.rpc.RpcUtils;
 import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.service.rpc.thrift.EndPoint;
 import org.apache.iotdb.service.rpc.thrift.TSStatus;
+import org.apache.iotdb.tsfile.utils.Pair;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,8 +65,19 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /** Coordinator of client non-query request */
 public class Coordinator {
@@ -78,6 +91,20 @@ public class Coordinator {
   /** router calculates the partition groups that a partitioned plan should be sent to */
   private ClusterPlanRouter router;
 
+  /**
+   * Forwards the sub-plans of a plan to different data groups at the same time. When all threads
+   * are busy, the sub-plan is forwarded by the caller itself, as it was done before.
+   */
+  private static final ExecutorService forwardPlanPool =
+      new ThreadPoolExecutor(
+          0,
+          Math.max(Runtime.getRuntime().availableProcessors() * 2, 4),
+          60L,
+          TimeUnit.SECONDS,
+          new SynchronousQueue<>(),
+          new BasicThreadFactory.Builder().namingPattern("ForwardPlan-%d").daemon(true).build(),
+          new ThreadPoolExecutor.CallerRunsPolicy());
+
   private static final String MSG_MULTIPLE_ERROR =
       "The following errors occurred when executing "
           + "the query, please retry or contact the DBA: ";
@@ -414,6 +441,22 @@ public class Coordinator {
     return result;
   }
 
+  /**
+   * Forward the sub-plans to their data groups at the same time, so the latency of a plan is that
+   * of the slowest group instead of the sum of all groups. The results are returned in the order
+   * they arrive, a group that does not answer within its timeout gets a TIME_OUT.
+   *
+   * @param planGroupMap sub-plan -> data group pairs
+   */
+  private Iterable<Pair<Map.Entry<PhysicalPlan, PartitionGroup>, TSStatus>>
+      forwardToGroupsConcurrently(Map<PhysicalPlan, PartitionGroup> planGroupMap) {
+    ForwardResultIterator resultIterator = new ForwardResultIterator();
+    for (Map.Entry<PhysicalPlan, PartitionGroup> entry : planGroupMap.entrySet()) {
+      resultIterator.submit(entry);
+    }
+    return () -> resultIterator;
+  }
+
   /**
    * forward each sub-plan to its corresponding data group, if some groups goes wrong, the error
    * messages from each group will be compacted into one string.
@@ -425,8 +468,10 @@ public class Coordinator {
     TSStatus tmpStatus;
     boolean allRedirect = true;
     EndPoint endPoint = null;
-    for (Map.Entry<PhysicalPlan, PartitionGroup> entry : planGroupMap.entrySet()) {
-      tmpStatus = forwardToSingleGroup(entry);
+    for (Pair<Map.Entry<PhysicalPlan, PartitionGroup>, TSStatus> result :
+        forwardToGroupsConcurrently(planGroupMap)) {
+      Map.Entry<PhysicalPlan, PartitionGroup> entry = result.left;
+      tmpStatus = result.right;
       if (tmpStatus.isSetRedirectNode()) {
         endPoint = tmpStatus.getRedirectNode();
       } else {
@@ -469,9 +514,11 @@ public class Coordinator {
     boolean isBatchFailure = false;
     EndPoint endPoint = null;
     int totalRowNum = 0;
-    // send sub-plans to each belonging data group and collect results
-    for (Map.Entry<PhysicalPlan, PartitionGroup> entry : planGroupMap.entrySet()) {
-      tmpStatus = forwardToSingleGroup(entry);
+    // send sub-plans to each belonging data group and collect results as they arrive
+    for (Pair<Map.Entry<PhysicalPlan, PartitionGroup>, TSStatus> result :
+        forwardToGroupsConcurrently(planGroupMap)) {
+      Map.Entry<PhysicalPlan, PartitionGroup> entry = result.left;
+      tmpStatus = result.right;
       logger.debug("{}: from {},{},{}", name, entry.getKey(), entry.getValue(), tmpStatus);
       noFailure = (tmpStatus.getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) && noFailure;
       isBatchFailure =
@@ -704,6 +751,87 @@ public class Coordinator {
     return thisNode;
   }
 
+  /** Gathers the results of the sub-plans forwarded by forwardToGroupsConcurrently(). */
+  private class ForwardResultIterator
+      implements Iterator<Pair<Map.Entry<PhysicalPlan, PartitionGroup>, TSStatus>> {
+
+    private final CompletionService<TSStatus> completionService =
+        new ExecutorCompletionService<>(forwardPlanPool);
+    private final Map<Future<TSStatus>, Map.Entry<PhysicalPlan, PartitionGroup>> pendingEntries =
+        new HashMap<>();
+    private final Map<Future<TSStatus>, Long> pendingDeadlines = new HashMap<>();
+
+    private void submit(Map.Entry<PhysicalPlan, PartitionGroup> entry) {
+      // forwardPlan() tries the nodes of a group one by one, each within the write timeout
+      long deadline =
+          System.currentTimeMillis()
+              + (long) RaftServer.getWriteOperationTimeoutMS() * entry.getValue().size();
+      Future<TSStatus> future = completionService.submit(() -> forwardToSingleGroup(entry));
+      pendingEntries.put(future, entry);
+      pendingDeadlines.put(future, deadline);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !pendingEntries.isEmpty();
+    }
+
+    @Override
+    public Pair<Map.Entry<PhysicalPlan, PartitionGroup>, TSStatus> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      while (true) {
+        Future<TSStatus> earliest = null;
+        for (Map.Entry<Future<TSStatus>, Long> deadlineEntry : pendingDeadlines.entrySet()) {
+          if (earliest == null || deadlineEntry.getValue() < pendingDeadlines.get(earliest)) {
+            earliest = deadlineEntry.getKey();
+          }
+        }
+        long waitTime = pendingDeadlines.get(earliest) - System.currentTimeMillis();
+        Future<TSStatus> done;
+        try {
+          done = completionService.poll(Math.max(waitTime, 0), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          logger.warn("{}: interrupted when waiting for {}", name, pendingEntries.get(earliest));
+          earliest.cancel(true);
+          return new Pair<>(removePending(earliest), StatusUtils.TIME_OUT);
+        }
+        if (done == null) {
+          // stop the forwarding so it does not hold a thread of the pool after being reported
+          earliest.cancel(true);
+          Map.Entry<PhysicalPlan, PartitionGroup> entry = removePending(earliest);
+          logger.warn("{}: forward {} to {} timed out", name, entry.getKey(), entry.getValue());
+          return new Pair<>(entry, StatusUtils.TIME_OUT);
+        }
+        if (!pendingEntries.containsKey(done)) {
+          // the group has already been regarded as timed out
+          continue;
+        }
+        return new Pair<>(removePending(done), getStatus(done));
+      }
+    }
+
+    private Map.Entry<PhysicalPlan, PartitionGroup> removePending(Future<TSStatus> future) {
+      pendingDeadlines.remove(future);
+      return pendingEntries.remove(future);
+    }
+
+    private TSStatus getStatus(Future<TSStatus> done) {
+      try {
+        return done.get();
+      } catch (ExecutionException e) {
+        logger.error("{}: cannot forward a sub-plan", name, e.getCause());
+        return StatusUtils.getStatus(
+            StatusUtils.EXECUTE_STATEMENT_ERROR, e.getCause().getMessage());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return StatusUtils.TIME_OUT;
+      }
+    }
+  }
+
   /**
    * Get a thrift client that will connect to "node" using the data port.
    *
@@ -58,7 +58,8 @@ public abstract class Log implements Comparable<Log> {
     CLOSE_FILE,
     REMOVE_NODE,
     EMPTY_CONTENT,
-    TEST_LARGE_CONTENT
+    TEST_LARGE_CONTENT,
+    MIGRATE_SLOTS
   }
 
   public long getCurrLogIndex() {
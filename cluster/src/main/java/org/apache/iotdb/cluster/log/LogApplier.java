@@ -31,5 +31,17 @@ public interface LogApplier {
    */
   void apply(Log log);
 
+  /**
+   * Some appliers may apply logs without persisting their effects immediately (e.g., inserting data
+   * without the WAL), such logs must be kept and applied again after a restart.
+   *
+   * @param maxAppliedIndex the index of the last applied log
+   * @return the index of the last log whose effect, together with the effects of the logs before
+   *     it, survives a restart without the log
+   */
+  default long getMaxPersistedIndex(long maxAppliedIndex) {
+    return maxAppliedIndex;
+  }
+
   default void close() {}
 }
@@ -30,6 +30,7 @@ import org.apache.iotdb.cluster.server.member.RaftMember;
 import org.apache.iotdb.cluster.server.monitor.Peer;
 import org.apache.iotdb.cluster.server.monitor.Timer;
 import org.apache.iotdb.cluster.utils.ClientUtils;
+import org.apache.iotdb.cluster.utils.LogCompressionUtils;
 import org.apache.iotdb.db.conf.IoTDBConstant;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.utils.TestOnly;
@@ -40,14 +41,17 @@ import org.apache.thrift.async.AsyncMethodCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -59,6 +63,10 @@ import java.util.concurrent.atomic.AtomicLong;
  * logs for too long. For example: if the leader send 3 logs, log1, log2, log3, concurrently to
  * follower A, the actual reach order may be log3, log2, and log1. According to the protocol, log3
  * and log2 must halt until log1 reaches, as a result, the total delay may increase significantly.
+ *
+ * <p>With the async server, the batched requests to a follower are pipelined: at most
+ * max_append_entries_in_flight of them are sent without waiting for the responses, and the size of
+ * the batches adapts to the round-trip time and the lag of the follower.
  */
 public class LogDispatcher {
 
@@ -66,6 +74,12 @@ public class LogDispatcher {
   private RaftMember member;
   private boolean useBatchInLogCatchUp =
       ClusterDescriptor.getInstance().getConfig().isUseBatchInLogCatchUp();
+  private int maxAppendEntriesInFlight =
+      Math.max(1, ClusterDescriptor.getInstance().getConfig().getMaxAppendEntriesInFlight());
+  private boolean enableAdaptiveLogBatch =
+      ClusterDescriptor.getInstance().getConfig().isEnableAdaptiveLogBatch();
+  private boolean enableLogBatchCompression =
+      ClusterDescriptor.getInstance().getConfig().isEnableLogBatchCompression();
   private List<BlockingQueue<SendLogRequest>> nodeLogQueues = new ArrayList<>();
   private ExecutorService executorService;
   private static ExecutorService serializationService =
@@ -217,12 +231,52 @@ public class LogDispatcher {
     }
   }
 
+  /**
+   * BatchSizeController adapts the max number of logs in a batch sent to a follower. Larger batches
+   * amortize the cost of each request and help a lagging follower catch up, so the batch size grows
+   * while the follower lags behind by more than a batch. But once a batch takes twice as long as
+   * the fastest recent round trip, the follower or the network is saturated and larger batches only
+   * add latency, so the batch size is halved.
+   */
+  static class BatchSizeController {
+
+    private static final int INITIAL_BATCH_SIZE = 32;
+
+    private final int maxBatchSize;
+    private int batchSize;
+    private long minRttNs = Long.MAX_VALUE;
+
+    BatchSizeController(int maxBatchSize) {
+      this.maxBatchSize = Math.max(1, maxBatchSize);
+      this.batchSize = Math.min(INITIAL_BATCH_SIZE, this.maxBatchSize);
+    }
+
+    synchronized int getBatchSize() {
+      return batchSize;
+    }
+
+    synchronized void onResponse(long rttNs, long lag) {
+      // the min RTT drifts up slowly so that it follows the changes of the network
+      minRttNs =
+          minRttNs == Long.MAX_VALUE ? rttNs : Math.min(rttNs, minRttNs + (minRttNs >> 5) + 1);
+      if (rttNs > 2 * minRttNs) {
+        batchSize = Math.max(1, batchSize / 2);
+      } else if (lag > batchSize) {
+        batchSize = Math.min(maxBatchSize, batchSize * 2);
+      }
+    }
+  }
+
   class DispatcherThread implements Runnable {
 
     private Node receiver;
     private BlockingQueue<SendLogRequest> logBlockingDeque;
     private List<SendLogRequest> currBatch = new ArrayList<>();
     private Peer peer;
+    // the batched requests that are sent to the receiver but not responded yet hold the permits
+    private Semaphore inFlightWindow = new Semaphore(maxAppendEntriesInFlight);
+    private BatchSizeController batchSizeController =
+        new BatchSizeController(ClusterDescriptor.getInstance().getConfig().getMaxNumOfLogsInMem());
 
     DispatcherThread(Node receiver, BlockingQueue<SendLogRequest> logBlockingDeque) {
       this.receiver = receiver;
@@ -240,7 +294,11 @@ public class LogDispatcher {
         while (!Thread.interrupted()) {
           SendLogRequest poll = logBlockingDeque.take();
           currBatch.add(poll);
-          logBlockingDeque.drainTo(currBatch);
+          if (enableAdaptiveLogBatch) {
+            logBlockingDeque.drainTo(currBatch, batchSizeController.getBatchSize() - 1);
+          } else {
+            logBlockingDeque.drainTo(currBatch);
+          }
           if (logger.isDebugEnabled()) {
             logger.debug("Sending {} logs to {}", currBatch.size(), receiver);
           }
@@ -260,15 +318,24 @@ public class LogDispatcher {
 
     private void appendEntriesAsync(
         List<ByteBuffer> logList, AppendEntriesRequest request, List<SendLogRequest> currBatch)
-        throws TException {
-      AsyncMethodCallback<Long> handler = new AppendEntriesHandler(currBatch);
+        throws TException, InterruptedException {
+      // wait until a previous request is responded if too many requests are in flight
+      inFlightWindow.acquire();
+      AppendEntriesHandler handler = new AppendEntriesHandler(currBatch, true);
       AsyncClient client = member.getSendLogAsyncClient(receiver);
       if (logger.isDebugEnabled()) {
         logger.debug(
             "{}: append entries {} with {} logs", member.getName(), receiver, logList.size());
       }
-      if (client != null) {
+      if (client == null) {
+        handler.abort();
+        return;
+      }
+      try {
         client.appendEntries(request, handler);
+      } catch (TException e) {
+        handler.abort();
+        throw e;
       }
     }
 
@@ -291,7 +358,7 @@ public class LogDispatcher {
         logger.error("No available client for {}", receiver);
         return;
       }
-      AsyncMethodCallback<Long> handler = new AppendEntriesHandler(currBatch);
+      AsyncMethodCallback<Long> handler = new AppendEntriesHandler(currBatch, false);
       startTime = Timer.Statistic.RAFT_SENDER_SEND_LOG.getOperationStartTime();
       try {
         long result = client.appendEntries(request);
@@ -339,7 +406,7 @@ public class LogDispatcher {
       return request;
     }
 
-    private void sendLogs(List<SendLogRequest> currBatch) throws TException {
+    private void sendLogs(List<SendLogRequest> currBatch) throws TException, InterruptedException {
       int logIndex = 0;
       logger.debug(
           "send logs from index {} to {}",
@@ -361,7 +428,26 @@ public class LogDispatcher {
           logList.add(currBatch.get(logIndex).getAppendEntryRequest().entry);
         }
 
-        AppendEntriesRequest appendEntriesRequest = prepareRequest(logList, currBatch, prevIndex);
+        ByteBuffer compressedLogs = null;
+        if (enableLogBatchCompression) {
+          try {
+            compressedLogs = LogCompressionUtils.compress(logList);
+          } catch (IOException e) {
+            logger.warn(
+                "{}: cannot compress {} logs, send them as is",
+                member.getName(),
+                logList.size(),
+                e);
+          }
+        }
+        AppendEntriesRequest appendEntriesRequest;
+        if (compressedLogs != null) {
+          appendEntriesRequest =
+              prepareRequest(Collections.singletonList(compressedLogs), currBatch, prevIndex);
+          appendEntriesRequest.setCompressed(true);
+        } else {
+          appendEntriesRequest = prepareRequest(logList, currBatch, prevIndex);
+        }
         if (ClusterDescriptor.getInstance().getConfig().isUseAsyncServer()) {
           appendEntriesAsync(logList, appendEntriesRequest, currBatch.subList(prevIndex, logIndex));
         } else {
@@ -374,7 +460,8 @@ public class LogDispatcher {
       }
     }
 
-    private void sendBatchLogs(List<SendLogRequest> currBatch) throws TException {
+    private void sendBatchLogs(List<SendLogRequest> currBatch)
+        throws TException, InterruptedException {
       if (currBatch.size() > 1) {
         if (useBatchInLogCatchUp) {
           sendLogs(currBatch);
@@ -405,8 +492,13 @@ public class LogDispatcher {
     class AppendEntriesHandler implements AsyncMethodCallback<Long> {
 
       private final List<AsyncMethodCallback<Long>> singleEntryHandlers;
+      private final long sendTime = System.nanoTime();
+      // whether the request holds a permit of the in-flight window
+      private final boolean inFlight;
+      private final AtomicBoolean finished = new AtomicBoolean();
 
-      private AppendEntriesHandler(List<SendLogRequest> batch) {
+      private AppendEntriesHandler(List<SendLogRequest> batch, boolean inFlight) {
+        this.inFlight = inFlight;
         singleEntryHandlers = new ArrayList<>(batch.size());
         for (SendLogRequest sendLogRequest : batch) {
           AppendNodeEntryHandler handler =
@@ -426,6 +518,7 @@ public class LogDispatcher {
         for (AsyncMethodCallback<Long> singleEntryHandler : singleEntryHandlers) {
           singleEntryHandler.onComplete(aLong);
         }
+        finish(true);
       }
 
       @Override
@@ -433,6 +526,25 @@ public class LogDispatcher {
         for (AsyncMethodCallback<Long> singleEntryHandler : singleEntryHandlers) {
           singleEntryHandler.onError(e);
         }
+        finish(false);
+      }
+
+      /** The request is not sent, so no response will come. */
+      private void abort() {
+        finish(false);
+      }
+
+      private void finish(boolean responded) {
+        if (!finished.compareAndSet(false, true)) {
+          return;
+        }
+        if (responded && enableAdaptiveLogBatch) {
+          long lag = member.getLogManager().getLastLogIndex() - peer.getMatchIndex();
+          batchSizeController.onResponse(System.nanoTime() - sendTime, lag);
+        }
+        if (inFlight) {
+          inFlightWindow.release();
+        }
       }
 
       private AppendNodeEntryHandler getAppendNodeEntryHandler(
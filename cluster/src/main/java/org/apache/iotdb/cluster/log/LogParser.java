@@ -27,6 +27,7 @@ import org.apache.iotdb.cluster.log.logtypes.EmptyContentLog;
 import org.apache.iotdb.cluster.log.logtypes.LargeTestLog;
 import org.apache.iotdb.cluster.log.logtypes.PhysicalPlanLog;
 import org.apache.iotdb.cluster.log.logtypes.RemoveNodeLog;
+import org.apache.iotdb.cluster.log.logtypes.SlotMigrationLog;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -91,6 +92,11 @@ public class LogParser {
         largeLog.deserialize(buffer);
         log = largeLog;
         break;
+      case MIGRATE_SLOTS:
+        SlotMigrationLog slotMigrationLog = new SlotMigrationLog();
+        slotMigrationLog.deserialize(buffer);
+        log = slotMigrationLog;
+        break;
       default:
         throw new IllegalArgumentException(type.toString());
     }
@@ -34,6 +34,12 @@ public interface StableEntryManager {
 
   void removeCompactedEntries(long index);
 
+  /**
+   * Update the index from which the logs are applied again after a restart, i.e., the index of the
+   * last log whose effect survives a restart without the log. The logs after it must be kept.
+   */
+  default void setMaxHaveAppliedCommitIndex(long maxHaveAppliedCommitIndex) {}
+
   void setHardStateAndFlush(HardState state);
 
   HardState getHardState();
@@ -45,6 +51,18 @@ public interface StableEntryManager {
    */
   List<Log> getLogs(long startIndex, long endIndex);
 
+  /**
+   * Like getLogs, but the logs may be kept in their serialized form, which is cheaper when they are
+   * only to be sent to other nodes.
+   *
+   * @param startIndex (inclusive) the log start index
+   * @param endIndex (inclusive) the log end index
+   * @return the raft log which index between [startIndex, endIndex] or empty if not found
+   */
+  default List<Log> getSerializedLogs(long startIndex, long endIndex) {
+    return getLogs(startIndex, endIndex);
+  }
+
   void close();
 
   /**
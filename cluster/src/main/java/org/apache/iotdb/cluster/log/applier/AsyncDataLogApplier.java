@@ -83,6 +83,11 @@ public class AsyncDataLogApplier implements LogApplier {
     consumerPool.shutdownNow();
   }
 
+  @Override
+  public long getMaxPersistedIndex(long maxAppliedIndex) {
+    return embeddedApplier.getMaxPersistedIndex(maxAppliedIndex);
+  }
+
   @Override
   // synchronized: when a log is draining consumers, avoid other threads adding more logs so that
   // the consumers will never be drained
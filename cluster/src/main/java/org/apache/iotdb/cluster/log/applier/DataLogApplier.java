@@ -20,6 +20,7 @@
 package org.apache.iotdb.cluster.log.applier;
 
 import org.apache.iotdb.cluster.config.ClusterConstant;
+import org.apache.iotdb.cluster.config.ClusterDescriptor;
 import org.apache.iotdb.cluster.exception.CheckConsistencyException;
 import org.apache.iotdb.cluster.log.Log;
 import org.apache.iotdb.cluster.log.logtypes.CloseFileLog;
@@ -29,6 +30,7 @@ import org.apache.iotdb.cluster.server.member.DataGroupMember;
 import org.apache.iotdb.cluster.server.member.MetaGroupMember;
 import org.apache.iotdb.cluster.utils.IOUtils;
 import org.apache.iotdb.db.engine.StorageEngine;
+import org.apache.iotdb.db.engine.storagegroup.StorageGroupProcessor;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.metadata.PathNotExistException;
 import org.apache.iotdb.db.exception.metadata.StorageGroupNotSetException;
@@ -41,10 +43,19 @@ import org.apache.iotdb.db.qp.physical.crud.InsertRowPlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertRowsPlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertTabletPlan;
 import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.TestOnly;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
 /**
  * DataLogApplier applies logs like data insertion/deletion/update and timeseries creation to IoTDB.
  */
@@ -54,11 +65,70 @@ public class DataLogApplier extends BaseApplier {
 
   private DataGroupMember dataGroupMember;
 
+  /**
+   * when the raft log serves as the WAL, the inserted data skip the WAL of the storage engine and
+   * the raft logs are kept until the data are flushed
+   */
+  private boolean skipWal =
+      ClusterDescriptor.getInstance().getConfig().isEnableRaftLogPersistence()
+          && ClusterDescriptor.getInstance().getConfig().isEnableRaftLogAsWal();
+
+  /** storage group processor -> time partitions that this group inserted data into without WAL */
+  private Map<StorageGroupProcessor, Set<Long>> partitionsWithoutWal = new ConcurrentHashMap<>();
+
+  /**
+   * held as read lock from recording the partitions of an insertion to inserting it, so the
+   * partitions are only pruned when no recorded insertion is missing from the memtables
+   */
+  private ReadWriteLock partitionsWithoutWalLock = new ReentrantReadWriteLock();
+
   public DataLogApplier(MetaGroupMember metaGroupMember, DataGroupMember dataGroupMember) {
     super(metaGroupMember);
     this.dataGroupMember = dataGroupMember;
   }
 
+  /**
+   * The flush watermark of each storage group is the minimum index of the logs whose data are still
+   * in the memtables of the partitions this group inserted into, all logs before the minimum
+   * watermark are persisted. The partitions without unflushed data, including those of deleted
+   * storage groups, are forgotten.
+   */
+  @Override
+  public long getMaxPersistedIndex(long maxAppliedIndex) {
+    boolean prune = partitionsWithoutWalLock.writeLock().tryLock();
+    try {
+      long maxPersistedIndex = maxAppliedIndex;
+      Iterator<Entry<StorageGroupProcessor, Set<Long>>> processorIterator =
+          partitionsWithoutWal.entrySet().iterator();
+      while (processorIterator.hasNext()) {
+        Entry<StorageGroupProcessor, Set<Long>> entry = processorIterator.next();
+        Iterator<Long> partitionIterator = entry.getValue().iterator();
+        while (partitionIterator.hasNext()) {
+          long minUnflushedIndex =
+              entry.getKey().getMinUnflushedPlanIndex(partitionIterator.next());
+          if (minUnflushedIndex != Long.MAX_VALUE) {
+            maxPersistedIndex = Math.min(maxPersistedIndex, minUnflushedIndex - 1);
+          } else if (prune) {
+            partitionIterator.remove();
+          }
+        }
+        if (prune && entry.getValue().isEmpty()) {
+          processorIterator.remove();
+        }
+      }
+      return maxPersistedIndex;
+    } finally {
+      if (prune) {
+        partitionsWithoutWalLock.writeLock().unlock();
+      }
+    }
+  }
+
+  @TestOnly
+  int getStorageGroupNumWithoutWal() {
+    return partitionsWithoutWal.size();
+  }
+
   @Override
   public void apply(Log log) {
     logger.debug("DataMember [{}] start applying Log {}", dataGroupMember.getName(), log);
@@ -68,11 +138,11 @@ public class DataLogApplier extends BaseApplier {
         PhysicalPlanLog physicalPlanLog = (PhysicalPlanLog) log;
         PhysicalPlan plan = physicalPlanLog.getPlan();
         if (plan instanceof InsertMultiTabletPlan) {
-          applyInsert((InsertMultiTabletPlan) plan);
+          applyInsert((InsertMultiTabletPlan) plan, log.getCurrLogIndex());
         } else if (plan instanceof InsertRowsPlan) {
-          applyInsert((InsertRowsPlan) plan);
+          applyInsert((InsertRowsPlan) plan, log.getCurrLogIndex());
         } else if (plan instanceof InsertPlan) {
-          applyInsert((InsertPlan) plan);
+          applyInsert((InsertPlan) plan, log.getCurrLogIndex());
         } else {
           applyPhysicalPlan(plan, dataGroupMember);
         }
@@ -98,21 +168,21 @@ public class DataLogApplier extends BaseApplier {
     }
   }
 
-  private void applyInsert(InsertMultiTabletPlan plan)
+  private void applyInsert(InsertMultiTabletPlan plan, long logIndex)
       throws StorageGroupNotSetException, QueryProcessException, StorageEngineException {
     for (InsertTabletPlan insertTabletPlan : plan.getInsertTabletPlanList()) {
-      applyInsert(insertTabletPlan);
+      applyInsert(insertTabletPlan, logIndex);
     }
   }
 
-  private void applyInsert(InsertRowsPlan plan)
+  private void applyInsert(InsertRowsPlan plan, long logIndex)
       throws StorageGroupNotSetException, QueryProcessException, StorageEngineException {
     for (InsertRowPlan insertRowPlan : plan.getInsertRowPlanList()) {
-      applyInsert(insertRowPlan);
+      applyInsert(insertRowPlan, logIndex);
     }
   }
 
-  private void applyInsert(InsertPlan plan)
+  private void applyInsert(InsertPlan plan, long logIndex)
       throws StorageGroupNotSetException, QueryProcessException, StorageEngineException {
     // check if the corresponding slot is being pulled
     PartialPath sg;
@@ -134,6 +204,42 @@ public class DataLogApplier extends BaseApplier {
             .calculateSlotByTime(sg.getFullPath(), time, ClusterConstant.SLOT_NUM);
     // the slot may not be writable because it is pulling file versions, wait until it is done
     dataGroupMember.getSlotManager().waitSlotForWrite(slotId);
-    applyPhysicalPlan(plan, dataGroupMember);
+    int rowNum = plan instanceof InsertTabletPlan ? ((InsertTabletPlan) plan).getRowCount() : 1;
+    dataGroupMember
+        .getSlotManager()
+        .recordWrite(slotId, (long) rowNum * plan.getMeasurements().length);
+    if (!skipWal) {
+      applyPhysicalPlan(plan, dataGroupMember);
+      return;
+    }
+    // the sub-plans of a batched plan do not carry the log index, which is tracked by memtables
+    plan.setIndex(logIndex);
+    plan.setSkipWal(true);
+    partitionsWithoutWalLock.readLock().lock();
+    try {
+      recordPartitionsWithoutWal(plan);
+      applyPhysicalPlan(plan, dataGroupMember);
+    } finally {
+      partitionsWithoutWalLock.readLock().unlock();
+    }
+  }
+
+  private void recordPartitionsWithoutWal(InsertPlan plan) throws StorageEngineException {
+    Set<Long> partitions =
+        partitionsWithoutWal.computeIfAbsent(
+            StorageEngine.getInstance().getProcessor(plan.getDeviceId()),
+            p -> ConcurrentHashMap.newKeySet());
+    if (plan instanceof InsertTabletPlan) {
+      long prevPartition = Long.MIN_VALUE;
+      for (long time : ((InsertTabletPlan) plan).getTimes()) {
+        long partition = StorageEngine.getTimePartition(time);
+        if (partition != prevPartition) {
+          partitions.add(partition);
+          prevPartition = partition;
+        }
+      }
+    } else {
+      partitions.add(StorageEngine.getTimePartition(plan.getMinTime()));
+    }
   }
 }
@@ -23,6 +23,7 @@ import org.apache.iotdb.cluster.log.Log;
 import org.apache.iotdb.cluster.log.logtypes.AddNodeLog;
 import org.apache.iotdb.cluster.log.logtypes.PhysicalPlanLog;
 import org.apache.iotdb.cluster.log.logtypes.RemoveNodeLog;
+import org.apache.iotdb.cluster.log.logtypes.SlotMigrationLog;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
 import org.apache.iotdb.cluster.server.member.MetaGroupMember;
 import org.apache.iotdb.db.exception.StorageEngineException;
@@ -56,6 +57,8 @@ public class MetaLogApplier extends BaseApplier {
       } else if (log instanceof RemoveNodeLog) {
         RemoveNodeLog removeNodeLog = ((RemoveNodeLog) log);
         member.applyRemoveNode(removeNodeLog.getRemovedNode());
+      } else if (log instanceof SlotMigrationLog) {
+        member.applySlotMigration((SlotMigrationLog) log);
       } else {
         logger.error("Unsupported log: {} {}", log.getClass().getName(), log);
       }
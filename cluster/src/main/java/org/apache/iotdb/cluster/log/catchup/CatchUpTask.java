@@ -190,7 +190,7 @@ public class CatchUpTask implements Runnable {
 
   private List<Log> getLogsInStableEntryManager(long startIndex, long endIndex) {
     List<Log> logsInDisk =
-        raftMember.getLogManager().getStableEntryManager().getLogs(startIndex, endIndex);
+        raftMember.getLogManager().getStableEntryManager().getSerializedLogs(startIndex, endIndex);
     logger.debug(
         "{}, found {} logs in disk to catchup {}, startIndex={}, endIndex={}",
         raftMember.getName(),
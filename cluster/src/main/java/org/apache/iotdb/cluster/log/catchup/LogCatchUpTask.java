@@ -209,7 +209,7 @@ public class LogCatchUpTask implements Callable<Boolean> {
     for (int i = 0; i < logs.size() && !abort; i++) {
 
       ByteBuffer logData = logs.get(i).serialize();
-      int logSize = logData.array().length;
+      int logSize = logData.remaining();
       if (logSize
           > IoTDBDescriptor.getInstance().getConfig().getThriftMaxFrameSize()
               - IoTDBConstant.LEFT_SIZE_IN_REQUEST) {
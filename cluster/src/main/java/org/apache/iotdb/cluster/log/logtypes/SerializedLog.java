@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.cluster.log.logtypes;
+
+import org.apache.iotdb.cluster.log.Log;
+
+import java.nio.ByteBuffer;
+
+/**
+ * SerializedLog keeps a log of any type in its serialized form, as it is read from the disk, so it
+ * can be sent to a follower without being deserialized and serialized again. Only the index and the
+ * term in the header of the log are parsed.
+ */
+public class SerializedLog extends Log {
+
+  private ByteBuffer logBytes;
+
+  public SerializedLog() {}
+
+  /** @param logBytes a serialized log from the log type byte to the end of the log */
+  public SerializedLog(ByteBuffer logBytes) {
+    deserialize(logBytes);
+  }
+
+  @Override
+  public ByteBuffer serialize() {
+    return logBytes.duplicate();
+  }
+
+  @Override
+  public void deserialize(ByteBuffer buffer) {
+    logBytes = buffer.duplicate();
+    // skip the log type
+    int headerPos = buffer.position() + Byte.BYTES;
+    setCurrLogIndex(buffer.getLong(headerPos));
+    setCurrLogTerm(buffer.getLong(headerPos + Long.BYTES));
+  }
+
+  @Override
+  public String toString() {
+    return "SerializedLog{term:" + getCurrLogTerm() + ",index:" + getCurrLogIndex() + "}";
+  }
+}
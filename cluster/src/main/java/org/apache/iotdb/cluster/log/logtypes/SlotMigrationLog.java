@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.cluster.log.logtypes;
+
+import org.apache.iotdb.cluster.log.Log;
+import org.apache.iotdb.cluster.rpc.thrift.Node;
+import org.apache.iotdb.cluster.utils.NodeSerializeUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/** SlotMigrationLog records the operation of moving slots between data groups to balance load. */
+public class SlotMigrationLog extends Log {
+
+  // slot -> the header of the group the slot is moved to
+  private Map<Integer, Node> slotNewHeaders = new LinkedHashMap<>();
+  // when the migration is proposed by the leader, which is recorded in the partition table of every
+  // node so that a new leader still knows when the last migration is made
+  private long migrationTime;
+
+  public Map<Integer, Node> getSlotNewHeaders() {
+    return slotNewHeaders;
+  }
+
+  public void setSlotNewHeaders(Map<Integer, Node> slotNewHeaders) {
+    this.slotNewHeaders = slotNewHeaders;
+  }
+
+  public long getMigrationTime() {
+    return migrationTime;
+  }
+
+  public void setMigrationTime(long migrationTime) {
+    this.migrationTime = migrationTime;
+  }
+
+  @Override
+  public ByteBuffer serialize() {
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    try (DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream)) {
+      dataOutputStream.writeByte(Types.MIGRATE_SLOTS.ordinal());
+      dataOutputStream.writeLong(getCurrLogIndex());
+      dataOutputStream.writeLong(getCurrLogTerm());
+
+      dataOutputStream.writeInt(slotNewHeaders.size());
+      for (Entry<Integer, Node> entry : slotNewHeaders.entrySet()) {
+        dataOutputStream.writeInt(entry.getKey());
+        NodeSerializeUtils.serialize(entry.getValue(), dataOutputStream);
+      }
+      dataOutputStream.writeLong(migrationTime);
+    } catch (IOException e) {
+      // ignored
+    }
+    return ByteBuffer.wrap(byteArrayOutputStream.toByteArray());
+  }
+
+  @Override
+  public void deserialize(ByteBuffer buffer) {
+    setCurrLogIndex(buffer.getLong());
+    setCurrLogTerm(buffer.getLong());
+
+    int size = buffer.getInt();
+    slotNewHeaders = new LinkedHashMap<>(size);
+    for (int i = 0; i < size; i++) {
+      int slot = buffer.getInt();
+      Node newHeader = new Node();
+      NodeSerializeUtils.deserialize(newHeader, buffer);
+      slotNewHeaders.put(slot, newHeader);
+    }
+    migrationTime = buffer.getLong();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    if (!super.equals(o)) {
+      return false;
+    }
+    SlotMigrationLog that = (SlotMigrationLog) o;
+    return migrationTime == that.migrationTime
+        && Objects.equals(slotNewHeaders, that.slotNewHeaders);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), slotNewHeaders, migrationTime);
+  }
+
+  @Override
+  public String toString() {
+    return "SlotMigrationLog{"
+        + "slotNewHeaders="
+        + slotNewHeaders
+        + ", migrationTime="
+        + migrationTime
+        + '}';
+  }
+}
@@ -624,7 +624,9 @@ public abstract class RaftLogManager {
       startTime = Statistic.RAFT_SENDER_COMMIT_APPEND_AND_STABLE_LOGS.getOperationStartTime();
       getCommittedEntryManager().append(entries);
       if (ClusterDescriptor.getInstance().getConfig().isEnableRaftLogPersistence()) {
-        getStableEntryManager().append(entries, maxHaveAppliedCommitIndex);
+        // the logs whose effects are not persisted yet must be applied again after a restart
+        getStableEntryManager()
+            .append(entries, logApplier.getMaxPersistedIndex(maxHaveAppliedCommitIndex));
       }
       Log lastLog = entries.get(entries.size() - 1);
       getUnCommittedEntryManager().stableTo(lastLog.getCurrLogIndex());
@@ -846,6 +848,14 @@ public abstract class RaftLogManager {
   void checkDeleteLog() {
     try {
       synchronized (this) {
+        if (ClusterDescriptor.getInstance().getConfig().isEnableRaftLogPersistence()
+            && logApplier != null) {
+          // the stable logs can be deleted once their effects are persisted, even if no more logs
+          // are appended
+          getStableEntryManager()
+              .setMaxHaveAppliedCommitIndex(
+                  logApplier.getMaxPersistedIndex(maxHaveAppliedCommitIndex));
+        }
         if (committedEntryManager.getTotalSize() <= minNumOfLogsInMem) {
           return;
         }
@@ -862,8 +872,11 @@ public abstract class RaftLogManager {
       return;
     }
 
+    // the logs whose effects are not persisted yet cannot be removed
     long compactIndex =
-        Math.min(committedEntryManager.getDummyIndex() + removeSize, maxHaveAppliedCommitIndex - 1);
+        Math.min(
+            committedEntryManager.getDummyIndex() + removeSize,
+            logApplier.getMaxPersistedIndex(maxHaveAppliedCommitIndex) - 1);
     try {
       logger.debug(
           "{}: Before compaction index {}-{}, compactIndex {}, removeSize {}, committedLogSize "
@@ -24,10 +24,12 @@ import org.apache.iotdb.cluster.log.HardState;
 import org.apache.iotdb.cluster.log.Log;
 import org.apache.iotdb.cluster.log.LogParser;
 import org.apache.iotdb.cluster.log.StableEntryManager;
+import org.apache.iotdb.cluster.log.logtypes.SerializedLog;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.fileSystem.SystemFileFactory;
 import org.apache.iotdb.db.engine.version.SimpleFileVersionController;
 import org.apache.iotdb.db.engine.version.VersionController;
+import org.apache.iotdb.db.utils.MmapUtil;
 import org.apache.iotdb.db.utils.TestOnly;
 import org.apache.iotdb.tsfile.utils.BytesUtils;
 import org.apache.iotdb.tsfile.utils.Pair;
@@ -39,6 +41,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.FileInputStream;
@@ -47,14 +50,20 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -151,6 +160,25 @@ public class SyncLogDequeSerializer implements StableEntryManager {
 
   private volatile boolean isClosed = false;
 
+  private static final int MAX_MAPPED_LOG_DATA_FILES = 4;
+
+  /**
+   * the recently read sealed log data files, mapped into memory so catching up a follower does not
+   * read the files through system calls. A sealed file is never modified, and it is unmapped before
+   * it is deleted. Guarded by the lock.
+   */
+  private final Map<File, MappedByteBuffer> mappedLogDataFiles =
+      new LinkedHashMap<File, MappedByteBuffer>(MAX_MAPPED_LOG_DATA_FILES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<File, MappedByteBuffer> eldest) {
+          if (size() > MAX_MAPPED_LOG_DATA_FILES) {
+            MmapUtil.clean(eldest.getValue());
+            return true;
+          }
+          return false;
+        }
+      };
+
   private void initCommonProperties() {
     this.logDataFileList = new ArrayList<>();
     this.logIndexFileList = new ArrayList<>();
@@ -444,6 +472,17 @@ public class SyncLogDequeSerializer implements StableEntryManager {
     // do nothing
   }
 
+  @Override
+  public void setMaxHaveAppliedCommitIndex(long maxHaveAppliedCommitIndex) {
+    lock.lock();
+    try {
+      meta.setMaxHaveAppliedCommitIndex(
+          Math.min(maxHaveAppliedCommitIndex, meta.getCommitLogIndex()));
+    } finally {
+      lock.unlock();
+    }
+  }
+
   private void initMetaAndLogFiles() {
     recoverMetaFile();
     recoverMeta();
@@ -857,6 +896,7 @@ public class SyncLogDequeSerializer implements StableEntryManager {
       Thread.currentThread().interrupt();
       logger.warn("Close persist log delete thread interrupted");
     } finally {
+      unmapAllLogDataFiles();
       logger.info("{} is closed", this);
       isClosed = true;
       lock.unlock();
@@ -932,33 +972,47 @@ public class SyncLogDequeSerializer implements StableEntryManager {
       lock.unlock();
     }
 
-    // 2. check the persist log file number
+    // the logs from the max applied index in the meta are applied again after a restart, e.g.,
+    // the logs whose data skipped the WAL and are not flushed yet, so the files containing them
+    // are kept. The meta is persisted before any file is deleted, so the index used after a
+    // restart is not older than the one checked here
     lock.lock();
     try {
-      while (logDataFileList.size() > maxNumberOfPersistRaftLogFiles) {
+      boolean metaPersisted = false;
+      // 2. check the persist log file number
+      while (logDataFileList.size() > maxNumberOfPersistRaftLogFiles
+          && isFirstLogFileNotReplayed()) {
+        if (!metaPersisted) {
+          serializeMeta(meta);
+          metaPersisted = true;
+        }
         deleteTheFirstLogDataAndIndexFile();
       }
-    } finally {
-      lock.unlock();
-    }
 
-    // 3. check the persist log index number
-    lock.lock();
-    try {
-      while (logDataFileList.size() > 1) {
-        File firstFile = logDataFileList.get(0);
-        String[] splits = firstFile.getName().split(FILE_NAME_SEPARATOR);
-        if (meta.getCommitLogIndex() - Long.parseLong(splits[1]) > maxPersistRaftLogNumberOnDisk) {
-          deleteTheFirstLogDataAndIndexFile();
-        } else {
-          return;
+      // 3. check the persist log index number
+      while (logDataFileList.size() > 1
+          && meta.getCommitLogIndex() - getFirstLogFileEndIndex() > maxPersistRaftLogNumberOnDisk
+          && isFirstLogFileNotReplayed()) {
+        if (!metaPersisted) {
+          serializeMeta(meta);
+          metaPersisted = true;
         }
+        deleteTheFirstLogDataAndIndexFile();
       }
     } finally {
       lock.unlock();
     }
   }
 
+  private long getFirstLogFileEndIndex() {
+    String[] splits = logDataFileList.get(0).getName().split(FILE_NAME_SEPARATOR);
+    return Long.parseLong(splits[1]);
+  }
+
+  private boolean isFirstLogFileNotReplayed() {
+    return getFirstLogFileEndIndex() < meta.getMaxHaveAppliedCommitIndex();
+  }
+
   private void forceDeleteAllLogDataFiles() {
     FileFilter logFilter =
         pathname -> {
@@ -967,6 +1021,7 @@ public class SyncLogDequeSerializer implements StableEntryManager {
         };
     List<File> logFiles = Arrays.asList(metaFile.getParentFile().listFiles(logFilter));
     logger.info("get log data files {} when forcing delete all logs", logFiles);
+    unmapAllLogDataFiles();
     for (File logFile : logFiles) {
       try {
         FileUtils.forceDelete(logFile);
@@ -1023,6 +1078,7 @@ public class SyncLogDequeSerializer implements StableEntryManager {
         logger.error("the log data or index file is null, some error occurred");
         return false;
       }
+      MmapUtil.clean(mappedLogDataFiles.remove(logDataFile));
       Files.delete(logDataFile.toPath());
       Files.delete(logIndexFile.toPath());
       logDataFileList.remove(0);
@@ -1074,6 +1130,43 @@ public class SyncLogDequeSerializer implements StableEntryManager {
    */
   @Override
   public List<Log> getLogs(long startIndex, long endIndex) {
+    List<ByteBuffer> logBuffers = getLogBuffers(startIndex, endIndex);
+    List<Log> result = new ArrayList<>(logBuffers.size());
+    try {
+      for (ByteBuffer logBuffer : logBuffers) {
+        result.add(parser.parse(logBuffer));
+      }
+    } catch (UnknownLogTypeException e) {
+      logger.error("Unknown log detected ", e);
+    }
+    return result;
+  }
+
+  /**
+   * The logs are returned as SerializedLogs, which are not deserialized, as the logs are only to be
+   * sent to a follower.
+   *
+   * @param startIndex the log start index
+   * @param endIndex the log end index
+   * @return the raft log which index between [startIndex, endIndex] or empty if not found
+   */
+  @Override
+  public List<Log> getSerializedLogs(long startIndex, long endIndex) {
+    List<ByteBuffer> logBuffers = getLogBuffers(startIndex, endIndex);
+    List<Log> result = new ArrayList<>(logBuffers.size());
+    for (ByteBuffer logBuffer : logBuffers) {
+      result.add(new SerializedLog(logBuffer));
+    }
+    return result;
+  }
+
+  /**
+   * @param startIndex the log start index
+   * @param endIndex the log end index
+   * @return the serialized raft logs which index between [startIndex, endIndex] or empty if not
+   *     found
+   */
+  private List<ByteBuffer> getLogBuffers(long startIndex, long endIndex) {
     if (startIndex > endIndex) {
       logger.error(
           "startIndex={} should be less than or equal to endIndex={}", startIndex, endIndex);
@@ -1108,9 +1201,9 @@ public class SyncLogDequeSerializer implements StableEntryManager {
         return Collections.emptyList();
       }
 
-      List<Log> result = new ArrayList<>();
+      List<ByteBuffer> result = new ArrayList<>();
       for (Pair<File, Pair<Long, Long>> pair : logDataFileAndOffsetList) {
-        result.addAll(getLogsFromOneLogDataFile(pair.left, pair.right));
+        result.addAll(getLogBuffersFromOneLogDataFile(pair.left, pair.right));
       }
 
       return result;
@@ -1168,20 +1261,10 @@ public class SyncLogDequeSerializer implements StableEntryManager {
         file.getAbsoluteFile(),
         logIndex,
         file.length());
-    try (FileInputStream fileInputStream = new FileInputStream(file);
-        BufferedInputStream bufferedInputStream = new BufferedInputStream(fileInputStream)) {
-      long bytesNeedToSkip = (logIndex - startAndEndIndex.left) * (Long.BYTES);
-      long bytesActuallySkip = bufferedInputStream.skip(bytesNeedToSkip);
-      logger.debug("skip {} bytes when read file={}", bytesActuallySkip, file.getAbsoluteFile());
-      if (bytesNeedToSkip != bytesActuallySkip) {
-        logger.error(
-            "read file={} failed, should skip={}, actually skip={}",
-            file.getAbsoluteFile(),
-            bytesNeedToSkip,
-            bytesActuallySkip);
-        return -1;
-      }
-      offset = ReadWriteIOUtils.readLong(bufferedInputStream);
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer offsetBuffer = ByteBuffer.allocate(Long.BYTES);
+      readFully(channel, offsetBuffer, (logIndex - startAndEndIndex.left) * Long.BYTES);
+      offset = offsetBuffer.getLong(0);
       return offset;
     } catch (IOException e) {
       logger.error("can not read the log index file={}", file.getAbsoluteFile(), e);
@@ -1302,60 +1385,108 @@ public class SyncLogDequeSerializer implements StableEntryManager {
    * @param file the log data file
    * @param startAndEndOffset the left value is the start offset of the file, the right is the end
    *     offset of the file
-   * @return the logs between start offset and end offset
+   * @return the serialized logs between start offset and end offset
    */
-  private List<Log> getLogsFromOneLogDataFile(File file, Pair<Long, Long> startAndEndOffset) {
-    List<Log> result = new ArrayList<>();
-    if (file.getName().equals(getCurrentLogDataFile().getName())) {
-      forceFlushLogBufferWithoutCloseFile();
+  private List<ByteBuffer> getLogBuffersFromOneLogDataFile(
+      File file, Pair<Long, Long> startAndEndOffset) {
+    List<ByteBuffer> result = new ArrayList<>();
+    if (startAndEndOffset.left < 0 || startAndEndOffset.right < startAndEndOffset.left) {
+      // the end index is not found
+      return result;
     }
-    try (FileInputStream fileInputStream = new FileInputStream(file);
-        BufferedInputStream bufferedInputStream = new BufferedInputStream(fileInputStream)) {
-      long bytesSkip = bufferedInputStream.skip(startAndEndOffset.left);
-      if (bytesSkip != startAndEndOffset.left) {
-        logger.error(
-            "read file={} failed when skip {} bytes, actual skip bytes={}",
-            file.getAbsoluteFile(),
-            startAndEndOffset.left,
-            bytesSkip);
-        return result;
+    try {
+      // because we want to get all the logs whose offset between [startAndEndOffset.left,
+      // startAndEndOffset.right], the log starting with startAndEndOffset.right also needs to be
+      // read.
+      ByteBuffer logBytes;
+      if (file.getName().equals(getCurrentLogDataFile().getName())) {
+        forceFlushLogBufferWithoutCloseFile();
+        logBytes = readLogDataFile(file, startAndEndOffset.left, startAndEndOffset.right);
+      } else {
+        logBytes = readMappedLogDataFile(file, startAndEndOffset.left, startAndEndOffset.right);
       }
-
       logger.debug(
-          "start to read file={} and skip {} bytes, startOffset={}, endOffset={}, fileLength={}",
+          "read file={}, startOffset={}, endOffset={}, read bytes={}, fileLength={}",
           file.getAbsoluteFile(),
-          bytesSkip,
           startAndEndOffset.left,
           startAndEndOffset.right,
+          logBytes.remaining(),
           file.length());
 
-      long currentReadOffset = bytesSkip;
-      // because we want to get all the logs whose offset between [startAndEndOffset.left,
-      // startAndEndOffset.right]
-      // which means, the last offset's value should be still read, in other words,
-      // the first log index of the offset starting with startAndEndOffset.right also needs to be
-      // read.
-      while (currentReadOffset <= startAndEndOffset.right) {
-        logger.debug(
-            "read file={}, currentReadOffset={}, end offset={}",
-            file.getAbsoluteFile(),
-            currentReadOffset,
-            startAndEndOffset.right);
-        int logSize = ReadWriteIOUtils.readInt(bufferedInputStream);
-        Log log = null;
-        log =
-            parser.parse(ByteBuffer.wrap(ReadWriteIOUtils.readBytes(bufferedInputStream, logSize)));
-        result.add(log);
-        currentReadOffset = currentReadOffset + Integer.BYTES + logSize;
+      while (logBytes.hasRemaining()) {
+        int logSize = logBytes.getInt();
+        ByteBuffer logBuffer = logBytes.slice();
+        logBuffer.limit(logSize);
+        result.add(logBuffer);
+        logBytes.position(logBytes.position() + logSize);
       }
-    } catch (UnknownLogTypeException e) {
-      logger.error("Unknown log detected ", e);
     } catch (IOException e) {
       logger.error("Cannot read log from file={} ", file.getAbsoluteFile(), e);
     }
     return result;
   }
 
+  /**
+   * Read the logs from the current log data file, which is still being written.
+   *
+   * @return [size of log1 | log1 buffer] ... [size of the last log | last log buffer]
+   */
+  private ByteBuffer readLogDataFile(File file, long startOffset, long lastLogOffset)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer lastLogSize = ByteBuffer.allocate(Integer.BYTES);
+      readFully(channel, lastLogSize, lastLogOffset);
+      long endOffset = lastLogOffset + Integer.BYTES + lastLogSize.getInt(0);
+      ByteBuffer logBytes = ByteBuffer.allocate((int) (endOffset - startOffset));
+      readFully(channel, logBytes, startOffset);
+      logBytes.flip();
+      return logBytes;
+    }
+  }
+
+  /**
+   * Read the logs from a sealed log data file through its mapping. The logs are copied out of the
+   * mapping in one go, as the mapping may be released once the lock is released.
+   *
+   * @return [size of log1 | log1 buffer] ... [size of the last log | last log buffer]
+   */
+  private ByteBuffer readMappedLogDataFile(File file, long startOffset, long lastLogOffset)
+      throws IOException {
+    MappedByteBuffer mappedFile = mappedLogDataFiles.get(file);
+    if (mappedFile == null) {
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+        mappedFile = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      }
+      mappedLogDataFiles.put(file, mappedFile);
+    }
+    ByteBuffer mappedLogBytes = mappedFile.duplicate();
+    int endOffset =
+        (int) lastLogOffset + Integer.BYTES + mappedLogBytes.getInt((int) lastLogOffset);
+    mappedLogBytes.limit(endOffset);
+    mappedLogBytes.position((int) startOffset);
+    ByteBuffer logBytes = ByteBuffer.allocate(mappedLogBytes.remaining());
+    logBytes.put(mappedLogBytes);
+    logBytes.flip();
+    return logBytes;
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException(
+            String.format("Unexpected end of file when reading at %d", position));
+      }
+    }
+  }
+
+  private void unmapAllLogDataFiles() {
+    for (MappedByteBuffer mappedFile : mappedLogDataFiles.values()) {
+      MmapUtil.clean(mappedFile);
+    }
+    mappedLogDataFiles.clear();
+  }
+
   @TestOnly
   public void setLogDataBuffer(ByteBuffer logDataBuffer) {
     this.logDataBuffer = logDataBuffer;
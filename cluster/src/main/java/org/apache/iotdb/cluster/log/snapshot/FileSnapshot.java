@@ -31,12 +31,15 @@ import org.apache.iotdb.cluster.log.Snapshot;
 import org.apache.iotdb.cluster.partition.slot.SlotManager;
 import org.apache.iotdb.cluster.partition.slot.SlotManager.SlotStatus;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
+import org.apache.iotdb.cluster.rpc.thrift.PullFileInfo;
+import org.apache.iotdb.cluster.server.RaftServer;
 import org.apache.iotdb.cluster.server.handlers.caller.GenericHandler;
 import org.apache.iotdb.cluster.server.member.DataGroupMember;
 import org.apache.iotdb.cluster.server.member.RaftMember;
 import org.apache.iotdb.cluster.utils.ClientUtils;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.StorageEngine;
+import org.apache.iotdb.db.engine.merge.manage.MergeManager;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.exception.LoadFileException;
@@ -45,28 +48,42 @@ import org.apache.iotdb.db.exception.metadata.IllegalPathException;
 import org.apache.iotdb.db.metadata.PartialPath;
 import org.apache.iotdb.db.utils.FilePathUtils;
 import org.apache.iotdb.db.utils.SchemaUtils;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.write.schema.TimeseriesSchema;
 
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
 
 /**
  * FileSnapshot records the data files in a slot and their md5 (or other verification). When the
@@ -183,6 +200,19 @@ public class FileSnapshot extends Snapshot implements TimeseriesSchemaSnapshot {
     private static final String REMOTE_FILE_TEMP_DIR =
         IoTDBDescriptor.getInstance().getConfig().getSystemDir() + File.separator + "remote";
 
+    /** shared by all installers so the total throughput of pulling files on this node is bounded */
+    private static final RateLimiter PULL_FILE_RATE_LIMITER = createPullFileRateLimiter();
+
+    /**
+     * shared by all installers so the number of files pulled concurrently on this node is bounded
+     * and no thread is created for each installation. The pullSnapshotService of a member is not
+     * used as the installations run in it and wait for the files.
+     */
+    private static final ExecutorService PULL_FILE_POOL =
+        Executors.newFixedThreadPool(
+            Math.max(1, ClusterDescriptor.getInstance().getConfig().getMaxConcurrentFilePulls()),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("PullFile-%d").build());
+
     private static final Logger logger = LoggerFactory.getLogger(Installer.class);
     private DataGroupMember dataGroupMember;
     private SlotManager slotManager;
@@ -194,6 +224,15 @@ public class FileSnapshot extends Snapshot implements TimeseriesSchemaSnapshot {
       this.name = dataGroupMember.getName();
     }
 
+    private static RateLimiter createPullFileRateLimiter() {
+      double throughput =
+          ClusterDescriptor.getInstance().getConfig().getFilePullThroughputMbPerSec()
+              * 1024.0
+              * 1024.0;
+      // if throughput = 0, disable rate limiting
+      return RateLimiter.create(throughput == 0 ? Double.MAX_VALUE : throughput);
+    }
+
     @Override
     public void install(FileSnapshot snapshot, int slot) throws SnapshotInstallationException {
       try {
@@ -266,22 +305,42 @@ public class FileSnapshot extends Snapshot implements TimeseriesSchemaSnapshot {
     private void installFileSnapshotFiles(FileSnapshot snapshot, int slot)
         throws PullFileException {
       List<RemoteTsFileResource> remoteTsFileResources = snapshot.getDataFiles();
-      // pull file
-      for (int i = 0, remoteTsFileResourcesSize = remoteTsFileResources.size();
-          i < remoteTsFileResourcesSize;
-          i++) {
-        RemoteTsFileResource resource = remoteTsFileResources.get(i);
-        logger.info(
-            "Pulling {}/{} files, current: {}", i + 1, remoteTsFileResources.size(), resource);
-        try {
-          if (!isFileAlreadyPulled(resource)) {
-            loadRemoteFile(resource);
-          } else {
-            // notify the snapshot provider to remove the hardlink
-            removeRemoteHardLink(resource);
+      // the files are pulled concurrently but loaded in their original order
+      List<Future<File>> pulledFiles = new ArrayList<>(remoteTsFileResources.size());
+      try {
+        for (RemoteTsFileResource resource : remoteTsFileResources) {
+          try {
+            if (!isFileAlreadyPulled(resource)) {
+              pulledFiles.add(
+                  PULL_FILE_POOL.submit(() -> pullRemoteFile(resource, resource.getSource())));
+            } else {
+              // notify the snapshot provider to remove the hardlink
+              removeRemoteHardLink(resource);
+              pulledFiles.add(null);
+            }
+          } catch (IllegalPathException e) {
+            throw new PullFileException(resource.getTsFilePath(), resource.getSource(), e);
+          }
+        }
+
+        for (int i = 0, remoteTsFileResourcesSize = remoteTsFileResources.size();
+            i < remoteTsFileResourcesSize;
+            i++) {
+          Future<File> pulledFile = pulledFiles.get(i);
+          if (pulledFile == null) {
+            continue;
+          }
+          RemoteTsFileResource resource = remoteTsFileResources.get(i);
+          logger.info(
+              "Loading {}/{} files, current: {}", i + 1, remoteTsFileResources.size(), resource);
+          loadRemoteFile(resource, waitForPulledFile(resource, pulledFile));
+        }
+      } finally {
+        // stop pulling the remaining files if any file cannot be loaded
+        for (Future<File> pulledFile : pulledFiles) {
+          if (pulledFile != null) {
+            pulledFile.cancel(true);
           }
-        } catch (IllegalPathException e) {
-          throw new PullFileException(resource.getTsFilePath(), resource.getSource(), e);
         }
       }
       // all files are loaded, the slot can be queried without accessing the previous holder
@@ -352,16 +411,11 @@ public class FileSnapshot extends Snapshot implements TimeseriesSchemaSnapshot {
      * from the header currently.
      *
      * @param resource
+     * @param tempFile the pulled file in the temporary directory, or null if it cannot be pulled
      */
-    private void loadRemoteFile(RemoteTsFileResource resource) throws PullFileException {
+    private void loadRemoteFile(RemoteTsFileResource resource, File tempFile)
+        throws PullFileException {
       Node sourceNode = resource.getSource();
-      // pull the file to a temporary directory
-      File tempFile;
-      try {
-        tempFile = pullRemoteFile(resource, sourceNode);
-      } catch (IOException e) {
-        throw new PullFileException(resource.toString(), sourceNode, e);
-      }
       if (tempFile != null) {
         resource.setFile(tempFile);
         try {
@@ -380,6 +434,22 @@ public class FileSnapshot extends Snapshot implements TimeseriesSchemaSnapshot {
       throw new PullFileException(resource.toString(), sourceNode);
     }
 
+    private File waitForPulledFile(RemoteTsFileResource resource, Future<File> pulledFile)
+        throws PullFileException {
+      try {
+        return pulledFile.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new PullFileException(resource.toString(), resource.getSource(), e);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        throw new PullFileException(
+            resource.toString(),
+            resource.getSource(),
+            cause instanceof Exception ? (Exception) cause : e);
+      }
+    }
+
     /**
      * When a file is successfully pulled to the local storage, load it into IoTDB with the resource
      * and remove the files that is a subset of the new file. Also change the modification file if
@@ -433,7 +503,7 @@ public class FileSnapshot extends Snapshot implements TimeseriesSchemaSnapshot {
      *
      * @param resource the TsFile to be downloaded
      * @param node where to download the file
-     * @return the downloaded file or null if the file cannot be downloaded or its MD5 is not right
+     * @return the downloaded file or null if the file cannot be downloaded or is incomplete
      * @throws IOException
      */
     private File pullRemoteFile(RemoteTsFileResource resource, Node node) throws IOException {
@@ -456,12 +526,19 @@ public class FileSnapshot extends Snapshot implements TimeseriesSchemaSnapshot {
               + tempFileName;
       File tempFile = new File(REMOTE_FILE_TEMP_DIR, tempFilePath);
       tempFile.getParentFile().mkdirs();
-      if (pullRemoteFile(resource.getTsFile().getAbsolutePath(), node, tempFile)) {
-        // TODO-Cluster#353: implement file examination, may be replaced with other algorithm
+      // a TsFile is immutable once closed, so a partial download left by a previous failure can be
+      // resumed
+      if (pullRemoteFile(resource.getTsFile().getAbsolutePath(), node, tempFile, true)) {
+        if (!isPulledFileComplete(resource, tempFile)) {
+          // the remote file is removed once it is fully read, so it cannot be resumed any more
+          Files.deleteIfExists(tempFile.toPath());
+          return null;
+        }
         if (resource.isWithModification()) {
+          // a modification file may be appended, so always pull it from the beginning
           File tempModFile =
               new File(REMOTE_FILE_TEMP_DIR, tempFilePath + ModificationFile.FILE_SUFFIX);
-          pullRemoteFile(resource.getModFile().getFilePath(), node, tempModFile);
+          pullRemoteFile(resource.getModFile().getFilePath(), node, tempModFile, false);
         }
         return tempFile;
       }
@@ -469,36 +546,65 @@ public class FileSnapshot extends Snapshot implements TimeseriesSchemaSnapshot {
     }
 
     /**
-     * Download the file "remotePath" from "node" and store it to "dest" using up to 64KB chunks. If
-     * the network is bad, this method will retry upto 5 times before returning a failure.
+     * Check the length of the pulled file against the one recorded in the snapshot and that the
+     * file has both its head and tail magic strings, so a truncated or corrupted download will not
+     * be loaded.
+     */
+    private boolean isPulledFileComplete(RemoteTsFileResource resource, File file) {
+      if (resource.getTsFileLength() >= 0 && file.length() != resource.getTsFileLength()) {
+        logger.error(
+            "{}: the length of pulled file {} is {}, but {} is expected",
+            name,
+            file,
+            file.length(),
+            resource.getTsFileLength());
+        return false;
+      }
+      try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath(), false)) {
+        if (reader.isComplete()) {
+          return true;
+        }
+        logger.error("{}: pulled file {} is incomplete", name, file);
+      } catch (IOException e) {
+        logger.error("{}: cannot check pulled file {}", name, file, e);
+      }
+      return false;
+    }
+
+    /**
+     * Download the file "remotePath" from "node" and store it to "dest". The file is sent with zero
+     * copy by the FileTransferService of "node" if it is running, otherwise it is read using chunks
+     * of "file_pull_fetch_size". If the network is bad, this method will retry upto 5 times before
+     * returning a failure. A retry continues from the bytes that are already downloaded.
      *
      * @param remotePath the file to be downloaded
      * @param node where to download the file
      * @param dest where to store the file
+     * @param resumable whether the existing content of "dest" can be kept and appended to
      * @return true if the file is successfully downloaded, false otherwise
-     * @throws IOException
      */
-    private boolean pullRemoteFile(String remotePath, Node node, File dest) throws IOException {
+    private boolean pullRemoteFile(String remotePath, Node node, File dest, boolean resumable) {
+      // the kept bytes are read again to compute the checksum of the whole file
+      OpenOption[] openOptions =
+          resumable
+              ? new OpenOption[] {
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+              }
+              : new OpenOption[] {
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+              };
+      // the file is removed once it is fully read, so its length and checksum are fetched first
+      PullFileInfo fileInfo = null;
       int pullFileRetry = 5;
       for (int i = 0; i < pullFileRetry; i++) {
-        try (BufferedOutputStream bufferedOutputStream =
-            new BufferedOutputStream(new FileOutputStream(dest))) {
-          if (ClusterDescriptor.getInstance().getConfig().isUseAsyncServer()) {
-            downloadFileAsync(node, remotePath, bufferedOutputStream);
-          } else {
-            downloadFileSync(node, remotePath, bufferedOutputStream);
-          }
-
-          if (logger.isInfoEnabled()) {
-            logger.info(
-                "{}: remote file {} is pulled at {}, length: {}",
-                name,
-                remotePath,
-                dest,
-                dest.length());
+        try {
+          if (fileInfo == null) {
+            fileInfo = getPullFileInfo(node, remotePath);
           }
-          return true;
-        } catch (TException e) {
+          return downloadAndCheckFile(node, remotePath, dest, openOptions, fileInfo);
+        } catch (TException | IOException e) {
           logger.warn(
               "{}: Cannot pull file {} from {}, wait 5s to retry", name, remotePath, node, e);
         } catch (InterruptedException e) {
@@ -507,11 +613,9 @@ public class FileSnapshot extends Snapshot implements TimeseriesSchemaSnapshot {
           return false;
         }
 
+        // the downloaded part is kept so the next try can continue from it
         try {
-          Files.delete(dest.toPath());
           Thread.sleep(PULL_FILE_RETRY_INTERVAL_MS);
-        } catch (IOException e) {
-          logger.warn("Cannot delete file when pulling {} from {} failed", remotePath, node);
         } catch (InterruptedException ex) {
           Thread.currentThread().interrupt();
           logger.warn("{}: Pulling file {} from {} interrupted", name, remotePath, node, ex);
@@ -522,11 +626,139 @@ public class FileSnapshot extends Snapshot implements TimeseriesSchemaSnapshot {
       return false;
     }
 
-    private void downloadFileAsync(Node node, String remotePath, OutputStream dest)
+    /**
+     * Download the rest of the file after the bytes already in "dest", and check the length and the
+     * checksum of the whole file against "fileInfo". The checksum of the bytes downloaded by
+     * previous tries is computed from "dest", and that of the rest while they are received.
+     *
+     * @return true if the file is completely downloaded, false if it is removed as it is corrupted
+     */
+    private boolean downloadAndCheckFile(
+        Node node, String remotePath, File dest, OpenOption[] openOptions, PullFileInfo fileInfo)
+        throws IOException, TException, InterruptedException {
+      CRC32 checksum = new CRC32();
+      long length;
+      try (FileChannel channel = FileChannel.open(dest.toPath(), openOptions)) {
+        long offset = channel.size();
+        if (offset > 0) {
+          logger.info("{}: resume pulling file {} from {} at {}", name, remotePath, node, offset);
+          updateChecksum(channel, offset, checksum);
+        }
+        channel.position(offset);
+        if (fileInfo.getLength() < 0) {
+          // the remote file is removed after it was fully read by a previous installation, so
+          // what is on the disk cannot be checked here
+          logger.warn("{}: file {} no longer exists on {}", name, remotePath, node);
+          return offset > 0;
+        }
+        if (fileInfo.getTransferPort() >= 0) {
+          downloadFileByTransfer(node, fileInfo.getTransferPort(), remotePath, channel, checksum);
+        } else if (ClusterDescriptor.getInstance().getConfig().isUseAsyncServer()) {
+          downloadFileAsync(node, remotePath, channel, checksum);
+        } else {
+          downloadFileSync(node, remotePath, channel, checksum);
+        }
+        length = channel.size();
+      }
+
+      if (length != fileInfo.getLength() || checksum.getValue() != fileInfo.getChecksum()) {
+        logger.error(
+            "{}: pulled file {} has length {} and checksum {}, but {} and {} are expected",
+            name,
+            dest,
+            length,
+            checksum.getValue(),
+            fileInfo.getLength(),
+            fileInfo.getChecksum());
+        Files.deleteIfExists(dest.toPath());
+        return false;
+      }
+      logger.info("{}: remote file {} is pulled at {}, length: {}", name, remotePath, dest, length);
+      return true;
+    }
+
+    private void updateChecksum(FileChannel channel, long length, CRC32 checksum)
+        throws IOException {
+      ByteBuffer buffer =
+          ByteBuffer.allocate(ClusterDescriptor.getInstance().getConfig().getFilePullFetchSize());
+      long position = 0;
+      while (position < length) {
+        buffer.limit((int) Math.min(buffer.capacity(), length - position));
+        int len = channel.read(buffer, position);
+        if (len < 0) {
+          throw new EOFException("Unexpected end of " + channel);
+        }
+        buffer.flip();
+        checksum.update(buffer);
+        buffer.clear();
+        position += len;
+      }
+    }
+
+    private PullFileInfo getPullFileInfo(Node node, String remotePath)
         throws IOException, TException, InterruptedException {
-      long offset = 0;
-      // TODO-Cluster: use elaborate downloading techniques
-      int fetchSize = 64 * 1024;
+      PullFileInfo fileInfo;
+      if (ClusterDescriptor.getInstance().getConfig().isUseAsyncServer()) {
+        AsyncDataClient client = (AsyncDataClient) dataGroupMember.getAsyncClient(node);
+        if (client == null) {
+          throw new IOException("No available client for " + node.toString());
+        }
+        fileInfo = SyncClientAdaptor.getPullFileInfo(client, remotePath);
+      } else {
+        SyncDataClient client = (SyncDataClient) dataGroupMember.getSyncClient(node);
+        if (client == null) {
+          throw new IOException("No available client for " + node.toString());
+        }
+        try {
+          fileInfo = client.getPullFileInfo(remotePath);
+        } catch (TException e) {
+          client.getInputProtocol().getTransport().close();
+          throw e;
+        } finally {
+          ClientUtils.putBackSyncClient(client);
+        }
+      }
+      if (fileInfo == null) {
+        throw new IOException("Cannot get the information of " + remotePath + " from " + node);
+      }
+      return fileInfo;
+    }
+
+    /** Receive the file sent by the FileTransferService of "node" from the position of "dest". */
+    private void downloadFileByTransfer(
+        Node node, int port, String remotePath, FileChannel dest, CRC32 checksum)
+        throws IOException {
+      byte[] pathBytes = remotePath.getBytes(StandardCharsets.UTF_8);
+      try (Socket socket = new Socket()) {
+        socket.connect(
+            new InetSocketAddress(node.getInternalIp(), port),
+            ClusterDescriptor.getInstance().getConfig().getConnectionTimeoutInMS());
+        socket.setSoTimeout(RaftServer.getReadOperationTimeoutMS());
+        DataOutputStream output =
+            new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        output.writeInt(pathBytes.length);
+        output.write(pathBytes);
+        output.writeLong(dest.position());
+        output.flush();
+
+        DataInputStream input = new DataInputStream(socket.getInputStream());
+        long remaining = input.readLong();
+        byte[] bytes = new byte[ClusterDescriptor.getInstance().getConfig().getFilePullFetchSize()];
+        while (remaining > 0) {
+          int len = input.read(bytes, 0, (int) Math.min(bytes.length, remaining));
+          if (len < 0) {
+            throw new EOFException(remaining + " bytes of " + remotePath + " are not received");
+          }
+          writeBuffer(ByteBuffer.wrap(bytes, 0, len), dest, checksum);
+          remaining -= len;
+        }
+      }
+    }
+
+    private void downloadFileAsync(Node node, String remotePath, FileChannel dest, CRC32 checksum)
+        throws IOException, TException, InterruptedException {
+      long offset = dest.position();
+      int fetchSize = ClusterDescriptor.getInstance().getConfig().getFilePullFetchSize();
 
       while (true) {
         AsyncDataClient client = (AsyncDataClient) dataGroupMember.getAsyncClient(node);
@@ -534,45 +766,47 @@ public class FileSnapshot extends Snapshot implements TimeseriesSchemaSnapshot {
           throw new IOException("No available client for " + node.toString());
         }
         ByteBuffer buffer = SyncClientAdaptor.readFile(client, remotePath, offset, fetchSize);
-        int len = writeBuffer(buffer, dest);
+        int len = writeBuffer(buffer, dest, checksum);
         if (len == 0) {
           break;
         }
         offset += len;
       }
-      dest.flush();
     }
 
-    private int writeBuffer(ByteBuffer buffer, OutputStream dest) throws IOException {
-      if (buffer == null || buffer.limit() - buffer.position() == 0) {
+    private int writeBuffer(ByteBuffer buffer, FileChannel dest, CRC32 checksum)
+        throws IOException {
+      if (buffer == null || !buffer.hasRemaining()) {
         return 0;
       }
 
       // notice: the buffer returned by thrift is a slice of a larger buffer which contains
       // the whole response, so buffer.position() is not 0 initially and buffer.limit() is
-      // not the size of the downloaded chunk
-      dest.write(
-          buffer.array(),
-          buffer.position() + buffer.arrayOffset(),
-          buffer.limit() - buffer.position());
-      return buffer.limit() - buffer.position();
+      // not the size of the downloaded chunk. The remaining bytes are written to the channel
+      // directly instead of being copied into a stream buffer.
+      int len = buffer.remaining();
+      checksum.update(buffer.duplicate());
+      while (buffer.hasRemaining()) {
+        dest.write(buffer);
+      }
+      MergeManager.mergeRateLimiterAcquire(PULL_FILE_RATE_LIMITER, len);
+      return len;
     }
 
-    private void downloadFileSync(Node node, String remotePath, OutputStream dest)
-        throws IOException {
+    private void downloadFileSync(Node node, String remotePath, FileChannel dest, CRC32 checksum)
+        throws IOException, TException {
       SyncDataClient client = (SyncDataClient) dataGroupMember.getSyncClient(node);
       if (client == null) {
         throw new IOException("No available client for " + node.toString());
       }
 
-      long offset = 0;
-      // TODO-Cluster: use elaborate downloading techniques
-      int fetchSize = 64 * 1024;
+      long offset = dest.position();
+      int fetchSize = ClusterDescriptor.getInstance().getConfig().getFilePullFetchSize();
 
       try {
         while (true) {
           ByteBuffer buffer = client.readFile(remotePath, offset, fetchSize);
-          int len = writeBuffer(buffer, dest);
+          int len = writeBuffer(buffer, dest, checksum);
           if (len == 0) {
             break;
           }
@@ -580,10 +814,11 @@ public class FileSnapshot extends Snapshot implements TimeseriesSchemaSnapshot {
         }
       } catch (TException e) {
         client.getInputProtocol().getTransport().close();
+        // let the caller retry from what is downloaded
+        throw e;
       } finally {
         ClientUtils.putBackSyncClient(client);
       }
-      dest.flush();
     }
   }
 
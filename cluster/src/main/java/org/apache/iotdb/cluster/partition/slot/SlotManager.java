@@ -23,23 +23,36 @@ import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * SlotManager manages the status of the slots involved during a data transfer (data slot ownership
- * changes caused by node removals or additions) of a data group member.
+ * changes caused by node removals or additions) of a data group member. It also records the recent
+ * write and read load of each slot, which tells the hot slots to move when rebalancing the slots.
  */
 public class SlotManager {
 
   private static final Logger logger = LoggerFactory.getLogger(SlotManager.class);
   private static final long SLOT_WAIT_INTERVAL_MS = 10;
   private static final String SLOT_FILE_NAME = "SLOT_STATUS";
+  /** the recorded loads are halved every half-life, so they follow the recent rates */
+  private static final long LOAD_HALF_LIFE_MS = 10 * 60 * 1000L;
 
   private String slotFilePath;
 
   /** the serial number of a slot -> the status and source of a slot */
   private Map<Integer, SlotDescriptor> idSlotMap;
 
+  /** the number of points written into each slot, decayed over time */
+  private AtomicLongArray writeLoads;
+  /** the number of TsFiles of each slot scanned by queries, decayed over time */
+  private AtomicLongArray readLoads;
+
+  private volatile long lastLoadDecayTime = System.currentTimeMillis();
+
   public SlotManager(long totalSlotNumber, String memberDir) {
+    writeLoads = new AtomicLongArray((int) totalSlotNumber);
+    readLoads = new AtomicLongArray((int) totalSlotNumber);
     if (memberDir != null) {
       this.slotFilePath = memberDir + File.separator + SLOT_FILE_NAME;
     }
@@ -206,6 +219,68 @@ public class SlotManager {
     }
   }
 
+  /**
+   * Record that "pointNum" points are written into the slot.
+   *
+   * @param slotId
+   * @param pointNum
+   */
+  public void recordWrite(int slotId, long pointNum) {
+    if (slotId < writeLoads.length()) {
+      decayLoads(System.currentTimeMillis());
+      writeLoads.addAndGet(slotId, pointNum);
+    }
+  }
+
+  /**
+   * Record that a query scans a TsFile of the slot.
+   *
+   * @param slotId
+   */
+  public void recordRead(int slotId) {
+    if (slotId < readLoads.length()) {
+      decayLoads(System.currentTimeMillis());
+      readLoads.incrementAndGet(slotId);
+    }
+  }
+
+  public long getWriteLoad(int slotId) {
+    decayLoads(System.currentTimeMillis());
+    return writeLoads.get(slotId);
+  }
+
+  public long getReadLoad(int slotId) {
+    decayLoads(System.currentTimeMillis());
+    return readLoads.get(slotId);
+  }
+
+  public int getSlotNum() {
+    return writeLoads.length();
+  }
+
+  /**
+   * Halve the loads once for each half-life passed since the last decay.
+   *
+   * @param currentTime
+   */
+  public void decayLoads(long currentTime) {
+    if (currentTime - lastLoadDecayTime < LOAD_HALF_LIFE_MS) {
+      return;
+    }
+    synchronized (writeLoads) {
+      long halfLives = (currentTime - lastLoadDecayTime) / LOAD_HALF_LIFE_MS;
+      if (halfLives <= 0) {
+        return;
+      }
+      int shift = (int) Math.min(halfLives, Long.SIZE - 1);
+      for (int i = 0; i < writeLoads.length(); i++) {
+        writeLoads.updateAndGet(i, load -> load >> shift);
+        readLoads.updateAndGet(i, load -> load >> shift);
+      }
+      lastLoadDecayTime += halfLives * LOAD_HALF_LIFE_MS;
+    }
+  }
+
   private boolean load() {
     if (slotFilePath == null) {
       return false;
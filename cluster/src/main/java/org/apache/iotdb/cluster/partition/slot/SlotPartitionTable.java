@@ -74,6 +74,9 @@ public class SlotPartitionTable implements PartitionTable {
   // last log index that modifies the partition table
   private long lastLogIndex = -1;
 
+  // when the last slot migration that balances the load is proposed, see SlotMigrationLog
+  private long lastSlotMigrationTime = 0;
+
   /**
    * only used for deserialize.
    *
@@ -298,6 +301,34 @@ public class SlotPartitionTable implements PartitionTable {
     return result;
   }
 
+  /**
+   * Move each slot to the group of its new header to balance the load. Like the slots moved to a
+   * new node, the previous holders are recorded for the new holders to pull data from.
+   *
+   * @param slotNewHeaders slot -> the header of the group the slot is moved to
+   * @return slot -> the header of the group that previously holds it, for each moved slot
+   */
+  public Map<Integer, Node> migrateSlots(Map<Integer, Node> slotNewHeaders) {
+    Map<Integer, Node> previousHolders = new HashMap<>();
+    synchronized (nodeRing) {
+      for (Entry<Integer, Node> entry : slotNewHeaders.entrySet()) {
+        int slot = entry.getKey();
+        Node newHeader = entry.getValue();
+        Node oldHeader = slotNodes[slot];
+        if (!nodeSlotMap.containsKey(newHeader) || newHeader.equals(oldHeader)) {
+          logger.warn("Cannot move slot {} from {} to {}", slot, oldHeader, newHeader);
+          continue;
+        }
+        nodeSlotMap.get(oldHeader).remove(Integer.valueOf(slot));
+        nodeSlotMap.get(newHeader).add(slot);
+        slotNodes[slot] = newHeader;
+        previousNodeMap.computeIfAbsent(newHeader, n -> new HashMap<>()).put(slot, oldHeader);
+        previousHolders.put(slot, oldHeader);
+      }
+    }
+    return previousHolders;
+  }
+
   @Override
   public List<PartitionGroup> getLocalGroups() {
     return localGroups;
@@ -328,6 +359,7 @@ public class SlotPartitionTable implements PartitionTable {
         }
       }
       dataOutputStream.writeLong(lastLogIndex);
+      dataOutputStream.writeLong(lastSlotMigrationTime);
     } catch (IOException ignored) {
       // not reachable
     }
@@ -368,6 +400,10 @@ public class SlotPartitionTable implements PartitionTable {
       previousNodeMap.put(node, prevHolders);
     }
     lastLogIndex = buffer.getLong();
+    // absent in the tables serialized before slot migration is supported
+    if (buffer.hasRemaining()) {
+      lastSlotMigrationTime = buffer.getLong();
+    }
 
     nodeRing.addAll(nodeSlotMap.keySet());
     Collections.sort(nodeRing);
@@ -504,4 +540,12 @@ public class SlotPartitionTable implements PartitionTable {
   public synchronized void setLastLogIndex(long lastLogIndex) {
     this.lastLogIndex = Math.max(this.lastLogIndex, lastLogIndex);
   }
+
+  public long getLastSlotMigrationTime() {
+    return lastSlotMigrationTime;
+  }
+
+  public void setLastSlotMigrationTime(long lastSlotMigrationTime) {
+    this.lastSlotMigrationTime = lastSlotMigrationTime;
+  }
 }
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.cluster.partition.slot;
+
+import org.apache.iotdb.cluster.partition.PartitionGroup;
+import org.apache.iotdb.cluster.rpc.thrift.Node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * SlotRebalancer plans slot moves that even out the load of the data groups. It repeatedly moves
+ * the slot of the hottest group that best levels the hottest group and a colder one, until the
+ * hottest group is within the tolerated imbalance or the move limit is reached. A slot is only
+ * moved between groups sharing no node, as a node in both groups keeps the data of both in one
+ * storage engine and the old group would remove the data pulled by the new group.
+ */
+public class SlotRebalancer {
+
+  private final SlotPartitionTable partitionTable;
+  private final int maxMoves;
+  private final int imbalancePercent;
+
+  /**
+   * @param partitionTable
+   * @param maxMoves the max number of slots to be moved in a plan
+   * @param imbalancePercent groups loaded no more than this percentage above the average are
+   *     balanced
+   */
+  public SlotRebalancer(SlotPartitionTable partitionTable, int maxMoves, int imbalancePercent) {
+    this.partitionTable = partitionTable;
+    this.maxMoves = maxMoves;
+    this.imbalancePercent = imbalancePercent;
+  }
+
+  /**
+   * @param slotLoads the load of each slot in the cluster, absent slots have no load
+   * @return slot -> the header of the group the slot should be moved to, in the order of the moves
+   */
+  public Map<Integer, Node> plan(Map<Integer, Long> slotLoads) {
+    List<Node> headers = new ArrayList<>(partitionTable.getAllNodes());
+    Map<Node, List<Integer>> groupSlots = new HashMap<>();
+    Map<Node, Long> groupLoads = new HashMap<>();
+    long totalLoad = 0;
+    for (Node header : headers) {
+      List<Integer> slots = new ArrayList<>(partitionTable.getNodeSlots(header));
+      long groupLoad = 0;
+      for (Integer slot : slots) {
+        groupLoad += slotLoads.getOrDefault(slot, 0L);
+      }
+      groupSlots.put(header, slots);
+      groupLoads.put(header, groupLoad);
+      totalLoad += groupLoad;
+    }
+
+    Map<Integer, Node> plan = new LinkedHashMap<>();
+    if (headers.size() < 2 || totalLoad == 0) {
+      return plan;
+    }
+    double tolerableLoad = (double) totalLoad / headers.size() * (100 + imbalancePercent) / 100;
+    while (plan.size() < maxMoves) {
+      Node hottest = headers.get(0);
+      for (Node header : headers) {
+        if (groupLoads.get(header) > groupLoads.get(hottest)) {
+          hottest = header;
+        }
+      }
+      long hottestLoad = groupLoads.get(hottest);
+      if (hottestLoad <= tolerableLoad) {
+        break;
+      }
+
+      // find the move that lowers the higher load of the two groups most
+      Integer bestSlot = null;
+      Node bestTarget = null;
+      long bestMaxLoad = hottestLoad;
+      for (Node target : headers) {
+        if (!isMovable(hottest, target)) {
+          continue;
+        }
+        long targetLoad = groupLoads.get(target);
+        for (Integer slot : groupSlots.get(hottest)) {
+          long slotLoad = slotLoads.getOrDefault(slot, 0L);
+          long maxLoad = Math.max(hottestLoad - slotLoad, targetLoad + slotLoad);
+          if (slotLoad > 0 && !plan.containsKey(slot) && maxLoad < bestMaxLoad) {
+            bestSlot = slot;
+            bestTarget = target;
+            bestMaxLoad = maxLoad;
+          }
+        }
+      }
+      if (bestSlot == null) {
+        break;
+      }
+
+      long slotLoad = slotLoads.get(bestSlot);
+      groupSlots.get(hottest).remove(bestSlot);
+      groupSlots.get(bestTarget).add(bestSlot);
+      groupLoads.put(hottest, hottestLoad - slotLoad);
+      groupLoads.put(bestTarget, groupLoads.get(bestTarget) + slotLoad);
+      plan.put(bestSlot, bestTarget);
+    }
+    return plan;
+  }
+
+  /**
+   * @param source the header of the group holding a slot
+   * @param target the header of another group
+   * @return true if the slot can be moved from the group of the source to the group of the target
+   */
+  public boolean isMovable(Node source, Node target) {
+    if (source.equals(target)) {
+      return false;
+    }
+    List<Node> sourceGroup = partitionTable.getHeaderGroup(source);
+    List<Node> targetGroup = partitionTable.getHeaderGroup(target);
+    return sourceGroup != null
+        && targetGroup != null
+        && Collections.disjoint(sourceGroup, targetGroup);
+  }
+
+  /**
+   * Check the plan against the current partition table, as it may have changed since the plan was
+   * made.
+   *
+   * @param plan slot -> the header of the group the slot should be moved to
+   * @return null if the plan can be applied, or the reason why it cannot
+   */
+  public String validate(Map<Integer, Node> plan) {
+    if (plan.isEmpty()) {
+      return "The plan moves no slot";
+    }
+    if (plan.size() > maxMoves) {
+      return String.format("The plan moves %d slots, more than %d", plan.size(), maxMoves);
+    }
+    for (Entry<Integer, Node> entry : plan.entrySet()) {
+      int slot = entry.getKey();
+      PartitionGroup sourceGroup =
+          slot >= 0 && slot < partitionTable.getTotalSlotNumbers()
+              ? partitionTable.route(slot)
+              : null;
+      if (sourceGroup == null
+          || !partitionTable.getAllNodes().contains(entry.getValue())
+          || !isMovable(sourceGroup.getHeader(), entry.getValue())) {
+        return String.format("Slot %d cannot be moved to %s", slot, entry.getValue());
+      }
+    }
+    return null;
+  }
+}
@@ -26,8 +26,11 @@ import org.apache.iotdb.cluster.partition.slot.SlotPartitionTable;
 import org.apache.iotdb.cluster.query.filter.SlotTsFileFilter;
 import org.apache.iotdb.cluster.query.manage.ClusterQueryManager;
 import org.apache.iotdb.cluster.query.reader.ClusterReaderFactory;
+import org.apache.iotdb.cluster.query.reader.DataGroupTimeGenerator;
+import org.apache.iotdb.cluster.query.reader.TimeGeneratorReader;
 import org.apache.iotdb.cluster.query.reader.mult.IMultBatchReader;
 import org.apache.iotdb.cluster.rpc.thrift.GetAggrResultRequest;
+import org.apache.iotdb.cluster.rpc.thrift.GetMultSeriesAggrResultRequest;
 import org.apache.iotdb.cluster.rpc.thrift.GroupByRequest;
 import org.apache.iotdb.cluster.rpc.thrift.LastQueryRequest;
 import org.apache.iotdb.cluster.rpc.thrift.MultSeriesQueryRequest;
@@ -38,6 +41,7 @@ import org.apache.iotdb.cluster.rpc.thrift.PullSchemaResp;
 import org.apache.iotdb.cluster.rpc.thrift.SingleSeriesQueryRequest;
 import org.apache.iotdb.cluster.server.member.DataGroupMember;
 import org.apache.iotdb.cluster.utils.ClusterQueryUtils;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.metadata.IllegalPathException;
 import org.apache.iotdb.db.exception.metadata.MetadataException;
@@ -45,6 +49,7 @@ import org.apache.iotdb.db.exception.query.QueryProcessException;
 import org.apache.iotdb.db.metadata.PartialPath;
 import org.apache.iotdb.db.metadata.VectorPartialPath;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
+import org.apache.iotdb.db.qp.physical.crud.RawDataQueryPlan;
 import org.apache.iotdb.db.qp.physical.sys.ShowDevicesPlan;
 import org.apache.iotdb.db.qp.physical.sys.ShowTimeSeriesPlan;
 import org.apache.iotdb.db.query.aggregation.AggregateResult;
@@ -64,8 +69,10 @@ import org.apache.iotdb.db.utils.SerializeUtils;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.expression.IBinaryExpression;
 import org.apache.iotdb.tsfile.read.expression.IExpression;
 import org.apache.iotdb.tsfile.read.expression.impl.GlobalTimeExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.SingleSeriesExpression;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 import org.apache.iotdb.tsfile.read.reader.IBatchReader;
@@ -242,16 +249,21 @@ public class LocalQueryExecutor {
         request.getQueryId(),
         request.getPath(),
         queryContext.getQueryId());
-    IBatchReader batchReader =
-        readerFactory.getSeriesBatchReader(
-            path,
-            deviceMeasurements,
-            dataType,
-            timeFilter,
-            valueFilter,
-            queryContext,
-            dataGroupMember,
-            request.ascending);
+    IBatchReader batchReader;
+    if (request.isSetExpressionBytes()) {
+      batchReader = getExpressionReader(request, timeFilter, queryContext);
+    } else {
+      batchReader =
+          readerFactory.getSeriesBatchReader(
+              path,
+              deviceMeasurements,
+              dataType,
+              timeFilter,
+              valueFilter,
+              queryContext,
+              dataGroupMember,
+              request.ascending);
+    }
 
     // if the reader contains no data, send a special id of -1 to prevent the requester from
     // meaninglessly fetching data
@@ -281,6 +293,44 @@ public class LocalQueryExecutor {
     }
   }
 
+  /**
+   * Create a reader of the timestamps that satisfy the expression in the request over the local
+   * data, the series of the expression are not sent back.
+   *
+   * @param timeFilter nullable, the timestamps not satisfying it are skipped
+   */
+  private IBatchReader getExpressionReader(
+      SingleSeriesQueryRequest request, Filter timeFilter, RemoteQueryContext queryContext)
+      throws QueryProcessException, StorageEngineException {
+    RawDataQueryPlan queryPlan = new RawDataQueryPlan();
+    try {
+      queryPlan.setExpression(ClusterQueryUtils.deserializeExpression(request.expressionBytes));
+    } catch (IllegalPathException e) {
+      throw new QueryProcessException(e);
+    }
+    queryPlan.setAscending(request.isAscending());
+    for (PartialPath path : getPathsInExpression(queryPlan.getExpression())) {
+      queryPlan.addFilterPathInDeviceToMeasurements(path);
+    }
+
+    return new TimeGeneratorReader(
+        new DataGroupTimeGenerator(
+            queryContext, queryPlan, queryPlan.getExpression(), readerFactory, dataGroupMember),
+        timeFilter,
+        IoTDBDescriptor.getInstance().getConfig().getBatchSize());
+  }
+
+  private List<PartialPath> getPathsInExpression(IExpression expression) {
+    List<PartialPath> paths = new ArrayList<>();
+    if (expression instanceof SingleSeriesExpression) {
+      paths.add((PartialPath) ((SingleSeriesExpression) expression).getSeriesPath());
+    } else {
+      paths.addAll(getPathsInExpression(((IBinaryExpression) expression).getLeft()));
+      paths.addAll(getPathsInExpression(((IBinaryExpression) expression).getRight()));
+    }
+    return paths;
+  }
+
   /**
    * Create an IBatchReader of a path, register it in the query manager to get a reader id for it
    * and send the id back to the requester. If the reader does not have any data, an id of -1 will
@@ -622,6 +672,68 @@ public class LocalQueryExecutor {
 
     // serialize and send the results
     List<ByteBuffer> resultBuffers = new ArrayList<>();
+    serializeAggrResults(results, resultBuffers);
+    return resultBuffers;
+  }
+
+  /**
+   * Execute the aggregations of multiple series in this group.
+   *
+   * @return the serialized results of each path in the order of the paths, the results of a path
+   *     are in the order of its aggregations
+   */
+  public List<ByteBuffer> getMultSeriesAggrResult(GetMultSeriesAggrResultRequest request)
+      throws StorageEngineException, QueryProcessException, IOException {
+    logger.debug(
+        "{}: {} is querying {} series by aggregation, queryId: {}",
+        name,
+        request.getRequestor(),
+        request.getPathsSize(),
+        request.getQueryId());
+
+    List<PartialPath> paths = new ArrayList<>(request.getPathsSize());
+    try {
+      for (String path : request.getPaths()) {
+        paths.add(new PartialPath(path));
+      }
+    } catch (IllegalPathException e) {
+      logger.error(
+          "{}: aggregation has error path: {}, queryId: {}",
+          name,
+          request.getPaths(),
+          request.getQueryId());
+      throw new QueryProcessException(e);
+    }
+    List<TSDataType> dataTypes = new ArrayList<>(request.getDataTypeOrdinalsSize());
+    for (int dataTypeOrdinal : request.getDataTypeOrdinals()) {
+      dataTypes.add(TSDataType.values()[dataTypeOrdinal]);
+    }
+    Filter timeFilter = null;
+    if (request.isSetTimeFilterBytes()) {
+      timeFilter = FilterFactory.deserialize(request.timeFilterBytes);
+    }
+    RemoteQueryContext queryContext =
+        queryManager.getQueryContext(
+            request.getRequestor(), request.queryId, DEFAULT_FETCH_SIZE, -1);
+
+    List<List<AggregateResult>> results =
+        getMultSeriesAggrResult(
+            paths,
+            request.getAggregations(),
+            dataTypes,
+            request.getDeviceMeasurements(),
+            timeFilter,
+            queryContext,
+            request.ascending);
+
+    List<ByteBuffer> resultBuffers = new ArrayList<>();
+    for (List<AggregateResult> seriesResults : results) {
+      serializeAggrResults(seriesResults, resultBuffers);
+    }
+    return resultBuffers;
+  }
+
+  private void serializeAggrResults(List<AggregateResult> results, List<ByteBuffer> resultBuffers) {
     ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
     for (AggregateResult result : results) {
       try {
@@ -632,7 +744,48 @@ public class LocalQueryExecutor {
       resultBuffers.add(ByteBuffer.wrap(byteArrayOutputStream.toByteArray()));
       byteArrayOutputStream.reset();
     }
-    return resultBuffers;
+  }
+
+  /**
+   * Execute the aggregations of multiple series with "timeFilter". Unlike calling getAggrResult for
+   * each series, the consistency is only checked once.
+   *
+   * @param aggregations the aggregation names of each path
+   * @param deviceMeasurements device -> all queried measurements of the device
+   * @param timeFilter nullable
+   * @return the results of each path
+   */
+  @SuppressWarnings("java:S107")
+  public List<List<AggregateResult>> getMultSeriesAggrResult(
+      List<PartialPath> paths,
+      List<List<String>> aggregations,
+      List<TSDataType> dataTypes,
+      Map<String, Set<String>> deviceMeasurements,
+      Filter timeFilter,
+      QueryContext context,
+      boolean ascending)
+      throws IOException, StorageEngineException, QueryProcessException {
+    try {
+      dataGroupMember.syncLeaderWithConsistencyCheck(false);
+    } catch (CheckConsistencyException e) {
+      throw new QueryProcessException(e.getMessage());
+    }
+
+    List<List<AggregateResult>> results = new ArrayList<>(paths.size());
+    for (int i = 0; i < paths.size(); i++) {
+      PartialPath path = paths.get(i);
+      ClusterQueryUtils.checkPathExistence(path);
+      results.add(
+          aggregateLocally(
+              aggregations.get(i),
+              deviceMeasurements.get(path.getDevice()),
+              dataTypes.get(i),
+              path,
+              timeFilter,
+              context,
+              ascending));
+    }
+    return results;
   }
 
   /**
@@ -665,6 +818,19 @@ public class LocalQueryExecutor {
     }
 
     ClusterQueryUtils.checkPathExistence(path);
+    return aggregateLocally(
+        aggregations, allSensors, dataType, path, timeFilter, context, ascending);
+  }
+
+  private List<AggregateResult> aggregateLocally(
+      List<String> aggregations,
+      Set<String> allSensors,
+      TSDataType dataType,
+      PartialPath path,
+      Filter timeFilter,
+      QueryContext context,
+      boolean ascending)
+      throws IOException, StorageEngineException, QueryProcessException {
     List<AggregateResult> results = new ArrayList<>();
     for (String aggregation : aggregations) {
       results.add(AggregateResultFactory.getAggrResultByName(aggregation, dataType));
@@ -681,7 +847,7 @@ public class LocalQueryExecutor {
           dataType,
           results,
           null,
-          new SlotTsFileFilter(nodeSlots));
+          new SlotTsFileFilter(nodeSlots, dataGroupMember.getSlotManager()));
     } else {
       AggregationExecutor.aggregateOneSeries(
           path,
@@ -691,7 +857,7 @@ public class LocalQueryExecutor {
           dataType,
           null,
           results,
-          new SlotTsFileFilter(nodeSlots));
+          new SlotTsFileFilter(nodeSlots, dataGroupMember.getSlotManager()));
     }
     return results;
   }
@@ -759,7 +925,7 @@ public class LocalQueryExecutor {
             dataType,
             context,
             timeFilter,
-            new SlotTsFileFilter(nodeSlots),
+            new SlotTsFileFilter(nodeSlots, dataGroupMember.getSlotManager()),
             ascending);
     for (Integer aggregationType : aggregationTypes) {
       executor.addAggregateResult(
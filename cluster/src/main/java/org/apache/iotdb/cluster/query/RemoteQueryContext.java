@@ -22,15 +22,17 @@ package org.apache.iotdb.cluster.query;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
 import org.apache.iotdb.db.query.context.QueryContext;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 
 public class RemoteQueryContext extends QueryContext {
-  /** The remote nodes that are queried in this query, grouped by the header nodes. */
-  private Map<Node, Set<Node>> queriedNodesMap = new HashMap<>();
+  /**
+   * The remote nodes that are queried in this query, grouped by the header nodes. The groups may be
+   * queried concurrently.
+   */
+  private Map<Node, Set<Node>> queriedNodesMap = new ConcurrentHashMap<>();
   /** The readers constructed locally to respond a remote query. */
   private Set<Long> localReaderIds = new ConcurrentSkipListSet<>();
 
@@ -46,7 +48,7 @@ public class RemoteQueryContext extends QueryContext {
   }
 
   public void registerRemoteNode(Node node, Node header) {
-    queriedNodesMap.computeIfAbsent(header, n -> new HashSet<>()).add(node);
+    queriedNodesMap.computeIfAbsent(header, n -> ConcurrentHashMap.newKeySet()).add(node);
   }
 
   public void registerLocalReader(long readerId) {
@@ -36,6 +36,7 @@ import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.query.timegenerator.TimeGenerator;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -58,27 +59,49 @@ public class ClusterAggregateExecutor extends AggregationExecutor {
     this.aggregator = new ClusterAggregator(metaMember);
   }
 
+  /** Aggregate the series together, so the series in the same data group share one request. */
   @Override
-  protected void aggregateOneSeries(
-      Map.Entry<PartialPath, List<Integer>> pathToAggrIndexes,
+  protected void aggregateSeries(
+      Map<PartialPath, List<Integer>> pathToAggrIndexesMap,
       AggregateResult[] aggregateResultList,
-      Set<String> measurements,
+      AggregationPlan aggregationPlan,
       Filter timeFilter,
       QueryContext context)
       throws StorageEngineException {
-    PartialPath seriesPath = pathToAggrIndexes.getKey();
-    TSDataType tsDataType = dataTypes.get(pathToAggrIndexes.getValue().get(0));
-    List<String> aggregationNames = new ArrayList<>();
-
-    for (int i : pathToAggrIndexes.getValue()) {
-      aggregationNames.add(aggregations.get(i));
+    List<PartialPath> seriesPaths = new ArrayList<>(pathToAggrIndexesMap.size());
+    List<List<String>> seriesAggregations = new ArrayList<>(pathToAggrIndexesMap.size());
+    List<TSDataType> seriesDataTypes = new ArrayList<>(pathToAggrIndexesMap.size());
+    Map<String, Set<String>> deviceMeasurements = new HashMap<>();
+    for (Map.Entry<PartialPath, List<Integer>> pathToAggrIndexes :
+        pathToAggrIndexesMap.entrySet()) {
+      PartialPath seriesPath = pathToAggrIndexes.getKey();
+      List<String> aggregationNames = new ArrayList<>();
+      for (int i : pathToAggrIndexes.getValue()) {
+        aggregationNames.add(aggregations.get(i));
+      }
+      seriesPaths.add(seriesPath);
+      seriesAggregations.add(aggregationNames);
+      seriesDataTypes.add(dataTypes.get(pathToAggrIndexes.getValue().get(0)));
+      deviceMeasurements.computeIfAbsent(
+          seriesPath.getDevice(), aggregationPlan::getAllMeasurementsInDevice);
     }
-    List<AggregateResult> aggregateResult =
-        aggregator.getAggregateResult(
-            seriesPath, measurements, aggregationNames, tsDataType, timeFilter, context, ascending);
-    int rstIndex = 0;
-    for (int i : pathToAggrIndexes.getValue()) {
-      aggregateResultList[i] = aggregateResult.get(rstIndex++);
+
+    List<List<AggregateResult>> seriesResults =
+        aggregator.getMultSeriesAggrResult(
+            seriesPaths,
+            seriesAggregations,
+            seriesDataTypes,
+            deviceMeasurements,
+            timeFilter,
+            context,
+            ascending);
+    int seriesIndex = 0;
+    for (List<Integer> aggrIndexes : pathToAggrIndexesMap.values()) {
+      List<AggregateResult> aggregateResult = seriesResults.get(seriesIndex++);
+      int rstIndex = 0;
+      for (int i : aggrIndexes) {
+        aggregateResultList[i] = aggregateResult.get(rstIndex++);
+      }
     }
   }
 
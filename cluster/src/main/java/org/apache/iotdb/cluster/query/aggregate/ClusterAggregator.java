@@ -31,6 +31,7 @@ import org.apache.iotdb.cluster.query.LocalQueryExecutor;
 import org.apache.iotdb.cluster.query.RemoteQueryContext;
 import org.apache.iotdb.cluster.query.manage.QueryCoordinator;
 import org.apache.iotdb.cluster.rpc.thrift.GetAggrResultRequest;
+import org.apache.iotdb.cluster.rpc.thrift.GetMultSeriesAggrResultRequest;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
 import org.apache.iotdb.cluster.server.RaftServer;
 import org.apache.iotdb.cluster.server.member.DataGroupMember;
@@ -40,11 +41,13 @@ import org.apache.iotdb.db.exception.query.QueryProcessException;
 import org.apache.iotdb.db.metadata.PartialPath;
 import org.apache.iotdb.db.query.aggregation.AggregateResult;
 import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.factory.AggregateResultFactory;
 import org.apache.iotdb.db.utils.SerializeUtils;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,13 +56,32 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @SuppressWarnings("java:S107")
 public class ClusterAggregator {
 
   private static final Logger logger = LoggerFactory.getLogger(ClusterAggregator.class);
+
+  private static final ExecutorService aggregationPool =
+      Executors.newFixedThreadPool(
+          Runtime.getRuntime().availableProcessors(),
+          new BasicThreadFactory.Builder()
+              .namingPattern("ClusterAggregation-%d")
+              .daemon(true)
+              .build());
+
   private MetaGroupMember metaGroupMember;
 
   public ClusterAggregator(MetaGroupMember metaGroupMember) {
@@ -126,6 +148,281 @@ public class ClusterAggregator {
     return results;
   }
 
+  /**
+   * Perform the aggregations of multiple series in some data groups and merge the results. All
+   * series in the same group are aggregated in one request instead of one request for each series,
+   * and the groups are queried concurrently. The results of a group are merged as soon as the group
+   * responds, so the merging overlaps the queries of the slower groups.
+   *
+   * @param aggregations the aggregation names of each path
+   * @param deviceMeasurements device -> all queried measurements of the device
+   * @param timeFilter nullable, when null, all groups will be queried
+   * @return the results of each path, in the order of the aggregations of the path
+   */
+  public List<List<AggregateResult>> getMultSeriesAggrResult(
+      List<PartialPath> paths,
+      List<List<String>> aggregations,
+      List<TSDataType> dataTypes,
+      Map<String, Set<String>> deviceMeasurements,
+      Filter timeFilter,
+      QueryContext context,
+      boolean ascending)
+      throws StorageEngineException {
+    // make sure the partition table is new
+    try {
+      metaGroupMember.syncLeaderWithConsistencyCheck(false);
+    } catch (CheckConsistencyException e) {
+      throw new StorageEngineException(e);
+    }
+    // find the paths to be queried in each group using timeFilter and the paths
+    Map<PartitionGroup, List<Integer>> groupPathIndexes = new HashMap<>();
+    for (int i = 0; i < paths.size(); i++) {
+      List<PartitionGroup> partitionGroups;
+      try {
+        partitionGroups = metaGroupMember.routeFilter(timeFilter, paths.get(i));
+      } catch (EmptyIntervalException e) {
+        logger.info(e.getMessage());
+        partitionGroups = Collections.emptyList();
+      }
+      for (PartitionGroup partitionGroup : partitionGroups) {
+        groupPathIndexes.computeIfAbsent(partitionGroup, g -> new ArrayList<>()).add(i);
+      }
+    }
+    logger.debug(
+        "{}: Sending aggregation query of {} series to {} groups",
+        metaGroupMember.getName(),
+        paths.size(),
+        groupPathIndexes.size());
+
+    CompletionService<List<List<AggregateResult>>> completionService =
+        new ExecutorCompletionService<>(aggregationPool);
+    Map<Future<List<List<AggregateResult>>>, List<Integer>> pendingGroups = new HashMap<>();
+    for (Entry<PartitionGroup, List<Integer>> entry : groupPathIndexes.entrySet()) {
+      PartitionGroup partitionGroup = entry.getKey();
+      List<Integer> pathIndexes = entry.getValue();
+      List<PartialPath> groupPaths = new ArrayList<>(pathIndexes.size());
+      List<List<String>> groupAggregations = new ArrayList<>(pathIndexes.size());
+      List<TSDataType> groupDataTypes = new ArrayList<>(pathIndexes.size());
+      Map<String, Set<String>> groupDeviceMeasurements = new HashMap<>();
+      for (int pathIndex : pathIndexes) {
+        PartialPath path = paths.get(pathIndex);
+        groupPaths.add(path);
+        groupAggregations.add(aggregations.get(pathIndex));
+        groupDataTypes.add(dataTypes.get(pathIndex));
+        groupDeviceMeasurements.put(path.getDevice(), deviceMeasurements.get(path.getDevice()));
+      }
+      pendingGroups.put(
+          completionService.submit(
+              () ->
+                  getMultSeriesAggrResult(
+                      groupPaths,
+                      groupAggregations,
+                      groupDataTypes,
+                      groupDeviceMeasurements,
+                      timeFilter,
+                      partitionGroup,
+                      context,
+                      ascending)),
+          pathIndexes);
+    }
+
+    // merge the results of each group in the order they respond
+    List<List<AggregateResult>> results = new ArrayList<>(paths.size());
+    for (int i = 0; i < paths.size(); i++) {
+      results.add(null);
+    }
+    try {
+      for (int i = 0; i < groupPathIndexes.size(); i++) {
+        Future<List<List<AggregateResult>>> groupFuture = completionService.take();
+        List<Integer> pathIndexes = pendingGroups.get(groupFuture);
+        List<List<AggregateResult>> groupResults = groupFuture.get();
+        for (int j = 0; j < pathIndexes.size(); j++) {
+          mergeResults(results, pathIndexes.get(j), groupResults.get(j));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new StorageEngineException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof StorageEngineException) {
+        throw (StorageEngineException) e.getCause();
+      }
+      throw new StorageEngineException(e.getCause());
+    }
+
+    // the series not in any group have empty results
+    for (int i = 0; i < paths.size(); i++) {
+      if (results.get(i) == null) {
+        List<AggregateResult> emptyResults = new ArrayList<>();
+        for (String aggregation : aggregations.get(i)) {
+          emptyResults.add(
+              AggregateResultFactory.getAggrResultByName(aggregation, dataTypes.get(i), ascending));
+        }
+        results.set(i, emptyResults);
+      }
+    }
+    return results;
+  }
+
+  private void mergeResults(
+      List<List<AggregateResult>> results, int pathIndex, List<AggregateResult> groupResults) {
+    List<AggregateResult> pathResults = results.get(pathIndex);
+    if (pathResults == null) {
+      // the first results
+      results.set(pathIndex, groupResults);
+    } else {
+      for (int i = 0; i < pathResults.size(); i++) {
+        pathResults.get(i).merge(groupResults.get(i));
+      }
+    }
+  }
+
+  /**
+   * Perform the aggregations of multiple series in "partitionGroup". If the local node is the
+   * member of the group, do it locally, otherwise pull the results from a remote node.
+   *
+   * @param timeFilter nullable
+   */
+  private List<List<AggregateResult>> getMultSeriesAggrResult(
+      List<PartialPath> paths,
+      List<List<String>> aggregations,
+      List<TSDataType> dataTypes,
+      Map<String, Set<String>> deviceMeasurements,
+      Filter timeFilter,
+      PartitionGroup partitionGroup,
+      QueryContext context,
+      boolean ascending)
+      throws StorageEngineException {
+    if (!partitionGroup.contains(metaGroupMember.getThisNode())) {
+      return getRemoteMultSeriesAggrResult(
+          paths,
+          aggregations,
+          dataTypes,
+          deviceMeasurements,
+          timeFilter,
+          partitionGroup,
+          context,
+          ascending);
+    }
+    // perform the aggregations locally
+    DataGroupMember dataMember = metaGroupMember.getLocalDataMember(partitionGroup.getHeader());
+    LocalQueryExecutor localQueryExecutor = new LocalQueryExecutor(dataMember);
+    try {
+      logger.debug(
+          "{}: querying aggregation of {} series in {} locally",
+          metaGroupMember.getName(),
+          paths.size(),
+          partitionGroup.getHeader());
+      return localQueryExecutor.getMultSeriesAggrResult(
+          paths, aggregations, dataTypes, deviceMeasurements, timeFilter, context, ascending);
+    } catch (IOException | QueryProcessException e) {
+      throw new StorageEngineException(e);
+    }
+  }
+
+  /**
+   * Perform the aggregations of multiple series in a remote data group "partitionGroup" with one
+   * request. Query one node in the group to get the results.
+   *
+   * @param timeFilter nullable
+   */
+  private List<List<AggregateResult>> getRemoteMultSeriesAggrResult(
+      List<PartialPath> paths,
+      List<List<String>> aggregations,
+      List<TSDataType> dataTypes,
+      Map<String, Set<String>> deviceMeasurements,
+      Filter timeFilter,
+      PartitionGroup partitionGroup,
+      QueryContext context,
+      boolean ascending)
+      throws StorageEngineException {
+    GetMultSeriesAggrResultRequest request = new GetMultSeriesAggrResultRequest();
+    request.setPaths(PartialPath.toStringList(paths));
+    request.setAggregations(aggregations);
+    List<Integer> dataTypeOrdinals = new ArrayList<>(dataTypes.size());
+    for (TSDataType dataType : dataTypes) {
+      dataTypeOrdinals.add(dataType.ordinal());
+    }
+    request.setDataTypeOrdinals(dataTypeOrdinals);
+    request.setQueryId(context.getQueryId());
+    request.setRequestor(metaGroupMember.getThisNode());
+    request.setHeader(partitionGroup.getHeader());
+    request.setDeviceMeasurements(deviceMeasurements);
+    request.setAscending(ascending);
+    if (timeFilter != null) {
+      request.setTimeFilterBytes(SerializeUtils.serializeFilter(timeFilter));
+    }
+
+    // put nodes with lowest delay at first
+    List<Node> reorderedNodes = QueryCoordinator.getINSTANCE().reorderNodes(partitionGroup);
+    for (Node node : reorderedNodes) {
+      logger.debug(
+          "{}: querying aggregation of {} series from {} of {}",
+          metaGroupMember.getName(),
+          paths.size(),
+          node,
+          partitionGroup.getHeader());
+
+      try {
+        List<ByteBuffer> resultBuffers = getRemoteMultSeriesAggrResult(node, request);
+        if (resultBuffers != null) {
+          // the results of all paths are flattened in the order of the paths
+          Iterator<ByteBuffer> resultBufferIterator = resultBuffers.iterator();
+          List<List<AggregateResult>> results = new ArrayList<>(paths.size());
+          for (List<String> pathAggregations : aggregations) {
+            List<AggregateResult> pathResults = new ArrayList<>(pathAggregations.size());
+            for (int i = 0; i < pathAggregations.size(); i++) {
+              pathResults.add(AggregateResult.deserializeFrom(resultBufferIterator.next()));
+            }
+            results.add(pathResults);
+          }
+          // register the queried node to release resources when the query ends
+          ((RemoteQueryContext) context).registerRemoteNode(node, partitionGroup.getHeader());
+          return results;
+        }
+      } catch (TException | IOException e) {
+        logger.error(
+            "{}: Cannot query aggregation of {} series from {}",
+            metaGroupMember.getName(),
+            paths.size(),
+            node,
+            e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        logger.error(
+            "{}: query of {} series interrupted from {}",
+            metaGroupMember.getName(),
+            paths.size(),
+            node,
+            e);
+      }
+    }
+    throw new StorageEngineException(
+        new RequestTimeOutException(
+            "Query aggregate: " + paths.size() + " series in " + partitionGroup));
+  }
+
+  private List<ByteBuffer> getRemoteMultSeriesAggrResult(
+      Node node, GetMultSeriesAggrResultRequest request)
+      throws IOException, TException, InterruptedException {
+    List<ByteBuffer> resultBuffers;
+    if (ClusterDescriptor.getInstance().getConfig().isUseAsyncServer()) {
+      AsyncDataClient client =
+          metaGroupMember
+              .getClientProvider()
+              .getAsyncDataClient(node, RaftServer.getReadOperationTimeoutMS());
+      resultBuffers = SyncClientAdaptor.getMultSeriesAggrResult(client, request);
+    } else {
+      try (SyncDataClient syncDataClient =
+          metaGroupMember
+              .getClientProvider()
+              .getSyncDataClient(node, RaftServer.getReadOperationTimeoutMS())) {
+        resultBuffers = syncDataClient.getMultSeriesAggrResult(request);
+      }
+    }
+    return resultBuffers;
+  }
+
   /**
    * Perform "aggregations" over "path" in "partitionGroup". If the local node is the member of the
    * group, do it locally, otherwise pull the results from a remote node.
@@ -20,6 +20,7 @@
 package org.apache.iotdb.cluster.query.filter;
 
 import org.apache.iotdb.cluster.config.ClusterConstant;
+import org.apache.iotdb.cluster.partition.slot.SlotManager;
 import org.apache.iotdb.cluster.partition.slot.SlotPartitionTable;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.query.filter.TsFileFilter;
@@ -35,17 +36,25 @@ public class SlotTsFileFilter implements TsFileFilter {
 
   private static final Logger logger = LoggerFactory.getLogger(SlotTsFileFilter.class);
   private List<Integer> slots;
+  // nullable, records the scanned files as the read load of their slots
+  private SlotManager slotManager;
 
   public SlotTsFileFilter(List<Integer> slots) {
     this.slots = slots;
   }
 
+  public SlotTsFileFilter(List<Integer> slots, SlotManager slotManager) {
+    this.slots = slots;
+    this.slotManager = slotManager;
+  }
+
   @Override
   public boolean fileNotSatisfy(TsFileResource resource) {
-    return fileNotInSlots(resource, slots);
+    return fileNotInSlots(resource, slots, slotManager);
   }
 
-  private static boolean fileNotInSlots(TsFileResource resource, List<Integer> nodeSlots) {
+  private static boolean fileNotInSlots(
+      TsFileResource resource, List<Integer> nodeSlots, SlotManager slotManager) {
     Pair<String, Long> sgNameAndPartitionIdPair =
         FilePathUtils.getLogicalSgNameAndTimePartitionIdPair(resource);
     int slot =
@@ -55,6 +64,9 @@ public class SlotTsFileFilter implements TsFileFilter {
                 sgNameAndPartitionIdPair.right,
                 ClusterConstant.SLOT_NUM);
     boolean contained = nodeSlots.contains(slot);
+    if (contained && slotManager != null) {
+      slotManager.recordRead(slot);
+    }
     logger.debug(
         "The slot of {} is {}, contained: {}", resource.getTsFile().getPath(), slot, contained);
     return !contained;
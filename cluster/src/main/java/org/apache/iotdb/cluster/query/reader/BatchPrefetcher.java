@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.cluster.query.reader;
+
+import org.apache.iotdb.cluster.config.ClusterDescriptor;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BatchPrefetcher fetches the batches of a remote reader in the background ahead of the consumer,
+ * so the consumer does not stall for a whole RPC at each batch boundary. As a remote reader can
+ * only be read sequentially, at most one fetch is in flight, and the next one is issued when it
+ * completes if fewer batches than the prefetch depth are buffered. The depth adapts to the pace of
+ * the consumer: it grows when the consumer has to wait for a batch, and shrinks when the consumer
+ * finds the buffer full, i.e., the fetches are well ahead of it.
+ *
+ * @param <T> the type of batches
+ */
+public class BatchPrefetcher<T> {
+
+  private static final Logger logger = LoggerFactory.getLogger(BatchPrefetcher.class);
+
+  /**
+   * shared by all prefetchers. As each prefetcher has at most one fetch in flight, the queue holds
+   * no more tasks than the open remote readers, and the idle threads exit.
+   */
+  private static final ThreadPoolExecutor PREFETCH_POOL = createPrefetchPool();
+
+  /** fetches the next batch from the remote side, returns null when there are no more batches */
+  @FunctionalInterface
+  public interface BatchFetcher<T> {
+
+    T fetch() throws IOException;
+  }
+
+  private final BatchFetcher<T> fetcher;
+  private final int maxDepth;
+
+  private final Queue<T> batches = new ArrayDeque<>();
+  private int depth = 1;
+  private boolean fetching;
+  private boolean finished;
+  private boolean closed;
+  private IOException fetchException;
+
+  public BatchPrefetcher(BatchFetcher<T> fetcher) {
+    this(fetcher, ClusterDescriptor.getInstance().getConfig().getMaxPrefetchBatches());
+  }
+
+  /**
+   * @param fetcher
+   * @param maxDepth the max number of batches fetched ahead of the consumer, 0 means the batches
+   *     are fetched by the consumer when needed
+   */
+  public BatchPrefetcher(BatchFetcher<T> fetcher, int maxDepth) {
+    this.fetcher = fetcher;
+    this.maxDepth = maxDepth;
+  }
+
+  private static ThreadPoolExecutor createPrefetchPool() {
+    int poolSize = Math.max(Runtime.getRuntime().availableProcessors() * 2, 4);
+    ThreadPoolExecutor pool =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("RemoteBatchPrefetch-%d")
+                .build());
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+  /** @return the next batch, or null if there are no more batches */
+  public synchronized T next() throws IOException {
+    if (maxDepth <= 0) {
+      return finished ? null : fetchInPlace();
+    }
+
+    if (batches.isEmpty() && !finished && fetchException == null) {
+      // the consumer is faster than the fetches, fetch further ahead
+      depth = Math.min(depth + 1, maxDepth);
+    } else if (batches.size() >= depth && depth > 1) {
+      depth--;
+    }
+    while (batches.isEmpty() && !finished) {
+      if (fetchException != null) {
+        IOException e = fetchException;
+        fetchException = null;
+        throw e;
+      }
+      if (!fetching) {
+        startFetch();
+      }
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted when waiting for a remote batch", e);
+      }
+    }
+    T batch = batches.poll();
+    if (!fetching && !finished && !closed && batches.size() < depth) {
+      startFetch();
+    }
+    return batch;
+  }
+
+  private T fetchInPlace() throws IOException {
+    T batch = fetcher.fetch();
+    if (batch == null) {
+      finished = true;
+    }
+    return batch;
+  }
+
+  private void startFetch() {
+    fetching = true;
+    PREFETCH_POOL.submit(this::fetchInBackground);
+  }
+
+  private void fetchInBackground() {
+    T batch = null;
+    IOException exception = null;
+    try {
+      batch = fetcher.fetch();
+    } catch (IOException e) {
+      exception = e;
+    } catch (Exception e) {
+      logger.error("Unexpected exception when prefetching a remote batch", e);
+      exception = new IOException(e);
+    }
+
+    synchronized (this) {
+      fetching = false;
+      if (closed) {
+        // the reader is closed while the batch is being fetched, nobody will consume it
+        logger.debug("Discard a remote batch fetched after the prefetcher is closed");
+      } else if (exception != null) {
+        fetchException = exception;
+      } else if (batch == null) {
+        finished = true;
+      } else {
+        batches.add(batch);
+        if (batches.size() < depth) {
+          startFetch();
+        }
+      }
+      notifyAll();
+    }
+  }
+
+  /** Stop fetching ahead, the batch in flight is discarded when it completes. */
+  public synchronized void close() {
+    closed = true;
+    batches.clear();
+  }
+
+  /** Wait for the fetch in flight and discard the fetched batches. */
+  synchronized void clear() {
+    if (!awaitFetch()) {
+      return;
+    }
+    batches.clear();
+    finished = false;
+    fetchException = null;
+  }
+
+  /** @return false if interrupted */
+  private boolean awaitFetch() {
+    while (fetching) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+    return true;
+  }
+
+  int getDepth() {
+    return depth;
+  }
+
+  /** Wait for the fetch in flight and get the number of the buffered batches. */
+  synchronized int getBatchNum() {
+    awaitFetch();
+    return batches.size();
+  }
+}
@@ -47,11 +47,13 @@ import org.apache.iotdb.cluster.server.RaftServer;
 import org.apache.iotdb.cluster.server.member.DataGroupMember;
 import org.apache.iotdb.cluster.server.member.MetaGroupMember;
 import org.apache.iotdb.cluster.utils.ClusterQueryUtils;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.query.QueryProcessException;
 import org.apache.iotdb.db.metadata.PartialPath;
 import org.apache.iotdb.db.metadata.VectorPartialPath;
+import org.apache.iotdb.db.qp.physical.crud.RawDataQueryPlan;
 import org.apache.iotdb.db.query.aggregation.AggregationType;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.QueryResourceManager;
@@ -67,6 +69,7 @@ import org.apache.iotdb.db.utils.SerializeUtils;
 import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.expression.IExpression;
 import org.apache.iotdb.tsfile.read.filter.TimeFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.reader.IBatchReader;
@@ -277,6 +280,101 @@ public class ClusterReaderFactory {
     return multPointReaders;
   }
 
+  /**
+   * Create a ManagedSeriesReader of the timestamps satisfying "expression", whose series all belong
+   * to the storage group of "path". As the data of such series at a timestamp are in the same data
+   * group, each group evaluates the expression over its own data and only the satisfying timestamps
+   * are sent back, and the timestamps of all groups are merged.
+   *
+   * @param expression an expression of SingleSeriesExpressions joined by AND and OR
+   * @param path any path in the expression
+   * @param queryPlan provides the measurements of the devices and the order of the query
+   * @return the reader, or null if all data groups are local so there is no transfer to save
+   */
+  public ManagedSeriesReader getExpressionReader(
+      IExpression expression, PartialPath path, RawDataQueryPlan queryPlan, QueryContext context)
+      throws StorageEngineException, EmptyIntervalException {
+    List<PartitionGroup> partitionGroups = metaGroupMember.routeFilter(null, path);
+    boolean hasRemoteGroup = false;
+    for (PartitionGroup partitionGroup : partitionGroups) {
+      hasRemoteGroup = hasRemoteGroup || !partitionGroup.contains(metaGroupMember.getThisNode());
+    }
+    if (!hasRemoteGroup) {
+      return null;
+    }
+    logger.debug(
+        "{}: Sending expression {} to {} groups",
+        metaGroupMember.getName(),
+        expression,
+        partitionGroups.size());
+
+    int batchSize = IoTDBDescriptor.getInstance().getConfig().getBatchSize();
+    ManagedMergeReader mergeReader = new ManagedMergeReader(TSDataType.BOOLEAN);
+    try {
+      for (PartitionGroup partitionGroup : partitionGroups) {
+        IPointReader reader;
+        if (partitionGroup.contains(metaGroupMember.getThisNode())) {
+          DataGroupMember dataGroupMember =
+              metaGroupMember.getLocalDataMember(
+                  partitionGroup.getHeader(),
+                  String.format("Query: %s, queryId: %d", expression, context.getQueryId()));
+          reader =
+              new TimeGeneratorReader(
+                  new DataGroupTimeGenerator(context, queryPlan, expression, this, dataGroupMember),
+                  null,
+                  batchSize);
+        } else {
+          reader = getRemoteExpressionReader(expression, path, queryPlan, partitionGroup, context);
+        }
+        mergeReader.addReader(reader, 0);
+      }
+    } catch (IOException e) {
+      throw new StorageEngineException(e);
+    }
+    return mergeReader;
+  }
+
+  private IPointReader getRemoteExpressionReader(
+      IExpression expression,
+      PartialPath path,
+      RawDataQueryPlan queryPlan,
+      PartitionGroup partitionGroup,
+      QueryContext context)
+      throws StorageEngineException {
+    SingleSeriesQueryRequest request =
+        constructSingleQueryRequest(
+            null,
+            null,
+            TSDataType.BOOLEAN,
+            path,
+            queryPlan.getAllMeasurementsInDevice(path.getDevice()),
+            partitionGroup,
+            context,
+            queryPlan.isAscending());
+    request.setExpressionBytes(ClusterQueryUtils.serializeExpression(expression));
+
+    List<Node> orderedNodes = QueryCoordinator.getINSTANCE().reorderNodes(partitionGroup);
+    DataSourceInfo dataSourceInfo =
+        new DataSourceInfo(
+            partitionGroup,
+            TSDataType.BOOLEAN,
+            request,
+            (RemoteQueryContext) context,
+            metaGroupMember,
+            orderedNodes);
+
+    boolean hasClient = dataSourceInfo.hasNextDataClient(false, Long.MIN_VALUE);
+    if (hasClient) {
+      return new RemoteSimpleSeriesReader(dataSourceInfo);
+    } else if (dataSourceInfo.isNoData()) {
+      // there is no satisfying timestamp on the remote node
+      return new EmptyReader();
+    }
+
+    throw new StorageEngineException(
+        new RequestTimeOutException("Query " + expression + " in " + partitionGroup));
+  }
+
   /**
    * Query one node in "partitionGroup" for data of "path" with "timeFilter" and "valueFilter". If
    * "partitionGroup" contains the local node, a local reader will be returned. Otherwise a remote
@@ -483,7 +581,7 @@ public class ClusterReaderFactory {
             timeFilter,
             valueFilter,
             context,
-            dataGroupMember.getHeader(),
+            dataGroupMember,
             ascending));
   }
 
@@ -506,12 +604,13 @@ public class ClusterReaderFactory {
       Filter timeFilter,
       Filter valueFilter,
       QueryContext context,
-      Node header,
+      DataGroupMember dataGroupMember,
       boolean ascending)
       throws StorageEngineException, QueryProcessException {
     ClusterQueryUtils.checkPathExistence(path);
     List<Integer> nodeSlots =
-        ((SlotPartitionTable) metaGroupMember.getPartitionTable()).getNodeSlots(header);
+        ((SlotPartitionTable) metaGroupMember.getPartitionTable())
+            .getNodeSlots(dataGroupMember.getHeader());
     QueryDataSource queryDataSource =
         QueryResourceManager.getInstance().getQueryDataSource(path, context, timeFilter);
     return new SeriesReader(
@@ -522,7 +621,7 @@ public class ClusterReaderFactory {
         queryDataSource,
         timeFilter,
         valueFilter,
-        new SlotTsFileFilter(nodeSlots),
+        new SlotTsFileFilter(nodeSlots, dataGroupMember.getSlotManager()),
         ascending);
   }
 
@@ -950,7 +1049,7 @@ public class ClusterReaderFactory {
             timeFilter,
             valueFilter,
             context,
-            dataGroupMember.getHeader(),
+            dataGroupMember,
             ascending);
     if (seriesReader.isEmpty()) {
       return null;
@@ -999,7 +1098,7 @@ public class ClusterReaderFactory {
               timeFilter,
               valueFilter,
               context,
-              dataGroupMember.getHeader(),
+              dataGroupMember,
               ascending);
       partialPathBatchReaderMap.put(
           PartialPath.getExactFullPath(partialPath), new SeriesRawDataBatchReader(seriesReader));
@@ -1038,7 +1137,7 @@ public class ClusterReaderFactory {
             TimeFilter.gtEq(Long.MIN_VALUE),
             null,
             context,
-            dataGroupMember.getHeader(),
+            dataGroupMember,
             ascending);
     try {
       if (seriesReader.isEmpty()) {
@@ -20,12 +20,15 @@
 package org.apache.iotdb.cluster.query.reader;
 
 import org.apache.iotdb.cluster.exception.CheckConsistencyException;
+import org.apache.iotdb.cluster.exception.EmptyIntervalException;
 import org.apache.iotdb.cluster.metadata.CMManager;
 import org.apache.iotdb.cluster.partition.PartitionGroup;
 import org.apache.iotdb.cluster.server.member.DataGroupMember;
 import org.apache.iotdb.cluster.server.member.MetaGroupMember;
 import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.db.exception.metadata.MetadataException;
 import org.apache.iotdb.db.metadata.PartialPath;
+import org.apache.iotdb.db.metadata.VectorPartialPath;
 import org.apache.iotdb.db.qp.physical.crud.RawDataQueryPlan;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.reader.series.ManagedSeriesReader;
@@ -33,6 +36,7 @@ import org.apache.iotdb.db.query.timegenerator.ServerTimeGenerator;
 import org.apache.iotdb.db.service.IoTDB;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.expression.ExpressionType;
 import org.apache.iotdb.tsfile.read.expression.IBinaryExpression;
 import org.apache.iotdb.tsfile.read.expression.IExpression;
@@ -47,14 +51,23 @@ import org.apache.iotdb.tsfile.read.reader.IBatchReader;
 import org.apache.iotdb.tsfile.read.reader.IPointReader;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * A timestamp generator of a query with value filters in the cluster. A sub-expression whose series
+ * all belong to one storage group is pushed down to the data groups as a whole, which evaluate it
+ * over their own data and send back only the satisfying timestamps.
+ */
 public class ClusterTimeGenerator extends ServerTimeGenerator {
 
   private ClusterReaderFactory readerFactory;
   private boolean hasLocalReader = false;
   private QueryDataSet.EndPoint endPoint = null;
+  // true if some sub-expressions are evaluated by the data groups, so the values of the series in
+  // them are not available here
+  private boolean hasPushedDownNode = false;
 
   /** Constructor of EngineTimeGenerator. */
   public ClusterTimeGenerator(
@@ -79,6 +92,73 @@ public class ClusterTimeGenerator extends ServerTimeGenerator {
     }
   }
 
+  @Override
+  protected Node construct(IExpression expression) throws IOException {
+    if (expression.getType() != ExpressionType.SERIES) {
+      List<PartialPath> paths = new ArrayList<>();
+      if (getPathsInOneStorageGroup(expression, paths)) {
+        IBatchReader reader;
+        try {
+          reader = readerFactory.getExpressionReader(expression, paths.get(0), queryPlan, context);
+        } catch (StorageEngineException | EmptyIntervalException e) {
+          throw new IOException(e);
+        }
+        if (reader != null) {
+          hasPushedDownNode = true;
+          return new LeafNode(reader);
+        }
+      }
+    }
+    return super.construct(expression);
+  }
+
+  /**
+   * Collect the paths in the expression into "paths".
+   *
+   * @return true if the paths all belong to the same storage group
+   */
+  private boolean getPathsInOneStorageGroup(IExpression expression, List<PartialPath> paths)
+      throws IOException {
+    if (expression.getType() == ExpressionType.SERIES) {
+      Path path = ((SingleSeriesExpression) expression).getSeriesPath();
+      if (!(path instanceof PartialPath) || path instanceof VectorPartialPath) {
+        return false;
+      }
+      paths.add((PartialPath) path);
+      if (paths.size() == 1) {
+        return true;
+      }
+      try {
+        return IoTDB.metaManager
+            .getStorageGroupPath(paths.get(0))
+            .equals(IoTDB.metaManager.getStorageGroupPath((PartialPath) path));
+      } catch (MetadataException e) {
+        throw new IOException(e);
+      }
+    } else if (expression.getType() == ExpressionType.AND
+        || expression.getType() == ExpressionType.OR) {
+      return getPathsInOneStorageGroup(((IBinaryExpression) expression).getLeft(), paths)
+          && getPathsInOneStorageGroup(((IBinaryExpression) expression).getRight(), paths);
+    }
+    return false;
+  }
+
+  @Override
+  public long next() throws IOException {
+    if (hasPushedDownNode) {
+      // the values of the pushed down series are not available, so no value is cached
+      return operatorNode.next();
+    }
+    return super.next();
+  }
+
+  @Override
+  public boolean hasOrNode() {
+    // like with an OR node, the selected series in the filter must be read by timestamps as their
+    // values are not cached
+    return super.hasOrNode() || hasPushedDownNode;
+  }
+
   @Override
   protected IBatchReader generateNewBatchReader(SingleSeriesExpression expression)
       throws IOException {
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.cluster.query.reader;
+
+import org.apache.iotdb.cluster.metadata.CMManager;
+import org.apache.iotdb.cluster.server.member.DataGroupMember;
+import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.db.metadata.PartialPath;
+import org.apache.iotdb.db.qp.physical.crud.RawDataQueryPlan;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.timegenerator.ServerTimeGenerator;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.expression.IExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.SingleSeriesExpression;
+import org.apache.iotdb.tsfile.read.reader.IBatchReader;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * DataGroupTimeGenerator evaluates an expression over the slots managed by a data group member, so
+ * the member can send back only the satisfying timestamps instead of the data of each series. As
+ * only the timestamps are used, the values of the series are not cached.
+ */
+public class DataGroupTimeGenerator extends ServerTimeGenerator {
+
+  private ClusterReaderFactory readerFactory;
+  private DataGroupMember dataGroupMember;
+
+  /**
+   * @param queryPlan provides the measurements of the devices and the order of the query
+   * @param expression the expression to be evaluated, which may be a part of the one of queryPlan
+   */
+  public DataGroupTimeGenerator(
+      QueryContext context,
+      RawDataQueryPlan queryPlan,
+      IExpression expression,
+      ClusterReaderFactory readerFactory,
+      DataGroupMember dataGroupMember)
+      throws StorageEngineException {
+    super(context);
+    this.queryPlan = queryPlan;
+    this.readerFactory = readerFactory;
+    this.dataGroupMember = dataGroupMember;
+    try {
+      serverConstructNode(expression);
+    } catch (IOException e) {
+      throw new StorageEngineException(e);
+    }
+  }
+
+  @Override
+  protected IBatchReader generateNewBatchReader(SingleSeriesExpression expression)
+      throws IOException {
+    PartialPath path = (PartialPath) expression.getSeriesPath();
+    IBatchReader batchReader;
+    try {
+      TSDataType dataType =
+          ((CMManager) IoTDB.metaManager)
+              .getSeriesTypesByPaths(Collections.singletonList(path), null)
+              .left
+              .get(0);
+      batchReader =
+          readerFactory.getSeriesBatchReader(
+              path,
+              queryPlan.getAllMeasurementsInDevice(path.getDevice()),
+              dataType,
+              null,
+              expression.getFilter(),
+              context,
+              dataGroupMember,
+              queryPlan.isAscending());
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+    return batchReader != null ? batchReader : new EmptyReader();
+  }
+
+  @Override
+  public long next() throws IOException {
+    return operatorNode.next();
+  }
+}
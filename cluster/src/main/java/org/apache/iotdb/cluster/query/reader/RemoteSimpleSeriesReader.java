@@ -41,14 +41,17 @@ import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * RemoteSimpleSeriesReader is a reader without value filter that reads points from a remote side.
+ * The batches are fetched ahead of the consumption by a BatchPrefetcher.
  */
 public class RemoteSimpleSeriesReader implements IPointReader {
 
   private static final Logger logger = LoggerFactory.getLogger(RemoteSimpleSeriesReader.class);
   private DataSourceInfo sourceInfo;
-  private long lastTimestamp;
+  // the time of the last fetched point, a new reader continues from it after switching nodes
+  private volatile long lastTimestamp;
 
   private BatchData cachedBatch;
+  private BatchPrefetcher<BatchData> prefetcher;
 
   private AtomicReference<ByteBuffer> fetchResult = new AtomicReference<>();
   private GenericHandler<ByteBuffer> handler;
@@ -57,6 +60,7 @@ public class RemoteSimpleSeriesReader implements IPointReader {
     this.sourceInfo = sourceInfo;
     handler = new GenericHandler<>(sourceInfo.getCurrentNode(), fetchResult);
     lastTimestamp = Long.MIN_VALUE;
+    prefetcher = new BatchPrefetcher<>(this::fetchBatch);
   }
 
   @Override
@@ -64,7 +68,7 @@ public class RemoteSimpleSeriesReader implements IPointReader {
     if (cachedBatch != null && cachedBatch.hasCurrent()) {
       return true;
     }
-    fetchBatch();
+    cachedBatch = prefetcher.next();
     return cachedBatch != null && cachedBatch.hasCurrent();
   }
 
@@ -73,7 +77,6 @@ public class RemoteSimpleSeriesReader implements IPointReader {
     if (!hasNextTimeValuePair()) {
       throw new NoSuchElementException();
     }
-    this.lastTimestamp = cachedBatch.currentTime();
     TimeValuePair timeValuePair =
         new TimeValuePair(
             cachedBatch.currentTime(),
@@ -94,13 +97,14 @@ public class RemoteSimpleSeriesReader implements IPointReader {
 
   @Override
   public void close() {
-    // closed by Resource manager
+    // the remote reader is closed by Resource manager
+    prefetcher.close();
   }
 
-  private void fetchBatch() throws IOException {
+  /** @return the next batch of the remote reader, or null if it is exhausted */
+  private BatchData fetchBatch() throws IOException {
     if (!sourceInfo.checkCurClient()) {
-      cachedBatch = null;
-      return;
+      return null;
     }
 
     ByteBuffer result;
@@ -110,13 +114,18 @@ public class RemoteSimpleSeriesReader implements IPointReader {
       result = fetchResultSync();
     }
 
-    cachedBatch = SerializeUtils.deserializeBatchData(result);
+    BatchData batch = SerializeUtils.deserializeBatchData(result);
     if (logger.isDebugEnabled()) {
       logger.debug(
           "Fetched a batch from {}, size:{}",
           sourceInfo.getCurrentNode(),
-          cachedBatch == null ? 0 : cachedBatch.length());
+          batch == null ? 0 : batch.length());
     }
+    if (batch == null || batch.isEmpty()) {
+      return null;
+    }
+    lastTimestamp = batch.getMaxTimestamp();
+    return batch;
   }
 
   @SuppressWarnings("java:S2274") // enable timeout
@@ -163,5 +172,6 @@ public class RemoteSimpleSeriesReader implements IPointReader {
 
   void clearCurDataForTest() {
     this.cachedBatch = null;
+    prefetcher.clear();
   }
 }
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.cluster.query.reader;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.query.timegenerator.TimeGenerator;
+import org.apache.iotdb.tsfile.read.reader.IBatchReader;
+import org.apache.iotdb.tsfile.read.reader.IPointReader;
+import org.apache.iotdb.tsfile.utils.TsPrimitiveType.TsBoolean;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * TimeGeneratorReader reads the timestamps generated by a TimeGenerator as BOOLEAN points, so the
+ * timestamps satisfying an expression can be sent and merged like the points of a series.
+ */
+public class TimeGeneratorReader implements IPointReader, IBatchReader {
+
+  private final TimeGenerator timeGenerator;
+  private final Filter timeFilter;
+  private final int batchSize;
+
+  private TimeValuePair cachedPair;
+
+  /**
+   * @param timeGenerator
+   * @param timeFilter nullable, the generated timestamps not satisfying it are skipped
+   * @param batchSize the max number of timestamps in a batch
+   */
+  public TimeGeneratorReader(TimeGenerator timeGenerator, Filter timeFilter, int batchSize) {
+    this.timeGenerator = timeGenerator;
+    this.timeFilter = timeFilter;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public boolean hasNextTimeValuePair() throws IOException {
+    if (cachedPair != null) {
+      return true;
+    }
+    while (timeGenerator.hasNext()) {
+      long time = timeGenerator.next();
+      if (timeFilter == null || timeFilter.satisfy(time, true)) {
+        cachedPair = new TimeValuePair(time, new TsBoolean(true));
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public TimeValuePair nextTimeValuePair() throws IOException {
+    TimeValuePair pair = currentTimeValuePair();
+    cachedPair = null;
+    return pair;
+  }
+
+  @Override
+  public TimeValuePair currentTimeValuePair() throws IOException {
+    if (!hasNextTimeValuePair()) {
+      throw new NoSuchElementException();
+    }
+    return cachedPair;
+  }
+
+  @Override
+  public boolean hasNextBatch() throws IOException {
+    return hasNextTimeValuePair();
+  }
+
+  @Override
+  public BatchData nextBatch() throws IOException {
+    BatchData batchData = new BatchData(TSDataType.BOOLEAN);
+    while (batchData.length() < batchSize && hasNextTimeValuePair()) {
+      batchData.putBoolean(nextTimeValuePair().getTimestamp(), true);
+    }
+    return batchData;
+  }
+
+  @Override
+  public void close() {
+    // the readers of the time generator are closed with the query
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.iotdb.cluster.query.reader.mult;
 
 import org.apache.iotdb.cluster.client.sync.SyncDataClient;
 import org.apache.iotdb.cluster.config.ClusterDescriptor;
+import org.apache.iotdb.cluster.query.reader.BatchPrefetcher;
 import org.apache.iotdb.cluster.server.RaftServer;
 import org.apache.iotdb.cluster.server.handlers.caller.GenericHandler;
 import org.apache.iotdb.db.metadata.PartialPath;
@@ -38,23 +39,31 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReference;
 
-/** mult reader without value filter that reads points from a remote side. */
+/**
+ * mult reader without value filter that reads points from a remote side. Each fetch gets the next
+ * batches of the paths that are short of batches, and unless prefetching is disabled, the fetches
+ * are made in the background ahead of the consumption by a BatchPrefetcher.
+ */
 public class RemoteMultSeriesReader extends AbstractMultPointReader {
 
   private static final Logger logger = LoggerFactory.getLogger(RemoteMultSeriesReader.class);
-  private static final int FETCH_BATCH_DATA_SIZE = 10;
+  static final int FETCH_BATCH_DATA_SIZE = 10;
 
   private MultDataSourceInfo sourceInfo;
 
   private Map<String, Queue<BatchData>> cachedBatchs;
+  // the paths whose remote data are all fetched
+  private Set<String> endedPaths = ConcurrentHashMap.newKeySet();
 
   private AtomicReference<Map<String, ByteBuffer>> fetchResult = new AtomicReference<>();
   private GenericHandler<Map<String, ByteBuffer>> handler;
@@ -65,7 +74,19 @@ public class RemoteMultSeriesReader extends AbstractMultPointReader {
 
   private Map<String, TSDataType> pathToDataType;
 
+  // each element is the batches of the paths fetched together
+  private BatchPrefetcher<Map<String, BatchData>> prefetcher;
+
   public RemoteMultSeriesReader(MultDataSourceInfo sourceInfo) {
+    this(sourceInfo, ClusterDescriptor.getInstance().getConfig().getMaxPrefetchBatches());
+  }
+
+  /**
+   * @param sourceInfo
+   * @param maxPrefetchBatches the max number of fetches made ahead of the consumer, 0 means the
+   *     batches are fetched by the consumer when needed
+   */
+  public RemoteMultSeriesReader(MultDataSourceInfo sourceInfo, int maxPrefetchBatches) {
     this.sourceInfo = sourceInfo;
     this.handler = new GenericHandler<>(sourceInfo.getCurrentNode(), fetchResult);
     this.currentBatchDatas = Maps.newHashMap();
@@ -78,6 +99,7 @@ public class RemoteMultSeriesReader extends AbstractMultPointReader {
       this.cachedBatchs.put(fullPath, new ConcurrentLinkedQueue<>());
       this.pathToDataType.put(fullPath, sourceInfo.getDataTypes().get(i));
     }
+    this.prefetcher = new BatchPrefetcher<>(this::fetchBatch, maxPrefetchBatches);
   }
 
   @Override
@@ -86,7 +108,15 @@ public class RemoteMultSeriesReader extends AbstractMultPointReader {
     if (batchData != null && batchData.hasCurrent()) {
       return true;
     }
-    fetchBatch();
+    Queue<BatchData> batchQueue = cachedBatchs.get(fullPath);
+    while (batchQueue.isEmpty()) {
+      Map<String, BatchData> batches = prefetcher.next();
+      if (batches == null) {
+        // the remote reader cannot be read any more
+        break;
+      }
+      batches.forEach((path, batch) -> cachedBatchs.get(path).add(batch));
+    }
     return checkPathBatchData(fullPath);
   }
 
@@ -123,17 +153,28 @@ public class RemoteMultSeriesReader extends AbstractMultPointReader {
     return cachedBatchs.keySet();
   }
 
-  /** query resource deal close there is not dealing. */
+  /** query resource deal close there is not dealing, only stop fetching ahead. */
   @Override
-  public void close() {}
+  public synchronized void close() {
+    prefetcher.close();
+  }
 
-  private void fetchBatch() throws IOException {
+  /**
+   * Fetch the next batches of the paths that are short of batches, which is called by the
+   * prefetcher in the background.
+   *
+   * @return the fetched batches, which are empty if no path needs more batches now, or null if all
+   *     batches are fetched or the remote reader cannot be read any more
+   */
+  private Map<String, BatchData> fetchBatch() throws IOException {
+    List<String> paths = batchStrategy.selectBatchPaths(this.cachedBatchs, FETCH_BATCH_DATA_SIZE);
+    paths.removeIf(endedPaths::contains);
+    if (paths.isEmpty()) {
+      return endedPaths.size() == cachedBatchs.size() ? null : Collections.emptyMap();
+    }
     if (!sourceInfo.checkCurClient()) {
-      cachedBatchs = null;
-      return;
+      return null;
     }
-    List<String> paths = batchStrategy.selectBatchPaths(this.cachedBatchs);
-    if (paths.isEmpty()) return;
 
     Map<String, ByteBuffer> result;
     if (ClusterDescriptor.getInstance().getConfig().isUseAsyncServer()) {
@@ -142,8 +183,11 @@ public class RemoteMultSeriesReader extends AbstractMultPointReader {
       result = fetchResultSync(paths);
     }
 
-    if (result == null) return;
+    if (result == null) {
+      return null;
+    }
 
+    Map<String, BatchData> batches = Maps.newHashMap();
     for (String path : result.keySet()) {
 
       BatchData batchData = SerializeUtils.deserializeBatchData(result.get(path));
@@ -157,11 +201,11 @@ public class RemoteMultSeriesReader extends AbstractMultPointReader {
       // will create empty BatchData, and add queue.
       if (batchData == null) {
         batchData = new BatchData();
+        endedPaths.add(path);
       }
-      cachedBatchs
-          .computeIfAbsent(path, n -> new ConcurrentLinkedQueue<BatchData>())
-          .add(batchData);
+      batches.put(path, batchData);
     }
+    return batches;
   }
 
   @SuppressWarnings("java:S2274") // enable timeout
@@ -195,13 +239,14 @@ public class RemoteMultSeriesReader extends AbstractMultPointReader {
 
   /** select path, which could batch-fetch result */
   interface BatchStrategy {
-    List<String> selectBatchPaths(Map<String, Queue<BatchData>> cacheBatchs);
+    List<String> selectBatchPaths(Map<String, Queue<BatchData>> cacheBatchs, int maxBatchNum);
   }
 
   static class DefaultBatchStrategy implements BatchStrategy {
 
     @Override
-    public List<String> selectBatchPaths(Map<String, Queue<BatchData>> cacheBatchs) {
+    public List<String> selectBatchPaths(
+        Map<String, Queue<BatchData>> cacheBatchs, int maxBatchNum) {
       List<String> paths = Lists.newArrayList();
 
       for (String path : cacheBatchs.keySet()) {
@@ -213,7 +258,7 @@ public class RemoteMultSeriesReader extends AbstractMultPointReader {
           continue;
         }
 
-        if (batchDataQueue.size() < FETCH_BATCH_DATA_SIZE) {
+        if (batchDataQueue.size() < maxBatchNum) {
           paths.add(path);
         }
       }
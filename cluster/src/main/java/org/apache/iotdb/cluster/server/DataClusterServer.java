@@ -28,6 +28,7 @@ import org.apache.iotdb.cluster.partition.NodeAdditionResult;
 import org.apache.iotdb.cluster.partition.NodeRemovalResult;
 import org.apache.iotdb.cluster.partition.PartitionGroup;
 import org.apache.iotdb.cluster.partition.PartitionTable;
+import org.apache.iotdb.cluster.partition.slot.SlotManager;
 import org.apache.iotdb.cluster.partition.slot.SlotPartitionTable;
 import org.apache.iotdb.cluster.rpc.thrift.AppendEntriesRequest;
 import org.apache.iotdb.cluster.rpc.thrift.AppendEntryRequest;
@@ -35,6 +36,7 @@ import org.apache.iotdb.cluster.rpc.thrift.ElectionRequest;
 import org.apache.iotdb.cluster.rpc.thrift.ExecutNonQueryReq;
 import org.apache.iotdb.cluster.rpc.thrift.GetAggrResultRequest;
 import org.apache.iotdb.cluster.rpc.thrift.GetAllPathsResult;
+import org.apache.iotdb.cluster.rpc.thrift.GetMultSeriesAggrResultRequest;
 import org.apache.iotdb.cluster.rpc.thrift.GroupByRequest;
 import org.apache.iotdb.cluster.rpc.thrift.HeartBeatRequest;
 import org.apache.iotdb.cluster.rpc.thrift.HeartBeatResponse;
@@ -42,6 +44,7 @@ import org.apache.iotdb.cluster.rpc.thrift.LastQueryRequest;
 import org.apache.iotdb.cluster.rpc.thrift.MultSeriesQueryRequest;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
 import org.apache.iotdb.cluster.rpc.thrift.PreviousFillRequest;
+import org.apache.iotdb.cluster.rpc.thrift.PullFileInfo;
 import org.apache.iotdb.cluster.rpc.thrift.PullSchemaRequest;
 import org.apache.iotdb.cluster.rpc.thrift.PullSchemaResp;
 import org.apache.iotdb.cluster.rpc.thrift.PullSnapshotRequest;
@@ -49,6 +52,7 @@ import org.apache.iotdb.cluster.rpc.thrift.PullSnapshotResp;
 import org.apache.iotdb.cluster.rpc.thrift.RequestCommitIndexResponse;
 import org.apache.iotdb.cluster.rpc.thrift.SendSnapshotRequest;
 import org.apache.iotdb.cluster.rpc.thrift.SingleSeriesQueryRequest;
+import org.apache.iotdb.cluster.rpc.thrift.SlotLoads;
 import org.apache.iotdb.cluster.rpc.thrift.TSDataService;
 import org.apache.iotdb.cluster.rpc.thrift.TSDataService.AsyncProcessor;
 import org.apache.iotdb.cluster.rpc.thrift.TSDataService.Processor;
@@ -72,6 +76,8 @@ import org.slf4j.LoggerFactory;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -326,6 +332,15 @@ public class DataClusterServer extends RaftServer
     }
   }
 
+  @Override
+  public void getPullFileInfo(String filePath, AsyncMethodCallback<PullFileInfo> resultHandler) {
+    DataAsyncService service =
+        getDataAsyncService(thisNode, resultHandler, "Get pull file info:" + filePath);
+    if (service != null) {
+      service.getPullFileInfo(filePath, resultHandler);
+    }
+  }
+
   @Override
   public void querySingleSeries(
       SingleSeriesQueryRequest request, AsyncMethodCallback<Long> resultHandler) {
@@ -495,6 +510,13 @@ public class DataClusterServer extends RaftServer
     service.getAggrResult(request, resultHandler);
   }
 
+  @Override
+  public void getMultSeriesAggrResult(
+      GetMultSeriesAggrResultRequest request, AsyncMethodCallback<List<ByteBuffer>> resultHandler) {
+    DataAsyncService service = getDataAsyncService(request.getHeader(), resultHandler, request);
+    service.getMultSeriesAggrResult(request, resultHandler);
+  }
+
   @Override
   public void getUnregisteredTimeseries(
       Node header, List<String> timeseriesList, AsyncMethodCallback<List<String>> resultHandler) {
@@ -693,6 +715,39 @@ public class DataClusterServer extends RaftServer
     }
   }
 
+  /**
+   * After slots are moved between groups to balance the load, the local members of the groups
+   * losing slots keep them for the new holders to pull, and the local members of the groups
+   * receiving slots pull them from the previous holders.
+   *
+   * @param previousHolders slot -> the header of the group that previously holds it
+   */
+  public void migrateSlots(Map<Integer, Node> previousHolders) {
+    Map<Node, List<Integer>> lostSlots = new HashMap<>();
+    Map<Node, List<Integer>> receivedSlots = new HashMap<>();
+    for (Entry<Integer, Node> entry : previousHolders.entrySet()) {
+      int slot = entry.getKey();
+      lostSlots.computeIfAbsent(entry.getValue(), n -> new ArrayList<>()).add(slot);
+      Node newHeader = ((SlotPartitionTable) partitionTable).route(slot).getHeader();
+      receivedSlots.computeIfAbsent(newHeader, n -> new ArrayList<>()).add(slot);
+    }
+
+    synchronized (headerGroupMap) {
+      for (DataGroupMember dataGroupMember : headerGroupMap.values()) {
+        for (Integer slot :
+            lostSlots.getOrDefault(dataGroupMember.getHeader(), Collections.emptyList())) {
+          dataGroupMember.getSlotManager().setToSending(slot);
+        }
+      }
+      for (DataGroupMember dataGroupMember : headerGroupMap.values()) {
+        List<Integer> slots = receivedSlots.get(dataGroupMember.getHeader());
+        if (slots != null) {
+          dataGroupMember.pullNodeAdditionSnapshots(slots, dataGroupMember.getHeader());
+        }
+      }
+    }
+  }
+
   public void setPartitionTable(PartitionTable partitionTable) {
     this.partitionTable = partitionTable;
   }
@@ -707,6 +762,33 @@ public class DataClusterServer extends RaftServer
     dataGroupMember.pullNodeAdditionSnapshots(slots, thisNode);
   }
 
+  /** @return the recent loads of the slots held by each local group, see SlotManager */
+  public List<SlotLoads> getSlotLoads() {
+    List<SlotLoads> groupSlotLoads = new ArrayList<>();
+    for (DataGroupMember dataGroupMember : headerGroupMap.values()) {
+      List<Integer> slots =
+          ((SlotPartitionTable) partitionTable).getNodeSlots(dataGroupMember.getHeader());
+      if (slots == null) {
+        continue;
+      }
+      SlotManager slotManager = dataGroupMember.getSlotManager();
+      Map<Integer, Long> writeLoads = new HashMap<>();
+      Map<Integer, Long> readLoads = new HashMap<>();
+      for (Integer slot : slots) {
+        long writeLoad = slotManager.getWriteLoad(slot);
+        long readLoad = slotManager.getReadLoad(slot);
+        if (writeLoad > 0) {
+          writeLoads.put(slot, writeLoad);
+        }
+        if (readLoad > 0) {
+          readLoads.put(slot, readLoad);
+        }
+      }
+      groupSlotLoads.add(new SlotLoads(dataGroupMember.getHeader(), writeLoads, readLoads));
+    }
+    return groupSlotLoads;
+  }
+
   /** @return The reports of every DataGroupMember in this node. */
   public List<DataMemberReport> genMemberReports() {
     List<DataMemberReport> dataMemberReports = new ArrayList<>();
@@ -838,6 +920,12 @@ public class DataClusterServer extends RaftServer
     return getDataSyncService(request.getHeader()).getAggrResult(request);
   }
 
+  @Override
+  public List<ByteBuffer> getMultSeriesAggrResult(GetMultSeriesAggrResultRequest request)
+      throws TException {
+    return getDataSyncService(request.getHeader()).getMultSeriesAggrResult(request);
+  }
+
   @Override
   public List<String> getUnregisteredTimeseries(Node header, List<String> timeseriesList)
       throws TException {
@@ -930,6 +1018,11 @@ public class DataClusterServer extends RaftServer
     return getDataSyncService(thisNode).readFile(filePath, offset, length);
   }
 
+  @Override
+  public PullFileInfo getPullFileInfo(String filePath) throws TException {
+    return getDataSyncService(thisNode).getPullFileInfo(filePath);
+  }
+
   @Override
   public boolean matchTerm(long index, long term, Node header) {
     return getDataSyncService(header).matchTerm(index, term, header);
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.cluster.server;
+
+import org.apache.iotdb.cluster.config.ClusterConfig;
+import org.apache.iotdb.cluster.config.ClusterDescriptor;
+import org.apache.iotdb.cluster.utils.IOUtils;
+import org.apache.iotdb.db.conf.directories.DirectoryManager;
+import org.apache.iotdb.db.exception.StartupException;
+import org.apache.iotdb.db.service.IService;
+import org.apache.iotdb.db.service.ServiceType;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FileTransferService sends the files pulled by other nodes, like the TsFiles in a FileSnapshot,
+ * with FileChannel.transferTo(), so the content is not copied into the JVM as readFile() does.
+ *
+ * <p>A request is the length of the file path (int), the UTF-8 encoded path and the offset to start
+ * from (long). The response is the number of the following bytes (long), which is -1 if the file
+ * does not exist, and then the content of the file from the offset. Like readFile(), the file is
+ * removed once it is totally sent.
+ *
+ * <p>Only the hard links created for snapshots in the sequence and unsequence data folders are
+ * served; any other path is answered as if the file did not exist. A connection that sends no
+ * request within the connection timeout is closed.
+ */
+public class FileTransferService implements IService {
+
+  private static final Logger logger = LoggerFactory.getLogger(FileTransferService.class);
+
+  public static final FileTransferService INSTANCE = new FileTransferService();
+
+  /** a longer path is regarded as a broken request */
+  public static final int MAX_PATH_LENGTH = 4096;
+
+  private ServerSocketChannel serverChannel;
+  private ExecutorService acceptService;
+  private ExecutorService transferService;
+
+  private FileTransferService() {}
+
+  @Override
+  public void start() throws StartupException {
+    ClusterConfig config = ClusterDescriptor.getInstance().getConfig();
+    if (config.getInternalFileTransferPort() < 0) {
+      logger.info("{} is disabled", getID().getName());
+      return;
+    }
+    try {
+      serverChannel = ServerSocketChannel.open();
+      serverChannel.bind(
+          new InetSocketAddress(config.getInternalIp(), config.getInternalFileTransferPort()));
+    } catch (IOException e) {
+      throw new StartupException(getID().getName(), e.getMessage());
+    }
+    transferService =
+        Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("FileTransfer-%d").build());
+    acceptService =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("FileTransferAccept").build());
+    acceptService.submit(this::accept);
+    logger.info(
+        "{} listens on {}", getID().getName(), serverChannel.socket().getLocalSocketAddress());
+  }
+
+  /** @return the port that the service listens on, or -1 if the service is not running */
+  public int getPort() {
+    ServerSocketChannel channel = serverChannel;
+    return channel != null && channel.isOpen() ? channel.socket().getLocalPort() : -1;
+  }
+
+  private void accept() {
+    while (!Thread.currentThread().isInterrupted()) {
+      SocketChannel socketChannel;
+      try {
+        socketChannel = serverChannel.accept();
+      } catch (IOException e) {
+        if (serverChannel.isOpen()) {
+          logger.error("{}: cannot accept a connection", getID().getName(), e);
+          continue;
+        }
+        // the service is stopped
+        return;
+      }
+      transferService.submit(() -> transfer(socketChannel));
+    }
+  }
+
+  private void transfer(SocketChannel socketChannel) {
+    String filePath = null;
+    try {
+      // the stream of the socket adaptor, unlike that of the channel, respects the SO timeout
+      socketChannel
+          .socket()
+          .setSoTimeout(ClusterDescriptor.getInstance().getConfig().getConnectionTimeoutInMS());
+      DataInputStream input = new DataInputStream(socketChannel.socket().getInputStream());
+      int pathLength = input.readInt();
+      if (pathLength <= 0 || pathLength > MAX_PATH_LENGTH) {
+        logger.warn("{}: invalid path length {}", getID().getName(), pathLength);
+        return;
+      }
+      byte[] pathBytes = new byte[pathLength];
+      input.readFully(pathBytes);
+      filePath = new String(pathBytes, StandardCharsets.UTF_8);
+      long offset = input.readLong();
+      sendFile(getSnapshotFile(filePath), offset, socketChannel);
+    } catch (SocketTimeoutException e) {
+      logger.warn("{}: close an idle connection", getID().getName());
+    } catch (IOException e) {
+      logger.warn("{}: cannot send file {}", getID().getName(), filePath, e);
+    } finally {
+      try {
+        socketChannel.close();
+      } catch (IOException e) {
+        logger.debug("{}: cannot close a connection", getID().getName(), e);
+      }
+    }
+  }
+
+  /**
+   * @return the canonical file of "filePath" if it is a snapshot hard link in a data folder, or
+   *     null otherwise
+   */
+  private File getSnapshotFile(String filePath) throws IOException {
+    File file = new File(filePath).getCanonicalFile();
+    if (HardLinkCleaner.getHardLinkCreateTime(file) != -1) {
+      DirectoryManager directoryManager = DirectoryManager.getInstance();
+      List<String> folders = new ArrayList<>(directoryManager.getAllSequenceFileFolders());
+      folders.addAll(directoryManager.getAllUnSequenceFileFolders());
+      for (String folder : folders) {
+        if (file.toPath().startsWith(new File(folder).getCanonicalFile().toPath())) {
+          return file;
+        }
+      }
+    }
+    logger.warn("{}: reject the request of {}", getID().getName(), filePath);
+    return null;
+  }
+
+  private void sendFile(File file, long offset, SocketChannel socketChannel) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(Long.BYTES);
+    if (file == null || !file.exists()) {
+      header.putLong(-1).flip();
+      writeFully(header, socketChannel);
+      return;
+    }
+
+    try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long fileSize = fileChannel.size();
+      header.putLong(Math.max(fileSize - offset, 0)).flip();
+      writeFully(header, socketChannel);
+      long position = offset;
+      while (position < fileSize) {
+        position += fileChannel.transferTo(position, fileSize - position, socketChannel);
+      }
+    }
+
+    try {
+      Files.delete(file.toPath());
+      IOUtils.removeChecksum(file);
+    } catch (IOException e) {
+      logger.warn("Cannot delete an exhausted file {}", file, e);
+    }
+  }
+
+  private void writeFully(ByteBuffer buffer, SocketChannel socketChannel) throws IOException {
+    while (buffer.hasRemaining()) {
+      socketChannel.write(buffer);
+    }
+  }
+
+  @Override
+  public void stop() {
+    if (serverChannel == null) {
+      return;
+    }
+    try {
+      serverChannel.close();
+    } catch (IOException e) {
+      logger.warn("{}: cannot close the server socket", getID().getName(), e);
+    }
+    acceptService.shutdownNow();
+    transferService.shutdownNow();
+    try {
+      transferService.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("{}: interrupted when waiting for the transfers to end", getID().getName());
+    }
+    serverChannel = null;
+  }
+
+  @Override
+  public ServiceType getID() {
+    return ServiceType.CLUSTER_FILE_TRANSFER_SERVICE;
+  }
+}
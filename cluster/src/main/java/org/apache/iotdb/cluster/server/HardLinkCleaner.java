@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.cluster.server;
 
+import org.apache.iotdb.cluster.utils.IOUtils;
 import org.apache.iotdb.db.conf.directories.DirectoryManager;
 
 import org.slf4j.Logger;
@@ -77,6 +78,7 @@ public class HardLinkCleaner implements Runnable {
     if (hardLinkCreateTime != -1 && currentTime - hardLinkCreateTime >= HARDLINK_LIFE_MS) {
       try {
         Files.delete(file.toPath());
+        IOUtils.removeChecksum(file);
       } catch (IOException e) {
         logger.debug(
             "Hardlink {} cannot be removed, leave it to the next try: {}", file, e.getMessage());
@@ -88,7 +90,7 @@ public class HardLinkCleaner implements Runnable {
    * @param file
    * @return -1 if the file is not a hardlink or its created time
    */
-  private long getHardLinkCreateTime(File file) {
+  static long getHardLinkCreateTime(File file) {
     String fileName = file.getName();
     // hardlinks have a suffix like ".[createTime]_[randomNumber]"
     int suffixIndex = fileName.lastIndexOf('.');
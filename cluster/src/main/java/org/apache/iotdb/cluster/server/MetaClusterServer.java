@@ -51,6 +51,8 @@ import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
 
 /**
  * MetaCluster manages the whole cluster's metadata, such as what nodes are in the cluster and the
@@ -102,6 +104,8 @@ public class MetaClusterServer extends RaftServer
     member.start();
     // JMX based DBA API
     registerManager.register(ClusterMonitor.INSTANCE);
+    // the zero-copy path of pulling snapshot files
+    registerManager.register(FileTransferService.INSTANCE);
   }
 
   /** Also stops the IoTDB instance, the MetaGroupMember and the ClusterMonitor. */
@@ -224,12 +228,28 @@ public class MetaClusterServer extends RaftServer
     asyncService.checkAlive(resultHandler);
   }
 
+  @Override
+  public void getSlotLoads(AsyncMethodCallback<List<SlotLoads>> resultHandler) {
+    asyncService.getSlotLoads(resultHandler);
+  }
+
+  @Override
+  public void migrateSlots(
+      Map<Integer, Node> slotNewHeaders, AsyncMethodCallback<Long> resultHandler) {
+    asyncService.migrateSlots(slotNewHeaders, resultHandler);
+  }
+
   @Override
   public void readFile(
       String filePath, long offset, int length, AsyncMethodCallback<ByteBuffer> resultHandler) {
     asyncService.readFile(filePath, offset, length, resultHandler);
   }
 
+  @Override
+  public void getPullFileInfo(String filePath, AsyncMethodCallback<PullFileInfo> resultHandler) {
+    asyncService.getPullFileInfo(filePath, resultHandler);
+  }
+
   @Override
   public void queryNodeStatus(AsyncMethodCallback<TNodeStatus> resultHandler) {
     asyncService.queryNodeStatus(resultHandler);
@@ -291,6 +311,16 @@ public class MetaClusterServer extends RaftServer
     return syncService.checkAlive();
   }
 
+  @Override
+  public List<SlotLoads> getSlotLoads() {
+    return syncService.getSlotLoads();
+  }
+
+  @Override
+  public long migrateSlots(Map<Integer, Node> slotNewHeaders) throws TException {
+    return syncService.migrateSlots(slotNewHeaders);
+  }
+
   @Override
   public HeartBeatResponse sendHeartbeat(HeartBeatRequest request) {
     return syncService.sendHeartbeat(request);
@@ -331,6 +361,11 @@ public class MetaClusterServer extends RaftServer
     return syncService.readFile(filePath, offset, length);
   }
 
+  @Override
+  public PullFileInfo getPullFileInfo(String filePath) throws TException {
+    return syncService.getPullFileInfo(filePath);
+  }
+
   @Override
   public boolean matchTerm(long index, long term, Node header) {
     return syncService.matchTerm(index, term, header);
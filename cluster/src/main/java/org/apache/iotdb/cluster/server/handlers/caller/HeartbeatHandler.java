@@ -43,11 +43,14 @@ public class HeartbeatHandler implements AsyncMethodCallback<HeartBeatResponse>
   private RaftMember localMember;
   private String memberName;
   private Node receiver;
+  // the handler is created right before the heartbeat is sent
+  private long sendTime;
 
   public HeartbeatHandler(RaftMember localMember, Node receiver) {
     this.localMember = localMember;
     this.receiver = receiver;
     this.memberName = localMember.getName();
+    this.sendTime = System.currentTimeMillis();
   }
 
   @Override
@@ -74,6 +77,7 @@ public class HeartbeatHandler implements AsyncMethodCallback<HeartBeatResponse>
   }
 
   private void handleNormalHeartbeatResponse(HeartBeatResponse resp) {
+    localMember.onHeartbeatAcknowledged(receiver, sendTime);
     // additional process depending on member type
     localMember.processValidHeartbeatResp(resp, receiver);
 
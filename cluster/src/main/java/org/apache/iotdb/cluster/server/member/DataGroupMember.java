@@ -490,7 +490,8 @@ public class DataGroupMember extends RaftMember {
   }
 
   /**
-   * Pull snapshots from the previous holders after newNode joins the cluster.
+   * Pull snapshots from the previous holders after newNode joins the cluster, or after the slots
+   * are moved to the group of newNode to balance the load.
    *
    * @param slots
    * @param newNode
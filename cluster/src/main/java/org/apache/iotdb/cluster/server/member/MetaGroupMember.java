@@ -27,6 +27,7 @@ import org.apache.iotdb.cluster.client.sync.SyncClientAdaptor;
 import org.apache.iotdb.cluster.client.sync.SyncClientPool;
 import org.apache.iotdb.cluster.client.sync.SyncMetaClient;
 import org.apache.iotdb.cluster.client.sync.SyncMetaHeartbeatClient;
+import org.apache.iotdb.cluster.config.ClusterConfig;
 import org.apache.iotdb.cluster.config.ClusterConstant;
 import org.apache.iotdb.cluster.config.ClusterDescriptor;
 import org.apache.iotdb.cluster.coordinator.Coordinator;
@@ -42,6 +43,7 @@ import org.apache.iotdb.cluster.log.LogApplier;
 import org.apache.iotdb.cluster.log.applier.MetaLogApplier;
 import org.apache.iotdb.cluster.log.logtypes.AddNodeLog;
 import org.apache.iotdb.cluster.log.logtypes.RemoveNodeLog;
+import org.apache.iotdb.cluster.log.logtypes.SlotMigrationLog;
 import org.apache.iotdb.cluster.log.manage.MetaSingleSnapshotLogManager;
 import org.apache.iotdb.cluster.log.snapshot.MetaSimpleSnapshot;
 import org.apache.iotdb.cluster.partition.NodeAdditionResult;
@@ -49,6 +51,7 @@ import org.apache.iotdb.cluster.partition.NodeRemovalResult;
 import org.apache.iotdb.cluster.partition.PartitionGroup;
 import org.apache.iotdb.cluster.partition.PartitionTable;
 import org.apache.iotdb.cluster.partition.slot.SlotPartitionTable;
+import org.apache.iotdb.cluster.partition.slot.SlotRebalancer;
 import org.apache.iotdb.cluster.query.ClusterPlanRouter;
 import org.apache.iotdb.cluster.rpc.thrift.AddNodeResponse;
 import org.apache.iotdb.cluster.rpc.thrift.AppendEntryRequest;
@@ -57,6 +60,7 @@ import org.apache.iotdb.cluster.rpc.thrift.HeartBeatRequest;
 import org.apache.iotdb.cluster.rpc.thrift.HeartBeatResponse;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
 import org.apache.iotdb.cluster.rpc.thrift.SendSnapshotRequest;
+import org.apache.iotdb.cluster.rpc.thrift.SlotLoads;
 import org.apache.iotdb.cluster.rpc.thrift.StartUpStatus;
 import org.apache.iotdb.cluster.rpc.thrift.TSMetaService;
 import org.apache.iotdb.cluster.rpc.thrift.TSMetaService.AsyncClient;
@@ -1684,6 +1688,214 @@ public class MetaGroupMember extends RaftMember {
     }
   }
 
+  /**
+   * Process the request of moving slots between data groups to balance their loads. Reject the
+   * request if partition table is unavailable. If this node is the MetaLeader, the request will be
+   * processed locally and broadcast to every node, otherwise it is forwarded to the leader.
+   *
+   * @param slotNewHeaders slot -> the header of the group the slot is moved to
+   * @return Long.MIN_VALUE if the leader is unknown or unreachable, or the execution result
+   */
+  public long migrateSlots(Map<Integer, Node> slotNewHeaders)
+      throws PartitionTableUnavailableException, LogExecutionException {
+    if (partitionTable == null) {
+      logger.info("Cannot migrate slots now because the partition table is not set");
+      throw new PartitionTableUnavailableException(thisNode);
+    }
+
+    waitLeader();
+    long result = processSlotMigrationLocally(slotNewHeaders);
+    Node leader = getLeader();
+    if (result != Response.RESPONSE_NULL || character != NodeCharacter.FOLLOWER || leader == null) {
+      return result;
+    }
+    logger.info("Forward the migration of {} slots to leader {}", slotNewHeaders.size(), leader);
+    Long forwardResult = null;
+    try {
+      if (ClusterDescriptor.getInstance().getConfig().isUseAsyncServer()) {
+        AsyncMetaClient client = (AsyncMetaClient) getAsyncClient(leader);
+        if (client != null) {
+          forwardResult = SyncClientAdaptor.migrateSlots(client, slotNewHeaders);
+        }
+      } else {
+        SyncMetaClient client = (SyncMetaClient) getSyncClient(leader);
+        if (client != null) {
+          try {
+            forwardResult = client.migrateSlots(slotNewHeaders);
+          } catch (TException e) {
+            client.getInputProtocol().getTransport().close();
+            throw e;
+          } finally {
+            ClientUtils.putBackSyncClient(client);
+          }
+        }
+      }
+    } catch (TException e) {
+      logger.warn("Cannot forward the slot migration to {}", leader, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Interrupted when forwarding the slot migration to {}", leader, e);
+    }
+    return forwardResult != null ? forwardResult : Response.RESPONSE_NULL;
+  }
+
+  /**
+   * Process a slot migration that balances the load of data groups locally and broadcast it to the
+   * whole cluster. The migration will be rejected if the last one is made within
+   * slotRebalanceIntervalMs, or if it does not fit the current partition table.
+   *
+   * @param slotNewHeaders slot -> the header of the group the slot is moved to
+   * @return Long.MIN_VALUE if further forwarding is required, or the execution result
+   */
+  private long processSlotMigrationLocally(Map<Integer, Node> slotNewHeaders)
+      throws LogExecutionException {
+    if (character != NodeCharacter.LEADER) {
+      return Response.RESPONSE_NULL;
+    }
+
+    ClusterConfig config = ClusterDescriptor.getInstance().getConfig();
+    SlotPartitionTable slotPartitionTable = (SlotPartitionTable) partitionTable;
+    SlotRebalancer rebalancer =
+        new SlotRebalancer(
+            slotPartitionTable,
+            config.getMaxSlotsPerRebalance(),
+            config.getSlotRebalanceImbalancePercent());
+    // slot migrations must be serialized with node additions and removals
+    synchronized (logManager) {
+      // the time of the last migration is in the partition table of every node, so it survives a
+      // change of the leader
+      if (System.currentTimeMillis() - slotPartitionTable.getLastSlotMigrationTime()
+          < config.getSlotRebalanceIntervalMs()) {
+        logger.info("{}: the last slot migration is too recent", name);
+        return Response.RESPONSE_REJECT;
+      }
+      String invalidReason = rebalancer.validate(slotNewHeaders);
+      if (invalidReason != null) {
+        logger.info("{}: the slot migration is invalid: {}", name, invalidReason);
+        return Response.RESPONSE_REJECT;
+      }
+
+      SlotMigrationLog slotMigrationLog = new SlotMigrationLog();
+      slotMigrationLog.setCurrLogTerm(getTerm().get());
+      slotMigrationLog.setCurrLogIndex(logManager.getLastLogIndex() + 1);
+
+      slotMigrationLog.setSlotNewHeaders(slotNewHeaders);
+      slotMigrationLog.setMigrationTime(System.currentTimeMillis());
+
+      logManager.append(slotMigrationLog);
+
+      int retryTime = 1;
+      while (true) {
+        logger.info(
+            "Send the migration of {} slots to other nodes, retry time: {}",
+            slotNewHeaders.size(),
+            retryTime);
+        AppendLogResult result = sendLogToAllGroups(slotMigrationLog);
+
+        switch (result) {
+          case OK:
+            logger.info("Migration of {} slots is accepted", slotNewHeaders.size());
+            commitLog(slotMigrationLog);
+            return Response.RESPONSE_AGREE;
+          case TIME_OUT:
+            logger.info("Migration of {} slots timed out", slotNewHeaders.size());
+            retryTime++;
+            break;
+            // retry
+          case LEADERSHIP_STALE:
+          default:
+            return Response.RESPONSE_NULL;
+        }
+      }
+    }
+  }
+
+  /**
+   * Move the slots to their new groups in the partition table, then the local DataGroupMembers of
+   * the old groups will send the slots and those of the new groups will pull them.
+   */
+  public void applySlotMigration(SlotMigrationLog slotMigrationLog) {
+    synchronized (allNodes) {
+      SlotPartitionTable slotPartitionTable = (SlotPartitionTable) partitionTable;
+      Map<Integer, Node> previousHolders =
+          slotPartitionTable.migrateSlots(slotMigrationLog.getSlotNewHeaders());
+      slotPartitionTable.setLastSlotMigrationTime(slotMigrationLog.getMigrationTime());
+      slotPartitionTable.setLastLogIndex(slotMigrationLog.getCurrLogIndex());
+      savePartitionTable();
+
+      getDataClusterServer().migrateSlots(previousHolders);
+    }
+  }
+
+  /**
+   * Collect the recent loads of the slots from the data groups on every node. The replicas of a
+   * group apply the same writes but serve different reads, so the write load of a slot is the
+   * maximum among the replicas and the read load is the sum.
+   *
+   * @return the header of each group -> slot -> {write load, read load}, or null if the partition
+   *     table is unavailable or any node cannot be reached
+   */
+  public Map<Node, Map<Integer, long[]>> collectSlotLoads() {
+    if (partitionTable == null) {
+      return null;
+    }
+    Map<Node, Map<Integer, long[]>> groupSlotLoads = new HashMap<>();
+    for (Node node : partitionTable.getAllNodes()) {
+      List<SlotLoads> nodeSlotLoads;
+      if (node.equals(thisNode)) {
+        nodeSlotLoads = getDataClusterServer().getSlotLoads();
+      } else {
+        nodeSlotLoads = getRemoteSlotLoads(node);
+      }
+      if (nodeSlotLoads == null) {
+        logger.warn("{}: cannot get the slot loads of {}", name, node);
+        return null;
+      }
+      for (SlotLoads slotLoads : nodeSlotLoads) {
+        Map<Integer, long[]> loads =
+            groupSlotLoads.computeIfAbsent(slotLoads.getHeader(), h -> new HashMap<>());
+        slotLoads
+            .getWriteLoads()
+            .forEach(
+                (slot, load) -> {
+                  long[] slotLoad = loads.computeIfAbsent(slot, s -> new long[2]);
+                  slotLoad[0] = Math.max(slotLoad[0], load);
+                });
+        slotLoads
+            .getReadLoads()
+            .forEach((slot, load) -> loads.computeIfAbsent(slot, s -> new long[2])[1] += load);
+      }
+    }
+    return groupSlotLoads;
+  }
+
+  private List<SlotLoads> getRemoteSlotLoads(Node node) {
+    try {
+      if (ClusterDescriptor.getInstance().getConfig().isUseAsyncServer()) {
+        AsyncMetaClient client = (AsyncMetaClient) getAsyncClient(node);
+        return client != null ? SyncClientAdaptor.getSlotLoads(client) : null;
+      }
+      SyncMetaClient client = (SyncMetaClient) getSyncClient(node);
+      if (client == null) {
+        return null;
+      }
+      try {
+        return client.getSlotLoads();
+      } catch (TException e) {
+        client.getInputProtocol().getTransport().close();
+        throw e;
+      } finally {
+        ClientUtils.putBackSyncClient(client);
+      }
+    } catch (TException e) {
+      logger.warn("{}: cannot get the slot loads of {}", name, node, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("{}: interrupted when getting the slot loads of {}", name, node, e);
+    }
+    return null;
+  }
+
   private void exileNode(Node node) {
     if (ClusterDescriptor.getInstance().getConfig().isUseAsyncServer()) {
       AsyncMetaClient asyncMetaClient = (AsyncMetaClient) getAsyncClient(node);
@@ -58,6 +58,7 @@ import org.apache.iotdb.cluster.server.monitor.Timer;
 import org.apache.iotdb.cluster.server.monitor.Timer.Statistic;
 import org.apache.iotdb.cluster.utils.ClientUtils;
 import org.apache.iotdb.cluster.utils.IOUtils;
+import org.apache.iotdb.cluster.utils.LogCompressionUtils;
 import org.apache.iotdb.cluster.utils.PlanSerializer;
 import org.apache.iotdb.cluster.utils.StatusUtils;
 import org.apache.iotdb.db.exception.BatchProcessException;
@@ -88,6 +89,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Map;
@@ -165,6 +167,23 @@ public abstract class RaftMember {
    * offline.
    */
   volatile long lastHeartbeatReceivedTime;
+  /**
+   * when this node is a leader, this records the sending time of the latest heartbeat acknowledged
+   * by each follower, the lease of the leader is counted from the time a majority acknowledged.
+   */
+  private final Map<Node, Long> heartbeatAckTimes = new ConcurrentHashMap<>();
+  /** acknowledgements of the heartbeats sent before this node became the leader are ignored */
+  private volatile long leaderSinceTime;
+  /**
+   * the concurrent reads of a follower share one request of the leader's commit index. A read only
+   * joins a request that has not been sent yet, so the commit index it gets is not older than the
+   * read itself.
+   */
+  private final Object readIndexLock = new Object();
+  /** the batch whose commit index request is being sent */
+  private ReadIndexBatch fetchingReadIndexBatch;
+  /** the batch that the arriving reads join, it is sent after the fetching one finishes */
+  private ReadIndexBatch waitingReadIndexBatch;
   /** the raft logs are all stored and maintained in the log manager */
   RaftLogManager logManager;
   /**
@@ -456,6 +475,15 @@ public abstract class RaftMember {
    */
   public long processElectionRequest(ElectionRequest electionRequest) {
     synchronized (term) {
+      if (config.isEnableLeaderLeaseRead() && isLeaderStillOnline()) {
+        // the leader may be serving reads with its lease, another leader must not be elected
+        logger.info(
+            "{} sending rejection to the elector {} because the leader {} is still online",
+            name,
+            electionRequest.getElector(),
+            leader.get());
+        return Response.RESPONSE_LEADER_STILL_ONLINE;
+      }
       long currentTerm = term.get();
       long response =
           checkElectorTerm(currentTerm, electionRequest.getTerm(), electionRequest.getElector());
@@ -471,6 +499,15 @@ public abstract class RaftMember {
     }
   }
 
+  private boolean isLeaderStillOnline() {
+    if (character == NodeCharacter.LEADER) {
+      return getLeaderLeaseExpireTime() > System.currentTimeMillis();
+    }
+    return character == NodeCharacter.FOLLOWER
+        && System.currentTimeMillis() - lastHeartbeatReceivedTime
+            < RaftServer.getConnectionTimeoutInMS();
+  }
+
   private long checkElectorTerm(long currentTerm, long electorTerm, Node elector) {
     if (electorTerm < currentTerm) {
       // the elector has a smaller term thus the request is invalid
@@ -531,7 +568,8 @@ public abstract class RaftMember {
   }
 
   /** Similar to appendEntry, while the incoming load is batch of logs instead of a single log. */
-  public long appendEntries(AppendEntriesRequest request) throws UnknownLogTypeException {
+  public long appendEntries(AppendEntriesRequest request)
+      throws UnknownLogTypeException, IOException {
     logger.debug("{} received an AppendEntriesRequest", name);
 
     // the term checked here is that of the leader, not that of the log
@@ -544,7 +582,7 @@ public abstract class RaftMember {
     List<Log> logs = new ArrayList<>();
     int logByteSize = 0;
     long startTime = Timer.Statistic.RAFT_RECEIVER_LOG_PARSE.getOperationStartTime();
-    for (ByteBuffer buffer : request.getEntries()) {
+    for (ByteBuffer buffer : LogCompressionUtils.getLogs(request)) {
       buffer.mark();
       Log log;
       logByteSize = buffer.limit() - buffer.position();
@@ -565,7 +603,7 @@ public abstract class RaftMember {
       logger.debug(
           "{} AppendEntriesRequest of log size {} completed with result {}",
           name,
-          request.getEntries().size(),
+          logs.size(),
           response);
     }
     return response;
@@ -632,6 +670,10 @@ public abstract class RaftMember {
   public void setCharacter(NodeCharacter character) {
     if (!Objects.equals(character, this.character)) {
       logger.info("{} has become a {}", name, character);
+      heartbeatAckTimes.clear();
+      if (character == NodeCharacter.LEADER) {
+        leaderSinceTime = System.currentTimeMillis();
+      }
       this.character = character;
     }
   }
@@ -843,7 +885,7 @@ public abstract class RaftMember {
    */
   public boolean syncLeader(CheckConsistency checkConsistency) throws CheckConsistencyException {
     if (character == NodeCharacter.LEADER) {
-      return true;
+      return checkLeaderLease(checkConsistency);
     }
     waitLeader();
     if (leader.get() == null || ClusterConstant.EMPTY_NODE.equals(leader.get())) {
@@ -852,12 +894,94 @@ public abstract class RaftMember {
       return false;
     }
     if (character == NodeCharacter.LEADER) {
-      return true;
+      return checkLeaderLease(checkConsistency);
     }
     logger.debug("{}: try synchronizing with the leader {}", name, leader.get());
     return waitUntilCatchUp(checkConsistency);
   }
 
+  /**
+   * A leader is up-to-date as long as no other leader can be elected. When leader lease reads are
+   * enabled, wait until a majority of the group has acknowledged the heartbeats of this leader
+   * recently enough, otherwise a new leader may have been elected without this node knowing it.
+   *
+   * @return true if this node is still a leader with a valid lease, false otherwise
+   * @throws CheckConsistencyException if the lease cannot be confirmed before timeout
+   */
+  private boolean checkLeaderLease(CheckConsistency checkConsistency)
+      throws CheckConsistencyException {
+    if (!config.isEnableLeaderLeaseRead()) {
+      return true;
+    }
+    long startTime = System.currentTimeMillis();
+    long waitedTime = 0;
+    while (character == NodeCharacter.LEADER && waitedTime < RaftServer.getSyncLeaderMaxWaitMs()) {
+      if (getLeaderLeaseExpireTime() > System.currentTimeMillis()) {
+        return true;
+      }
+      // wait for the acknowledgements of the next heartbeats
+      synchronized (heartbeatAckTimes) {
+        try {
+          heartbeatAckTimes.wait(RaftServer.getHeartBeatIntervalMs());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+      waitedTime = System.currentTimeMillis() - startTime;
+    }
+    logger.warn("{}: Failed to confirm the leader lease after {}ms", name, waitedTime);
+    if (checkConsistency != null) {
+      checkConsistency.postCheckConsistency(
+          Long.MIN_VALUE, logManager.getMaxHaveAppliedCommitIndex());
+    }
+    return false;
+  }
+
+  /**
+   * Record that "follower" has acknowledged the heartbeat sent at "sendTime", which extends the
+   * lease of this leader.
+   */
+  public void onHeartbeatAcknowledged(Node follower, long sendTime) {
+    if (character != NodeCharacter.LEADER || sendTime < leaderSinceTime) {
+      return;
+    }
+    heartbeatAckTimes.merge(follower, sendTime, Math::max);
+    synchronized (heartbeatAckTimes) {
+      heartbeatAckTimes.notifyAll();
+    }
+  }
+
+  /**
+   * A follower does not vote for others within the connection timeout since it last heard from the
+   * leader, so after a majority acknowledged a heartbeat, no other leader can be elected until the
+   * lease expires. The lease is shorter than the connection timeout to tolerate clock drifts.
+   *
+   * @return the time before which no other leader can be elected
+   */
+  long getLeaderLeaseExpireTime() {
+    List<Long> ackTimes = new ArrayList<>();
+    int requiredAckNum;
+    synchronized (allNodes) {
+      for (Node node : allNodes) {
+        Long ackTime = heartbeatAckTimes.get(node);
+        if (ackTime != null && !node.equals(thisNode)) {
+          ackTimes.add(ackTime);
+        }
+      }
+      // this node itself is a part of the majority
+      requiredAckNum = allNodes.size() / 2;
+    }
+    if (requiredAckNum == 0) {
+      return Long.MAX_VALUE;
+    }
+    if (ackTimes.size() < requiredAckNum) {
+      return Long.MIN_VALUE;
+    }
+    ackTimes.sort(Collections.reverseOrder());
+    return ackTimes.get(requiredAckNum - 1) + RaftServer.getConnectionTimeoutInMS() * 9L / 10;
+  }
+
   /** Wait until the leader of this node becomes known or time out. */
   public void waitLeader() {
     long startTime = System.currentTimeMillis();
@@ -892,7 +1016,7 @@ public abstract class RaftMember {
     long leaderCommitId = Long.MIN_VALUE;
     RequestCommitIndexResponse response;
     try {
-      response = config.isUseAsyncServer() ? requestCommitIdAsync() : requestCommitIdSync();
+      response = config.isEnableBatchedReadIndex() ? requestCommitIdInBatch() : requestCommitId();
       leaderCommitId = response.getCommitLogIndex();
 
       tryUpdateCommitIndex(
@@ -1080,6 +1204,88 @@ public abstract class RaftMember {
     RaftMember.waitLeaderTimeMs = waitLeaderTimeMs;
   }
 
+  private RequestCommitIndexResponse requestCommitId() throws TException, InterruptedException {
+    return config.isUseAsyncServer() ? requestCommitIdAsync() : requestCommitIdSync();
+  }
+
+  /**
+   * Request the leader's commit index together with the other concurrent reads. When no request is
+   * being sent, the caller sends one for itself, otherwise it joins the next request, which is sent
+   * by one of its members as soon as the current one finishes.
+   */
+  private RequestCommitIndexResponse requestCommitIdInBatch()
+      throws TException, InterruptedException {
+    ReadIndexBatch batch;
+    synchronized (readIndexLock) {
+      if (fetchingReadIndexBatch == null) {
+        batch = new ReadIndexBatch();
+        fetchingReadIndexBatch = batch;
+      } else {
+        if (waitingReadIndexBatch == null) {
+          waitingReadIndexBatch = new ReadIndexBatch();
+        }
+        batch = waitingReadIndexBatch;
+        batch.memberNum++;
+        try {
+          while (!batch.done && (batch != fetchingReadIndexBatch || batch.hasFetcher)) {
+            readIndexLock.wait();
+          }
+        } catch (InterruptedException e) {
+          batch.memberNum--;
+          if (batch.memberNum == 0 && batch == fetchingReadIndexBatch && !batch.hasFetcher) {
+            // nobody is left to send the request of this batch, move on to the next one
+            finishReadIndexBatch(batch);
+          }
+          throw e;
+        }
+        batch.memberNum--;
+        if (batch.done) {
+          return batch.getResponse();
+        }
+      }
+      batch.hasFetcher = true;
+    }
+
+    try {
+      batch.response = requestCommitId();
+    } catch (TException e) {
+      batch.exception = e;
+    } finally {
+      synchronized (readIndexLock) {
+        finishReadIndexBatch(batch);
+      }
+    }
+    return batch.getResponse();
+  }
+
+  private void finishReadIndexBatch(ReadIndexBatch batch) {
+    batch.done = true;
+    fetchingReadIndexBatch = waitingReadIndexBatch;
+    waitingReadIndexBatch = null;
+    readIndexLock.notifyAll();
+  }
+
+  /** The reads sharing one request of the leader's commit index. */
+  private static class ReadIndexBatch {
+
+    private int memberNum;
+    private boolean hasFetcher;
+    private boolean done;
+    private RequestCommitIndexResponse response;
+    private TException exception;
+
+    private RequestCommitIndexResponse getResponse() throws TException {
+      if (exception != null) {
+        throw exception;
+      }
+      if (response == null) {
+        // the request is interrupted, use Long.MAX_VALUE to indicate a timeout
+        return new RequestCommitIndexResponse(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+      }
+      return response;
+    }
+  }
+
   @SuppressWarnings("java:S2274") // enable timeout
   protected RequestCommitIndexResponse requestCommitIdAsync()
       throws TException, InterruptedException {
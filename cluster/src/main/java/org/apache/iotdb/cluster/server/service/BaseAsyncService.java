@@ -28,6 +28,7 @@ import org.apache.iotdb.cluster.rpc.thrift.ExecutNonQueryReq;
 import org.apache.iotdb.cluster.rpc.thrift.HeartBeatRequest;
 import org.apache.iotdb.cluster.rpc.thrift.HeartBeatResponse;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
+import org.apache.iotdb.cluster.rpc.thrift.PullFileInfo;
 import org.apache.iotdb.cluster.rpc.thrift.RaftService;
 import org.apache.iotdb.cluster.rpc.thrift.RaftService.AsyncClient;
 import org.apache.iotdb.cluster.rpc.thrift.RequestCommitIndexResponse;
@@ -128,10 +129,21 @@ public abstract class BaseAsyncService implements RaftService.AsyncIface {
     }
   }
 
+  @Override
+  public void getPullFileInfo(String filePath, AsyncMethodCallback<PullFileInfo> resultHandler) {
+    try {
+      resultHandler.onComplete(IOUtils.getPullFileInfo(filePath));
+    } catch (IOException e) {
+      resultHandler.onError(e);
+    }
+  }
+
   @Override
   public void removeHardLink(String hardLinkPath, AsyncMethodCallback<Void> resultHandler) {
     try {
-      Files.deleteIfExists(new File(hardLinkPath).toPath());
+      File hardLink = new File(hardLinkPath);
+      Files.deleteIfExists(hardLink.toPath());
+      IOUtils.removeChecksum(hardLink);
       resultHandler.onComplete(null);
     } catch (IOException e) {
       resultHandler.onError(e);
@@ -28,6 +28,7 @@ import org.apache.iotdb.cluster.rpc.thrift.ExecutNonQueryReq;
 import org.apache.iotdb.cluster.rpc.thrift.HeartBeatRequest;
 import org.apache.iotdb.cluster.rpc.thrift.HeartBeatResponse;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
+import org.apache.iotdb.cluster.rpc.thrift.PullFileInfo;
 import org.apache.iotdb.cluster.rpc.thrift.RaftService;
 import org.apache.iotdb.cluster.rpc.thrift.RaftService.Client;
 import org.apache.iotdb.cluster.rpc.thrift.RequestCommitIndexResponse;
@@ -137,10 +138,21 @@ public abstract class BaseSyncService implements RaftService.Iface {
     }
   }
 
+  @Override
+  public PullFileInfo getPullFileInfo(String filePath) throws TException {
+    try {
+      return IOUtils.getPullFileInfo(filePath);
+    } catch (IOException e) {
+      throw new TException(e);
+    }
+  }
+
   @Override
   public void removeHardLink(String hardLinkPath) throws TException {
     try {
-      Files.deleteIfExists(new File(hardLinkPath).toPath());
+      File hardLink = new File(hardLinkPath);
+      Files.deleteIfExists(hardLink.toPath());
+      IOUtils.removeChecksum(hardLink);
     } catch (IOException e) {
       throw new TException(e);
     }
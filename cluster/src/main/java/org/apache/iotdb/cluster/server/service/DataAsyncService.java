@@ -26,6 +26,7 @@ import org.apache.iotdb.cluster.exception.ReaderNotFoundException;
 import org.apache.iotdb.cluster.metadata.CMManager;
 import org.apache.iotdb.cluster.rpc.thrift.GetAggrResultRequest;
 import org.apache.iotdb.cluster.rpc.thrift.GetAllPathsResult;
+import org.apache.iotdb.cluster.rpc.thrift.GetMultSeriesAggrResultRequest;
 import org.apache.iotdb.cluster.rpc.thrift.GroupByRequest;
 import org.apache.iotdb.cluster.rpc.thrift.LastQueryRequest;
 import org.apache.iotdb.cluster.rpc.thrift.MultSeriesQueryRequest;
@@ -356,6 +357,17 @@ public class DataAsyncService extends BaseAsyncService implements TSDataService.
     }
   }
 
+  @Override
+  public void getMultSeriesAggrResult(
+      GetMultSeriesAggrResultRequest request, AsyncMethodCallback<List<ByteBuffer>> resultHandler) {
+    try {
+      resultHandler.onComplete(
+          dataGroupMember.getLocalQueryExecutor().getMultSeriesAggrResult(request));
+    } catch (StorageEngineException | QueryProcessException | IOException e) {
+      resultHandler.onError(e);
+    }
+  }
+
   @Override
   public void getUnregisteredTimeseries(
       Node header, List<String> timeseriesList, AsyncMethodCallback<List<String>> resultHandler) {
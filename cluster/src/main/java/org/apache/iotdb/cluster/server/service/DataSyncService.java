@@ -26,6 +26,7 @@ import org.apache.iotdb.cluster.exception.ReaderNotFoundException;
 import org.apache.iotdb.cluster.metadata.CMManager;
 import org.apache.iotdb.cluster.rpc.thrift.GetAggrResultRequest;
 import org.apache.iotdb.cluster.rpc.thrift.GetAllPathsResult;
+import org.apache.iotdb.cluster.rpc.thrift.GetMultSeriesAggrResultRequest;
 import org.apache.iotdb.cluster.rpc.thrift.GroupByRequest;
 import org.apache.iotdb.cluster.rpc.thrift.LastQueryRequest;
 import org.apache.iotdb.cluster.rpc.thrift.MultSeriesQueryRequest;
@@ -339,6 +340,16 @@ public class DataSyncService extends BaseSyncService implements TSDataService.If
     }
   }
 
+  @Override
+  public List<ByteBuffer> getMultSeriesAggrResult(GetMultSeriesAggrResultRequest request)
+      throws TException {
+    try {
+      return dataGroupMember.getLocalQueryExecutor().getMultSeriesAggrResult(request);
+    } catch (StorageEngineException | QueryProcessException | IOException e) {
+      throw new TException(e);
+    }
+  }
+
   @Override
   public List<String> getUnregisteredTimeseries(Node header, List<String> timeseriesList)
       throws TException {
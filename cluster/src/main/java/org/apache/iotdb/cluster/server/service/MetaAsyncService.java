@@ -28,6 +28,7 @@ import org.apache.iotdb.cluster.rpc.thrift.AppendEntryRequest;
 import org.apache.iotdb.cluster.rpc.thrift.CheckStatusResponse;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
 import org.apache.iotdb.cluster.rpc.thrift.SendSnapshotRequest;
+import org.apache.iotdb.cluster.rpc.thrift.SlotLoads;
 import org.apache.iotdb.cluster.rpc.thrift.StartUpStatus;
 import org.apache.iotdb.cluster.rpc.thrift.TNodeStatus;
 import org.apache.iotdb.cluster.rpc.thrift.TSMetaService;
@@ -41,6 +42,9 @@ import org.apache.thrift.async.AsyncMethodCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Map;
+
 public class MetaAsyncService extends BaseAsyncService implements TSMetaService.AsyncIface {
 
   private static final Logger logger = LoggerFactory.getLogger(MetaAsyncService.class);
@@ -142,6 +146,30 @@ public class MetaAsyncService extends BaseAsyncService implements TSMetaService.
     resultHandler.onComplete(metaGroupMember.getThisNode());
   }
 
+  @Override
+  public void getSlotLoads(AsyncMethodCallback<List<SlotLoads>> resultHandler) {
+    resultHandler.onComplete(metaGroupMember.getDataClusterServer().getSlotLoads());
+  }
+
+  @Override
+  public void migrateSlots(
+      Map<Integer, Node> slotNewHeaders, AsyncMethodCallback<Long> resultHandler) {
+    long result;
+    try {
+      // a follower forwards the plan to the leader by itself
+      result = metaGroupMember.migrateSlots(slotNewHeaders);
+    } catch (PartitionTableUnavailableException | LogExecutionException e) {
+      resultHandler.onError(e);
+      return;
+    }
+
+    if (result != Response.RESPONSE_NULL) {
+      resultHandler.onComplete(result);
+      return;
+    }
+    resultHandler.onError(new LeaderUnknownException(metaGroupMember.getAllNodes()));
+  }
+
   @Override
   public void removeNode(Node node, AsyncMethodCallback<Long> resultHandler) {
     long result = Response.RESPONSE_NULL;
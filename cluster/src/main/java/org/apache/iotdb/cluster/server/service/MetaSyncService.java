@@ -29,6 +29,7 @@ import org.apache.iotdb.cluster.rpc.thrift.AppendEntryRequest;
 import org.apache.iotdb.cluster.rpc.thrift.CheckStatusResponse;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
 import org.apache.iotdb.cluster.rpc.thrift.SendSnapshotRequest;
+import org.apache.iotdb.cluster.rpc.thrift.SlotLoads;
 import org.apache.iotdb.cluster.rpc.thrift.StartUpStatus;
 import org.apache.iotdb.cluster.rpc.thrift.TNodeStatus;
 import org.apache.iotdb.cluster.rpc.thrift.TSMetaService;
@@ -42,6 +43,9 @@ import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Map;
+
 public class MetaSyncService extends BaseSyncService implements TSMetaService.Iface {
 
   private static final Logger logger = LoggerFactory.getLogger(MetaSyncService.class);
@@ -137,6 +141,27 @@ public class MetaSyncService extends BaseSyncService implements TSMetaService.If
     return metaGroupMember.getThisNode();
   }
 
+  @Override
+  public List<SlotLoads> getSlotLoads() {
+    return metaGroupMember.getDataClusterServer().getSlotLoads();
+  }
+
+  @Override
+  public long migrateSlots(Map<Integer, Node> slotNewHeaders) throws TException {
+    long result;
+    try {
+      // a follower forwards the plan to the leader by itself
+      result = metaGroupMember.migrateSlots(slotNewHeaders);
+    } catch (PartitionTableUnavailableException | LogExecutionException e) {
+      throw new TException(e);
+    }
+
+    if (result != Response.RESPONSE_NULL) {
+      return result;
+    }
+    throw new TException(new LeaderUnknownException(metaGroupMember.getAllNodes()));
+  }
+
   @Override
   public long removeNode(Node node) throws TException {
     long result;
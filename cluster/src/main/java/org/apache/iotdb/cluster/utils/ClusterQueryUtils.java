@@ -25,7 +25,18 @@ import org.apache.iotdb.db.exception.metadata.MetadataException;
 import org.apache.iotdb.db.exception.query.QueryProcessException;
 import org.apache.iotdb.db.metadata.PartialPath;
 import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.tsfile.read.expression.ExpressionType;
+import org.apache.iotdb.tsfile.read.expression.IBinaryExpression;
+import org.apache.iotdb.tsfile.read.expression.IExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.BinaryExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.SingleSeriesExpression;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
 
@@ -65,4 +76,50 @@ public class ClusterQueryUtils {
       checkPathExistence(path);
     }
   }
+
+  /**
+   * Serialize an expression that consists of SingleSeriesExpressions joined by AND and OR, so it
+   * can be evaluated by another node.
+   */
+  public static ByteBuffer serializeExpression(IExpression expression) {
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+    try {
+      serializeExpression(expression, dataOutputStream);
+    } catch (IOException e) {
+      // unreachable
+    }
+    return ByteBuffer.wrap(byteArrayOutputStream.toByteArray());
+  }
+
+  private static void serializeExpression(IExpression expression, DataOutputStream outputStream)
+      throws IOException {
+    outputStream.writeByte(expression.getType().ordinal());
+    if (expression.getType() == ExpressionType.SERIES) {
+      SingleSeriesExpression seriesExpression = (SingleSeriesExpression) expression;
+      ReadWriteIOUtils.write(seriesExpression.getSeriesPath().getFullPath(), outputStream);
+      seriesExpression.getFilter().serialize(outputStream);
+    } else {
+      serializeExpression(((IBinaryExpression) expression).getLeft(), outputStream);
+      serializeExpression(((IBinaryExpression) expression).getRight(), outputStream);
+    }
+  }
+
+  public static IExpression deserializeExpression(ByteBuffer buffer) throws IllegalPathException {
+    ExpressionType type = ExpressionType.values()[buffer.get()];
+    if (type == ExpressionType.SERIES) {
+      PartialPath path = new PartialPath(ReadWriteIOUtils.readString(buffer));
+      return new SingleSeriesExpression(path, FilterFactory.deserialize(buffer));
+    }
+    IExpression left = deserializeExpression(buffer);
+    IExpression right = deserializeExpression(buffer);
+    switch (type) {
+      case AND:
+        return BinaryExpression.and(left, right);
+      case OR:
+        return BinaryExpression.or(left, right);
+      default:
+        throw new IllegalArgumentException("Unsupported expression type: " + type);
+    }
+  }
 }
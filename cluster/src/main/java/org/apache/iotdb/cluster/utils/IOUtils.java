@@ -19,29 +19,45 @@
 
 package org.apache.iotdb.cluster.utils;
 
+import org.apache.iotdb.cluster.rpc.thrift.PullFileInfo;
+import org.apache.iotdb.cluster.server.FileTransferService;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
 
 @SuppressWarnings("java:S1135")
 public class IOUtils {
 
   private static final Logger logger = LoggerFactory.getLogger(IOUtils.class);
 
+  private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * the checksums of the files being pulled by canonical paths. The files are hard links that do
+   * not change, so a file that is pulled more than once, e.g. when a pull is resumed, is read only
+   * once to compute its checksum.
+   */
+  private static final Map<String, FileChecksum> FILE_CHECKSUMS = new ConcurrentHashMap<>();
+
   private IOUtils() {
     // util class
   }
 
   /**
    * An interface that is used for a node to pull chunks of files like TsFiles. The file should be a
-   * temporary hard link, and once the file is totally read, it will be removed.
+   * temporary hard link, and once the file is totally read, it will be removed. The chunk is read
+   * with a positional read of the file channel, so neither a stream buffer nor skipping the bytes
+   * before "offset" is needed.
    */
   public static ByteBuffer readFile(String filePath, long offset, int length) throws IOException {
     // TODO-Cluster: hold if the file is an unclosed TsFile
@@ -52,19 +68,22 @@ public class IOUtils {
 
     ByteBuffer result;
     boolean fileExhausted;
-    try (BufferedInputStream bufferedInputStream =
-        new BufferedInputStream(new FileInputStream(file))) {
-      skipExactly(bufferedInputStream, offset);
-      byte[] bytes = new byte[length];
-      result = ByteBuffer.wrap(bytes);
-      int len = bufferedInputStream.read(bytes);
-      result.limit(Math.max(len, 0));
-      fileExhausted = bufferedInputStream.available() <= 0;
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long fileSize = channel.size();
+      result = ByteBuffer.allocate((int) Math.max(Math.min(length, fileSize - offset), 0));
+      while (result.hasRemaining()) {
+        if (channel.read(result, offset + result.position()) < 0) {
+          break;
+        }
+      }
+      result.flip();
+      fileExhausted = offset + result.limit() >= fileSize;
     }
 
     if (fileExhausted) {
       try {
         Files.delete(file.toPath());
+        removeChecksum(file);
       } catch (IOException e) {
         logger.warn("Cannot delete an exhausted file {}", filePath, e);
       }
@@ -72,10 +91,44 @@ public class IOUtils {
     return result;
   }
 
-  private static void skipExactly(InputStream stream, long byteToSkip) throws IOException {
-    while (byteToSkip > 0) {
-      byteToSkip -= stream.skip(byteToSkip);
+  /**
+   * Get what a node needs before pulling the file: its length and CRC32 checksum to verify the
+   * pulled file, and the port of FileTransferService to pull it with zero copy.
+   */
+  public static PullFileInfo getPullFileInfo(String filePath) throws IOException {
+    File file = new File(filePath);
+    int transferPort = FileTransferService.INSTANCE.getPort();
+    if (!file.exists()) {
+      removeChecksum(file);
+      return new PullFileInfo(-1, 0, transferPort);
     }
+
+    String key = file.getCanonicalPath();
+    FileChecksum checksum = FILE_CHECKSUMS.get(key);
+    if (checksum == null || !checksum.matches(file)) {
+      checksum = computeChecksum(file);
+      FILE_CHECKSUMS.put(key, checksum);
+    }
+    return new PullFileInfo(checksum.length, checksum.value, transferPort);
+  }
+
+  private static FileChecksum computeChecksum(File file) throws IOException {
+    long lastModified = file.lastModified();
+    CRC32 checksum = new CRC32();
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(CHECKSUM_BUFFER_SIZE);
+      while (channel.read(buffer) != -1) {
+        buffer.flip();
+        checksum.update(buffer);
+        buffer.clear();
+      }
+      return new FileChecksum(channel.size(), lastModified, checksum.getValue());
+    }
+  }
+
+  /** Forget the checksum of a pulled file once it is removed. */
+  public static void removeChecksum(File file) throws IOException {
+    FILE_CHECKSUMS.remove(file.getCanonicalPath());
   }
 
   public static Throwable getRootCause(Throwable e) {
@@ -85,4 +138,21 @@ public class IOUtils {
     }
     return curr;
   }
+
+  private static class FileChecksum {
+
+    private final long length;
+    private final long lastModified;
+    private final long value;
+
+    private FileChecksum(long length, long lastModified, long value) {
+      this.length = length;
+      this.lastModified = lastModified;
+      this.value = value;
+    }
+
+    private boolean matches(File file) {
+      return file.length() == length && file.lastModified() == lastModified;
+    }
+  }
 }
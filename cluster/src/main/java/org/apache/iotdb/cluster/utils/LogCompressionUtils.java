@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.cluster.utils;
+
+import org.apache.iotdb.cluster.rpc.thrift.AppendEntriesRequest;
+import org.apache.iotdb.tsfile.compress.ICompressor;
+import org.apache.iotdb.tsfile.compress.IUnCompressor;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LogCompressionUtils compresses the serialized logs of a batched AppendEntries request together
+ * into one entry, which compresses much better than compressing each log alone. A request carrying
+ * such an entry is marked by its "compressed" field.
+ */
+public class LogCompressionUtils {
+
+  /** small batches are not worth compressing */
+  private static final int MIN_SIZE_TO_COMPRESS = 1024;
+
+  private static final ICompressor compressor = ICompressor.getCompressor(CompressionType.SNAPPY);
+  private static final IUnCompressor unCompressor =
+      IUnCompressor.getUnCompressor(CompressionType.SNAPPY);
+
+  private LogCompressionUtils() {
+    // util class
+  }
+
+  /**
+   * @param logs serialized logs
+   * @return the entry of the compressed logs, or null if they are too small or cannot be compressed
+   */
+  public static ByteBuffer compress(List<ByteBuffer> logs) throws IOException {
+    int totalSize = 0;
+    for (ByteBuffer log : logs) {
+      totalSize += Integer.BYTES + log.remaining();
+    }
+    if (logs.size() < 2 || totalSize < MIN_SIZE_TO_COMPRESS) {
+      return null;
+    }
+
+    ByteBuffer uncompressed = ByteBuffer.allocate(totalSize);
+    for (ByteBuffer log : logs) {
+      uncompressed.putInt(log.remaining());
+      uncompressed.put(log.duplicate());
+    }
+
+    byte[] compressedBytes = compressor.compress(uncompressed.array());
+    if (Integer.BYTES + compressedBytes.length >= totalSize) {
+      return null;
+    }
+    ByteBuffer compressed = ByteBuffer.allocate(Integer.BYTES + compressedBytes.length);
+    compressed.putInt(totalSize);
+    compressed.put(compressedBytes);
+    compressed.flip();
+    return compressed;
+  }
+
+  /**
+   * @param entry the entry of an AppendEntriesRequest whose "compressed" is true
+   * @return the serialized logs in the entry
+   */
+  public static List<ByteBuffer> decompress(ByteBuffer entry) throws IOException {
+    ByteBuffer compressed = entry.duplicate();
+    byte[] uncompressedBytes = new byte[compressed.getInt()];
+    byte[] compressedBytes = new byte[compressed.remaining()];
+    compressed.get(compressedBytes);
+    unCompressor.uncompress(compressedBytes, 0, compressedBytes.length, uncompressedBytes, 0);
+    ByteBuffer uncompressed = ByteBuffer.wrap(uncompressedBytes);
+
+    List<ByteBuffer> logs = new ArrayList<>();
+    while (uncompressed.hasRemaining()) {
+      int logSize = uncompressed.getInt();
+      ByteBuffer log = uncompressed.slice();
+      log.limit(logSize);
+      logs.add(log);
+      uncompressed.position(uncompressed.position() + logSize);
+    }
+    return logs;
+  }
+
+  /** @return the serialized logs in the request, which are decompressed if necessary */
+  public static List<ByteBuffer> getLogs(AppendEntriesRequest request) throws IOException {
+    if (!request.isCompressed()) {
+      return request.getEntries();
+    }
+    if (request.getEntries().size() != 1) {
+      throw new IOException(
+          "A compressed request has " + request.getEntries().size() + " entries but not 1");
+    }
+    return decompress(request.getEntries().get(0));
+  }
+}
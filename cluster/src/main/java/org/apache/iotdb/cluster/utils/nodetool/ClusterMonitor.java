@@ -19,11 +19,17 @@
 package org.apache.iotdb.cluster.utils.nodetool;
 
 import org.apache.iotdb.cluster.ClusterMain;
+import org.apache.iotdb.cluster.config.ClusterConfig;
+import org.apache.iotdb.cluster.config.ClusterDescriptor;
+import org.apache.iotdb.cluster.exception.LogExecutionException;
+import org.apache.iotdb.cluster.exception.PartitionTableUnavailableException;
 import org.apache.iotdb.cluster.partition.PartitionGroup;
 import org.apache.iotdb.cluster.partition.PartitionTable;
 import org.apache.iotdb.cluster.partition.slot.SlotPartitionTable;
+import org.apache.iotdb.cluster.partition.slot.SlotRebalancer;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
 import org.apache.iotdb.cluster.server.MetaClusterServer;
+import org.apache.iotdb.cluster.server.Response;
 import org.apache.iotdb.cluster.server.member.MetaGroupMember;
 import org.apache.iotdb.cluster.server.monitor.Timer;
 import org.apache.iotdb.db.conf.IoTDBConstant;
@@ -140,6 +146,54 @@ public class ClusterMonitor implements ClusterMonitorMBean, IService {
     return metaGroupMember.getAllNodeStatus();
   }
 
+  @Override
+  public Map<Node, Map<Integer, long[]>> getSlotLoads() {
+    MetaGroupMember metaGroupMember = getMetaGroupMember();
+    if (metaGroupMember == null || metaGroupMember.getPartitionTable() == null) {
+      return null;
+    }
+    return metaGroupMember.collectSlotLoads();
+  }
+
+  @Override
+  public Map<Integer, Node> planSlotRebalance(Map<Integer, Long> slotLoads) {
+    PartitionTable partitionTable = getPartitionTable();
+    if (partitionTable == null) {
+      return null;
+    }
+    ClusterConfig config = ClusterDescriptor.getInstance().getConfig();
+    return new SlotRebalancer(
+            (SlotPartitionTable) partitionTable,
+            config.getMaxSlotsPerRebalance(),
+            config.getSlotRebalanceImbalancePercent())
+        .plan(slotLoads);
+  }
+
+  @Override
+  public String applySlotRebalance(Map<Integer, Node> plan) {
+    MetaGroupMember metaGroupMember = getMetaGroupMember();
+    if (metaGroupMember == null || metaGroupMember.getPartitionTable() == null) {
+      return null;
+    }
+    long response;
+    try {
+      response = metaGroupMember.migrateSlots(plan);
+    } catch (PartitionTableUnavailableException | LogExecutionException e) {
+      LOGGER.error("Failed to apply the slot rebalance", e);
+      return "Failed to apply the plan: " + e.getMessage();
+    }
+    if (response == Response.RESPONSE_AGREE) {
+      return String.format("%d slots are being moved", plan.size());
+    } else if (response == Response.RESPONSE_REJECT) {
+      return String.format(
+          "The plan is rejected as it does not fit the partition table any more, or the last"
+              + " rebalance is applied within %d ms",
+          ClusterDescriptor.getInstance().getConfig().getSlotRebalanceIntervalMs());
+    } else {
+      return "The meta leader is unknown or unreachable";
+    }
+  }
+
   private MetaGroupMember getMetaGroupMember() {
     MetaClusterServer metaClusterServer = ClusterMain.getMetaServer();
     if (metaClusterServer == null) {
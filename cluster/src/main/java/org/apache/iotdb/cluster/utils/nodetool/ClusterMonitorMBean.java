@@ -73,6 +73,33 @@ public interface ClusterMonitorMBean {
    */
   Map<Node, Boolean> getAllNodeStatus();
 
+  /**
+   * Get the recent load of the slots held by every data group, collected from all nodes through the
+   * meta service.
+   *
+   * @return key: the header of a data group, value: the slots of the group that have load and the
+   *     numbers of points written into and TsFiles scanned in them, or null if any node cannot be
+   *     reached
+   */
+  Map<Node, Map<Integer, long[]>> getSlotLoads();
+
+  /**
+   * Plan the slot moves that balance the load of the data groups.
+   *
+   * @param slotLoads key: slot, value: the load of the slot in the cluster
+   * @return key: slot, value: the header of the group the slot should be moved to
+   */
+  Map<Integer, Node> planSlotRebalance(Map<Integer, Long> slotLoads);
+
+  /**
+   * Apply a plan of slot moves to the cluster. The plan is forwarded to the meta leader if this
+   * node is not the leader.
+   *
+   * @param plan key: slot, value: the header of the group the slot should be moved to
+   * @return the result of the application
+   */
+  String applySlotRebalance(Map<Integer, Node> plan);
+
   /**
    * @return A multi-line string with each line representing the total time consumption, invocation
    *     number, and average time consumption.
@@ -21,6 +21,7 @@ package org.apache.iotdb.cluster.utils.nodetool;
 import org.apache.iotdb.cluster.utils.nodetool.function.Host;
 import org.apache.iotdb.cluster.utils.nodetool.function.LogView;
 import org.apache.iotdb.cluster.utils.nodetool.function.Partition;
+import org.apache.iotdb.cluster.utils.nodetool.function.Rebalance;
 import org.apache.iotdb.cluster.utils.nodetool.function.Ring;
 import org.apache.iotdb.cluster.utils.nodetool.function.Status;
 import org.apache.iotdb.db.utils.CommonUtils;
@@ -35,7 +36,13 @@ public class NodeTool {
   public static void main(String... args) {
     List<Class<? extends Runnable>> commands =
         Lists.newArrayList(
-            Help.class, Ring.class, Partition.class, Host.class, Status.class, LogView.class);
+            Help.class,
+            Ring.class,
+            Partition.class,
+            Host.class,
+            Status.class,
+            LogView.class,
+            Rebalance.class);
 
     int status = CommonUtils.runCli(commands, args, "nodetool", "Manage your IoTDB cluster");
     System.exit(status);
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.cluster.utils.nodetool.function;
+
+import org.apache.iotdb.cluster.rpc.thrift.Node;
+import org.apache.iotdb.cluster.utils.nodetool.ClusterMonitorMBean;
+
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static org.apache.iotdb.cluster.utils.nodetool.Printer.errPrintln;
+import static org.apache.iotdb.cluster.utils.nodetool.Printer.msgPrintln;
+
+@Command(
+    name = "rebalance",
+    description =
+        "Print the slot moves that balance the load of data groups, and apply them if required")
+public class Rebalance extends NodeToolCmd {
+
+  @Option(
+      title = "apply",
+      name = {"-a", "--apply"},
+      description = "Apply the plan, which is forwarded to the meta leader")
+  private boolean apply = false;
+
+  @Option(
+      title = "read weight",
+      name = {"-rw", "--readweight"},
+      description = "The load of scanning a TsFile compared to writing a point")
+  private long readWeight = 100;
+
+  @Override
+  public void execute(ClusterMonitorMBean proxy) {
+    List<Node> allNodes = proxy.getRing();
+    if (allNodes == null) {
+      msgPrintln(BUILDING_CLUSTER_INFO);
+      return;
+    }
+
+    // the loads are collected from all nodes and merged per group by the connected node
+    Map<Node, Map<Integer, long[]>> groupSlotLoads = proxy.getSlotLoads();
+    if (groupSlotLoads == null) {
+      errPrintln("Cannot get the slot loads of all nodes");
+      return;
+    }
+    Map<Integer, long[]> slotWriteReadLoads = new HashMap<>();
+    Map<Integer, Node> slotHeaders = new HashMap<>();
+    for (Entry<Node, Map<Integer, long[]>> groupEntry : groupSlotLoads.entrySet()) {
+      for (Entry<Integer, long[]> slotEntry : groupEntry.getValue().entrySet()) {
+        slotWriteReadLoads.put(slotEntry.getKey(), slotEntry.getValue());
+        slotHeaders.put(slotEntry.getKey(), groupEntry.getKey());
+      }
+    }
+
+    Map<Integer, Long> slotLoads = new HashMap<>();
+    slotWriteReadLoads.forEach(
+        (slot, loads) -> slotLoads.put(slot, loads[0] + loads[1] * readWeight));
+    Map<Integer, Node> plan = proxy.planSlotRebalance(slotLoads);
+    if (plan == null) {
+      msgPrintln(BUILDING_CLUSTER_INFO);
+      return;
+    }
+    if (plan.isEmpty()) {
+      msgPrintln("The load of the data groups is balanced.");
+      return;
+    }
+
+    msgPrintln(String.format("%-10s  %20s  %30s  %30s", "Slot", "Load", "From", "To"));
+    for (Entry<Integer, Node> entry : plan.entrySet()) {
+      int slot = entry.getKey();
+      msgPrintln(
+          String.format(
+              "%-10d  %20d  %30s  %30s",
+              slot,
+              slotLoads.get(slot),
+              nodeToString(slotHeaders.get(slot)),
+              nodeToString(entry.getValue())));
+    }
+    if (apply) {
+      String result = proxy.applySlotRebalance(plan);
+      msgPrintln(result != null ? result : BUILDING_CLUSTER_INFO);
+    }
+  }
+}
@@ -20,15 +20,18 @@
 package org.apache.iotdb.cluster.common;
 
 import org.apache.iotdb.cluster.client.async.AsyncDataClient;
+import org.apache.iotdb.cluster.config.ClusterDescriptor;
 import org.apache.iotdb.cluster.rpc.thrift.AppendEntryRequest;
 import org.apache.iotdb.cluster.rpc.thrift.ElectionRequest;
 import org.apache.iotdb.cluster.rpc.thrift.ExecutNonQueryReq;
 import org.apache.iotdb.cluster.rpc.thrift.GetAggrResultRequest;
 import org.apache.iotdb.cluster.rpc.thrift.GetAllPathsResult;
+import org.apache.iotdb.cluster.rpc.thrift.GetMultSeriesAggrResultRequest;
 import org.apache.iotdb.cluster.rpc.thrift.GroupByRequest;
 import org.apache.iotdb.cluster.rpc.thrift.MultSeriesQueryRequest;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
 import org.apache.iotdb.cluster.rpc.thrift.PreviousFillRequest;
+import org.apache.iotdb.cluster.rpc.thrift.PullFileInfo;
 import org.apache.iotdb.cluster.rpc.thrift.PullSchemaRequest;
 import org.apache.iotdb.cluster.rpc.thrift.PullSchemaResp;
 import org.apache.iotdb.cluster.rpc.thrift.SingleSeriesQueryRequest;
@@ -53,6 +56,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32;
 
 public class TestAsyncDataClient extends AsyncDataClient {
 
@@ -108,6 +112,16 @@ public class TestAsyncDataClient extends AsyncDataClient {
         .start();
   }
 
+  @Override
+  public void getMultSeriesAggrResult(
+      GetMultSeriesAggrResultRequest request, AsyncMethodCallback<List<ByteBuffer>> resultHandler) {
+    new Thread(
+            () ->
+                new DataAsyncService(dataGroupMemberMap.get(request.getHeader()))
+                    .getMultSeriesAggrResult(request, resultHandler))
+        .start();
+  }
+
   @Override
   public void querySingleSeries(
       SingleSeriesQueryRequest request, AsyncMethodCallback<Long> resultHandler) {
@@ -203,6 +217,34 @@ public class TestAsyncDataClient extends AsyncDataClient {
         .start();
   }
 
+  @Override
+  public void getPullFileInfo(String filePath, AsyncMethodCallback<PullFileInfo> resultHandler) {
+    new Thread(
+            () -> {
+              File file = new File(filePath);
+              if (file.exists()) {
+                try {
+                  resultHandler.onComplete(IOUtils.getPullFileInfo(filePath));
+                } catch (IOException e) {
+                  resultHandler.onError(e);
+                }
+              } else {
+                // the same as the faked content returned by readFile()
+                byte[] content =
+                    (filePath
+                            + "@"
+                            + 0
+                            + "#"
+                            + ClusterDescriptor.getInstance().getConfig().getFilePullFetchSize())
+                        .getBytes();
+                CRC32 checksum = new CRC32();
+                checksum.update(content);
+                resultHandler.onComplete(new PullFileInfo(content.length, checksum.getValue(), -1));
+              }
+            })
+        .start();
+  }
+
   @Override
   public void startElection(ElectionRequest request, AsyncMethodCallback<Long> resultHandler) {}
 
@@ -25,6 +25,7 @@ import org.apache.iotdb.cluster.common.TestSyncClient;
 import org.apache.iotdb.cluster.common.TestUtils;
 import org.apache.iotdb.cluster.config.ClusterDescriptor;
 import org.apache.iotdb.cluster.exception.UnknownLogTypeException;
+import org.apache.iotdb.cluster.log.LogDispatcher.BatchSizeController;
 import org.apache.iotdb.cluster.log.LogDispatcher.SendLogRequest;
 import org.apache.iotdb.cluster.rpc.thrift.AppendEntriesRequest;
 import org.apache.iotdb.cluster.rpc.thrift.AppendEntryRequest;
@@ -34,6 +35,7 @@ import org.apache.iotdb.cluster.rpc.thrift.RaftService.Client;
 import org.apache.iotdb.cluster.server.NodeCharacter;
 import org.apache.iotdb.cluster.server.Response;
 import org.apache.iotdb.cluster.server.member.RaftMember;
+import org.apache.iotdb.cluster.utils.LogCompressionUtils;
 import org.apache.iotdb.db.conf.IoTDBConstant;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
@@ -44,6 +46,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -53,6 +56,8 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.Assert.assertEquals;
+
 public class LogDispatcherTest {
 
   private RaftMember raftMember;
@@ -92,7 +97,7 @@ public class LogDispatcherTest {
                           if (!downNode.contains(node)) {
                             try {
                               resultHandler.onComplete(mockedAppendEntries(request));
-                            } catch (UnknownLogTypeException e) {
+                            } catch (UnknownLogTypeException | IOException e) {
                               resultHandler.onError(e);
                             }
                           }
@@ -124,7 +129,7 @@ public class LogDispatcherTest {
                     return mockedAppendEntries(request);
                   }
                   return -1;
-                } catch (UnknownLogTypeException e) {
+                } catch (UnknownLogTypeException | IOException e) {
                   throw new TException(e);
                 }
               }
@@ -146,8 +151,9 @@ public class LogDispatcherTest {
     return Response.RESPONSE_AGREE;
   }
 
-  private long mockedAppendEntries(AppendEntriesRequest request) throws UnknownLogTypeException {
-    List<ByteBuffer> entries = request.getEntries();
+  private long mockedAppendEntries(AppendEntriesRequest request)
+      throws UnknownLogTypeException, IOException {
+    List<ByteBuffer> entries = LogCompressionUtils.getLogs(request);
     List<Log> logs = new ArrayList<>();
     for (ByteBuffer entry : entries) {
       LogParser logParser = LogParser.getINSTANCE();
@@ -243,6 +249,55 @@ public class LogDispatcherTest {
     }
   }
 
+  @Test
+  public void testWithCompression() throws InterruptedException {
+    boolean useAsyncServer = ClusterDescriptor.getInstance().getConfig().isUseAsyncServer();
+    boolean enableLogBatchCompression =
+        ClusterDescriptor.getInstance().getConfig().isEnableLogBatchCompression();
+    int maxAppendEntriesInFlight =
+        ClusterDescriptor.getInstance().getConfig().getMaxAppendEntriesInFlight();
+    ClusterDescriptor.getInstance().getConfig().setUseAsyncServer(true);
+    ClusterDescriptor.getInstance().getConfig().setEnableLogBatchCompression(true);
+    ClusterDescriptor.getInstance().getConfig().setMaxAppendEntriesInFlight(1);
+    LogDispatcher dispatcher = new LogDispatcher(raftMember);
+    try {
+      List<Log> logs = TestUtils.prepareLargeTestLogs(20);
+      for (Log log : logs) {
+        SendLogRequest request = raftMember.buildSendLogRequest(log);
+        dispatcher.offer(request);
+      }
+      while (!checkResult(logs, 9)) {
+        // wait
+      }
+    } finally {
+      dispatcher.close();
+      ClusterDescriptor.getInstance().getConfig().setUseAsyncServer(useAsyncServer);
+      ClusterDescriptor.getInstance()
+          .getConfig()
+          .setEnableLogBatchCompression(enableLogBatchCompression);
+      ClusterDescriptor.getInstance()
+          .getConfig()
+          .setMaxAppendEntriesInFlight(maxAppendEntriesInFlight);
+    }
+  }
+
+  @Test
+  public void testBatchSizeController() {
+    BatchSizeController controller = new BatchSizeController(100);
+    assertEquals(32, controller.getBatchSize());
+    // the follower lags behind, use larger batches
+    controller.onResponse(1000, 1000);
+    assertEquals(64, controller.getBatchSize());
+    controller.onResponse(1000, 1000);
+    assertEquals(100, controller.getBatchSize());
+    // the follower catches up
+    controller.onResponse(1000, 10);
+    assertEquals(100, controller.getBatchSize());
+    // the round trips become much slower, use smaller batches
+    controller.onResponse(3000, 1000);
+    assertEquals(50, controller.getBatchSize());
+  }
+
   @SuppressWarnings("java:S2925")
   public boolean checkResult(List<Log> logs, int requestedSuccess) throws InterruptedException {
     for (Log log : logs) {
@@ -26,6 +26,7 @@ import org.apache.iotdb.cluster.common.TestAsyncMetaClient;
 import org.apache.iotdb.cluster.common.TestDataGroupMember;
 import org.apache.iotdb.cluster.common.TestMetaGroupMember;
 import org.apache.iotdb.cluster.common.TestUtils;
+import org.apache.iotdb.cluster.config.ClusterDescriptor;
 import org.apache.iotdb.cluster.coordinator.Coordinator;
 import org.apache.iotdb.cluster.log.LogApplier;
 import org.apache.iotdb.cluster.log.logtypes.CloseFileLog;
@@ -301,6 +302,43 @@ public class DataLogApplierTest extends IoTDBTest {
         log.getException().getMessage());
   }
 
+  @Test
+  public void testApplyInsertWithoutWal() throws MetadataException {
+    boolean prevEnableRaftLogAsWal =
+        ClusterDescriptor.getInstance().getConfig().isEnableRaftLogAsWal();
+    ClusterDescriptor.getInstance().getConfig().setEnableRaftLogAsWal(true);
+    try {
+      DataLogApplier walSkippingApplier =
+          new DataLogApplier(testMetaGroupMember, testDataGroupMember);
+      StorageEngine.getInstance().syncCloseAllProcessor();
+
+      InsertRowPlan insertPlan = new InsertRowPlan();
+      insertPlan.setDeviceId(new PartialPath(TestUtils.getTestSg(1)));
+      insertPlan.setTime(1);
+      insertPlan.setNeedInferType(true);
+      insertPlan.setMeasurements(new String[] {TestUtils.getTestMeasurement(0)});
+      insertPlan.setDataTypes(new TSDataType[insertPlan.getMeasurements().length]);
+      insertPlan.setValues(new Object[] {"1.0"});
+      insertPlan.setMeasurementMNodes(
+          new MeasurementMNode[] {TestUtils.getTestMeasurementMNode(0)});
+      PhysicalPlanLog log = new PhysicalPlanLog(insertPlan);
+      log.setCurrLogIndex(10);
+
+      walSkippingApplier.apply(log);
+      assertNull(log.getException());
+      assertTrue(insertPlan.isSkipWal());
+      // the data of the log are only in memory, so the log must be applied again after a restart
+      assertEquals(9, walSkippingApplier.getMaxPersistedIndex(10));
+
+      StorageEngine.getInstance().syncCloseAllProcessor();
+      assertEquals(10, walSkippingApplier.getMaxPersistedIndex(10));
+      // the flushed partitions are forgotten
+      assertEquals(0, walSkippingApplier.getStorageGroupNumWithoutWal());
+    } finally {
+      ClusterDescriptor.getInstance().getConfig().setEnableRaftLogAsWal(prevEnableRaftLogAsWal);
+    }
+  }
+
   @Test
   public void testApplyDeletion()
       throws QueryProcessException, MetadataException, QueryFilterOptimizationException,
@@ -25,6 +25,7 @@ import org.apache.iotdb.cluster.log.LogApplier;
 import org.apache.iotdb.cluster.log.logtypes.AddNodeLog;
 import org.apache.iotdb.cluster.log.logtypes.PhysicalPlanLog;
 import org.apache.iotdb.cluster.log.logtypes.RemoveNodeLog;
+import org.apache.iotdb.cluster.log.logtypes.SlotMigrationLog;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
 import org.apache.iotdb.cluster.utils.Constants;
 import org.apache.iotdb.db.exception.StorageEngineException;
@@ -42,7 +43,9 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import static junit.framework.TestCase.assertEquals;
@@ -52,6 +55,7 @@ import static junit.framework.TestCase.assertTrue;
 public class MetaLogApplierTest extends IoTDBTest {
 
   private Set<Node> nodes = new HashSet<>();
+  private Map<Integer, Node> migratedSlots = new HashMap<>();
 
   private TestMetaGroupMember testMetaGroupMember =
       new TestMetaGroupMember() {
@@ -64,6 +68,11 @@ public class MetaLogApplierTest extends IoTDBTest {
         public void applyRemoveNode(Node oldNode) {
           nodes.remove(oldNode);
         }
+
+        @Override
+        public void applySlotMigration(SlotMigrationLog log) {
+          migratedSlots.putAll(log.getSlotNewHeaders());
+        }
       };
 
   private LogApplier applier = new MetaLogApplier(testMetaGroupMember);
@@ -99,6 +108,18 @@ public class MetaLogApplierTest extends IoTDBTest {
     assertFalse(nodes.contains(node));
   }
 
+  @Test
+  public void testApplySlotMigration() {
+    migratedSlots.clear();
+
+    Node node = testMetaGroupMember.getThisNode();
+    SlotMigrationLog log = new SlotMigrationLog();
+    log.setSlotNewHeaders(Collections.singletonMap(1, node));
+    applier.apply(log);
+
+    assertEquals(Collections.singletonMap(1, node), migratedSlots);
+  }
+
   @Test
   public void testApplyMetadataCreation() throws MetadataException {
     PhysicalPlanLog physicalPlanLog = new PhysicalPlanLog();
@@ -40,6 +40,8 @@ import org.junit.Test;
 import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -133,6 +135,21 @@ public class SerializeLogTest {
     assertEquals(log, logPrime);
   }
 
+  @Test
+  public void testSlotMigrationLog() throws UnknownLogTypeException {
+    SlotMigrationLog log = new SlotMigrationLog();
+    log.setCurrLogIndex(2);
+    log.setCurrLogTerm(2);
+    Map<Integer, Node> slotNewHeaders = new LinkedHashMap<>();
+    slotNewHeaders.put(3, TestUtils.getNode(0));
+    slotNewHeaders.put(1, TestUtils.getNode(4));
+    log.setSlotNewHeaders(slotNewHeaders);
+    log.setMigrationTime(1000L);
+    ByteBuffer byteBuffer = log.serialize();
+    SlotMigrationLog logPrime = (SlotMigrationLog) LogParser.getINSTANCE().parse(byteBuffer);
+    assertEquals(log, logPrime);
+  }
+
   @Test
   public void testEmptyContentLog() throws UnknownLogTypeException {
     EmptyContentLog log = new EmptyContentLog(2, 2);
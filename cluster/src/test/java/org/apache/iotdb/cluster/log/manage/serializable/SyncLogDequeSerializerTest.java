@@ -121,6 +121,7 @@ public class SyncLogDequeSerializerTest extends IoTDBTest {
     SyncLogDequeSerializer syncLogDequeSerializer = new SyncLogDequeSerializer(testIdentifier);
     try {
       prepareFiles(syncLogDequeSerializer);
+      syncLogDequeSerializer.setMaxHaveAppliedCommitIndex(39);
 
       // check the max log file number, the first one will be removed
       syncLogDequeSerializer.checkDeletePersistRaftLog();
@@ -209,6 +210,35 @@ public class SyncLogDequeSerializerTest extends IoTDBTest {
     }
   }
 
+  @Test
+  public void testGetSerializedLogs() {
+    SyncLogDequeSerializer syncLogDequeSerializer = new SyncLogDequeSerializer(testIdentifier);
+    prepareFiles(syncLogDequeSerializer);
+    try {
+      // the logs span sealed files and the current file, read them twice to read the mapped files
+      for (int round = 0; round < 2; round++) {
+        List<Log> logList = syncLogDequeSerializer.getSerializedLogs(0, 39);
+        Assert.assertEquals(testLogs1.size(), logList.size());
+        for (int i = 0; i < logList.size(); i++) {
+          Log expected = testLogs1.get(i);
+          Log serializedLog = logList.get(i);
+          Assert.assertEquals(expected.getCurrLogIndex(), serializedLog.getCurrLogIndex());
+          Assert.assertEquals(expected.getCurrLogTerm(), serializedLog.getCurrLogTerm());
+          Assert.assertEquals(expected.serialize(), serializedLog.serialize());
+        }
+      }
+
+      List<Log> logList = syncLogDequeSerializer.getSerializedLogs(15, 25);
+      Assert.assertEquals(11, logList.size());
+      Assert.assertEquals(15, logList.get(0).getCurrLogIndex());
+      Assert.assertEquals(testLogs1.get(25).serialize(), logList.get(10).serialize());
+
+      Assert.assertTrue(syncLogDequeSerializer.getSerializedLogs(40, 100).isEmpty());
+    } finally {
+      syncLogDequeSerializer.close();
+    }
+  }
+
   @Test
   public void testGetLogIndexFile() {
     SyncLogDequeSerializer syncLogDequeSerializer = new SyncLogDequeSerializer(testIdentifier);
@@ -558,6 +588,7 @@ public class SyncLogDequeSerializerTest extends IoTDBTest {
       prepareFiles(syncLogDequeSerializer);
       int maxLogFile = 2;
       syncLogDequeSerializer.setMaxNumberOfPersistRaftLogFiles(maxLogFile);
+      syncLogDequeSerializer.setMaxHaveAppliedCommitIndex(39);
       syncLogDequeSerializer.checkDeletePersistRaftLog();
       Assert.assertEquals(maxLogFile, syncLogDequeSerializer.getLogDataFileList().size());
       Assert.assertEquals(maxLogFile, syncLogDequeSerializer.getLogIndexFileList().size());
@@ -566,6 +597,39 @@ public class SyncLogDequeSerializerTest extends IoTDBTest {
     }
   }
 
+  @Test
+  public void testKeepLogsNotPersisted() {
+    SyncLogDequeSerializer syncLogDequeSerializer = new SyncLogDequeSerializer(testIdentifier);
+    try {
+      prepareFiles(syncLogDequeSerializer);
+      // the data of all logs are only in memory, e.g., they skipped the WAL of the engine
+      syncLogDequeSerializer.checkDeletePersistRaftLog();
+      Assert.assertEquals(5, syncLogDequeSerializer.getLogDataFileList().size());
+
+      // the logs before 20 are flushed, only the files before 20 can be removed
+      syncLogDequeSerializer.setMaxHaveAppliedCommitIndex(20);
+      syncLogDequeSerializer.checkDeletePersistRaftLog();
+      testLogDataAndLogIndexEqual(syncLogDequeSerializer);
+      Assert.assertEquals(
+          maxPersistLogFileNumber, syncLogDequeSerializer.getLogDataFileList().size());
+      String[] splits =
+          syncLogDequeSerializer.getLogDataFileList().get(0).getName().split(FILE_NAME_SEPARATOR);
+      Assert.assertEquals(18, Long.parseLong(splits[0]));
+      Assert.assertEquals(26, Long.parseLong(splits[1]));
+    } finally {
+      syncLogDequeSerializer.close();
+    }
+
+    // the logs not persisted survive a restart
+    syncLogDequeSerializer = new SyncLogDequeSerializer(testIdentifier);
+    try {
+      List<Log> logDeque = syncLogDequeSerializer.getAllEntriesAfterAppliedIndex();
+      Assert.assertEquals(testLogs1.subList(20, 40), logDeque);
+    } finally {
+      syncLogDequeSerializer.close();
+    }
+  }
+
   @Test
   public void testRecoverFromTemp() {
     SyncLogDequeSerializer syncLogDequeSerializer = new SyncLogDequeSerializer(testIdentifier);
@@ -29,6 +29,7 @@ import org.apache.iotdb.cluster.config.ClusterConfig;
 import org.apache.iotdb.cluster.config.ClusterDescriptor;
 import org.apache.iotdb.cluster.coordinator.Coordinator;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
+import org.apache.iotdb.cluster.rpc.thrift.PullFileInfo;
 import org.apache.iotdb.cluster.rpc.thrift.RaftService.AsyncClient;
 import org.apache.iotdb.cluster.rpc.thrift.RaftService.Client;
 import org.apache.iotdb.cluster.server.member.DataGroupMember;
@@ -102,6 +103,20 @@ public abstract class DataSnapshotTest {
                     .start();
               }
 
+              @Override
+              public void getPullFileInfo(
+                  String filePath, AsyncMethodCallback<PullFileInfo> resultHandler) {
+                new Thread(
+                        () -> {
+                          try {
+                            resultHandler.onComplete(IOUtils.getPullFileInfo(filePath));
+                          } catch (IOException e) {
+                            resultHandler.onError(e);
+                          }
+                        })
+                    .start();
+              }
+
               @Override
               public void removeHardLink(
                   String hardLinkPath, AsyncMethodCallback<Void> resultHandler) {
@@ -167,6 +182,15 @@ public abstract class DataSnapshotTest {
                   throw new TException(e);
                 }
               }
+
+              @Override
+              public PullFileInfo getPullFileInfo(String filePath) throws TException {
+                try {
+                  return IOUtils.getPullFileInfo(filePath);
+                } catch (IOException e) {
+                  throw new TException(e);
+                }
+              }
             };
           }
         };
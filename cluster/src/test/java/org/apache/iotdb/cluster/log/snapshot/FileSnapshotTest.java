@@ -24,16 +24,21 @@ import org.apache.iotdb.cluster.common.TestUtils;
 import org.apache.iotdb.cluster.config.ClusterDescriptor;
 import org.apache.iotdb.cluster.exception.SnapshotInstallationException;
 import org.apache.iotdb.cluster.partition.slot.SlotManager.SlotStatus;
+import org.apache.iotdb.cluster.server.FileTransferService;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.conf.directories.DirectoryManager;
 import org.apache.iotdb.db.engine.StorageEngine;
 import org.apache.iotdb.db.engine.modification.Deletion;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.storagegroup.StorageGroupProcessor;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.exception.LoadFileException;
+import org.apache.iotdb.db.exception.StartupException;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.metadata.IllegalPathException;
 import org.apache.iotdb.db.metadata.PartialPath;
 import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.FilePathUtils;
 import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
 import org.apache.iotdb.tsfile.write.schema.TimeseriesSchema;
 
@@ -41,8 +46,13 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +60,7 @@ import java.util.Map;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class FileSnapshotTest extends DataSnapshotTest {
 
@@ -303,4 +314,146 @@ public class FileSnapshotTest extends DataSnapshotTest {
     }
     assertEquals(0, processor.getUnSequenceFileList().size());
   }
+
+  @Test
+  public void testInstallResumePartialFile()
+      throws IOException, SnapshotInstallationException, IllegalPathException,
+          StorageEngineException, WriteProcessException {
+    FileSnapshot snapshot = prepareSingleFileSnapshot();
+    File sourceFile = snapshot.getDataFiles().get(0).getTsFile();
+    byte[] content = Files.readAllBytes(sourceFile.toPath());
+    // a previous pull has downloaded the first half of the file
+    File tempFile = getPullTempFile(snapshot.getDataFiles().get(0));
+    tempFile.getParentFile().mkdirs();
+    Files.write(tempFile.toPath(), Arrays.copyOf(content, content.length / 2));
+
+    snapshot.getDefaultInstaller(dataGroupMember).install(snapshot, 0);
+
+    StorageGroupProcessor processor =
+        StorageEngine.getInstance().getProcessor(new PartialPath(TestUtils.getTestSg(0)));
+    List<TsFileResource> loadedFiles = processor.getSequenceFileTreeSet();
+    assertEquals(1, loadedFiles.size());
+    assertEquals(content.length, loadedFiles.get(0).getTsFile().length());
+    assertFalse(sourceFile.exists());
+  }
+
+  @Test
+  public void testInstallByTransfer()
+      throws IOException, SnapshotInstallationException, IllegalPathException,
+          StorageEngineException, WriteProcessException, StartupException, InterruptedException {
+    FileTransferService.INSTANCE.start();
+    try {
+      FileSnapshot snapshot = prepareSingleFileSnapshot();
+      // the source node sends the file through the local FileTransferService
+      RemoteTsFileResource resource = snapshot.getDataFiles().get(0);
+      resource
+          .getSource()
+          .setInternalIp(ClusterDescriptor.getInstance().getConfig().getInternalIp());
+      // which only serves the hard links in the data folders
+      File sourceFile =
+          new File(
+              DirectoryManager.getInstance().getAllSequenceFileFolders().get(0),
+              FilePathUtils.getTsFilePrefixPath(resource)
+                  + File.separator
+                  + resource.getTsFile().getName());
+      sourceFile.getParentFile().mkdirs();
+      Files.move(resource.getTsFile().toPath(), sourceFile.toPath());
+      resource.setFile(sourceFile);
+      byte[] content = Files.readAllBytes(sourceFile.toPath());
+      File tempFile = getPullTempFile(snapshot.getDataFiles().get(0));
+      tempFile.getParentFile().mkdirs();
+      Files.write(tempFile.toPath(), Arrays.copyOf(content, content.length / 2));
+
+      snapshot.getDefaultInstaller(dataGroupMember).install(snapshot, 0);
+
+      StorageGroupProcessor processor =
+          StorageEngine.getInstance().getProcessor(new PartialPath(TestUtils.getTestSg(0)));
+      List<TsFileResource> loadedFiles = processor.getSequenceFileTreeSet();
+      assertEquals(1, loadedFiles.size());
+      assertEquals(content.length, loadedFiles.get(0).getTsFile().length());
+      // the service removes the file after the puller has received it
+      long waitEnd = System.currentTimeMillis() + 10_000;
+      while (sourceFile.exists() && System.currentTimeMillis() < waitEnd) {
+        Thread.sleep(10);
+      }
+      assertFalse(sourceFile.exists());
+    } finally {
+      FileTransferService.INSTANCE.stop();
+    }
+  }
+
+  @Test
+  public void testTransferRejectsOtherFiles()
+      throws IOException, WriteProcessException, StartupException {
+    FileTransferService.INSTANCE.start();
+    try {
+      // a hard link that is not in the data folders
+      File file = TestUtils.prepareTsFileResources(0, 1, 1, 1, true).get(0).getTsFile();
+      byte[] pathBytes = file.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
+      ByteBuffer request = ByteBuffer.allocate(Integer.BYTES + pathBytes.length + Long.BYTES);
+      request.putInt(pathBytes.length).put(pathBytes).putLong(0).flip();
+      ByteBuffer response = ByteBuffer.allocate(Long.BYTES);
+      try (SocketChannel channel =
+          SocketChannel.open(
+              new InetSocketAddress(
+                  ClusterDescriptor.getInstance().getConfig().getInternalIp(),
+                  FileTransferService.INSTANCE.getPort()))) {
+        while (request.hasRemaining()) {
+          channel.write(request);
+        }
+        while (response.hasRemaining() && channel.read(response) >= 0) {
+          // read the whole response
+        }
+      }
+      response.flip();
+      assertEquals(-1, response.getLong());
+      assertTrue(file.exists());
+    } finally {
+      FileTransferService.INSTANCE.stop();
+    }
+  }
+
+  @Test
+  public void testInstallCorruptedPartialFile()
+      throws IOException, IllegalPathException, WriteProcessException {
+    FileSnapshot snapshot = prepareSingleFileSnapshot();
+    File sourceFile = snapshot.getDataFiles().get(0).getTsFile();
+    // a partial file that does not belong to the remote file
+    File tempFile = getPullTempFile(snapshot.getDataFiles().get(0));
+    tempFile.getParentFile().mkdirs();
+    Files.write(tempFile.toPath(), new byte[(int) (sourceFile.length() / 2)]);
+
+    try {
+      snapshot.getDefaultInstaller(dataGroupMember).install(snapshot, 0);
+      fail("An incomplete file should not be installed");
+    } catch (SnapshotInstallationException e) {
+      // expected
+    }
+    assertFalse(tempFile.exists());
+  }
+
+  private FileSnapshot prepareSingleFileSnapshot() throws IOException, WriteProcessException {
+    FileSnapshot snapshot = new FileSnapshot();
+    List<TimeseriesSchema> timeseriesSchemas = new ArrayList<>();
+    List<TsFileResource> tsFileResources = TestUtils.prepareTsFileResources(0, 1, 10, 10, true);
+    snapshot.addFile(tsFileResources.get(0), TestUtils.getNode(0));
+    for (int i = 0; i < 10; i++) {
+      timeseriesSchemas.add(TestUtils.getTestTimeSeriesSchema(0, i));
+    }
+    snapshot.setTimeseriesSchemas(timeseriesSchemas);
+    return snapshot;
+  }
+
+  private File getPullTempFile(RemoteTsFileResource resource) {
+    return new File(
+        IoTDBDescriptor.getInstance().getConfig().getSystemDir()
+            + File.separator
+            + "remote"
+            + File.separator
+            + resource.getSource().getNodeIdentifier()
+            + File.separator
+            + FilePathUtils.getTsFilePrefixPath(resource)
+            + File.separator
+            + FilePathUtils.getTsFileNameWithoutHardLink(resource));
+  }
 }
@@ -28,6 +28,7 @@ import org.apache.iotdb.cluster.config.ClusterDescriptor;
 import org.apache.iotdb.cluster.partition.PartitionGroup;
 import org.apache.iotdb.cluster.partition.slot.SlotManager.SlotStatus;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
+import org.apache.iotdb.cluster.rpc.thrift.PullFileInfo;
 import org.apache.iotdb.cluster.rpc.thrift.PullSnapshotRequest;
 import org.apache.iotdb.cluster.rpc.thrift.PullSnapshotResp;
 import org.apache.iotdb.cluster.rpc.thrift.RaftService.AsyncClient;
@@ -152,6 +153,15 @@ public class PullSnapshotTaskTest extends DataSnapshotTest {
                 }
               }
 
+              @Override
+              public PullFileInfo getPullFileInfo(String filePath) throws TException {
+                try {
+                  return IOUtils.getPullFileInfo(filePath);
+                } catch (IOException e) {
+                  throw new TException(e);
+                }
+              }
+
               @Override
               public TProtocol getInputProtocol() {
                 return new TBinaryProtocol(
@@ -120,6 +120,24 @@ public class SlotManagerTest {
     assertNull(slotManager.getSource(0));
   }
 
+  @Test
+  public void testSlotLoads() {
+    slotManager.recordWrite(1, 100);
+    slotManager.recordWrite(1, 28);
+    slotManager.recordRead(1);
+    slotManager.recordRead(1);
+    // slots out of range are ignored
+    slotManager.recordWrite(100, 1);
+    assertEquals(128, slotManager.getWriteLoad(1));
+    assertEquals(2, slotManager.getReadLoad(1));
+    assertEquals(0, slotManager.getWriteLoad(2));
+
+    // the loads are halved every half-life (10 minutes)
+    slotManager.decayLoads(System.currentTimeMillis() + 21 * 60 * 1000L);
+    assertEquals(32, slotManager.getWriteLoad(1));
+    assertEquals(0, slotManager.getReadLoad(1));
+  }
+
   @Test
   public void testSerialize() throws IOException {
     File dummyMemberDir = new File("test");
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.cluster.partition;
+
+import org.apache.iotdb.cluster.common.TestUtils;
+import org.apache.iotdb.cluster.config.ClusterDescriptor;
+import org.apache.iotdb.cluster.partition.slot.SlotPartitionTable;
+import org.apache.iotdb.cluster.partition.slot.SlotRebalancer;
+import org.apache.iotdb.cluster.rpc.thrift.Node;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SlotRebalancerTest {
+
+  private int prevReplicaNum;
+  private List<Node> nodes;
+  private SlotPartitionTable partitionTable;
+  private Map<Integer, Long> slotLoads;
+
+  @Before
+  public void setUp() {
+    prevReplicaNum = ClusterDescriptor.getInstance().getConfig().getReplicationNum();
+    ClusterDescriptor.getInstance().getConfig().setReplicationNum(2);
+    nodes = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      nodes.add(TestUtils.getNode(i));
+    }
+    partitionTable = new SlotPartitionTable(nodes, nodes.get(0));
+
+    // the group of node 0 holds 4 hot slots and each other group holds a warm slot
+    slotLoads = new HashMap<>();
+    List<Integer> hotSlots = partitionTable.getNodeSlots(nodes.get(0));
+    for (int i = 0; i < 4; i++) {
+      slotLoads.put(hotSlots.get(i), 1000L);
+    }
+    for (int i = 1; i < 6; i++) {
+      slotLoads.put(partitionTable.getNodeSlots(nodes.get(i)).get(0), 100L);
+    }
+  }
+
+  @After
+  public void tearDown() {
+    ClusterDescriptor.getInstance().getConfig().setReplicationNum(prevReplicaNum);
+  }
+
+  @Test
+  public void testPlan() {
+    SlotRebalancer rebalancer = new SlotRebalancer(partitionTable, 16, 20);
+    Map<Integer, Node> plan = rebalancer.plan(slotLoads);
+
+    assertTrue(!plan.isEmpty() && plan.size() <= 16);
+    for (Entry<Integer, Node> entry : plan.entrySet()) {
+      // a slot is only moved to a group sharing no node with its current group
+      assertTrue(
+          rebalancer.isMovable(partitionTable.route(entry.getKey()).getHeader(), entry.getValue()));
+    }
+    assertTrue(getMaxGroupLoad(plan) < getMaxGroupLoad(Collections.emptyMap()));
+    assertNull(rebalancer.validate(plan));
+  }
+
+  @Test
+  public void testMaxMoves() {
+    SlotRebalancer rebalancer = new SlotRebalancer(partitionTable, 2, 20);
+    Map<Integer, Node> plan = rebalancer.plan(slotLoads);
+
+    assertEquals(2, plan.size());
+    // the hottest group moves its slots first
+    for (Integer slot : plan.keySet()) {
+      assertEquals(1000L, (long) slotLoads.get(slot));
+      assertTrue(partitionTable.getNodeSlots(nodes.get(0)).contains(slot));
+    }
+    assertEquals(2000, getMaxGroupLoad(plan));
+  }
+
+  @Test
+  public void testBalanced() {
+    Map<Integer, Long> balancedLoads = new HashMap<>();
+    for (Node node : nodes) {
+      balancedLoads.put(partitionTable.getNodeSlots(node).get(0), 100L);
+    }
+    SlotRebalancer rebalancer = new SlotRebalancer(partitionTable, 16, 20);
+    assertTrue(rebalancer.plan(balancedLoads).isEmpty());
+    assertTrue(rebalancer.plan(Collections.emptyMap()).isEmpty());
+  }
+
+  @Test
+  public void testValidate() {
+    SlotRebalancer rebalancer = new SlotRebalancer(partitionTable, 16, 20);
+    int slot = partitionTable.getNodeSlots(nodes.get(0)).get(0);
+    // the groups of node 0 and node 1 share node 1
+    assertNotNull(rebalancer.validate(Collections.singletonMap(slot, nodes.get(1))));
+    assertNotNull(rebalancer.validate(Collections.singletonMap(slot, TestUtils.getNode(10))));
+    assertNotNull(rebalancer.validate(Collections.emptyMap()));
+
+    Map<Integer, Node> plan = Collections.singletonMap(slot, nodes.get(3));
+    assertNull(rebalancer.validate(plan));
+    partitionTable.migrateSlots(plan);
+    // the slot is already moved
+    assertNotNull(rebalancer.validate(plan));
+  }
+
+  @Test
+  public void testMigrateSlots() {
+    Node oldHeader = nodes.get(0);
+    Node newHeader = nodes.get(3);
+    List<Integer> oldSlots = new ArrayList<>(partitionTable.getNodeSlots(oldHeader));
+    int slot = oldSlots.get(0);
+    Map<Integer, Node> previousHolders =
+        partitionTable.migrateSlots(Collections.singletonMap(slot, newHeader));
+
+    assertEquals(Collections.singletonMap(slot, oldHeader), previousHolders);
+    assertEquals(oldSlots.size() - 1, partitionTable.getNodeSlots(oldHeader).size());
+    assertTrue(partitionTable.getNodeSlots(newHeader).contains(slot));
+    assertEquals(newHeader, partitionTable.route(slot).getHeader());
+    assertEquals(oldHeader, partitionTable.getPreviousNodeMap(newHeader).get(slot));
+    // moving a slot to its holder changes nothing
+    assertTrue(partitionTable.migrateSlots(Collections.singletonMap(slot, newHeader)).isEmpty());
+
+    // the time of the last migration is kept with the table so a new leader can throttle
+    partitionTable.setLastSlotMigrationTime(1000L);
+    SlotPartitionTable tmpTable = new SlotPartitionTable(new Node());
+    tmpTable.deserialize(partitionTable.serialize());
+    assertEquals(partitionTable, tmpTable);
+    assertEquals(1000L, tmpTable.getLastSlotMigrationTime());
+  }
+
+  private long getMaxGroupLoad(Map<Integer, Node> plan) {
+    Map<Node, Long> groupLoads = new HashMap<>();
+    for (Entry<Integer, Long> entry : slotLoads.entrySet()) {
+      Node header =
+          plan.getOrDefault(entry.getKey(), partitionTable.route(entry.getKey()).getHeader());
+      groupLoads.merge(header, entry.getValue(), Long::sum);
+    }
+    return Collections.max(groupLoads.values());
+  }
+}
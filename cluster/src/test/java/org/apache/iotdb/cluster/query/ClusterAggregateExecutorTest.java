@@ -41,6 +41,7 @@ import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -103,6 +104,46 @@ public class ClusterAggregateExecutorTest extends BaseQueryTest {
     }
   }
 
+  @Test
+  public void testMultiSeries()
+      throws QueryProcessException, StorageEngineException, IOException, IllegalPathException {
+    // the series are in different data groups, and each group is queried once for its series
+    AggregationPlan plan = new AggregationPlan();
+    List<PartialPath> paths = new ArrayList<>();
+    List<TSDataType> dataTypes = new ArrayList<>();
+    List<String> aggregations = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      for (String aggregation : Arrays.asList(SQLConstant.COUNT, SQLConstant.MAX_VALUE)) {
+        paths.add(new PartialPath(TestUtils.getTestSeries(i, 0)));
+        dataTypes.add(TSDataType.DOUBLE);
+        aggregations.add(aggregation);
+      }
+    }
+    plan.setPaths(paths);
+    plan.setDeduplicatedPathsAndUpdate(paths);
+    plan.setDataTypes(dataTypes);
+    plan.setDeduplicatedDataTypes(dataTypes);
+    plan.setAggregations(aggregations);
+    plan.setDeduplicatedAggregations(aggregations);
+
+    QueryContext context =
+        new RemoteQueryContext(QueryResourceManager.getInstance().assignQueryId(true, 1024, -1));
+    try {
+      executor = new ClusterAggregateExecutor(plan, testMetaMember);
+      QueryDataSet queryDataSet = executor.executeWithoutValueFilter(context, plan);
+      assertTrue(queryDataSet.hasNext());
+      List<Field> fields = queryDataSet.next().getFields();
+      assertEquals(20, fields.size());
+      for (int i = 0; i < 10; i++) {
+        assertEquals(20, Double.parseDouble(fields.get(2 * i).toString()), 0.00001);
+        assertEquals(19.0, Double.parseDouble(fields.get(2 * i + 1).toString()), 0.00001);
+      }
+      assertFalse(queryDataSet.hasNext());
+    } finally {
+      QueryResourceManager.getInstance().endQuery(context.getQueryId());
+    }
+  }
+
   @Test
   public void testFilter()
       throws StorageEngineException, IOException, QueryProcessException, IllegalPathException {
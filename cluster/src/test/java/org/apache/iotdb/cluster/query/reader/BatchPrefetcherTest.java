@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.cluster.query.reader;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BatchPrefetcherTest {
+
+  @Test
+  public void testFetchInOrder() throws IOException {
+    AtomicInteger fetchCnt = new AtomicInteger();
+    BatchPrefetcher<Integer> prefetcher =
+        new BatchPrefetcher<>(
+            () -> {
+              int batch = fetchCnt.getAndIncrement();
+              return batch < 100 ? batch : null;
+            },
+            4);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, (int) prefetcher.next());
+    }
+    assertNull(prefetcher.next());
+    assertNull(prefetcher.next());
+  }
+
+  @Test
+  public void testFetchOnDemand() throws IOException {
+    AtomicInteger fetchCnt = new AtomicInteger();
+    BatchPrefetcher<Integer> prefetcher =
+        new BatchPrefetcher<>(
+            () -> {
+              int batch = fetchCnt.getAndIncrement();
+              return batch < 10 ? batch : null;
+            },
+            0);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i, (int) prefetcher.next());
+      // nothing is fetched ahead
+      assertEquals(i + 1, fetchCnt.get());
+    }
+    assertNull(prefetcher.next());
+  }
+
+  @Test
+  public void testDepthAdaption() throws IOException, InterruptedException {
+    AtomicInteger fetchCnt = new AtomicInteger();
+    BatchPrefetcher<Integer> prefetcher =
+        new BatchPrefetcher<>(
+            () -> {
+              try {
+                Thread.sleep(5);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return fetchCnt.getAndIncrement();
+            },
+            4);
+    // a fast consumer always waits for the fetches, so the depth grows to the max
+    for (int i = 0; i < 10; i++) {
+      prefetcher.next();
+    }
+    assertEquals(4, prefetcher.getDepth());
+
+    // a slow consumer always finds the buffer full, so the depth shrinks
+    for (int i = 0; i < 10; i++) {
+      Thread.sleep(50);
+      prefetcher.next();
+    }
+    assertEquals(1, prefetcher.getDepth());
+    prefetcher.close();
+  }
+
+  @Test
+  public void testException() throws IOException {
+    AtomicInteger fetchCnt = new AtomicInteger();
+    BatchPrefetcher<Integer> prefetcher =
+        new BatchPrefetcher<>(
+            () -> {
+              int batch = fetchCnt.getAndIncrement();
+              if (batch == 5) {
+                throw new IOException("no available client.");
+              }
+              return batch;
+            },
+            4);
+    for (int i = 0; i < 5; i++) {
+      assertEquals(i, (int) prefetcher.next());
+    }
+    try {
+      prefetcher.next();
+      fail();
+    } catch (IOException e) {
+      assertEquals("no available client.", e.getMessage());
+    }
+    // the fetch is retried after the exception is thrown
+    assertTrue(prefetcher.next() > 5);
+  }
+
+  @Test
+  public void testClose() throws IOException {
+    AtomicInteger fetchCnt = new AtomicInteger();
+    CountDownLatch fetchLatch = new CountDownLatch(1);
+    BatchPrefetcher<Integer> prefetcher =
+        new BatchPrefetcher<>(
+            () -> {
+              int batch = fetchCnt.getAndIncrement();
+              if (batch > 0) {
+                // the second fetch is in flight when the prefetcher is closed
+                try {
+                  fetchLatch.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+              return batch;
+            },
+            4);
+    assertEquals(0, (int) prefetcher.next());
+    prefetcher.close();
+    fetchLatch.countDown();
+
+    // the batch fetched after closing is discarded and no more fetch is issued
+    assertEquals(0, prefetcher.getBatchNum());
+    assertEquals(2, fetchCnt.get());
+  }
+}
@@ -72,4 +72,42 @@ public class ClusterTimeGeneratorTest extends BaseQueryTest {
       QueryResourceManager.getInstance().endQuery(context.getQueryId());
     }
   }
+
+  @Test
+  public void testPushDown()
+      throws StorageEngineException, IOException, IllegalPathException, QueryProcessException {
+    RawDataQueryPlan dataQueryPlan = new RawDataQueryPlan();
+    QueryContext context =
+        new RemoteQueryContext(QueryResourceManager.getInstance().assignQueryId(true, 1024, -1));
+    try {
+      // the series are in the same storage group, so the expression is evaluated by data groups
+      IExpression expression =
+          BinaryExpression.and(
+              BinaryExpression.and(
+                  new SingleSeriesExpression(
+                      new PartialPath(TestUtils.getTestSeries(0, 0)), ValueFilter.gtEq(3.0)),
+                  new SingleSeriesExpression(
+                      new PartialPath(TestUtils.getTestSeries(0, 1)), ValueFilter.ltEq(8.0))),
+              new SingleSeriesExpression(
+                  new PartialPath(TestUtils.getTestSeries(0, 2)), ValueFilter.notEq(5.0)));
+      dataQueryPlan.setExpression(expression);
+      dataQueryPlan.addDeduplicatedPaths(new PartialPath(TestUtils.getTestSeries(0, 0)));
+      dataQueryPlan.addDeduplicatedPaths(new PartialPath(TestUtils.getTestSeries(0, 1)));
+
+      ClusterTimeGenerator timeGenerator =
+          new ClusterTimeGenerator(context, testMetaMember, dataQueryPlan, false);
+      // the values of the series are not cached, so they will be read by timestamps
+      assertTrue(timeGenerator.hasOrNode());
+      for (int i = 3; i <= 8; i++) {
+        if (i == 5) {
+          continue;
+        }
+        assertTrue(timeGenerator.hasNext());
+        assertEquals(i, timeGenerator.next());
+      }
+      assertFalse(timeGenerator.hasNext());
+    } finally {
+      QueryResourceManager.getInstance().endQuery(context.getQueryId());
+    }
+  }
 }
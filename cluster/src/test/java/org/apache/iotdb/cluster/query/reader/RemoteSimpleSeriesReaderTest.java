@@ -184,11 +184,12 @@ public class RemoteSimpleSeriesReaderTest {
         assertEquals(i * 1.0, pair.getValue().getDouble(), 0.00001);
       }
 
-      this.batchUsed = false;
-      this.batchData = TestUtils.genBatchData(TSDataType.DOUBLE, 0, 100);
       // a bad client, change to another node
       failedNodes.add(TestUtils.getNode(0));
+      // wait for the batch being fetched ahead before resetting the remote data
       reader.clearCurDataForTest();
+      this.batchUsed = false;
+      this.batchData = TestUtils.genBatchData(TSDataType.DOUBLE, 0, 100);
       for (int i = 50; i < 80; i++) {
         TimeValuePair pair = reader.nextTimeValuePair();
         assertEquals(i - 50, pair.getTimestamp());
@@ -196,11 +197,12 @@ public class RemoteSimpleSeriesReaderTest {
       }
       Assert.assertEquals(TestUtils.getNode(1), sourceInfo.getCurrentNode());
 
-      this.batchUsed = false;
-      this.batchData = TestUtils.genBatchData(TSDataType.DOUBLE, 0, 100);
       // a bad client, change to another node again
       failedNodes.add(TestUtils.getNode(1));
+      // wait for the batch being fetched ahead before resetting the remote data
       reader.clearCurDataForTest();
+      this.batchUsed = false;
+      this.batchData = TestUtils.genBatchData(TSDataType.DOUBLE, 0, 100);
       for (int i = 80; i < 90; i++) {
         TimeValuePair pair = reader.nextTimeValuePair();
         assertEquals(i - 80, pair.getTimestamp());
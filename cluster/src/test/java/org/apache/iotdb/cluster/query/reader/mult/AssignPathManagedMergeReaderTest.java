@@ -158,9 +158,8 @@ public class AssignPathManagedMergeReaderTest {
                               stringByteBufferMap.put(
                                   paths.get(i), generateByteBuffer(batchData.get(i)));
                             }
-
-                            resultHandler.onComplete(stringByteBufferMap);
                           }
+                          resultHandler.onComplete(stringByteBufferMap);
                         })
                     .start();
               }
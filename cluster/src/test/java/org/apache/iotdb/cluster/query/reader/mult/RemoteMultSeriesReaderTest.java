@@ -178,7 +178,13 @@ public class RemoteMultSeriesReaderTest {
           queue.add(data);
         });
     cachedBatches.put("root.a.b", queue);
-    assertEquals(1, defaultBatchStrategy.selectBatchPaths(cachedBatches).size());
+    assertEquals(
+        1,
+        defaultBatchStrategy
+            .selectBatchPaths(cachedBatches, RemoteMultSeriesReader.FETCH_BATCH_DATA_SIZE)
+            .size());
+    // the path has cached enough batches
+    assertEquals(0, defaultBatchStrategy.selectBatchPaths(cachedBatches, batchData.size()).size());
   }
 
   private void setAsyncDataClient() {
@@ -213,9 +219,8 @@ public class RemoteMultSeriesReaderTest {
                               stringByteBufferMap.put(
                                   paths.get(i), generateByteBuffer(batchData.get(i)));
                             }
-
-                            resultHandler.onComplete(stringByteBufferMap);
                           }
+                          resultHandler.onComplete(stringByteBufferMap);
                         })
                     .start();
               }
@@ -87,6 +87,7 @@ import org.apache.iotdb.tsfile.read.filter.TimeFilter;
 import org.apache.iotdb.tsfile.read.filter.ValueFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.operator.AndFilter;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
 import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
 import org.apache.iotdb.tsfile.write.schema.TimeseriesSchema;
 
@@ -1039,7 +1040,8 @@ public class DataGroupMemberTest extends BaseMember {
     }
     File file = new File(fileName);
     file.getParentFile().mkdirs();
-    file.createNewFile();
+    // an empty but complete TsFile, so it passes the check after being pulled
+    new TsFileWriter(file).close();
 
     resource.setFile(file);
     resource.setMaxPlanIndex(serialNum);
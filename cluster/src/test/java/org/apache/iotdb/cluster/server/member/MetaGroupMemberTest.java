@@ -35,6 +35,7 @@ import org.apache.iotdb.cluster.exception.LogExecutionException;
 import org.apache.iotdb.cluster.exception.PartitionTableUnavailableException;
 import org.apache.iotdb.cluster.exception.StartUpCheckFailureException;
 import org.apache.iotdb.cluster.log.logtypes.CloseFileLog;
+import org.apache.iotdb.cluster.log.logtypes.SlotMigrationLog;
 import org.apache.iotdb.cluster.log.snapshot.MetaSimpleSnapshot;
 import org.apache.iotdb.cluster.metadata.CMManager;
 import org.apache.iotdb.cluster.partition.PartitionGroup;
@@ -55,6 +56,7 @@ import org.apache.iotdb.cluster.rpc.thrift.PullSchemaRequest;
 import org.apache.iotdb.cluster.rpc.thrift.PullSchemaResp;
 import org.apache.iotdb.cluster.rpc.thrift.RaftService.AsyncClient;
 import org.apache.iotdb.cluster.rpc.thrift.SendSnapshotRequest;
+import org.apache.iotdb.cluster.rpc.thrift.SlotLoads;
 import org.apache.iotdb.cluster.rpc.thrift.StartUpStatus;
 import org.apache.iotdb.cluster.rpc.thrift.TNodeStatus;
 import org.apache.iotdb.cluster.server.DataClusterServer;
@@ -86,6 +88,7 @@ import org.apache.iotdb.db.metadata.mnode.MeasurementMNode;
 import org.apache.iotdb.db.qp.executor.PlanExecutor;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertRowPlan;
+import org.apache.iotdb.db.qp.physical.sys.CreateMultiTimeSeriesPlan;
 import org.apache.iotdb.db.qp.physical.sys.CreateTimeSeriesPlan;
 import org.apache.iotdb.db.qp.physical.sys.SetStorageGroupPlan;
 import org.apache.iotdb.db.query.context.QueryContext;
@@ -95,7 +98,9 @@ import org.apache.iotdb.db.query.reader.series.ManagedSeriesReader;
 import org.apache.iotdb.db.service.IoTDB;
 import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.service.rpc.thrift.TSStatus;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.filter.TimeFilter;
 import org.apache.iotdb.tsfile.read.filter.ValueFilter;
@@ -122,6 +127,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -144,6 +150,8 @@ public class MetaGroupMemberTest extends BaseMember {
   private DataClusterServer dataClusterServer;
   protected boolean mockDataClusterServer;
   private Node exiledNode;
+  // if set, the mocked data groups execute a plan only after another one arrives at the latch
+  private CountDownLatch subPlanLatch;
 
   private int prevReplicaNum;
   private List<String> prevSeedNodes;
@@ -186,6 +194,7 @@ public class MetaGroupMemberTest extends BaseMember {
     buildDataGroups(dataClusterServer);
     testMetaMember.getThisNode().setNodeIdentifier(0);
     mockDataClusterServer = false;
+    subPlanLatch = null;
     NodeStatusManager.getINSTANCE().setMetaGroupMember(testMetaMember);
     exiledNode = null;
   }
@@ -200,6 +209,10 @@ public class MetaGroupMemberTest extends BaseMember {
 
           @Override
           public TSStatus executeNonQueryPlan(PhysicalPlan plan) {
+            if (!awaitSubPlanLatch()) {
+              return StatusUtils.getStatus(
+                  StatusUtils.EXECUTE_STATEMENT_ERROR, "The sub-plans are not concurrent");
+            }
             try {
               planExecutor.processNonQuery(plan);
               return StatusUtils.OK;
@@ -483,6 +496,25 @@ public class MetaGroupMemberTest extends BaseMember {
                       .start();
                 }
 
+                @Override
+                public void migrateSlots(
+                    Map<Integer, Node> slotNewHeaders, AsyncMethodCallback<Long> resultHandler) {
+                  new Thread(() -> resultHandler.onComplete(Response.RESPONSE_AGREE)).start();
+                }
+
+                @Override
+                public void getSlotLoads(AsyncMethodCallback<List<SlotLoads>> resultHandler) {
+                  new Thread(
+                          () ->
+                              resultHandler.onComplete(
+                                  Collections.singletonList(
+                                      new SlotLoads(
+                                          node,
+                                          Collections.singletonMap(1, 10L),
+                                          Collections.singletonMap(1, 2L)))))
+                      .start();
+                }
+
                 @Override
                 public void checkStatus(
                     StartUpStatus startUpStatus,
@@ -519,6 +551,21 @@ public class MetaGroupMemberTest extends BaseMember {
     return metaGroupMember;
   }
 
+  /** @return false if no other plan arrives at subPlanLatch in time */
+  private boolean awaitSubPlanLatch() {
+    CountDownLatch latch = subPlanLatch;
+    if (latch == null) {
+      return true;
+    }
+    latch.countDown();
+    try {
+      return latch.await(RaftServer.getWriteOperationTimeoutMS() / 2, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
   private void buildDataGroups(DataClusterServer dataClusterServer) {
     List<PartitionGroup> partitionGroups = partitionTable.getLocalGroups();
 
@@ -802,6 +849,73 @@ public class MetaGroupMemberTest extends BaseMember {
     testThreadPool.shutdownNow();
   }
 
+  @Test
+  public void testProcessMultiGroupPlan() throws IllegalPathException {
+    System.out.println("Start testProcessMultiGroupPlan()");
+    mockDataClusterServer = true;
+    testMetaMember.setCharacter(LEADER);
+    testMetaMember.setAppendLogThreadPool(testThreadPool);
+    CreateMultiTimeSeriesPlan createMultiTimeSeriesPlan = new CreateMultiTimeSeriesPlan();
+    List<PartialPath> paths = new ArrayList<>();
+    List<TSDataType> dataTypes = new ArrayList<>();
+    List<TSEncoding> encodings = new ArrayList<>();
+    List<CompressionType> compressors = new ArrayList<>();
+    for (int i = 10; i < 20; i++) {
+      SetStorageGroupPlan setStorageGroupPlan =
+          new SetStorageGroupPlan(new PartialPath(TestUtils.getTestSg(i)));
+      TSStatus status = coordinator.executeNonQueryPlan(setStorageGroupPlan);
+      assertEquals(TSStatusCode.SUCCESS_STATUS.getStatusCode(), status.code);
+
+      TimeseriesSchema schema = TestUtils.getTestTimeSeriesSchema(i, 0);
+      paths.add(new PartialPath(schema.getFullPath()));
+      dataTypes.add(schema.getType());
+      encodings.add(schema.getEncodingType());
+      compressors.add(schema.getCompressor());
+    }
+    createMultiTimeSeriesPlan.setPaths(paths);
+    createMultiTimeSeriesPlan.setDataTypes(dataTypes);
+    createMultiTimeSeriesPlan.setEncodings(encodings);
+    createMultiTimeSeriesPlan.setCompressors(compressors);
+
+    // the series belong to different data groups, whose sub-plans are forwarded concurrently, so
+    // each of them can wait for another one in both local and remote groups
+    testMetaMember.setClientProvider(
+        new DataClientProvider(new TBinaryProtocol.Factory()) {
+          @Override
+          public AsyncDataClient getAsyncDataClient(Node node, int timeout) throws IOException {
+            return new TestAsyncDataClient(node, dataGroupMemberMap) {
+              @Override
+              public void executeNonQueryPlan(
+                  ExecutNonQueryReq request, AsyncMethodCallback<TSStatus> resultHandler) {
+                new Thread(
+                        () -> {
+                          if (awaitSubPlanLatch()) {
+                            super.executeNonQueryPlan(request, resultHandler);
+                          } else {
+                            resultHandler.onComplete(
+                                StatusUtils.getStatus(
+                                    StatusUtils.EXECUTE_STATEMENT_ERROR,
+                                    "The sub-plans are not concurrent"));
+                          }
+                        })
+                    .start();
+              }
+            };
+          }
+        });
+    subPlanLatch = new CountDownLatch(2);
+    TSStatus status = coordinator.executeNonQueryPlan(createMultiTimeSeriesPlan);
+    subPlanLatch = null;
+    if (status.getCode() == TSStatusCode.NEED_REDIRECTION.getStatusCode()) {
+      status.setCode(TSStatusCode.SUCCESS_STATUS.getStatusCode());
+    }
+    assertEquals(TSStatusCode.SUCCESS_STATUS.getStatusCode(), status.code);
+    for (int i = 10; i < 20; i++) {
+      assertTrue(IoTDB.metaManager.isPathExist(new PartialPath(TestUtils.getTestSeries(i, 0))));
+    }
+    testThreadPool.shutdownNow();
+  }
+
   @Test
   public void testProcessNonQueryAsFollower() throws IllegalPathException, QueryProcessException {
     System.out.println("Start testProcessNonQuery()");
@@ -1230,6 +1344,44 @@ public class MetaGroupMemberTest extends BaseMember {
     }
   }
 
+  @Test
+  public void testMigrateSlotsAsFollower()
+      throws PartitionTableUnavailableException, LogExecutionException {
+    System.out.println("Start testMigrateSlotsAsFollower()");
+    testMetaMember.setLeader(TestUtils.getNode(40));
+    testMetaMember.setCharacter(FOLLOWER);
+    // a follower cannot apply the plan itself but forwards it to the leader
+    long result = testMetaMember.migrateSlots(Collections.singletonMap(1, TestUtils.getNode(20)));
+    assertEquals(Response.RESPONSE_AGREE, result);
+  }
+
+  @Test
+  public void testApplySlotMigration() {
+    System.out.println("Start testApplySlotMigration()");
+    SlotPartitionTable partitionTable = (SlotPartitionTable) testMetaMember.getPartitionTable();
+    SlotMigrationLog log = new SlotMigrationLog();
+    log.setSlotNewHeaders(Collections.singletonMap(1, TestUtils.getNode(20)));
+    log.setMigrationTime(100);
+    // the partition table is updated to the index of the log, not that of the local log manager
+    log.setCurrLogIndex(
+        Math.max(partitionTable.getLastLogIndex(), testMetaMember.getLogManager().getLastLogIndex())
+            + 10);
+    testMetaMember.applySlotMigration(log);
+
+    assertEquals(TestUtils.getNode(20), partitionTable.route(1).getHeader());
+    assertEquals(log.getCurrLogIndex(), partitionTable.getLastLogIndex());
+  }
+
+  @Test
+  public void testCollectSlotLoads() {
+    System.out.println("Start testCollectSlotLoads()");
+    Map<Node, Map<Integer, long[]>> groupSlotLoads = testMetaMember.collectSlotLoads();
+    assertNotNull(groupSlotLoads);
+    long[] loads = groupSlotLoads.get(TestUtils.getNode(10)).get(1);
+    assertEquals(10L, loads[0]);
+    assertEquals(2L, loads[1]);
+  }
+
   @Test
   public void testRemoveThisNode() {
     System.out.println("Start testRemoveThisNode()");
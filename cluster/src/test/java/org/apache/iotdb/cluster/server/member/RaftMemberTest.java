@@ -27,10 +27,12 @@ import org.apache.iotdb.cluster.config.ConsistencyLevel;
 import org.apache.iotdb.cluster.exception.CheckConsistencyException;
 import org.apache.iotdb.cluster.log.manage.PartitionedSnapshotLogManager;
 import org.apache.iotdb.cluster.rpc.thrift.AppendEntryRequest;
+import org.apache.iotdb.cluster.rpc.thrift.ElectionRequest;
 import org.apache.iotdb.cluster.rpc.thrift.Node;
 import org.apache.iotdb.cluster.rpc.thrift.RaftService;
 import org.apache.iotdb.cluster.rpc.thrift.RequestCommitIndexResponse;
 import org.apache.iotdb.cluster.server.NodeCharacter;
+import org.apache.iotdb.cluster.server.RaftServer;
 import org.apache.iotdb.cluster.server.Response;
 
 import org.junit.Assert;
@@ -38,6 +40,12 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class RaftMemberTest extends BaseMember {
   @Test
@@ -169,6 +177,111 @@ public class RaftMemberTest extends BaseMember {
     }
   }
 
+  @Test
+  public void testLeaderLeaseRead() throws CheckConsistencyException {
+    boolean prevEnableLeaderLeaseRead =
+        ClusterDescriptor.getInstance().getConfig().isEnableLeaderLeaseRead();
+    int prevSyncLeaderMaxWaitMs = RaftServer.getSyncLeaderMaxWaitMs();
+    ClusterDescriptor.getInstance().getConfig().setEnableLeaderLeaseRead(true);
+    RaftServer.setSyncLeaderMaxWaitMs(100);
+    Node node = TestUtils.getNode(0);
+    List<Node> group = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      group.add(TestUtils.getNode(i));
+    }
+    DataGroupMember member = new TestDataGroupMember(node, group);
+    try {
+      member.setThisNode(node);
+      member.setLeader(node);
+      member.setCharacter(NodeCharacter.LEADER);
+      member.setLogManager(new TestPartitionedLogManager());
+      long beforeLeader = System.currentTimeMillis() - 1000;
+
+      // no follower has acknowledged the heartbeats of this leader
+      Assert.assertFalse(member.syncLeader(null));
+      for (Node follower : member.getAllNodes()) {
+        if (!follower.equals(node)) {
+          // heartbeats sent before this node became the leader do not count
+          member.onHeartbeatAcknowledged(follower, beforeLeader);
+        }
+      }
+      Assert.assertFalse(member.syncLeader(null));
+
+      for (Node follower : member.getAllNodes()) {
+        if (!follower.equals(node)) {
+          member.onHeartbeatAcknowledged(follower, System.currentTimeMillis());
+        }
+      }
+      Assert.assertTrue(member.syncLeader(null));
+      // no other leader can be elected within the lease
+      ElectionRequest electionRequest = new ElectionRequest();
+      electionRequest.setTerm(member.getTerm().get() + 1);
+      electionRequest.setLastLogIndex(Long.MAX_VALUE);
+      electionRequest.setLastLogTerm(Long.MAX_VALUE);
+      electionRequest.setElector(TestUtils.getNode(1));
+      Assert.assertEquals(
+          Response.RESPONSE_LEADER_STILL_ONLINE, member.processElectionRequest(electionRequest));
+
+      // the lease is dropped with the leadership
+      member.setCharacter(NodeCharacter.FOLLOWER);
+      member.setCharacter(NodeCharacter.LEADER);
+      Assert.assertFalse(member.syncLeader(null));
+    } finally {
+      member.stop();
+      ClusterDescriptor.getInstance()
+          .getConfig()
+          .setEnableLeaderLeaseRead(prevEnableLeaderLeaseRead);
+      RaftServer.setSyncLeaderMaxWaitMs(prevSyncLeaderMaxWaitMs);
+    }
+  }
+
+  @Test
+  public void testBatchedReadIndex() throws Exception {
+    boolean prevEnableBatchedReadIndex =
+        ClusterDescriptor.getInstance().getConfig().isEnableBatchedReadIndex();
+    ClusterDescriptor.getInstance().getConfig().setEnableBatchedReadIndex(true);
+    AtomicInteger requestNum = new AtomicInteger();
+    Node node = TestUtils.getNode(0);
+    DataGroupMember member =
+        new TestDataGroupMember(node, partitionTable.getHeaderGroup(node)) {
+          @Override
+          protected RequestCommitIndexResponse requestCommitIdAsync() throws InterruptedException {
+            requestNum.incrementAndGet();
+            Thread.sleep(50);
+            return new RequestCommitIndexResponse(1000, 1000, 1000);
+          }
+        };
+    int readNum = 20;
+    ExecutorService readPool = Executors.newFixedThreadPool(readNum);
+    try {
+      member.setThisNode(node);
+      member.setLeader(TestUtils.getNode(1));
+      member.setCharacter(NodeCharacter.FOLLOWER);
+      PartitionedSnapshotLogManager logManager = Mockito.mock(PartitionedSnapshotLogManager.class);
+      Mockito.when(logManager.getMaxHaveAppliedCommitIndex()).thenReturn(1000L);
+      member.setLogManager(logManager);
+
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < readNum; i++) {
+        results.add(
+            readPool.submit(
+                () -> member.waitUntilCatchUp(new RaftMember.StrongCheckConsistency())));
+      }
+      for (Future<Boolean> result : results) {
+        Assert.assertTrue(result.get());
+      }
+      // the concurrent reads share the requests of the leader's commit index
+      Assert.assertTrue(requestNum.get() >= 1);
+      Assert.assertTrue(requestNum.get() < readNum);
+    } finally {
+      readPool.shutdownNow();
+      member.stop();
+      ClusterDescriptor.getInstance()
+          .getConfig()
+          .setEnableBatchedReadIndex(prevEnableBatchedReadIndex);
+    }
+  }
+
   private DataGroupMember newDataGroupMemberWithSyncLeaderFalse(Node node, boolean syncLeader) {
     DataGroupMember newMember =
         new TestDataGroupMember(node, partitionTable.getHeaderGroup(node)) {
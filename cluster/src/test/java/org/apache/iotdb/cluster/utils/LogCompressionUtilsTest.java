@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.cluster.utils;
+
+import org.apache.iotdb.cluster.common.TestUtils;
+import org.apache.iotdb.cluster.exception.UnknownLogTypeException;
+import org.apache.iotdb.cluster.log.Log;
+import org.apache.iotdb.cluster.log.LogParser;
+import org.apache.iotdb.cluster.rpc.thrift.AppendEntriesRequest;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class LogCompressionUtilsTest {
+
+  @Test
+  public void testCompressLargeBatch() throws IOException, UnknownLogTypeException {
+    List<Log> logs = TestUtils.prepareLargeTestLogs(10);
+    List<ByteBuffer> serialized = new ArrayList<>();
+    for (Log log : logs) {
+      serialized.add(log.serialize());
+    }
+
+    ByteBuffer compressed = LogCompressionUtils.compress(serialized);
+    assertNotNull(compressed);
+    AppendEntriesRequest request = new AppendEntriesRequest();
+    request.setEntries(Collections.singletonList(compressed));
+    request.setCompressed(true);
+
+    List<ByteBuffer> decompressed = LogCompressionUtils.getLogs(request);
+    assertEquals(logs.size(), decompressed.size());
+    for (int i = 0; i < logs.size(); i++) {
+      assertEquals(logs.get(i), LogParser.getINSTANCE().parse(decompressed.get(i)));
+    }
+  }
+
+  @Test
+  public void testSmallBatchUncompressed() throws IOException {
+    List<ByteBuffer> serialized = new ArrayList<>();
+    for (Log log : TestUtils.prepareTestLogs(10)) {
+      serialized.add(log.serialize());
+    }
+    assertNull(LogCompressionUtils.compress(serialized));
+
+    // a request without the "compressed" field, like one from an older node, is left as it is
+    AppendEntriesRequest request = new AppendEntriesRequest();
+    request.setEntries(serialized);
+    assertSame(serialized, LogCompressionUtils.getLogs(request));
+  }
+}
@@ -32,6 +32,12 @@ import org.apache.iotdb.db.qp.physical.sys.CreateMultiTimeSeriesPlan;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.expression.IExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.BinaryExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.SingleSeriesExpression;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 import org.apache.iotdb.tsfile.utils.Binary;
 
 import org.junit.Assert;
@@ -191,4 +197,22 @@ public class SerializeUtilTest {
     NodeSerializeUtils.deserialize(anotherNode, buffer);
     Assert.assertEquals(node, anotherNode);
   }
+
+  @Test
+  public void serdesExpressionTest() throws IllegalPathException {
+    IExpression expression =
+        BinaryExpression.or(
+            BinaryExpression.and(
+                new SingleSeriesExpression(
+                    new PartialPath(TestUtils.getTestSeries(0, 0)), ValueFilter.gtEq(3.0)),
+                new SingleSeriesExpression(
+                    new PartialPath(TestUtils.getTestSeries(0, 1)),
+                    FilterFactory.and(ValueFilter.ltEq(8.0), TimeFilter.gt(2)))),
+            new SingleSeriesExpression(
+                new PartialPath(TestUtils.getTestSeries(0, 2)), ValueFilter.notEq(5.0)));
+    ByteBuffer buffer = ClusterQueryUtils.serializeExpression(expression);
+    IExpression deserialized = ClusterQueryUtils.deserializeExpression(buffer);
+    assertEquals(expression.toString(), deserialized.toString());
+    assertEquals(0, buffer.remaining());
+  }
 }
@@ -29,6 +29,7 @@ import org.apache.iotdb.rpc.RpcTransportFactory;
 import org.apache.iotdb.rpc.RpcUtils;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.fileSystem.FSType;
@@ -312,7 +313,23 @@ public class IoTDBConfig {
    */
   private int mergePagePointNumberThreshold = 100;
 
-  /** LEVEL_COMPACTION, NO_COMPACTION */
+  /**
+   * Works when the compaction_strategy is LEVEL_COMPACTION. When all source files of a compaction
+   * were created earlier than this before, their chunks are re-encoded and recompressed with the
+   * cold encodings and compressor while being rewritten. Non-positive values disable it. Unit: ms
+   */
+  private long compactionColdFileThresholdInMs = -1;
+
+  /** The compressor of the chunks rewritten by cold compactions. */
+  private CompressionType compactionColdCompressor = CompressionType.ZSTD;
+
+  /**
+   * The compression level of the chunks rewritten by cold compactions, unless the series specifies
+   * its own. Non-positive values mean the default level of the compressor.
+   */
+  private int compactionColdCompressionLevel = 9;
+
+  /** LEVEL_COMPACTION, TIME_WINDOW_COMPACTION, NO_COMPACTION */
   private CompactionStrategy compactionStrategy = CompactionStrategy.LEVEL_COMPACTION;
 
   /**
@@ -355,9 +372,23 @@ public class IoTDBConfig {
    */
   private int maxOpenFileNumInEachUnseqCompaction = 2000;
 
+  /**
+   * Works when the compaction_strategy is LEVEL_COMPACTION. The max number of time partitions of
+   * one storage group that can be compacted at the same time. The partitions with the most files,
+   * i.e., the highest read amplification, are compacted first.
+   */
+  private int maxCompactionPartitionNumInEachStorageGroup = 1;
+
   /** whether to cache meta data(ChunkMetaData and TsFileMetaData) or not. */
   private boolean metaDataCacheEnable = true;
 
+  /**
+   * Max number of chunks of a series in a sealed TsFile that are read into ChunkCache in the
+   * background when the series is unpacked by a query, so that their reads are in flight together
+   * before they are needed. It only works when the meta data cache is enabled, and 0 disables it.
+   */
+  private int maxPrefetchedChunkNum = 16;
+
   /** Memory allocated for timeSeriesMetaData cache in read process */
   private long allocateMemoryForTimeSeriesMetaDataCache = allocateMemoryForRead / 5;
 
@@ -482,6 +513,12 @@ public class IoTDBConfig {
   /** TEXT encoding when creating schema automatically is enabled */
   private TSEncoding defaultTextEncoding = TSEncoding.PLAIN;
 
+  /**
+   * Whether to pick the most compact lossless value encoding for each chunk at flush by encoding a
+   * sample of it, instead of always using the encoding of the series.
+   */
+  private boolean enableAdaptiveEncoding = false;
+
   /** How much memory (in byte) can be used by a single merge task. */
   private long mergeMemoryBudget = (long) (Runtime.getRuntime().maxMemory() * 0.1);
 
@@ -616,6 +653,13 @@ public class IoTDBConfig {
    */
   private TimeIndexLevel timeIndexLevel = TimeIndexLevel.DEVICE_TIME_INDEX;
 
+  /**
+   * Whether to restore sealed TsFileResources from the per storage group resource manifest on
+   * restart. If enabled, only file level time ranges are loaded during recovery and the device
+   * level time index of a TsFile is read from its .resource file when it is first needed.
+   */
+  private boolean enableLazyResourceLoading = false;
+
   // just for test
   // wait for 60 second by default.
   private int thriftServerAwaitTimeForStopService = 60;
@@ -796,6 +840,14 @@ public class IoTDBConfig {
     this.timeIndexLevel = TimeIndexLevel.valueOf(timeIndexLevel);
   }
 
+  public boolean isEnableLazyResourceLoading() {
+    return enableLazyResourceLoading;
+  }
+
+  public void setEnableLazyResourceLoading(boolean enableLazyResourceLoading) {
+    this.enableLazyResourceLoading = enableLazyResourceLoading;
+  }
+
   void updatePath() {
     formulateFolders();
     confirmMultiDirStrategy();
@@ -1468,6 +1520,30 @@ public class IoTDBConfig {
     this.mergePagePointNumberThreshold = mergePagePointNumberThreshold;
   }
 
+  public long getCompactionColdFileThresholdInMs() {
+    return compactionColdFileThresholdInMs;
+  }
+
+  public void setCompactionColdFileThresholdInMs(long compactionColdFileThresholdInMs) {
+    this.compactionColdFileThresholdInMs = compactionColdFileThresholdInMs;
+  }
+
+  public CompressionType getCompactionColdCompressor() {
+    return compactionColdCompressor;
+  }
+
+  public void setCompactionColdCompressor(CompressionType compactionColdCompressor) {
+    this.compactionColdCompressor = compactionColdCompressor;
+  }
+
+  public int getCompactionColdCompressionLevel() {
+    return compactionColdCompressionLevel;
+  }
+
+  public void setCompactionColdCompressionLevel(int compactionColdCompressionLevel) {
+    this.compactionColdCompressionLevel = compactionColdCompressionLevel;
+  }
+
   public MergeFileStrategy getMergeFileStrategy() {
     return mergeFileStrategy;
   }
@@ -1540,6 +1616,15 @@ public class IoTDBConfig {
     this.maxOpenFileNumInEachUnseqCompaction = maxOpenFileNumInEachUnseqCompaction;
   }
 
+  public int getMaxCompactionPartitionNumInEachStorageGroup() {
+    return maxCompactionPartitionNumInEachStorageGroup;
+  }
+
+  public void setMaxCompactionPartitionNumInEachStorageGroup(
+      int maxCompactionPartitionNumInEachStorageGroup) {
+    this.maxCompactionPartitionNumInEachStorageGroup = maxCompactionPartitionNumInEachStorageGroup;
+  }
+
   public int getMergeChunkSubThreadNum() {
     return mergeChunkSubThreadNum;
   }
@@ -1572,6 +1657,14 @@ public class IoTDBConfig {
     this.metaDataCacheEnable = metaDataCacheEnable;
   }
 
+  public int getMaxPrefetchedChunkNum() {
+    return maxPrefetchedChunkNum;
+  }
+
+  public void setMaxPrefetchedChunkNum(int maxPrefetchedChunkNum) {
+    this.maxPrefetchedChunkNum = maxPrefetchedChunkNum;
+  }
+
   public long getAllocateMemoryForTimeSeriesMetaDataCache() {
     return allocateMemoryForTimeSeriesMetaDataCache;
   }
@@ -1794,6 +1887,14 @@ public class IoTDBConfig {
     this.defaultTextEncoding = TSEncoding.valueOf(defaultTextEncoding);
   }
 
+  public boolean isEnableAdaptiveEncoding() {
+    return enableAdaptiveEncoding;
+  }
+
+  public void setEnableAdaptiveEncoding(boolean enableAdaptiveEncoding) {
+    this.enableAdaptiveEncoding = enableAdaptiveEncoding;
+  }
+
   public FSType getSystemFileStorageFs() {
     return systemFileStorageFs;
   }
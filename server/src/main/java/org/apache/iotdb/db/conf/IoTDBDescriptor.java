@@ -20,9 +20,14 @@ package org.apache.iotdb.db.conf;
 
 import org.apache.iotdb.db.conf.directories.DirectoryManager;
 import org.apache.iotdb.db.engine.compaction.CompactionStrategy;
+import org.apache.iotdb.db.engine.merge.selector.MergeFileStrategy;
+import org.apache.iotdb.db.exception.metadata.MetadataException;
 import org.apache.iotdb.db.exception.query.QueryProcessException;
 import org.apache.iotdb.db.utils.FilePathUtils;
+import org.apache.iotdb.db.utils.SchemaUtils;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.compress.ICompressor;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.fileSystem.FSType;
@@ -39,6 +44,7 @@ import java.net.InetAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.UnknownHostException;
+import java.util.Collections;
 import java.util.Properties;
 
 public class IoTDBDescriptor {
@@ -194,6 +200,11 @@ public class IoTDBDescriptor {
               properties.getProperty(
                   "meta_data_cache_enable", Boolean.toString(conf.isMetaDataCacheEnable()))));
 
+      conf.setMaxPrefetchedChunkNum(
+          Integer.parseInt(
+              properties.getProperty(
+                  "max_prefetched_chunk_num", Integer.toString(conf.getMaxPrefetchedChunkNum()))));
+
       conf.setEnableLastCache(
           Boolean.parseBoolean(
               properties.getProperty(
@@ -311,6 +322,43 @@ public class IoTDBDescriptor {
                   "merge_page_point_number",
                   Integer.toString(conf.getMergePagePointNumberThreshold()))));
 
+      conf.setCompactionColdFileThresholdInMs(
+          Long.parseLong(
+              properties.getProperty(
+                  "compaction_cold_file_threshold_in_ms",
+                  Long.toString(conf.getCompactionColdFileThresholdInMs()))));
+
+      conf.setCompactionColdCompressor(
+          CompressionType.valueOf(
+              properties.getProperty(
+                  "compaction_cold_compressor", conf.getCompactionColdCompressor().toString())));
+
+      int compactionColdCompressionLevel =
+          Integer.parseInt(
+              properties.getProperty(
+                  "compaction_cold_compression_level",
+                  Integer.toString(conf.getCompactionColdCompressionLevel())));
+      if (compactionColdCompressionLevel > 0) {
+        try {
+          SchemaUtils.checkCompressionLevel(
+              conf.getCompactionColdCompressor(),
+              Collections.singletonMap(
+                  ICompressor.COMPRESSION_LEVEL, Integer.toString(compactionColdCompressionLevel)));
+        } catch (MetadataException e) {
+          logger.warn(
+              "compaction_cold_compression_level is invalid, the default level of {} is used: {}",
+              conf.getCompactionColdCompressor(),
+              e.getMessage());
+          compactionColdCompressionLevel = 0;
+        }
+      }
+      conf.setCompactionColdCompressionLevel(compactionColdCompressionLevel);
+
+      conf.setMergeFileStrategy(
+          MergeFileStrategy.valueOf(
+              properties.getProperty(
+                  "merge_file_selection_strategy", conf.getMergeFileStrategy().toString())));
+
       conf.setCompactionStrategy(
           CompactionStrategy.valueOf(
               properties.getProperty(
@@ -348,6 +396,12 @@ public class IoTDBDescriptor {
                   "max_open_file_num_in_each_unseq_compaction",
                   Integer.toString(conf.getMaxOpenFileNumInEachUnseqCompaction()))));
 
+      conf.setMaxCompactionPartitionNumInEachStorageGroup(
+          Integer.parseInt(
+              properties.getProperty(
+                  "max_compaction_partition_num_in_each_storage_group",
+                  Integer.toString(conf.getMaxCompactionPartitionNumInEachStorageGroup()))));
+
       conf.setUnseqFileNumInEachLevel(
           Integer.parseInt(
               properties.getProperty(
@@ -599,6 +653,12 @@ public class IoTDBDescriptor {
       conf.setTimeIndexLevel(
           properties.getProperty("time_index_level", String.valueOf(conf.getTimeIndexLevel())));
 
+      conf.setEnableLazyResourceLoading(
+          Boolean.parseBoolean(
+              properties.getProperty(
+                  "enable_lazy_resource_loading",
+                  Boolean.toString(conf.isEnableLazyResourceLoading()))));
+
       // the default fill interval in LinearFill and PreviousFill
       conf.setDefaultFillInterval(
           Integer.parseInt(
@@ -885,6 +945,10 @@ public class IoTDBDescriptor {
             "default_double_encoding", conf.getDefaultDoubleEncoding().toString()));
     conf.setDefaultTextEncoding(
         properties.getProperty("default_text_encoding", conf.getDefaultTextEncoding().toString()));
+    conf.setEnableAdaptiveEncoding(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_adaptive_encoding", Boolean.toString(conf.isEnableAdaptiveEncoding()))));
   }
 
   private void loadTsFileProps(Properties properties) {
@@ -965,6 +1029,52 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "compressor",
                 TSFileDescriptor.getInstance().getConfig().getCompressor().toString()));
+    TSFileDescriptor.getInstance()
+        .getConfig()
+        .setZstdCompressionLevel(
+            Integer.parseInt(
+                properties.getProperty(
+                    "zstd_compression_level",
+                    Integer.toString(
+                        TSFileDescriptor.getInstance().getConfig().getZstdCompressionLevel()))));
+    TSFileDescriptor.getInstance()
+        .getConfig()
+        .setLazyChunkReadThresholdInByte(
+            Integer.parseInt(
+                properties.getProperty(
+                    "lazy_chunk_read_threshold_in_byte",
+                    Integer.toString(
+                        TSFileDescriptor.getInstance()
+                            .getConfig()
+                            .getLazyChunkReadThresholdInByte()))));
+    TSFileDescriptor.getInstance()
+        .getConfig()
+        .setValueBloomFilterSizeInByte(
+            Integer.parseInt(
+                properties.getProperty(
+                    "value_bloom_filter_size_in_byte",
+                    Integer.toString(
+                        TSFileDescriptor.getInstance()
+                            .getConfig()
+                            .getValueBloomFilterSizeInByte()))));
+    TSFileDescriptor.getInstance()
+        .getConfig()
+        .setAsyncReadThreadNum(
+            Integer.parseInt(
+                properties.getProperty(
+                    "async_read_thread_num",
+                    Integer.toString(
+                        TSFileDescriptor.getInstance().getConfig().getAsyncReadThreadNum()))));
+    TSFileDescriptor.getInstance()
+        .getConfig()
+        .setMaxCoalescedReadSizeInByte(
+            Integer.parseInt(
+                properties.getProperty(
+                    "max_coalesced_read_size_in_byte",
+                    Integer.toString(
+                        TSFileDescriptor.getInstance()
+                            .getConfig()
+                            .getMaxCoalescedReadSizeInByte()))));
     TSFileDescriptor.getInstance()
         .getConfig()
         .setMaxDegreeOfIndexNode(
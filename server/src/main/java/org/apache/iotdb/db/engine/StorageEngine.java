@@ -243,6 +243,7 @@ public class StorageEngine implements IService {
     /*
      * recover all storage group processors.
      */
+    long startTime = System.currentTimeMillis();
     List<Future<Void>> futures = new ArrayList<>();
     recoverStorageGroupProcessor(futures);
 
@@ -258,6 +259,8 @@ public class StorageEngine implements IService {
     }
     recoveryThreadPool.shutdown();
     setAllSgReady(true);
+    logger.info(
+        "All storage groups are recovered in {} ms", System.currentTimeMillis() - startTime);
   }
 
   /**
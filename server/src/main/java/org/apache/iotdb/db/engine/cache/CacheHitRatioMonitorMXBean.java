@@ -30,6 +30,9 @@ public interface CacheHitRatioMonitorMXBean {
 
   long getChunkCacheAverageSize();
 
+  /** the number of the asynchronous reads of TsFiles that are waiting or running */
+  int getChunkReadQueueDepth();
+
   double getTimeSeriesMetadataHitRatio();
 
   long getTimeSeriesMetadataCacheUsedMemory();
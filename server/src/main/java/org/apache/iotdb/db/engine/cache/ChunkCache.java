@@ -26,12 +26,19 @@ import org.apache.iotdb.db.utils.TestOnly;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.utils.RamUsageEstimator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -51,6 +58,10 @@ public class ChunkCache {
 
   private final LRULinkedHashMap<ChunkMetadata, Chunk> lruCache;
 
+  /** the chunks being prefetched, which are put into lruCache when they are read */
+  private final Map<ChunkMetadata, CompletableFuture<Chunk>> prefetchingChunks =
+      new ConcurrentHashMap<>();
+
   private final AtomicLong cacheHitNum = new AtomicLong();
   private final AtomicLong cacheRequestNum = new AtomicLong();
 
@@ -114,6 +125,9 @@ public class ChunkCache {
     } finally {
       lock.readLock().unlock();
     }
+    if (chunk == null) {
+      chunk = waitPrefetchedChunk(chunkMetaData);
+    }
     if (chunk != null) {
       cacheHitNum.incrementAndGet();
       printCacheLog(true);
@@ -148,6 +162,147 @@ public class ChunkCache {
         chunkMetaData.getStatistics());
   }
 
+  /**
+   * Get the chunk for a reader with the given filter. If the chunk is not cached and it is large,
+   * only the pages that may satisfy the filter are read, and such a partial chunk is not cached.
+   */
+  public Chunk get(ChunkMetadata chunkMetaData, Filter filter, boolean debug) throws IOException {
+    if (filter == null) {
+      return get(chunkMetaData, debug);
+    }
+    if (CACHE_ENABLE) {
+      boolean cached;
+      lock.readLock().lock();
+      try {
+        cached = lruCache.containsKey(chunkMetaData);
+      } finally {
+        lock.readLock().unlock();
+      }
+      // a prefetched chunk is complete, but a large one is not prefetched and is read lazily below
+      if (cached || waitPrefetchedChunk(chunkMetaData) != null) {
+        return get(chunkMetaData, debug);
+      }
+    }
+
+    TsFileSequenceReader reader =
+        FileReaderManager.getInstance().get(chunkMetaData.getFilePath(), chunkMetaData.isClosed());
+    Chunk chunk;
+    try {
+      chunk = reader.readMemChunk(chunkMetaData, filter);
+    } catch (IOException e) {
+      logger.error("something wrong happened while reading {}", reader.getFileName());
+      throw e;
+    }
+    if (CACHE_ENABLE) {
+      cacheRequestNum.incrementAndGet();
+      printCacheLog(false);
+      // only the complete chunks are cached
+      if (chunk.getData().remaining() == chunk.getHeader().getDataSize()) {
+        lock.writeLock().lock();
+        try {
+          if (!lruCache.containsKey(chunkMetaData)) {
+            lruCache.put(chunkMetaData, chunk);
+          }
+        } finally {
+          lock.writeLock().unlock();
+        }
+      }
+    }
+
+    if (debug) {
+      DEBUG_LOGGER.info("get chunk from disk whose meta data is: " + chunkMetaData);
+    }
+    return new Chunk(
+        chunk.getHeader(),
+        chunk.getData().duplicate(),
+        chunk.getDeleteIntervalList(),
+        chunkMetaData.getStatistics());
+  }
+
+  /**
+   * Read the given chunks of a sealed TsFile into the cache in the background, where the adjacent
+   * chunks are read together. The chunks that are cached or being read are skipped, and so are the
+   * ones not smaller than lazy_chunk_read_threshold_in_byte once their headers are read, as the
+   * queries may only need a few of their pages.
+   *
+   * @param chunkMetadataList the metadata of the chunks in the same sealed file
+   */
+  public void prefetch(List<ChunkMetadata> chunkMetadataList) {
+    if (!CACHE_ENABLE || chunkMetadataList.isEmpty()) {
+      return;
+    }
+    List<ChunkMetadata> toRead = new ArrayList<>(chunkMetadataList.size());
+    lock.readLock().lock();
+    try {
+      for (ChunkMetadata chunkMetadata : chunkMetadataList) {
+        if (!lruCache.containsKey(chunkMetadata) && !prefetchingChunks.containsKey(chunkMetadata)) {
+          toRead.add(chunkMetadata);
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    if (toRead.isEmpty()) {
+      return;
+    }
+
+    List<CompletableFuture<Chunk>> futures;
+    try {
+      futures =
+          FileReaderManager.getInstance()
+              .get(toRead.get(0).getFilePath(), true)
+              .readMemChunksAsync(toRead);
+    } catch (IOException e) {
+      logger.warn("Cannot prefetch the chunks of {}", toRead.get(0).getFilePath(), e);
+      return;
+    }
+    for (int i = 0; i < toRead.size(); i++) {
+      ChunkMetadata chunkMetadata = toRead.get(i);
+      CompletableFuture<Chunk> future = futures.get(i);
+      if (prefetchingChunks.putIfAbsent(chunkMetadata, future) != null) {
+        continue;
+      }
+      future.whenComplete(
+          (chunk, e) -> {
+            if (chunk != null) {
+              lock.writeLock().lock();
+              try {
+                if (!lruCache.containsKey(chunkMetadata)) {
+                  lruCache.put(chunkMetadata, chunk);
+                }
+              } finally {
+                lock.writeLock().unlock();
+              }
+            } else if (e != null) {
+              // the chunk will be read again when it is needed, the file may have been removed
+              logger.debug("Cannot prefetch the chunk of {}", chunkMetadata, e);
+            }
+            prefetchingChunks.remove(chunkMetadata, future);
+          });
+    }
+  }
+
+  /** @return the chunk if it is being prefetched and the read succeeds, otherwise null */
+  private Chunk waitPrefetchedChunk(ChunkMetadata chunkMetadata) throws IOException {
+    CompletableFuture<Chunk> future = prefetchingChunks.get(chunkMetadata);
+    if (future == null) {
+      return null;
+    }
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted when waiting for the chunk of " + chunkMetadata, e);
+    } catch (ExecutionException e) {
+      return null;
+    }
+  }
+
+  /** @return the number of the chunks being prefetched */
+  public int getPrefetchingChunkNum() {
+    return prefetchingChunks.size();
+  }
+
   private void printCacheLog(boolean isHit) {
     if (!logger.isDebugEnabled()) {
       return;
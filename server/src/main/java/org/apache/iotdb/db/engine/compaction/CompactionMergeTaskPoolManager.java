@@ -21,8 +21,11 @@ package org.apache.iotdb.db.engine.compaction;
 
 import org.apache.iotdb.db.concurrent.IoTDBThreadPoolFactory;
 import org.apache.iotdb.db.concurrent.ThreadName;
+import org.apache.iotdb.db.conf.IoTDBConstant;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.service.IService;
+import org.apache.iotdb.db.service.JMXService;
 import org.apache.iotdb.db.service.ServiceType;
 import org.apache.iotdb.db.utils.FilePathUtils;
 import org.apache.iotdb.db.utils.TestOnly;
@@ -34,6 +37,7 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -43,11 +47,13 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.iotdb.db.engine.compaction.utils.CompactionLogger.COMPACTION_LOG_NAME;
 
 /** CompactionMergeTaskPoolManager provides a ThreadPool to queue and run all compaction tasks. */
-public class CompactionMergeTaskPoolManager implements IService {
+public class CompactionMergeTaskPoolManager
+    implements IService, CompactionMergeTaskPoolManagerMBean {
 
   private static final Logger logger =
       LoggerFactory.getLogger(CompactionMergeTaskPoolManager.class);
@@ -55,6 +61,18 @@ public class CompactionMergeTaskPoolManager implements IService {
       new CompactionMergeTaskPoolManager();
   private ExecutorService pool;
   private Map<String, Set<Future<Void>>> storageGroupTasks = new ConcurrentHashMap<>();
+  private final String mbeanName =
+      String.format(
+          "%s:%s=%s", IoTDBConstant.IOTDB_PACKAGE, IoTDBConstant.JMX_TYPE, getID().getJmxName());
+
+  // used to compute the write amplification of the compaction strategy, they are kept in memory
+  // only, so they cover the flushes and compactions since the server started
+  private final AtomicLong flushedBytes = new AtomicLong();
+  private final AtomicLong compactionReadBytes = new AtomicLong();
+  private final AtomicLong compactionWrittenBytes = new AtomicLong();
+  // used to report the space saved by recompressing cold chunks
+  private final AtomicLong recompressionReadBytes = new AtomicLong();
+  private final AtomicLong recompressionWrittenBytes = new AtomicLong();
 
   public static CompactionMergeTaskPoolManager getInstance() {
     return INSTANCE;
@@ -62,6 +80,7 @@ public class CompactionMergeTaskPoolManager implements IService {
 
   @Override
   public void start() {
+    JMXService.registerMBean(this, mbeanName);
     if (pool == null) {
       this.pool =
           IoTDBThreadPoolFactory.newScheduledThreadPool(
@@ -73,6 +92,7 @@ public class CompactionMergeTaskPoolManager implements IService {
 
   @Override
   public void stop() {
+    JMXService.deregisterMBean(mbeanName);
     if (pool != null) {
       pool.shutdownNow();
       logger.info("Waiting for task pool to shut down");
@@ -189,4 +209,60 @@ public class CompactionMergeTaskPoolManager implements IService {
   public boolean isTerminated() {
     return pool == null || pool.isTerminated();
   }
+
+  /** record a TsFile sealed by flushing */
+  public void recordFlush(TsFileResource flushedResource) {
+    flushedBytes.addAndGet(flushedResource.getTsFileSize());
+  }
+
+  /** record a finished compaction which rewrites the source files into the target file */
+  public void recordCompaction(
+      List<TsFileResource> sourceResources, TsFileResource targetResource) {
+    long readBytes = 0;
+    for (TsFileResource sourceResource : sourceResources) {
+      readBytes += sourceResource.getTsFileSize();
+    }
+    compactionReadBytes.addAndGet(readBytes);
+    compactionWrittenBytes.addAndGet(targetResource.getTsFileSize());
+  }
+
+  /** record chunks re-encoded and recompressed by a cold compaction */
+  public void recordRecompression(long readBytes, long writtenBytes) {
+    recompressionReadBytes.addAndGet(readBytes);
+    recompressionWrittenBytes.addAndGet(writtenBytes);
+  }
+
+  @Override
+  public long getFlushedBytes() {
+    return flushedBytes.get();
+  }
+
+  @Override
+  public long getCompactionReadBytes() {
+    return compactionReadBytes.get();
+  }
+
+  @Override
+  public long getCompactionWrittenBytes() {
+    return compactionWrittenBytes.get();
+  }
+
+  @Override
+  public double getWriteAmplification() {
+    long flushed = flushedBytes.get();
+    if (flushed == 0) {
+      return 1.0;
+    }
+    return (double) (flushed + compactionWrittenBytes.get()) / flushed;
+  }
+
+  @Override
+  public long getRecompressionReadBytes() {
+    return recompressionReadBytes.get();
+  }
+
+  @Override
+  public long getRecompressionSavedBytes() {
+    return recompressionReadBytes.get() - recompressionWrittenBytes.get();
+  }
 }
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction;
+
+public interface CompactionMergeTaskPoolManagerMBean {
+
+  /** @return total size of the TsFiles sealed by flushing since the server started */
+  long getFlushedBytes();
+
+  /** @return total size of the source TsFiles of compactions finished since the server started */
+  long getCompactionReadBytes();
+
+  /** @return total size of the TsFiles written by compactions finished since the server started */
+  long getCompactionWrittenBytes();
+
+  /**
+   * @return (flushed bytes + compaction written bytes) / flushed bytes, i.e., how many times each
+   *     flushed byte has been written to disk since the server started, the counters are not
+   *     persisted and restart from zero after a restart
+   */
+  double getWriteAmplification();
+
+  /** @return total size of the chunks re-encoded and recompressed by cold compactions */
+  long getRecompressionReadBytes();
+
+  /** @return total size saved by re-encoding and recompressing the chunks of cold compactions */
+  long getRecompressionSavedBytes();
+}
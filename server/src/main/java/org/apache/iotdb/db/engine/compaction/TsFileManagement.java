@@ -22,10 +22,14 @@ package org.apache.iotdb.db.engine.compaction;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.cache.ChunkCache;
 import org.apache.iotdb.db.engine.cache.TimeSeriesMetadataCache;
+import org.apache.iotdb.db.engine.compaction.utils.CompactionLogAnalyzer;
+import org.apache.iotdb.db.engine.compaction.utils.CompactionLogger;
+import org.apache.iotdb.db.engine.compaction.utils.CompactionUtils;
 import org.apache.iotdb.db.engine.merge.manage.MergeManager;
 import org.apache.iotdb.db.engine.merge.manage.MergeResource;
 import org.apache.iotdb.db.engine.merge.selector.IMergeFileSelector;
 import org.apache.iotdb.db.engine.merge.selector.MaxFileMergeFileSelector;
+import org.apache.iotdb.db.engine.merge.selector.MaxOverlapHeatMergeFileSelector;
 import org.apache.iotdb.db.engine.merge.selector.MaxSeriesMergeFileSelector;
 import org.apache.iotdb.db.engine.merge.selector.MergeFileStrategy;
 import org.apache.iotdb.db.engine.merge.task.MergeTask;
@@ -34,7 +38,10 @@ import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.storagegroup.StorageGroupProcessor.CloseCompactionMergeCallBack;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.exception.MergeException;
+import org.apache.iotdb.db.exception.metadata.IllegalPathException;
+import org.apache.iotdb.db.query.control.FileReaderManager;
 import org.apache.iotdb.tsfile.fileSystem.FSFactoryProducer;
+import org.apache.iotdb.tsfile.write.writer.RestorableTsFileIOWriter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,13 +49,17 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static org.apache.iotdb.db.conf.IoTDBConstant.FILE_NAME_SEPARATOR;
+import static org.apache.iotdb.db.engine.compaction.utils.CompactionLogger.COMPACTION_LOG_NAME;
 import static org.apache.iotdb.db.engine.merge.task.MergeTask.MERGE_SUFFIX;
 import static org.apache.iotdb.db.engine.storagegroup.StorageGroupProcessor.MERGING_MODIFICATION_FILE_NAME;
 import static org.apache.iotdb.tsfile.common.constant.TsFileConstant.TSFILE_SUFFIX;
@@ -63,7 +74,8 @@ public abstract class TsFileManagement {
   private final ReadWriteLock compactionMergeLock = new ReentrantReadWriteLock();
 
   public volatile boolean isUnseqMerging = false;
-  public volatile boolean isSeqMerging = false;
+  /** number of running seq (level/window) compactions, tasks of different partitions may overlap */
+  private final AtomicInteger seqMergingTaskNum = new AtomicInteger();
   /**
    * This is the modification file of the result of the current merge. Because the merged file may
    * be invisible at this moment, without this, deletion/update during merge could be lost.
@@ -72,9 +84,6 @@ public abstract class TsFileManagement {
 
   private long mergeStartTime;
 
-  /** whether execute merge chunk in this task */
-  protected boolean isMergeExecutedInCurrentTask = false;
-
   protected boolean isForceFullMerge = IoTDBDescriptor.getInstance().getConfig().isForceFullMerge();
   private final int maxOpenFileNumInEachUnseqCompaction =
       IoTDBDescriptor.getInstance().getConfig().getMaxOpenFileNumInEachUnseqCompaction();
@@ -155,7 +164,28 @@ public abstract class TsFileManagement {
     return compactionMergeLock.writeLock().tryLock();
   }
 
-  protected abstract void merge(long timePartition);
+  public boolean isSeqMerging() {
+    return seqMergingTaskNum.get() > 0;
+  }
+
+  protected void startSeqMerging() {
+    seqMergingTaskNum.incrementAndGet();
+  }
+
+  protected void endSeqMerging() {
+    seqMergingTaskNum.decrementAndGet();
+  }
+
+  /**
+   * whether compaction tasks of different time partitions can run at the same time, i.e., merge()
+   * only touches the forked files of its own partition
+   */
+  public boolean isPartitionParallelCompactionSupported() {
+    return false;
+  }
+
+  /** @return whether any file is merged in this task */
+  protected abstract boolean merge(long timePartition);
 
   public class CompactionMergeTask implements Callable<Void> {
 
@@ -170,7 +200,7 @@ public abstract class TsFileManagement {
 
     @Override
     public Void call() {
-      merge(timePartitionId);
+      boolean isMergeExecutedInCurrentTask = merge(timePartitionId);
       closeCompactionMergeCallBack.call(isMergeExecutedInCurrentTask, timePartitionId);
       return null;
     }
@@ -209,7 +239,7 @@ public abstract class TsFileManagement {
       return;
     }
     // wait until seq merge has finished
-    while (isSeqMerging) {
+    while (isSeqMerging()) {
       try {
         wait(200);
       } catch (InterruptedException e) {
@@ -301,6 +331,8 @@ public abstract class TsFileManagement {
         return new MaxFileMergeFileSelector(resource, budget);
       case MAX_SERIES_NUM:
         return new MaxSeriesMergeFileSelector(resource, budget);
+      case MAX_OVERLAP_HEAT:
+        return new MaxOverlapHeatMergeFileSelector(resource, budget);
       default:
         throw new UnsupportedOperationException("Unknown MergeFileStrategy " + strategy);
     }
@@ -440,6 +472,172 @@ public abstract class TsFileManagement {
     logger.info("{} a merge task ends", storageGroupName);
   }
 
+  /** @return the log of the whole storage group and the logs of each time partition */
+  protected List<File> listCompactionLogs() {
+    List<File> compactionLogs = new ArrayList<>();
+    File[] logFiles =
+        FSFactoryProducer.getFSFactory().listFilesBySuffix(storageGroupDir, COMPACTION_LOG_NAME);
+    if (logFiles == null) {
+      return compactionLogs;
+    }
+    for (File logFile : logFiles) {
+      String logName = logFile.getName();
+      if (logName.equals(storageGroupName + COMPACTION_LOG_NAME)
+          || logName.startsWith(storageGroupName + FILE_NAME_SEPARATOR)) {
+        compactionLogs.add(logFile);
+      }
+    }
+    return compactionLogs;
+  }
+
+  /**
+   * Analyze the log of a compaction interrupted by a restart, the target file of a compaction that
+   * has not merged any device is deleted.
+   *
+   * @return the analyzed log, or null if the source files are intact and nothing is to be recovered
+   */
+  protected CompactionLogAnalyzer analyzeCompactionLog(File logFile) throws IOException {
+    CompactionLogAnalyzer logAnalyzer = new CompactionLogAnalyzer(logFile);
+    logAnalyzer.analyze();
+    String targetFile = logAnalyzer.getTargetFile();
+    if (targetFile == null || logAnalyzer.getSourceFiles().isEmpty()) {
+      return null;
+    }
+    if (logAnalyzer.getDeviceSet().isEmpty()) {
+      // if not in compaction, just delete the target file
+      Files.deleteIfExists(new File(targetFile).toPath());
+      return null;
+    }
+    return logAnalyzer;
+  }
+
+  /**
+   * Resume a compaction interrupted by a restart if its target file is incomplete, the target file
+   * is truncated to the end of the last merged device and the other devices are merged again.
+   *
+   * @param modifications the modifications of the source files that are applied during the merge
+   * @return true if the compaction is resumed, false if the target file is complete
+   */
+  protected boolean resumeCompaction(
+      File logFile,
+      CompactionLogAnalyzer logAnalyzer,
+      TsFileResource targetResource,
+      List<TsFileResource> sourceResources,
+      List<Modification> modifications)
+      throws IOException, IllegalPathException {
+    RestorableTsFileIOWriter writer = new RestorableTsFileIOWriter(targetResource.getTsFile());
+    if (!writer.hasCrashed()) {
+      writer.close();
+      return false;
+    }
+    long offset = logAnalyzer.getOffset();
+    if (offset > 0) {
+      writer.getIOWriterOut().truncate(offset - 1);
+    }
+    writer.close();
+    CompactionLogger compactionLogger = new CompactionLogger(logFile);
+    try {
+      CompactionUtils.merge(
+          targetResource,
+          sourceResources,
+          storageGroupName,
+          compactionLogger,
+          logAnalyzer.getDeviceSet(),
+          logAnalyzer.isSeq(),
+          modifications);
+    } finally {
+      compactionLogger.close();
+    }
+    return true;
+  }
+
+  /**
+   * move the modifications of the source files of a compaction to the target file, except those
+   * that have been applied during the compaction
+   */
+  public void renameCompactedFilesMods(
+      Collection<Modification> filterModification,
+      Collection<TsFileResource> mergeTsFiles,
+      TsFileResource targetTsFile)
+      throws IOException {
+    logger.debug("{} [compaction] merge starts to rename real file's mod", storageGroupName);
+    List<Modification> modifications = new ArrayList<>();
+    for (TsFileResource mergeTsFile : mergeTsFiles) {
+      try (ModificationFile sourceModificationFile =
+          new ModificationFile(mergeTsFile.getTsFilePath() + ModificationFile.FILE_SUFFIX)) {
+        modifications.addAll(sourceModificationFile.getModifications());
+        if (sourceModificationFile.exists()) {
+          sourceModificationFile.remove();
+        }
+      }
+    }
+    modifications.removeAll(filterModification);
+    if (!modifications.isEmpty()) {
+      try (ModificationFile modificationFile =
+          new ModificationFile(targetTsFile.getTsFilePath() + ModificationFile.FILE_SUFFIX)) {
+        for (Modification modification : modifications) {
+          // we have to set modification offset to MAX_VALUE, as the offset of source chunk may
+          // change after compaction
+          modification.setFileOffset(Long.MAX_VALUE);
+          modificationFile.write(modification);
+        }
+      }
+    }
+  }
+
+  /** delete the source files of a compaction from the disk, they must be removed from the list */
+  protected void deleteCompactedFilesInDisk(Collection<TsFileResource> mergeTsFiles) {
+    logger.debug("{} [compaction] merge starts to delete real file", storageGroupName);
+    for (TsFileResource mergeTsFile : mergeTsFiles) {
+      mergeTsFile.writeLock();
+      try {
+        ChunkCache.getInstance().clear();
+        TimeSeriesMetadataCache.getInstance().clear();
+        FileReaderManager.getInstance().closeFileAndRemoveReader(mergeTsFile.getTsFilePath());
+        mergeTsFile.setDeleted(true);
+        mergeTsFile.delete();
+      } catch (IOException e) {
+        logger.error(e.getMessage(), e);
+      } finally {
+        mergeTsFile.writeUnlock();
+      }
+      logger.info(
+          "{} [Compaction] delete TsFile {}", storageGroupName, mergeTsFile.getTsFilePath());
+    }
+  }
+
+  /**
+   * restore the files back to the status before the compaction task of the log is submitted, i.e.,
+   * delete its target file and the log
+   */
+  protected void restoreCompaction(File logFile) {
+    try {
+      if (logFile.exists()) {
+        CompactionLogAnalyzer logAnalyzer = new CompactionLogAnalyzer(logFile);
+        logAnalyzer.analyze();
+        String targetFilePath = logAnalyzer.getTargetFile();
+        if (targetFilePath != null) {
+          File targetFile = new File(targetFilePath);
+          if (targetFile.exists() && !targetFile.delete()) {
+            logger.warn("Delete file {} failed", targetFile);
+          }
+        }
+      }
+    } catch (IOException e) {
+      logger.error("restore compaction failed", e);
+    } finally {
+      deleteCompactionLog(logFile);
+    }
+  }
+
+  protected void deleteCompactionLog(File logFile) {
+    try {
+      Files.deleteIfExists(logFile.toPath());
+    } catch (IOException e) {
+      logger.error("{} cannot delete compaction log {}", storageGroupName, logFile, e);
+    }
+  }
+
   // ({systemTime}-{versionNum}-{mergeNum}.tsfile)
   public static int compareFileName(File o1, File o2) {
     String[] items1 = o1.getName().replace(TSFILE_SUFFIX, "").split(FILE_NAME_SEPARATOR);
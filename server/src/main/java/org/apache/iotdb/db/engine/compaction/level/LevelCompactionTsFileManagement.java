@@ -20,20 +20,16 @@
 package org.apache.iotdb.db.engine.compaction.level;
 
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
-import org.apache.iotdb.db.engine.cache.ChunkCache;
-import org.apache.iotdb.db.engine.cache.TimeSeriesMetadataCache;
+import org.apache.iotdb.db.engine.compaction.CompactionMergeTaskPoolManager;
 import org.apache.iotdb.db.engine.compaction.TsFileManagement;
 import org.apache.iotdb.db.engine.compaction.utils.CompactionLogAnalyzer;
 import org.apache.iotdb.db.engine.compaction.utils.CompactionLogger;
 import org.apache.iotdb.db.engine.compaction.utils.CompactionUtils;
 import org.apache.iotdb.db.engine.modification.Modification;
-import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.exception.metadata.IllegalPathException;
-import org.apache.iotdb.db.query.control.FileReaderManager;
 import org.apache.iotdb.db.utils.TestOnly;
 import org.apache.iotdb.tsfile.fileSystem.FSFactoryProducer;
-import org.apache.iotdb.tsfile.write.writer.RestorableTsFileIOWriter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,14 +44,14 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.apache.iotdb.db.conf.IoTDBConstant.FILE_NAME_SEPARATOR;
-import static org.apache.iotdb.db.engine.compaction.utils.CompactionLogger.COMPACTION_LOG_NAME;
 import static org.apache.iotdb.db.engine.compaction.utils.CompactionLogger.SOURCE_NAME;
 import static org.apache.iotdb.db.engine.compaction.utils.CompactionLogger.TARGET_NAME;
+import static org.apache.iotdb.db.engine.compaction.utils.CompactionLogger.getPartitionCompactionLogName;
 import static org.apache.iotdb.tsfile.common.constant.TsFileConstant.TSFILE_SUFFIX;
 
 /** The TsFileManagement for LEVEL_COMPACTION, use level struct to manage TsFile list */
@@ -80,8 +76,11 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
   private final Map<Long, List<SortedSet<TsFileResource>>> sequenceTsFileResources =
       new HashMap<>();
   private final Map<Long, List<List<TsFileResource>>> unSequenceTsFileResources = new HashMap<>();
-  private final List<List<TsFileResource>> forkedSequenceTsFileResources = new ArrayList<>();
-  private final List<List<TsFileResource>> forkedUnSequenceTsFileResources = new ArrayList<>();
+  // time partition -> forked level list, compaction tasks of different partitions may run together
+  private final Map<Long, List<List<TsFileResource>>> forkedSequenceTsFileResources =
+      new ConcurrentHashMap<>();
+  private final Map<Long, List<List<TsFileResource>>> forkedUnSequenceTsFileResources =
+      new ConcurrentHashMap<>();
   private final List<TsFileResource> sequenceRecoverTsFileResources = new ArrayList<>();
   private final List<TsFileResource> unSequenceRecoverTsFileResources = new ArrayList<>();
 
@@ -90,45 +89,6 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
     clear();
   }
 
-  public void renameLevelFilesMods(
-      Collection<Modification> filterModification,
-      Collection<TsFileResource> mergeTsFiles,
-      TsFileResource targetTsFile)
-      throws IOException {
-    logger.debug("{} [compaction] merge starts to rename real file's mod", storageGroupName);
-    List<Modification> modifications = new ArrayList<>();
-    for (TsFileResource mergeTsFile : mergeTsFiles) {
-      try (ModificationFile sourceModificationFile =
-          new ModificationFile(mergeTsFile.getTsFilePath() + ModificationFile.FILE_SUFFIX)) {
-        modifications.addAll(sourceModificationFile.getModifications());
-        if (sourceModificationFile.exists()) {
-          sourceModificationFile.remove();
-        }
-      }
-    }
-    modifications.removeAll(filterModification);
-    if (!modifications.isEmpty()) {
-      try (ModificationFile modificationFile =
-          new ModificationFile(targetTsFile.getTsFilePath() + ModificationFile.FILE_SUFFIX)) {
-        for (Modification modification : modifications) {
-          // we have to set modification offset to MAX_VALUE, as the offset of source chunk may
-          // change after compaction
-          modification.setFileOffset(Long.MAX_VALUE);
-          modificationFile.write(modification);
-        }
-      }
-    }
-  }
-
-  private void deleteLevelFilesInDisk(Collection<TsFileResource> mergeTsFiles) {
-    logger.debug("{} [compaction] merge starts to delete real file", storageGroupName);
-    for (TsFileResource mergeTsFile : mergeTsFiles) {
-      deleteLevelFile(mergeTsFile);
-      logger.info(
-          "{} [Compaction] delete TsFile {}", storageGroupName, mergeTsFile.getTsFilePath());
-    }
-  }
-
   private void deleteLevelFilesInList(
       long timePartitionId, Collection<TsFileResource> mergeTsFiles, int level, boolean sequence) {
     logger.debug("{} [compaction] merge starts to delete file list", storageGroupName);
@@ -147,21 +107,6 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
     }
   }
 
-  private void deleteLevelFile(TsFileResource seqFile) {
-    seqFile.writeLock();
-    try {
-      ChunkCache.getInstance().clear();
-      TimeSeriesMetadataCache.getInstance().clear();
-      FileReaderManager.getInstance().closeFileAndRemoveReader(seqFile.getTsFilePath());
-      seqFile.setDeleted(true);
-      seqFile.delete();
-    } catch (IOException e) {
-      logger.error(e.getMessage(), e);
-    } finally {
-      seqFile.writeUnlock();
-    }
-  }
-
   @Deprecated
   @Override
   public List<TsFileResource> getTsFileList(boolean sequence) {
@@ -417,125 +362,72 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
 
   /** recover files */
   @Override
-  @SuppressWarnings({"squid:S3776", "squid:S2142"})
   public void recover() {
-    File logFile =
-        FSFactoryProducer.getFSFactory()
-            .getFile(storageGroupDir, storageGroupName + COMPACTION_LOG_NAME);
+    for (File logFile : listCompactionLogs()) {
+      recover(logFile);
+    }
+  }
+
+  @SuppressWarnings({"squid:S3776", "squid:S2142"})
+  private void recover(File logFile) {
     try {
-      if (logFile.exists()) {
-        CompactionLogAnalyzer logAnalyzer = new CompactionLogAnalyzer(logFile);
-        logAnalyzer.analyze();
-        Set<String> deviceSet = logAnalyzer.getDeviceSet();
-        List<String> sourceFileList = logAnalyzer.getSourceFiles();
-        long offset = logAnalyzer.getOffset();
-        String targetFile = logAnalyzer.getTargetFile();
-        boolean fullMerge = logAnalyzer.isFullMerge();
-        boolean isSeq = logAnalyzer.isSeq();
-        if (targetFile == null || sourceFileList.isEmpty()) {
-          return;
-        }
-        File target = new File(targetFile);
-        if (deviceSet.isEmpty()) {
-          // if not in compaction, just delete the target file
-          if (target.exists()) {
-            Files.delete(target.toPath());
-          }
-          return;
-        }
-        if (fullMerge) {
+      CompactionLogAnalyzer logAnalyzer = analyzeCompactionLog(logFile);
+      if (logAnalyzer == null) {
+        return;
+      }
+      List<String> sourceFileList = logAnalyzer.getSourceFiles();
+      String targetFile = logAnalyzer.getTargetFile();
+      boolean isSeq = logAnalyzer.isSeq();
+      if (logAnalyzer.isFullMerge()) {
+        // get tsfile resource from list, as they have been recovered in StorageGroupProcessor
+        TsFileResource targetTsFileResource = getRecoverTsFileResource(targetFile, isSeq);
+        long timePartition = targetTsFileResource.getTimePartition();
+        // if not complete compaction, resume merge
+        resumeCompaction(
+            logFile, logAnalyzer, targetTsFileResource, getTsFileList(isSeq), new ArrayList<>());
+        // complete compaction and delete source file
+        deleteAllSubLevelFiles(isSeq, timePartition);
+      } else {
+        // get tsfile resource from list, as they have been recovered in StorageGroupProcessor
+        TsFileResource targetResource = getRecoverTsFileResource(targetFile, isSeq);
+        long timePartition = targetResource.getTimePartition();
+        List<TsFileResource> sourceTsFileResources = new ArrayList<>();
+        for (String file : sourceFileList) {
           // get tsfile resource from list, as they have been recovered in StorageGroupProcessor
-          TsFileResource targetTsFileResource = getRecoverTsFileResource(targetFile, isSeq);
-          long timePartition = targetTsFileResource.getTimePartition();
-          RestorableTsFileIOWriter writer = new RestorableTsFileIOWriter(target);
-          // if not complete compaction, resume merge
-          if (writer.hasCrashed()) {
-            if (offset > 0) {
-              writer.getIOWriterOut().truncate(offset - 1);
-            }
-            writer.close();
-            CompactionLogger compactionLogger =
-                new CompactionLogger(storageGroupDir, storageGroupName);
-            List<Modification> modifications = new ArrayList<>();
-            CompactionUtils.merge(
-                targetTsFileResource,
-                getTsFileList(isSeq),
-                storageGroupName,
-                compactionLogger,
-                deviceSet,
-                isSeq,
-                modifications);
-            compactionLogger.close();
-          } else {
-            writer.close();
-          }
+          sourceTsFileResources.add(getTsFileResource(file, isSeq));
+        }
+        int level = getMergeLevel(new File(sourceFileList.get(0)));
+        List<Modification> modifications = new ArrayList<>();
+        // if not complete compaction, resume merge
+        if (resumeCompaction(
+            logFile, logAnalyzer, targetResource, sourceTsFileResources, modifications)) {
           // complete compaction and delete source file
-          deleteAllSubLevelFiles(isSeq, timePartition);
-        } else {
-          // get tsfile resource from list, as they have been recovered in StorageGroupProcessor
-          TsFileResource targetResource = getRecoverTsFileResource(targetFile, isSeq);
-          long timePartition = targetResource.getTimePartition();
-          List<TsFileResource> sourceTsFileResources = new ArrayList<>();
-          for (String file : sourceFileList) {
-            // get tsfile resource from list, as they have been recovered in StorageGroupProcessor
-            sourceTsFileResources.add(getTsFileResource(file, isSeq));
-          }
-          int level = getMergeLevel(new File(sourceFileList.get(0)));
-          RestorableTsFileIOWriter writer = new RestorableTsFileIOWriter(target);
-          // if not complete compaction, resume merge
-          if (writer.hasCrashed()) {
-            if (offset > 0) {
-              writer.getIOWriterOut().truncate(offset - 1);
+          writeLock();
+          try {
+            if (Thread.currentThread().isInterrupted()) {
+              throw new InterruptedException(
+                  String.format("%s [Compaction] abort", storageGroupName));
             }
-            writer.close();
-            CompactionLogger compactionLogger =
-                new CompactionLogger(storageGroupDir, storageGroupName);
-            List<Modification> modifications = new ArrayList<>();
-            CompactionUtils.merge(
-                targetResource,
-                sourceTsFileResources,
-                storageGroupName,
-                compactionLogger,
-                deviceSet,
-                isSeq,
-                modifications);
-            // complete compaction and delete source file
-            writeLock();
-            try {
-              if (Thread.currentThread().isInterrupted()) {
-                throw new InterruptedException(
-                    String.format("%s [Compaction] abort", storageGroupName));
-              }
-              int targetLevel = getMergeLevel(targetResource.getTsFile());
-              if (isSeq) {
-                sequenceTsFileResources.get(timePartition).get(targetLevel).add(targetResource);
-                sequenceRecoverTsFileResources.clear();
-              } else {
-                unSequenceTsFileResources.get(timePartition).get(targetLevel).add(targetResource);
-                unSequenceRecoverTsFileResources.clear();
-              }
-              deleteLevelFilesInList(timePartition, sourceTsFileResources, level, isSeq);
-            } finally {
-              writeUnlock();
+            int targetLevel = getMergeLevel(targetResource.getTsFile());
+            if (isSeq) {
+              sequenceTsFileResources.get(timePartition).get(targetLevel).add(targetResource);
+              sequenceRecoverTsFileResources.remove(targetResource);
+            } else {
+              unSequenceTsFileResources.get(timePartition).get(targetLevel).add(targetResource);
+              unSequenceRecoverTsFileResources.remove(targetResource);
             }
-            deleteLevelFilesInDisk(sourceTsFileResources);
-            renameLevelFilesMods(modifications, sourceTsFileResources, targetResource);
-            compactionLogger.close();
-          } else {
-            writer.close();
+            deleteLevelFilesInList(timePartition, sourceTsFileResources, level, isSeq);
+          } finally {
+            writeUnlock();
           }
+          deleteCompactedFilesInDisk(sourceTsFileResources);
+          renameCompactedFilesMods(modifications, sourceTsFileResources, targetResource);
         }
       }
     } catch (IOException | IllegalPathException | InterruptedException e) {
       logger.error("recover level tsfile management error ", e);
     } finally {
-      if (logFile.exists()) {
-        try {
-          Files.delete(logFile.toPath());
-        } catch (IOException e) {
-          logger.error("delete level tsfile management log file error ", e);
-        }
-      }
+      deleteCompactionLog(logFile);
     }
   }
 
@@ -544,14 +436,14 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
       for (int level = 0; level < sequenceTsFileResources.get(timePartition).size(); level++) {
         SortedSet<TsFileResource> currLevelMergeFile =
             sequenceTsFileResources.get(timePartition).get(level);
-        deleteLevelFilesInDisk(currLevelMergeFile);
+        deleteCompactedFilesInDisk(currLevelMergeFile);
         deleteLevelFilesInList(timePartition, currLevelMergeFile, level, isSeq);
       }
     } else {
       for (int level = 0; level < unSequenceTsFileResources.get(timePartition).size(); level++) {
         SortedSet<TsFileResource> currLevelMergeFile =
             sequenceTsFileResources.get(timePartition).get(level);
-        deleteLevelFilesInDisk(currLevelMergeFile);
+        deleteCompactedFilesInDisk(currLevelMergeFile);
         deleteLevelFilesInList(timePartition, currLevelMergeFile, level, isSeq);
       }
     }
@@ -561,24 +453,26 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
   public void forkCurrentFileList(long timePartition) {
     readLock();
     try {
-      forkTsFileList(
-          forkedSequenceTsFileResources,
-          sequenceTsFileResources.computeIfAbsent(timePartition, this::newSequenceTsFileResources),
-          seqLevelNum);
+      forkedSequenceTsFileResources.put(
+          timePartition,
+          forkTsFileList(
+              sequenceTsFileResources.computeIfAbsent(
+                  timePartition, this::newSequenceTsFileResources),
+              seqLevelNum));
       // we have to copy all unseq file
-      forkTsFileList(
-          forkedUnSequenceTsFileResources,
-          unSequenceTsFileResources.computeIfAbsent(
-              timePartition, this::newUnSequenceTsFileResources),
-          unseqLevelNum + 1);
+      forkedUnSequenceTsFileResources.put(
+          timePartition,
+          forkTsFileList(
+              unSequenceTsFileResources.computeIfAbsent(
+                  timePartition, this::newUnSequenceTsFileResources),
+              unseqLevelNum + 1));
     } finally {
       readUnLock();
     }
   }
 
-  private void forkTsFileList(
-      List<List<TsFileResource>> forkedTsFileResources, List rawTsFileResources, int currMaxLevel) {
-    forkedTsFileResources.clear();
+  private List<List<TsFileResource>> forkTsFileList(List rawTsFileResources, int currMaxLevel) {
+    List<List<TsFileResource>> forkedTsFileResources = new ArrayList<>();
     for (int i = 0; i < currMaxLevel - 1; i++) {
       List<TsFileResource> forkedLevelTsFileResources = new ArrayList<>();
       Collection<TsFileResource> levelRawTsFileResources =
@@ -590,31 +484,40 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
       }
       forkedTsFileResources.add(forkedLevelTsFileResources);
     }
+    return forkedTsFileResources;
   }
 
   @Override
-  protected void merge(long timePartition) {
-    isMergeExecutedInCurrentTask =
-        merge(
-            forkedSequenceTsFileResources, true, timePartition, seqLevelNum, seqFileNumInEachLevel);
-    if (enableUnseqCompaction
-        && unseqLevelNum <= 1
-        && forkedUnSequenceTsFileResources.get(0).size() > 0) {
+  public boolean isPartitionParallelCompactionSupported() {
+    return true;
+  }
+
+  @Override
+  protected boolean merge(long timePartition) {
+    List<List<TsFileResource>> forkedSequenceFiles =
+        forkedSequenceTsFileResources.remove(timePartition);
+    List<List<TsFileResource>> forkedUnSequenceFiles =
+        forkedUnSequenceTsFileResources.remove(timePartition);
+    if (forkedSequenceFiles == null || forkedUnSequenceFiles == null) {
+      logger.warn(
+          "{} time partition {} is not forked before merge", storageGroupName, timePartition);
+      return false;
+    }
+    boolean isMergeExecutedInCurrentTask =
+        merge(forkedSequenceFiles, true, timePartition, seqLevelNum, seqFileNumInEachLevel);
+    if (enableUnseqCompaction && unseqLevelNum <= 1 && forkedUnSequenceFiles.get(0).size() > 0) {
       isMergeExecutedInCurrentTask = true;
       merge(
           isForceFullMerge,
           getTsFileListByTimePartition(true, timePartition),
-          forkedUnSequenceTsFileResources.get(0),
+          forkedUnSequenceFiles.get(0),
           Long.MAX_VALUE);
     } else {
       isMergeExecutedInCurrentTask =
           merge(
-              forkedUnSequenceTsFileResources,
-              false,
-              timePartition,
-              unseqLevelNum,
-              unseqFileNumInEachLevel);
+              forkedUnSequenceFiles, false, timePartition, unseqLevelNum, unseqFileNumInEachLevel);
     }
+    return isMergeExecutedInCurrentTask;
   }
 
   @SuppressWarnings("squid:S3776")
@@ -634,7 +537,7 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
         return false;
       }
     }
-    isSeqMerging = true;
+    startSeqMerging();
     long startTimeMillis = System.currentTimeMillis();
     // whether execute merge chunk in the loop below
     boolean isMergeExecutedInCurrentTask = false;
@@ -650,14 +553,19 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
           if (enableUnseqCompaction && !sequence && i == currMaxLevel - 2) {
             // do not merge current unseq file level to upper level and just merge all of them to
             // seq file
-            isSeqMerging = false;
-            merge(
-                isForceFullMerge,
-                getTsFileListByTimePartition(true, timePartition),
-                mergeResources.get(i),
-                Long.MAX_VALUE);
+            endSeqMerging();
+            try {
+              merge(
+                  isForceFullMerge,
+                  getTsFileListByTimePartition(true, timePartition),
+                  mergeResources.get(i),
+                  Long.MAX_VALUE);
+            } finally {
+              startSeqMerging();
+            }
           } else {
-            compactionLogger = new CompactionLogger(storageGroupDir, storageGroupName);
+            compactionLogger =
+                new CompactionLogger(storageGroupDir, storageGroupName, timePartition);
             // log source file list and target file for recover
             for (TsFileResource mergeResource : mergeResources.get(i)) {
               compactionLogger.logFile(SOURCE_NAME, mergeResource.getTsFile());
@@ -689,6 +597,8 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
                 new HashSet<>(),
                 sequence,
                 modifications);
+            CompactionMergeTaskPoolManager.getInstance()
+                .recordCompaction(toMergeTsFiles, newResource);
             logger.info(
                 "{} [Compaction] merged level-{}'s {} TsFiles to next level, and start to delete old files",
                 storageGroupName,
@@ -713,12 +623,14 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
             } finally {
               writeUnlock();
             }
-            deleteLevelFilesInDisk(toMergeTsFiles);
-            renameLevelFilesMods(modifications, toMergeTsFiles, newResource);
+            deleteCompactedFilesInDisk(toMergeTsFiles);
+            renameCompactedFilesMods(modifications, toMergeTsFiles, newResource);
             compactionLogger.close();
             File logFile =
                 FSFactoryProducer.getFSFactory()
-                    .getFile(storageGroupDir, storageGroupName + COMPACTION_LOG_NAME);
+                    .getFile(
+                        storageGroupDir,
+                        getPartitionCompactionLogName(storageGroupName, timePartition));
             if (logFile.exists()) {
               Files.delete(logFile.toPath());
             }
@@ -730,13 +642,18 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
         try {
           compactionLogger.close();
         } catch (IOException ioException) {
-          logger.error("{} Compaction log close fail", storageGroupName + COMPACTION_LOG_NAME);
+          logger.error(
+              "{} Compaction log close fail",
+              getPartitionCompactionLogName(storageGroupName, timePartition));
         }
       }
-      restoreCompaction();
+      restoreCompaction(
+          FSFactoryProducer.getFSFactory()
+              .getFile(
+                  storageGroupDir, getPartitionCompactionLogName(storageGroupName, timePartition)));
       logger.error("Error occurred in Compaction Merge thread", e);
     } finally {
-      isSeqMerging = false;
+      endSeqMerging();
       // reset the merge working state to false
       logger.info(
           "{} [Compaction] merge end time isSeq = {}, consumption: {} ms",
@@ -834,38 +751,6 @@ public class LevelCompactionTsFileManagement extends TsFileManagement {
     throw new IOException();
   }
 
-  /** restore the files back to the status before the compaction task is submitted */
-  private void restoreCompaction() {
-    File logFile =
-        FSFactoryProducer.getFSFactory()
-            .getFile(storageGroupDir, storageGroupName + COMPACTION_LOG_NAME);
-    try {
-      if (logFile.exists()) {
-        CompactionLogAnalyzer logAnalyzer = new CompactionLogAnalyzer(logFile);
-        logAnalyzer.analyze();
-        String targetFilePath = logAnalyzer.getTargetFile();
-        if (targetFilePath != null) {
-          File targetFile = new File(targetFilePath);
-          if (targetFile.exists()) {
-            if (!targetFile.delete()) {
-              logger.warn("Delete file {} failed", targetFile);
-            }
-          }
-        }
-      }
-    } catch (IOException e) {
-      logger.error("restore compaction failed", e);
-    } finally {
-      if (logFile.exists()) {
-        try {
-          Files.delete(logFile.toPath());
-        } catch (IOException e) {
-          logger.error("delete compaction log file error ", e);
-        }
-      }
-    }
-  }
-
   @TestOnly
   public Map<Long, List<SortedSet<TsFileResource>>> getSequenceTsFileResources() {
     return sequenceTsFileResources;
@@ -38,10 +38,10 @@ public class NoCompactionTsFileManagement extends TsFileManagement {
 
   private static final Logger logger = LoggerFactory.getLogger(NoCompactionTsFileManagement.class);
   // includes sealed and unsealed sequence TsFiles
-  private final Map<Long, TreeSet<TsFileResource>> sequenceFileTreeSetMap = new TreeMap<>();
+  protected final Map<Long, TreeSet<TsFileResource>> sequenceFileTreeSetMap = new TreeMap<>();
 
   // includes sealed and unsealed unSequence TsFiles
-  private final Map<Long, List<TsFileResource>> unSequenceFileListMap = new TreeMap<>();
+  protected final Map<Long, List<TsFileResource>> unSequenceFileListMap = new TreeMap<>();
 
   public NoCompactionTsFileManagement(String storageGroupName, String storageGroupDir) {
     super(storageGroupName, storageGroupDir);
@@ -276,8 +276,9 @@ public class NoCompactionTsFileManagement extends TsFileManagement {
   }
 
   @Override
-  protected void merge(long timePartition) {
+  protected boolean merge(long timePartition) {
     logger.info("{} no merge logic", storageGroupName);
+    return false;
   }
 
   private TreeSet<TsFileResource> newSequenceTsFileResources(Long k) {
@@ -26,6 +26,8 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 
+import static org.apache.iotdb.db.conf.IoTDBConstant.FILE_NAME_SEPARATOR;
+
 public class CompactionLogger {
 
   public static final String COMPACTION_LOG_NAME = ".compaction.log";
@@ -39,12 +41,30 @@ public class CompactionLogger {
   private BufferedWriter logStream;
 
   public CompactionLogger(String storageGroupDir, String storageGroupName) throws IOException {
-    logStream =
-        new BufferedWriter(
-            new FileWriter(
-                SystemFileFactory.INSTANCE.getFile(
-                    storageGroupDir, storageGroupName + COMPACTION_LOG_NAME),
-                true));
+    this(
+        SystemFileFactory.INSTANCE.getFile(
+            storageGroupDir, storageGroupName + COMPACTION_LOG_NAME));
+  }
+
+  /** log of a compaction task that only compacts files of the given time partition */
+  public CompactionLogger(String storageGroupDir, String storageGroupName, long timePartition)
+      throws IOException {
+    this(
+        SystemFileFactory.INSTANCE.getFile(
+            storageGroupDir, getPartitionCompactionLogName(storageGroupName, timePartition)));
+  }
+
+  /** append to the given log, e.g., when resuming the compaction of the log after a restart */
+  public CompactionLogger(File logFile) throws IOException {
+    logStream = new BufferedWriter(new FileWriter(logFile, true));
+  }
+
+  /**
+   * tasks of different time partitions of one storage group may run at the same time, so each of
+   * them has its own log
+   */
+  public static String getPartitionCompactionLogName(String storageGroupName, long timePartition) {
+    return storageGroupName + FILE_NAME_SEPARATOR + timePartition + COMPACTION_LOG_NAME;
   }
 
   public void close() throws IOException {
@@ -19,7 +19,9 @@
 
 package org.apache.iotdb.db.engine.compaction.utils;
 
+import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.compaction.CompactionMergeTaskPoolManager;
 import org.apache.iotdb.db.engine.compaction.TsFileManagement;
 import org.apache.iotdb.db.engine.merge.manage.MergeManager;
 import org.apache.iotdb.db.engine.modification.Modification;
@@ -29,7 +31,11 @@ import org.apache.iotdb.db.exception.metadata.IllegalPathException;
 import org.apache.iotdb.db.exception.metadata.MetadataException;
 import org.apache.iotdb.db.metadata.PartialPath;
 import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.tsfile.compress.ICompressor;
+import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Chunk;
@@ -40,6 +46,8 @@ import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderByTimestamp;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.write.chunk.ChunkWriterImpl;
 import org.apache.iotdb.tsfile.write.chunk.IChunkWriter;
+import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 import org.apache.iotdb.tsfile.write.writer.RestorableTsFileIOWriter;
 
 import com.google.common.util.concurrent.RateLimiter;
@@ -94,6 +102,29 @@ public class CompactionUtils {
     return new Pair<>(newChunkMetadata, newChunk);
   }
 
+  /**
+   * The pages of chunks can only be appended into one chunk when they share the same encoding and
+   * compression, which may differ between the chunks of a series, e.g., when the encodings are
+   * chosen at flush or cold chunks are recompressed.
+   */
+  private static boolean isChunkFormatUniform(
+      Map<TsFileSequenceReader, List<ChunkMetadata>> readerChunkMetadataMap) throws IOException {
+    ChunkHeader firstHeader = null;
+    for (Entry<TsFileSequenceReader, List<ChunkMetadata>> entry :
+        readerChunkMetadataMap.entrySet()) {
+      for (ChunkMetadata chunkMetadata : entry.getValue()) {
+        ChunkHeader header = entry.getKey().readChunkHeader(chunkMetadata);
+        if (firstHeader == null) {
+          firstHeader = header;
+        } else if (header.getEncodingType() != firstHeader.getEncodingType()
+            || header.getCompressionType() != firstHeader.getCompressionType()) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
   private static void readByDeserializePageMerge(
       Map<TsFileSequenceReader, List<ChunkMetadata>> readerChunkMetadataMap,
       Map<Long, TimeValuePair> timeValuePairMap,
@@ -179,6 +210,40 @@ public class CompactionUtils {
       Map<String, List<Modification>> modificationCache,
       List<Modification> modifications)
       throws IOException, IllegalPathException {
+    IMeasurementSchema schema;
+    try {
+      schema = IoTDB.metaManager.getSeriesSchema(new PartialPath(device), entry.getKey());
+    } catch (MetadataException e) {
+      // this may caused in IT by restart
+      logger.error("{} get schema {} error, skip this sensor", device, entry.getKey(), e);
+      return;
+    }
+    writeByDeserializePageMerge(
+        device,
+        compactionRateLimiter,
+        entry,
+        targetResource,
+        writer,
+        modificationCache,
+        modifications,
+        schema);
+  }
+
+  /**
+   * Read all points of the chunks and write them into a new chunk of the given schema.
+   *
+   * @return the size of the new chunk, or 0 if there is no chunk to merge
+   */
+  private static long writeByDeserializePageMerge(
+      String device,
+      RateLimiter compactionRateLimiter,
+      Entry<String, Map<TsFileSequenceReader, List<ChunkMetadata>>> entry,
+      TsFileResource targetResource,
+      RestorableTsFileIOWriter writer,
+      Map<String, List<Modification>> modificationCache,
+      List<Modification> modifications,
+      IMeasurementSchema schema)
+      throws IOException, IllegalPathException {
     Map<Long, TimeValuePair> timeValuePairMap = new TreeMap<>();
     Map<TsFileSequenceReader, List<ChunkMetadata>> readerChunkMetadataMap = entry.getValue();
     readByDeserializePageMerge(
@@ -195,26 +260,213 @@ public class CompactionUtils {
       }
     }
     if (isChunkMetadataEmpty) {
-      return;
-    }
-    IChunkWriter chunkWriter;
-    try {
-      chunkWriter =
-          new ChunkWriterImpl(
-              IoTDB.metaManager.getSeriesSchema(new PartialPath(device), entry.getKey()), true);
-    } catch (MetadataException e) {
-      // this may caused in IT by restart
-      logger.error("{} get schema {} error, skip this sensor", device, entry.getKey(), e);
-      return;
+      return 0;
     }
+    IChunkWriter chunkWriter = new ChunkWriterImpl(schema, true);
     for (TimeValuePair timeValuePair : timeValuePairMap.values()) {
       writeTVPair(timeValuePair, chunkWriter);
       targetResource.updateStartTime(device, timeValuePair.getTimestamp());
       targetResource.updateEndTime(device, timeValuePair.getTimestamp());
     }
+    chunkWriter.sealCurrentPage();
+    long chunkSize = chunkWriter.getCurrentChunkSize();
     // wait for limit write
-    MergeManager.mergeRateLimiterAcquire(compactionRateLimiter, chunkWriter.getCurrentChunkSize());
+    MergeManager.mergeRateLimiterAcquire(compactionRateLimiter, chunkSize);
     chunkWriter.writeToFileWriter(writer);
+    return chunkSize;
+  }
+
+  /**
+   * Rewrite each chunk into a new chunk of the given schema. The chunks must be large enough and
+   * not overlapped, i.e., they do not need to be merged.
+   *
+   * @return the total size of the new chunks
+   */
+  private static long writeByRewriteChunk(
+      String device,
+      RateLimiter compactionRateLimiter,
+      Entry<String, Map<TsFileSequenceReader, List<ChunkMetadata>>> entry,
+      TsFileResource targetResource,
+      RestorableTsFileIOWriter writer,
+      Map<String, List<Modification>> modificationCache,
+      List<Modification> modifications,
+      IMeasurementSchema schema)
+      throws IOException, IllegalPathException {
+    long targetSize = 0;
+    PartialPath seriesPath = new PartialPath(device, entry.getKey());
+    for (Entry<TsFileSequenceReader, List<ChunkMetadata>> readerChunkMetadataEntry :
+        entry.getValue().entrySet()) {
+      TsFileSequenceReader reader = readerChunkMetadataEntry.getKey();
+      List<ChunkMetadata> chunkMetadataList = readerChunkMetadataEntry.getValue();
+      modifyChunkMetaDataWithCache(
+          reader, chunkMetadataList, modificationCache, seriesPath, modifications);
+      for (ChunkMetadata chunkMetadata : chunkMetadataList) {
+        IChunkWriter chunkWriter = new ChunkWriterImpl(schema, true);
+        IChunkReader chunkReader = new ChunkReaderByTimestamp(reader.readMemChunk(chunkMetadata));
+        while (chunkReader.hasNextSatisfiedPage()) {
+          IPointReader iPointReader = new BatchDataIterator(chunkReader.nextPageData());
+          while (iPointReader.hasNextTimeValuePair()) {
+            TimeValuePair timeValuePair = iPointReader.nextTimeValuePair();
+            writeTVPair(timeValuePair, chunkWriter);
+            targetResource.updateStartTime(device, timeValuePair.getTimestamp());
+            targetResource.updateEndTime(device, timeValuePair.getTimestamp());
+          }
+        }
+        chunkWriter.sealCurrentPage();
+        long chunkSize = chunkWriter.getCurrentChunkSize();
+        // wait for limit write
+        MergeManager.mergeRateLimiterAcquire(compactionRateLimiter, chunkSize);
+        chunkWriter.writeToFileWriter(writer);
+        targetSize += chunkSize;
+      }
+    }
+    return targetSize;
+  }
+
+  /**
+   * Re-encode and recompress the chunks of a sensor with the cold encoding and compressor, unless
+   * all of them already use them. Sequence chunks large enough are rewritten one by one, others are
+   * merged as in the deserialize page merge.
+   *
+   * @return whether the chunks are rewritten
+   */
+  private static boolean writeByRecompressMerge(
+      String device,
+      RateLimiter compactionRateLimiter,
+      Entry<String, Map<TsFileSequenceReader, List<ChunkMetadata>>> entry,
+      TsFileResource targetResource,
+      RestorableTsFileIOWriter writer,
+      Map<String, List<Modification>> modificationCache,
+      List<Modification> modifications,
+      boolean sequence,
+      RecompressionStats recompressionStats)
+      throws IOException, IllegalPathException {
+    IMeasurementSchema coldSchema;
+    try {
+      coldSchema =
+          getColdSchema(IoTDB.metaManager.getSeriesSchema(new PartialPath(device), entry.getKey()));
+    } catch (MetadataException e) {
+      // let the usual merge handle it
+      return false;
+    }
+    long sourceSize = 0;
+    boolean isAllChunksCold = true;
+    boolean isChunkEnoughLarge = true;
+    for (Entry<TsFileSequenceReader, List<ChunkMetadata>> readerChunkMetadataEntry :
+        entry.getValue().entrySet()) {
+      for (ChunkMetadata chunkMetadata : readerChunkMetadataEntry.getValue()) {
+        if (chunkMetadata.getNumOfPoints()
+            < IoTDBDescriptor.getInstance().getConfig().getMergeChunkPointNumberThreshold()) {
+          isChunkEnoughLarge = false;
+        }
+        ChunkHeader header = readerChunkMetadataEntry.getKey().readChunkHeader(chunkMetadata);
+        sourceSize += header.getSerializedSize() + header.getDataSize();
+        // the encoding of a chunk may be chosen adaptively, and its compression level is not
+        // recorded, so any chunk with the cold compressor is regarded as cold
+        if (header.getCompressionType() != coldSchema.getCompressor()) {
+          isAllChunksCold = false;
+        }
+      }
+    }
+    if (isAllChunksCold) {
+      return false;
+    }
+    long targetSize;
+    if (sequence && isChunkEnoughLarge) {
+      targetSize =
+          writeByRewriteChunk(
+              device,
+              compactionRateLimiter,
+              entry,
+              targetResource,
+              writer,
+              modificationCache,
+              modifications,
+              coldSchema);
+    } else {
+      targetSize =
+          writeByDeserializePageMerge(
+              device,
+              compactionRateLimiter,
+              entry,
+              targetResource,
+              writer,
+              modificationCache,
+              modifications,
+              coldSchema);
+    }
+    recompressionStats.sourceSize += sourceSize;
+    recompressionStats.targetSize += targetSize;
+    recompressionStats.seriesNum++;
+    return true;
+  }
+
+  /**
+   * Whether the chunks of the source files should be re-encoded and recompressed while being
+   * rewritten, i.e., all of them were created earlier than compaction_cold_file_threshold_in_ms
+   * before and are rarely read.
+   */
+  static boolean isColdCompaction(List<TsFileResource> tsFileResources) {
+    long threshold = IoTDBDescriptor.getInstance().getConfig().getCompactionColdFileThresholdInMs();
+    if (threshold <= 0 || tsFileResources.isEmpty()) {
+      return false;
+    }
+    long currentTime = System.currentTimeMillis();
+    for (TsFileResource tsFileResource : tsFileResources) {
+      long createTime;
+      try {
+        createTime = TsFileResource.getTsFileName(tsFileResource.getTsFile().getName()).getTime();
+      } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+        return false;
+      }
+      if (currentTime - createTime < threshold) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The schema of the rewritten chunks of a cold series: the cold compressor, and the denser
+   * TS_2DIFF or GORILLA instead of PLAIN for numeric values. Other encodings are kept, as they are
+   * chosen by the user for the data.
+   */
+  static IMeasurementSchema getColdSchema(IMeasurementSchema schema) {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    TSEncoding encoding = schema.getEncodingType();
+    if (encoding == TSEncoding.PLAIN) {
+      switch (schema.getType()) {
+        case INT32:
+        case INT64:
+          encoding = TSEncoding.TS_2DIFF;
+          break;
+        case FLOAT:
+        case DOUBLE:
+          encoding = TSEncoding.GORILLA;
+          break;
+        default:
+          break;
+      }
+    }
+    Map<String, String> props = schema.getProps();
+    CompressionType compressor = config.getCompactionColdCompressor();
+    if (config.getCompactionColdCompressionLevel() > 0
+        && (props == null || !props.containsKey(ICompressor.COMPRESSION_LEVEL))) {
+      props = props == null ? new HashMap<>() : new HashMap<>(props);
+      props.put(
+          ICompressor.COMPRESSION_LEVEL,
+          Integer.toString(config.getCompactionColdCompressionLevel()));
+    }
+    return new MeasurementSchema(
+        schema.getMeasurementId(), schema.getType(), encoding, compressor, props);
+  }
+
+  /** the chunks re-encoded and recompressed in a compaction */
+  private static class RecompressionStats {
+
+    private int seriesNum;
+    private long sourceSize;
+    private long targetSize;
   }
 
   private static Set<String> getTsFileDevicesSet(
@@ -264,6 +516,8 @@ public class CompactionUtils {
     Map<String, TsFileSequenceReader> tsFileSequenceReaderMap = new HashMap<>();
     Map<String, List<Modification>> modificationCache = new HashMap<>();
     RateLimiter compactionWriteRateLimiter = MergeManager.getINSTANCE().getMergeWriteRateLimiter();
+    boolean isColdCompaction = isColdCompaction(tsFileResources);
+    RecompressionStats recompressionStats = new RecompressionStats();
     Set<String> tsFileDevicesMap =
         getTsFileDevicesSet(tsFileResources, tsFileSequenceReaderMap, storageGroup);
     for (String device : tsFileDevicesMap) {
@@ -343,7 +597,23 @@ public class CompactionUtils {
             Entry<String, Map<TsFileSequenceReader, List<ChunkMetadata>>>
                 sensorReaderChunkMetadataListEntry =
                     new DefaultMapEntry<>(sensor, readerChunkMetadataListMap);
-            if (!sequence) {
+            if (isColdCompaction
+                && writeByRecompressMerge(
+                    device,
+                    compactionWriteRateLimiter,
+                    sensorReaderChunkMetadataListEntry,
+                    targetResource,
+                    writer,
+                    modificationCache,
+                    modifications,
+                    sequence,
+                    recompressionStats)) {
+              logger.debug(
+                  "{} [Compaction] cold chunks, use recompress merge for {}.{}",
+                  storageGroup,
+                  device,
+                  sensor);
+            } else if (!sequence) {
               writeByDeserializePageMerge(
                   device,
                   compactionWriteRateLimiter,
@@ -382,7 +652,7 @@ public class CompactionUtils {
                     sensorReaderChunkMetadataListEntry,
                     targetResource,
                     writer);
-              } else if (isPageEnoughLarge) {
+              } else if (isPageEnoughLarge && isChunkFormatUniform(readerChunkMetadataListMap)) {
                 logger.debug(
                     "{} [Compaction] page enough large, use append page merge", storageGroup);
                 // append page in chunks, so we do not have to deserialize a chunk
@@ -419,6 +689,18 @@ public class CompactionUtils {
       reader.close();
     }
 
+    if (recompressionStats.seriesNum > 0) {
+      logger.info(
+          "{} [Compaction] recompressed the cold chunks of {} series into {}, from {} bytes to {} bytes",
+          storageGroup,
+          recompressionStats.seriesNum,
+          targetResource.getTsFile().getName(),
+          recompressionStats.sourceSize,
+          recompressionStats.targetSize);
+      CompactionMergeTaskPoolManager.getInstance()
+          .recordRecompression(recompressionStats.sourceSize, recompressionStats.targetSize);
+    }
+
     for (TsFileResource tsFileResource : tsFileResources) {
       targetResource.updatePlanIndexes(tsFileResource);
     }
@@ -0,0 +1,368 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.window;
+
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.compaction.CompactionMergeTaskPoolManager;
+import org.apache.iotdb.db.engine.compaction.no.NoCompactionTsFileManagement;
+import org.apache.iotdb.db.engine.compaction.utils.CompactionLogAnalyzer;
+import org.apache.iotdb.db.engine.compaction.utils.CompactionLogger;
+import org.apache.iotdb.db.engine.compaction.utils.CompactionUtils;
+import org.apache.iotdb.db.engine.modification.Modification;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.exception.metadata.IllegalPathException;
+import org.apache.iotdb.tsfile.fileSystem.FSFactoryProducer;
+import org.apache.iotdb.tsfile.write.writer.RestorableTsFileIOWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.apache.iotdb.db.engine.compaction.utils.CompactionLogger.SOURCE_NAME;
+import static org.apache.iotdb.db.engine.compaction.utils.CompactionLogger.TARGET_NAME;
+import static org.apache.iotdb.db.engine.compaction.utils.CompactionLogger.getPartitionCompactionLogName;
+
+/**
+ * The TsFileManagement for TIME_WINDOW_COMPACTION. Each time partition is a time window. Once a
+ * newer window receives data, the older windows are regarded as closed, and all sealed files of a
+ * closed window are compacted into one file, which will not be rewritten again unless late data
+ * arrives in the window. Within the newest window, files just flushed are compacted together when
+ * there are seq_file_num_in_each_level (or unseq_file_num_in_each_level) of them, so that each
+ * point is rewritten at most twice in its life instead of once per level.
+ */
+public class TimeWindowCompactionTsFileManagement extends NoCompactionTsFileManagement {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(TimeWindowCompactionTsFileManagement.class);
+
+  private final int seqFileNumInActiveWindow =
+      Math.max(IoTDBDescriptor.getInstance().getConfig().getSeqFileNumInEachLevel(), 2);
+  private final int unseqFileNumInActiveWindow =
+      Math.max(IoTDBDescriptor.getInstance().getConfig().getUnseqFileNumInEachLevel(), 2);
+  private final boolean enableUnseqCompaction =
+      IoTDBDescriptor.getInstance().getConfig().isEnableUnseqCompaction();
+
+  // the time partition of the forked files, whether it is older than the newest partition, and the
+  // oldest sealed files of it that are not being merged
+  private long forkedTimePartition;
+  private boolean isForkedWindowClosed;
+  private final List<TsFileResource> forkedSequenceTsFileResources = new ArrayList<>();
+  private final List<TsFileResource> forkedUnSequenceTsFileResources = new ArrayList<>();
+  private final List<TsFileResource> sequenceRecoverTsFileResources = new ArrayList<>();
+  private final List<TsFileResource> unSequenceRecoverTsFileResources = new ArrayList<>();
+
+  public TimeWindowCompactionTsFileManagement(String storageGroupName, String storageGroupDir) {
+    super(storageGroupName, storageGroupDir);
+  }
+
+  @Override
+  public void addRecover(TsFileResource tsFileResource, boolean sequence) {
+    if (sequence) {
+      sequenceRecoverTsFileResources.add(tsFileResource);
+    } else {
+      unSequenceRecoverTsFileResources.add(tsFileResource);
+    }
+  }
+
+  @Override
+  public void forkCurrentFileList(long timePartition) {
+    readLock();
+    try {
+      forkedTimePartition = timePartition;
+      // windows older than the newest one will not receive sequence data any more
+      long activeWindow = Long.MIN_VALUE;
+      for (long window : sequenceFileTreeSetMap.keySet()) {
+        activeWindow = Math.max(activeWindow, window);
+      }
+      isForkedWindowClosed = timePartition < activeWindow;
+      forkTsFileList(forkedSequenceTsFileResources, sequenceFileTreeSetMap.get(timePartition));
+      forkTsFileList(forkedUnSequenceTsFileResources, unSequenceFileListMap.get(timePartition));
+    } finally {
+      readUnLock();
+    }
+  }
+
+  /**
+   * Fork the oldest sealed files of a window up to the first file that is unsealed or being merged,
+   * so that a compaction never merges files around another file, which overlaps the result and
+   * breaks the order of the sequence files.
+   */
+  private void forkTsFileList(
+      List<TsFileResource> forkedTsFileResources, Collection<TsFileResource> rawTsFileResources) {
+    forkedTsFileResources.clear();
+    if (rawTsFileResources == null) {
+      return;
+    }
+    for (TsFileResource tsFileResource : rawTsFileResources) {
+      if (!tsFileResource.isClosed() || tsFileResource.isMerging()) {
+        break;
+      }
+      forkedTsFileResources.add(tsFileResource);
+    }
+  }
+
+  @Override
+  protected boolean merge(long timePartition) {
+    List<TsFileResource> toMergeTsFiles =
+        selectWindowFiles(
+            forkedSequenceTsFileResources, isForkedWindowClosed, seqFileNumInActiveWindow);
+    boolean mergeExecuted =
+        !toMergeTsFiles.isEmpty() && compactWindow(timePartition, toMergeTsFiles, true);
+    List<TsFileResource> unseqFiles = forkedUnSequenceTsFileResources;
+    if (enableUnseqCompaction) {
+      // unseq files are merged into the seq files of their window, a closed window is settled as
+      // soon as late data arrives
+      if (!isUnseqMerging
+          && !unseqFiles.isEmpty()
+          && (isForkedWindowClosed || unseqFiles.size() >= unseqFileNumInActiveWindow)) {
+        merge(
+            isForceFullMerge,
+            getTsFileListByTimePartition(true, timePartition),
+            new ArrayList<>(unseqFiles),
+            Long.MAX_VALUE);
+        // the merge task is submitted only if the files are accepted
+        mergeExecuted |= isUnseqMerging;
+      }
+    } else {
+      toMergeTsFiles =
+          selectWindowFiles(unseqFiles, isForkedWindowClosed, unseqFileNumInActiveWindow);
+      if (!toMergeTsFiles.isEmpty()) {
+        mergeExecuted |= compactWindow(timePartition, toMergeTsFiles, false);
+      }
+    }
+    return mergeExecuted;
+  }
+
+  /**
+   * @param windowFiles the sealed files of a window
+   * @param closedWindow whether the window will not receive new files in normal cases
+   * @param fileNumThreshold the number of newly flushed files that triggers a compaction in an
+   *     active window
+   * @return the files to be compacted into one, or an empty list if the window need not compact
+   */
+  private List<TsFileResource> selectWindowFiles(
+      List<TsFileResource> windowFiles, boolean closedWindow, int fileNumThreshold) {
+    if (closedWindow) {
+      return windowFiles.size() > 1 ? new ArrayList<>(windowFiles) : new ArrayList<>();
+    }
+    // the newest run of files that have not been compacted, which are adjacent to each other
+    List<TsFileResource> flushedFiles = new ArrayList<>();
+    for (TsFileResource tsFileResource : windowFiles) {
+      if (getMergeCnt(tsFileResource.getTsFile()) == 0) {
+        flushedFiles.add(tsFileResource);
+      } else {
+        flushedFiles.clear();
+      }
+    }
+    return flushedFiles.size() >= fileNumThreshold ? flushedFiles : new ArrayList<>();
+  }
+
+  @SuppressWarnings("squid:S2142")
+  private boolean compactWindow(
+      long timePartition, List<TsFileResource> toMergeTsFiles, boolean sequence) {
+    // wait until unseq merge has finished
+    while (isUnseqMerging) {
+      try {
+        Thread.sleep(200);
+      } catch (InterruptedException e) {
+        logger.error("{} [Compaction] shutdown", storageGroupName, e);
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+    startSeqMerging();
+    long startTimeMillis = System.currentTimeMillis();
+    CompactionLogger compactionLogger = null;
+    File logFile =
+        FSFactoryProducer.getFSFactory()
+            .getFile(
+                storageGroupDir, getPartitionCompactionLogName(storageGroupName, timePartition));
+    try {
+      compactionLogger = new CompactionLogger(storageGroupDir, storageGroupName, timePartition);
+      for (TsFileResource toMergeTsFile : toMergeTsFiles) {
+        compactionLogger.logFile(SOURCE_NAME, toMergeTsFile.getTsFile());
+      }
+      File newFile = TsFileResource.modifyTsFileNameMergeCnt(toMergeTsFiles.get(0).getTsFile());
+      compactionLogger.logSequence(sequence);
+      compactionLogger.logFile(TARGET_NAME, newFile);
+      logger.info(
+          "{} [Compaction] merge {} TsFiles of time window {} into {}",
+          storageGroupName,
+          toMergeTsFiles.size(),
+          timePartition,
+          newFile);
+
+      TsFileResource newResource = new TsFileResource(newFile);
+      List<Modification> modifications = new ArrayList<>();
+      // merge, read from source files and write to target file
+      CompactionUtils.merge(
+          newResource,
+          toMergeTsFiles,
+          storageGroupName,
+          compactionLogger,
+          new HashSet<>(),
+          sequence,
+          modifications);
+      CompactionMergeTaskPoolManager.getInstance().recordCompaction(toMergeTsFiles, newResource);
+      writeLock();
+      try {
+        if (Thread.currentThread().isInterrupted()) {
+          throw new InterruptedException(String.format("%s [Compaction] abort", storageGroupName));
+        }
+        removeAll(new ArrayList<>(toMergeTsFiles), sequence);
+        add(newResource, sequence);
+      } finally {
+        writeUnlock();
+      }
+      deleteCompactedFilesInDisk(toMergeTsFiles);
+      renameCompactedFilesMods(modifications, toMergeTsFiles, newResource);
+      compactionLogger.close();
+      deleteCompactionLog(logFile);
+      return true;
+    } catch (Exception e) {
+      if (compactionLogger != null) {
+        try {
+          compactionLogger.close();
+        } catch (IOException ioException) {
+          logger.error("{} Compaction log close fail", logFile);
+        }
+      }
+      restoreCompaction(logFile);
+      logger.error("Error occurred in Compaction Merge thread", e);
+      return false;
+    } finally {
+      endSeqMerging();
+      logger.info(
+          "{} [Compaction] time window {} merge end, isSeq = {}, consumption: {} ms, write "
+              + "amplification: {}",
+          storageGroupName,
+          timePartition,
+          sequence,
+          System.currentTimeMillis() - startTimeMillis,
+          CompactionMergeTaskPoolManager.getInstance().getWriteAmplification());
+    }
+  }
+
+  /** recover the compactions interrupted by a restart */
+  @Override
+  public void recover() {
+    for (File logFile : listCompactionLogs()) {
+      recover(logFile);
+    }
+  }
+
+  private void recover(File logFile) {
+    try {
+      CompactionLogAnalyzer logAnalyzer = analyzeCompactionLog(logFile);
+      if (logAnalyzer == null) {
+        return;
+      }
+      String targetFile = logAnalyzer.getTargetFile();
+      boolean isSeq = logAnalyzer.isSeq();
+      List<TsFileResource> sourceTsFileResources = new ArrayList<>();
+      for (String file : logAnalyzer.getSourceFiles()) {
+        TsFileResource sourceResource = getTsFileResource(file, isSeq);
+        if (sourceResource != null) {
+          sourceTsFileResources.add(sourceResource);
+        }
+      }
+      List<Modification> modifications = new ArrayList<>();
+      RestorableTsFileIOWriter writer = new RestorableTsFileIOWriter(new File(targetFile));
+      boolean targetCrashed = writer.hasCrashed();
+      writer.close();
+      TsFileResource targetResource = null;
+      if (targetCrashed) {
+        // the target file is not complete, resume the compaction
+        targetResource = getRecoverTsFileResource(targetFile, isSeq);
+        if (targetResource == null) {
+          logger.error(
+              "{} cannot find the crashed compaction target {}, keep the source files",
+              storageGroupName,
+              targetFile);
+          return;
+        }
+        resumeCompaction(
+            logFile, logAnalyzer, targetResource, sourceTsFileResources, modifications);
+        writeLock();
+        try {
+          add(targetResource, isSeq);
+          if (isSeq) {
+            sequenceRecoverTsFileResources.remove(targetResource);
+          } else {
+            unSequenceRecoverTsFileResources.remove(targetResource);
+          }
+        } finally {
+          writeUnlock();
+        }
+      }
+      // the target file is complete, remove the source files left
+      removeAll(new ArrayList<>(sourceTsFileResources), isSeq);
+      deleteCompactedFilesInDisk(sourceTsFileResources);
+      if (targetResource != null) {
+        renameCompactedFilesMods(modifications, sourceTsFileResources, targetResource);
+      }
+    } catch (IOException | IllegalPathException e) {
+      logger.error("recover time window tsfile management error ", e);
+    } finally {
+      deleteCompactionLog(logFile);
+    }
+  }
+
+  /** @return the resource of a crashed target file recovered by the storage group, or null */
+  private TsFileResource getRecoverTsFileResource(String filePath, boolean isSeq)
+      throws IOException {
+    List<TsFileResource> recoverTsFileResources =
+        isSeq ? sequenceRecoverTsFileResources : unSequenceRecoverTsFileResources;
+    for (TsFileResource tsFileResource : recoverTsFileResources) {
+      if (Files.isSameFile(tsFileResource.getTsFile().toPath(), new File(filePath).toPath())) {
+        return tsFileResource;
+      }
+    }
+    return null;
+  }
+
+  private TsFileResource getTsFileResource(String filePath, boolean isSeq) throws IOException {
+    File file = new File(filePath);
+    if (!file.exists()) {
+      return null;
+    }
+    Collection<? extends Collection<TsFileResource>> windows =
+        isSeq ? sequenceFileTreeSetMap.values() : unSequenceFileListMap.values();
+    for (Collection<TsFileResource> tsFileResources : windows) {
+      for (TsFileResource tsFileResource : tsFileResources) {
+        if (Files.isSameFile(tsFileResource.getTsFile().toPath(), file.toPath())) {
+          return tsFileResource;
+        }
+      }
+    }
+    logger.warn("cannot get tsfile resource path: {}", filePath);
+    return null;
+  }
+
+  private static int getMergeCnt(File file) {
+    return TsFileResource.getTsFileName(file.getName()).getMergeCnt();
+  }
+}
@@ -25,6 +25,7 @@ import org.apache.iotdb.db.engine.memtable.IMemTable;
 import org.apache.iotdb.db.engine.memtable.IWritableMemChunk;
 import org.apache.iotdb.db.exception.runtime.FlushRunTimeException;
 import org.apache.iotdb.db.rescon.SystemInfo;
+import org.apache.iotdb.db.utils.EncodingInferenceUtils;
 import org.apache.iotdb.db.utils.datastructure.TVList;
 import org.apache.iotdb.db.utils.datastructure.VectorTVList;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
@@ -313,6 +314,11 @@ public class MemTableFlushTask {
               IChunkWriter seriesWriter;
               if (encodingMessage.left.getDataType() == TSDataType.VECTOR) {
                 seriesWriter = new VectorChunkWriterImpl(encodingMessage.right);
+              } else if (config.isEnableAdaptiveEncoding()) {
+                seriesWriter =
+                    new ChunkWriterImpl(
+                        EncodingInferenceUtils.inferChunkSchema(
+                            encodingMessage.left, encodingMessage.right));
               } else {
                 seriesWriter = new ChunkWriterImpl(encodingMessage.right);
               }
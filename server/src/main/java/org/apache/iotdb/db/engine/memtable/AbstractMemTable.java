@@ -285,6 +285,7 @@ public abstract class AbstractMemTable implements IMemTable {
     totalPointsNumThreshold = 0;
     tvListRamCost = 0;
     maxPlanIndex = 0;
+    minPlanIndex = Long.MAX_VALUE;
   }
 
   @Override
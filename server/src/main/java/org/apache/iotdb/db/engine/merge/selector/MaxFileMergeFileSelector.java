@@ -141,6 +141,7 @@ public class MaxFileMergeFileSelector implements IMergeFileSelector {
 
     totalCost = 0;
 
+    List<TsFileResource> unseqCandidates = getUnseqCandidates();
     int unseqIndex = 0;
     long startTime = System.currentTimeMillis();
     long timeConsumption = 0;
@@ -148,9 +149,9 @@ public class MaxFileMergeFileSelector implements IMergeFileSelector {
     if (timeLimit < 0) {
       timeLimit = Long.MAX_VALUE;
     }
-    while (unseqIndex < resource.getUnseqFiles().size() && timeConsumption < timeLimit) {
+    while (unseqIndex < unseqCandidates.size() && timeConsumption < timeLimit) {
       // select next unseq files
-      TsFileResource unseqFile = resource.getUnseqFiles().get(unseqIndex);
+      TsFileResource unseqFile = unseqCandidates.get(unseqIndex);
 
       if (seqSelectedNum != resource.getSeqFiles().size()) {
         selectOverlappedSeqFiles(unseqFile);
@@ -184,6 +185,14 @@ public class MaxFileMergeFileSelector implements IMergeFileSelector {
     }
   }
 
+  /**
+   * @return the unseq files in the order they are tried, selection stops at the first one that
+   *     exceeds the budget, so any prefix of the list must be able to be merged on its own.
+   */
+  List<TsFileResource> getUnseqCandidates() {
+    return resource.getUnseqFiles();
+  }
+
   private boolean updateSelectedFiles(long newCost, TsFileResource unseqFile) {
     if (totalCost + newCost < memoryBudget) {
       selectedUnseqFiles.add(unseqFile);
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.merge.selector;
+
+import org.apache.iotdb.db.engine.StorageEngine;
+import org.apache.iotdb.db.engine.merge.manage.MergeResource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.exception.MergeException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MaxOverlapHeatMergeFileSelector tries the unseq files whose overlaps the queries merged most (see
+ * {@link OverlapHeatRecorder}) first, so the read amplification that hurts the queries most is
+ * removed first under the memory budget. An unseq file may only be merged after the older unseq
+ * files overlapping it, so each hot file is preceded by these older files in the candidate list,
+ * and the selected unseq files are put back into their version order before merging.
+ */
+public class MaxOverlapHeatMergeFileSelector extends MaxFileMergeFileSelector {
+
+  private final OverlapHeatRecorder heatRecorder = OverlapHeatRecorder.getInstance();
+
+  public MaxOverlapHeatMergeFileSelector(MergeResource resource, long memoryBudget) {
+    super(resource, memoryBudget);
+  }
+
+  @Override
+  public List[] select() throws MergeException {
+    List[] result = super.select();
+    if (result.length > 0) {
+      Set<Long> mergedPartitions = new HashSet<>();
+      for (TsFileResource unseqFile : selectedUnseqFiles) {
+        for (String device : unseqFile.getDevices()) {
+          mergedPartitions.add(StorageEngine.getTimePartition(unseqFile.getStartTime(device)));
+        }
+      }
+      mergedPartitions.forEach(heatRecorder::decay);
+    }
+    return result;
+  }
+
+  @Override
+  void select(boolean useTightBound) throws IOException {
+    super.select(useTightBound);
+    List<TsFileResource> unseqFiles = resource.getUnseqFiles();
+    Map<TsFileResource, Integer> versionOrder = new HashMap<>();
+    for (int i = 0; i < unseqFiles.size(); i++) {
+      versionOrder.put(unseqFiles.get(i), i);
+    }
+    selectedUnseqFiles.sort(Comparator.comparingInt(versionOrder::get));
+  }
+
+  @Override
+  List<TsFileResource> getUnseqCandidates() {
+    List<TsFileResource> unseqFiles = resource.getUnseqFiles();
+    int fileNum = unseqFiles.size();
+    long[] heats = new long[fileNum];
+    boolean[] blocked = new boolean[fileNum];
+    List<List<Integer>> olderOverlappedFiles = new ArrayList<>(fileNum);
+    for (int i = 0; i < fileNum; i++) {
+      TsFileResource unseqFile = unseqFiles.get(i);
+      heats[i] = calculateHeat(unseqFile);
+      // a file depending on an unclosed file can not be merged in this round
+      blocked[i] = !unseqFile.isClosed();
+      List<Integer> overlapped = new ArrayList<>();
+      for (int j = 0; j < i; j++) {
+        if (isOverlapped(unseqFiles.get(j), unseqFile)) {
+          overlapped.add(j);
+          blocked[i] |= blocked[j];
+        }
+      }
+      olderOverlappedFiles.add(overlapped);
+    }
+
+    List<Integer> hotFiles = new ArrayList<>(fileNum);
+    for (int i = 0; i < fileNum; i++) {
+      if (!blocked[i]) {
+        hotFiles.add(i);
+      }
+    }
+    // the sort is stable, so files of the same heat keep their version order
+    hotFiles.sort((a, b) -> Long.compare(heats[b], heats[a]));
+
+    boolean[] added = new boolean[fileNum];
+    List<TsFileResource> candidates = new ArrayList<>(hotFiles.size());
+    for (int fileIdx : hotFiles) {
+      addWithOlderOverlappedFiles(fileIdx, olderOverlappedFiles, added, candidates);
+    }
+    return candidates;
+  }
+
+  private void addWithOlderOverlappedFiles(
+      int fileIdx,
+      List<List<Integer>> olderOverlappedFiles,
+      boolean[] added,
+      List<TsFileResource> candidates) {
+    if (added[fileIdx]) {
+      return;
+    }
+    for (int olderIdx : olderOverlappedFiles.get(fileIdx)) {
+      addWithOlderOverlappedFiles(olderIdx, olderOverlappedFiles, added, candidates);
+    }
+    added[fileIdx] = true;
+    candidates.add(resource.getUnseqFiles().get(fileIdx));
+  }
+
+  private long calculateHeat(TsFileResource unseqFile) {
+    long heat = 0;
+    for (String device : unseqFile.getDevices()) {
+      heat +=
+          heatRecorder.getHeat(
+              StorageEngine.getTimePartition(unseqFile.getStartTime(device)), device);
+    }
+    return heat;
+  }
+
+  private boolean isOverlapped(TsFileResource older, TsFileResource newer) {
+    for (String device : newer.getDevices()) {
+      if (!older.getDevices().contains(device)) {
+        continue;
+      }
+      // the end time of an unclosed file is not known yet
+      if (!older.isClosed()
+          || (older.getStartTime(device) <= newer.getEndTime(device)
+              && newer.getStartTime(device) <= older.getEndTime(device))) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
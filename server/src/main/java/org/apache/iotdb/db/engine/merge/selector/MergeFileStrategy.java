@@ -22,6 +22,8 @@ package org.apache.iotdb.db.engine.merge.selector;
 public enum MergeFileStrategy {
   MAX_SERIES_NUM,
   MAX_FILE_NUM,
+  // merge the unseq files that queries overlap most first
+  MAX_OVERLAP_HEAT,
   // TODO: HOW?
   TRADE_OFF,
 }
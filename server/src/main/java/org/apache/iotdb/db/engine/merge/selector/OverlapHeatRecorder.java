@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.merge.selector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OverlapHeatRecorder records, for each time partition and device, how many overlapped unseq pages
+ * the queries have merged in the PriorityMergeReader. The heat tells which unseq overlaps cost the
+ * queries most and is used by {@link MaxOverlapHeatMergeFileSelector} to merge them first.
+ */
+public class OverlapHeatRecorder {
+
+  private static final OverlapHeatRecorder INSTANCE = new OverlapHeatRecorder();
+
+  /** time partition -> device -> number of overlapped unseq pages merged by queries */
+  private final Map<Long, Map<String, AtomicLong>> partitionHeats = new ConcurrentHashMap<>();
+
+  private OverlapHeatRecorder() {}
+
+  public static OverlapHeatRecorder getInstance() {
+    return INSTANCE;
+  }
+
+  public void record(long timePartition, String device) {
+    partitionHeats
+        .computeIfAbsent(timePartition, k -> new ConcurrentHashMap<>())
+        .computeIfAbsent(device, k -> new AtomicLong())
+        .incrementAndGet();
+  }
+
+  public long getHeat(long timePartition, String device) {
+    Map<String, AtomicLong> deviceHeats = partitionHeats.get(timePartition);
+    if (deviceHeats == null) {
+      return 0;
+    }
+    AtomicLong heat = deviceHeats.get(device);
+    return heat == null ? 0 : heat.get();
+  }
+
+  /**
+   * halve the heat of a time partition after its unseq files are selected, so the overlaps that are
+   * merged stop dominating the next selections and the stale heat fades out.
+   */
+  public void decay(long timePartition) {
+    Map<String, AtomicLong> deviceHeats = partitionHeats.get(timePartition);
+    if (deviceHeats == null) {
+      return;
+    }
+    deviceHeats.entrySet().removeIf(entry -> entry.getValue().updateAndGet(h -> h / 2) == 0);
+  }
+
+  public void clear() {
+    partitionHeats.clear();
+  }
+}
@@ -32,13 +32,24 @@ import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.metadata.PartialPath;
 import org.apache.iotdb.db.utils.MergeUtils;
 import org.apache.iotdb.db.utils.MergeUtils.MetaListEntry;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.compress.IUnCompressor;
+import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
+import org.apache.iotdb.tsfile.file.MetaMarker;
+import org.apache.iotdb.tsfile.file.header.ChunkHeader;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.reader.IPointReader;
 import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
+import org.apache.iotdb.tsfile.read.reader.page.PageReader;
+import org.apache.iotdb.tsfile.write.chunk.ChunkWriterImpl;
 import org.apache.iotdb.tsfile.write.chunk.IChunkWriter;
 import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
 import org.apache.iotdb.tsfile.write.writer.RestorableTsFileIOWriter;
@@ -49,6 +60,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -71,6 +83,9 @@ public class MergeMultiChunkTask {
   private static final Logger logger = LoggerFactory.getLogger(MergeMultiChunkTask.class);
   private static int minChunkPointNum =
       IoTDBDescriptor.getInstance().getConfig().getMergeChunkPointNumberThreshold();
+  /** pages of overflowed chunks with fewer points are decoded and merged even if not overlapped */
+  private static int minPagePointNum =
+      IoTDBDescriptor.getInstance().getConfig().getMergePagePointNumberThreshold();
 
   private MergeLogger mergeLogger;
   private List<PartialPath> unmergedSeries;
@@ -84,6 +99,9 @@ public class MergeMultiChunkTask {
 
   private AtomicInteger mergedChunkNum = new AtomicInteger();
   private AtomicInteger unmergedChunkNum = new AtomicInteger();
+  // pages of overflowed chunks that are copied without decoding / that are decoded and merged
+  private AtomicInteger copiedPageNum = new AtomicInteger();
+  private AtomicInteger decodedPageNum = new AtomicInteger();
   private int mergedSeriesCnt;
   private double progress;
 
@@ -155,7 +173,12 @@ public class MergeMultiChunkTask {
     }
     if (logger.isInfoEnabled()) {
       logger.info(
-          "{} all series are merged after {}ms", taskName, System.currentTimeMillis() - startTime);
+          "{} all series are merged after {}ms, {} pages of overflowed chunks are copied and {} "
+              + "are decoded",
+          taskName,
+          System.currentTimeMillis() - startTime,
+          copiedPageNum.get(),
+          decodedPageNum.get());
     }
     mergeLogger.logAllTsEnd();
   }
@@ -464,6 +487,7 @@ public class MergeMultiChunkTask {
       TsFileIOWriter mergeFileWriter,
       IPointReader unseqReader,
       IChunkWriter chunkWriter,
+      IMeasurementSchema measurementSchema,
       TsFileResource currFile)
       throws IOException {
     int unclosedChunkPoint = lastUnclosedChunkPoint;
@@ -505,9 +529,10 @@ public class MergeMultiChunkTask {
       unclosedChunkPoint += MergeUtils.writeChunkWithoutUnseq(chunk, chunkWriter);
       mergedChunkNum.incrementAndGet();
     } else {
-      // 3.2 SK is overflowed, uncompress sequence chunk and merge with unseq chunk, then write
+      // 3.2 SK is overflowed, merge the pages overlapped by unseq data and copy the others
       unclosedChunkPoint +=
-          writeChunkWithUnseq(chunk, chunkWriter, unseqReader, currMeta.getEndTime(), pathIdx);
+          writeChunkWithUnseq(
+              chunk, chunkWriter, unseqReader, currMeta.getEndTime(), pathIdx, measurementSchema);
       mergedChunkNum.incrementAndGet();
     }
 
@@ -544,18 +569,108 @@ public class MergeMultiChunkTask {
       IChunkWriter chunkWriter,
       IPointReader unseqReader,
       long chunkLimitTime,
-      int pathIdx)
+      int pathIdx,
+      IMeasurementSchema measurementSchema)
       throws IOException {
+    if (!canCopyPages(chunk, chunkWriter, measurementSchema)) {
+      int cnt = 0;
+      ChunkReader chunkReader = new ChunkReader(chunk, null);
+      while (chunkReader.hasNextSatisfiedPage()) {
+        BatchData batchData = chunkReader.nextPageData();
+        cnt += mergeWriteBatch(batchData, chunkWriter, unseqReader, pathIdx);
+      }
+      cnt += writeRemainingUnseq(chunkWriter, unseqReader, chunkLimitTime, pathIdx);
+      return cnt;
+    }
+
     int cnt = 0;
-    ChunkReader chunkReader = new ChunkReader(chunk, null);
-    while (chunkReader.hasNextSatisfiedPage()) {
-      BatchData batchData = chunkReader.nextPageData();
-      cnt += mergeWriteBatch(batchData, chunkWriter, unseqReader, pathIdx);
+    ChunkHeader chunkHeader = chunk.getHeader();
+    ByteBuffer chunkData = chunk.getData().duplicate();
+    boolean onlyOnePage =
+        ((byte) (chunkHeader.getChunkType() & 0x3F)) == MetaMarker.ONLY_ONE_PAGE_CHUNK_HEADER;
+    while (chunkData.remaining() > 0) {
+      PageHeader pageHeader =
+          onlyOnePage
+              ? PageHeader.deserializeFrom(chunkData, chunk.getChunkStatistic())
+              : PageHeader.deserializeFrom(chunkData, chunkHeader.getDataType());
+      ByteBuffer compressedPageData = chunkData.slice();
+      compressedPageData.limit(pageHeader.getCompressedSize());
+      chunkData.position(chunkData.position() + pageHeader.getCompressedSize());
+
+      // the unseq points before this page
+      cnt += writeRemainingUnseq(chunkWriter, unseqReader, pageHeader.getStartTime(), pathIdx);
+      if (isPageOverlapped(pageHeader, chunk.getDeleteIntervalList(), pathIdx)) {
+        BatchData batchData = readPageData(chunkHeader, pageHeader, compressedPageData, chunk);
+        cnt += mergeWriteBatch(batchData, chunkWriter, unseqReader, pathIdx);
+        decodedPageNum.incrementAndGet();
+      } else {
+        // neither unseq data nor deletion falls in the page, keep the compressed bytes
+        ((ChunkWriterImpl) chunkWriter).writeRawPage(compressedPageData, pageHeader);
+        cnt += (int) pageHeader.getStatistics().getCount();
+        copiedPageNum.incrementAndGet();
+      }
     }
     cnt += writeRemainingUnseq(chunkWriter, unseqReader, chunkLimitTime, pathIdx);
     return cnt;
   }
 
+  /**
+   * pages can be copied into the new chunk only when they are encoded and compressed the same way
+   * as the new chunk
+   */
+  private boolean canCopyPages(
+      Chunk chunk, IChunkWriter chunkWriter, IMeasurementSchema measurementSchema) {
+    ChunkHeader chunkHeader = chunk.getHeader();
+    return chunkWriter instanceof ChunkWriterImpl
+        && !chunk.isFromOldFile()
+        && chunkHeader.getDataType() == measurementSchema.getType()
+        && chunkHeader.getEncodingType() == measurementSchema.getEncodingType()
+        && chunkHeader.getCompressionType() == measurementSchema.getCompressor();
+  }
+
+  /**
+   * @return true if the page has to be decoded, i.e., the next unseq point or a deletion falls in
+   *     its time range, or the page is too small to be kept alone
+   */
+  private boolean isPageOverlapped(
+      PageHeader pageHeader, List<TimeRange> deleteIntervalList, int pathIdx) {
+    if (currTimeValuePairs[pathIdx] != null
+        && currTimeValuePairs[pathIdx].getTimestamp() <= pageHeader.getEndTime()) {
+      return true;
+    }
+    if (deleteIntervalList != null) {
+      TimeRange pageTimeRange = new TimeRange(pageHeader.getStartTime(), pageHeader.getEndTime());
+      for (TimeRange deleteInterval : deleteIntervalList) {
+        if (deleteInterval.overlaps(pageTimeRange)) {
+          return true;
+        }
+      }
+    }
+    return pageHeader.getStatistics().getCount() < minPagePointNum;
+  }
+
+  private BatchData readPageData(
+      ChunkHeader chunkHeader, PageHeader pageHeader, ByteBuffer compressedPageData, Chunk chunk)
+      throws IOException {
+    byte[] compressedPageBody = new byte[pageHeader.getCompressedSize()];
+    compressedPageData.duplicate().get(compressedPageBody);
+    byte[] uncompressedPageBody = new byte[pageHeader.getUncompressedSize()];
+    IUnCompressor.getUnCompressor(chunkHeader.getCompressionType())
+        .uncompress(compressedPageBody, 0, compressedPageBody.length, uncompressedPageBody, 0);
+    PageReader pageReader =
+        new PageReader(
+            pageHeader,
+            ByteBuffer.wrap(uncompressedPageBody),
+            chunkHeader.getDataType(),
+            Decoder.getDecoderByType(chunkHeader.getEncodingType(), chunkHeader.getDataType()),
+            Decoder.getDecoderByType(
+                TSEncoding.valueOf(TSFileDescriptor.getInstance().getConfig().getTimeEncoder()),
+                TSDataType.INT64),
+            null);
+    pageReader.setDeleteIntervalList(chunk.getDeleteIntervalList());
+    return pageReader.getAllSatisfiedPageData();
+  }
+
   private int mergeWriteBatch(
       BatchData batchData, IChunkWriter chunkWriter, IPointReader unseqReader, int pathIdx)
       throws IOException {
@@ -664,6 +779,7 @@ public class MergeMultiChunkTask {
                   mergeFileWriter,
                   unseqReaders[pathIdx],
                   chunkWriter,
+                  measurementSchema,
                   currFile);
 
           if (!isLastChunk) {
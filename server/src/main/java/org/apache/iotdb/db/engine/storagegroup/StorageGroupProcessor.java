@@ -98,6 +98,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -174,8 +175,13 @@ public class StorageGroupProcessor {
   private final TreeMap<Long, TsFileProcessor> workSequenceTsFileProcessors = new TreeMap<>();
   /** time partition id in the storage group -> tsFileProcessor for this time partition */
   private final TreeMap<Long, TsFileProcessor> workUnsequenceTsFileProcessors = new TreeMap<>();
-  /** compactionMergeWorking is used to wait for last compaction to be done. */
-  private volatile boolean compactionMergeWorking = false;
+  /**
+   * time partitions whose compaction task is not finished yet, at most
+   * max_compaction_partition_num_in_each_storage_group partitions are compacted at the same time.
+   */
+  private final Set<Long> compactingPartitions = new HashSet<>();
+  /** compactionRecovering is used to hold all compaction tasks until the recover task is done. */
+  private volatile boolean compactionRecovering = false;
   // upgrading sequence TsFile resource list
   private List<TsFileResource> upgradeSeqFileList = new LinkedList<>();
 
@@ -221,6 +227,8 @@ public class StorageGroupProcessor {
   private File storageGroupSysDir;
   // manage seqFileList and unSeqFileList
   private TsFileManagement tsFileManagement;
+  /** file level summaries of the sealed TsFiles, null if lazy resource loading is disabled */
+  private TsFileResourceManifest resourceManifest;
   /**
    * time partition id -> version controller which assigns a version for each MemTable and
    * deletion/update such that after they are persisted, the order of insertions, deletions and
@@ -382,6 +390,9 @@ public class StorageGroupProcessor {
             .getConfig()
             .getCompactionStrategy()
             .getTsFileManagement(logicalStorageGroupName, storageGroupSysDir.getAbsolutePath());
+    if (config.isEnableLazyResourceLoading()) {
+      this.resourceManifest = new TsFileResourceManifest(storageGroupSysDir);
+    }
 
     ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
     executorService.scheduleWithFixedDelay(
@@ -415,6 +426,10 @@ public class StorageGroupProcessor {
 
   private void recover() throws StorageGroupProcessorException {
     logger.info("recover Storage Group  {}", logicalStorageGroupName + "-" + virtualStorageGroupId);
+    long startTime = System.currentTimeMillis();
+    long scanCost;
+    long recoverFileCost;
+    long recoverMergeCost;
 
     try {
       // collect candidate TsFiles from sequential and unsequential data directory
@@ -439,12 +454,24 @@ public class StorageGroupProcessor {
           splitResourcesByPartition(tmpSeqTsFiles);
       Map<Long, List<TsFileResource>> partitionTmpUnseqTsFiles =
           splitResourcesByPartition(tmpUnseqTsFiles);
+      Map<String, TsFileResourceManifest.Entry> manifestEntries =
+          resourceManifest == null ? Collections.emptyMap() : resourceManifest.load();
+      scanCost = System.currentTimeMillis() - startTime;
+
+      int lazyFileNum = 0;
       for (List<TsFileResource> value : partitionTmpSeqTsFiles.values()) {
-        recoverTsFiles(value, true);
+        lazyFileNum += recoverTsFiles(value, true, manifestEntries);
       }
       for (List<TsFileResource> value : partitionTmpUnseqTsFiles.values()) {
-        recoverTsFiles(value, false);
+        lazyFileNum += recoverTsFiles(value, false, manifestEntries);
       }
+      recoverFileCost = System.currentTimeMillis() - startTime - scanCost;
+      logger.info(
+          "{} - {} recovered {} TsFiles, {} of them are loaded lazily from the resource manifest",
+          logicalStorageGroupName,
+          virtualStorageGroupId,
+          tmpSeqTsFiles.size() + tmpUnseqTsFiles.size(),
+          lazyFileNum);
 
       String taskName =
           logicalStorageGroupName + "-" + virtualStorageGroupId + "-" + System.currentTimeMillis();
@@ -490,26 +517,50 @@ public class StorageGroupProcessor {
         updatePartitionFileVersion(partitionNum, resource.getVersion());
       }
       updateLatestFlushedTime();
+      recoverMergeCost = System.currentTimeMillis() - startTime - scanCost - recoverFileCost;
     } catch (IOException | MetadataException e) {
       throw new StorageGroupProcessorException(e);
     }
 
     List<TsFileResource> seqTsFileResources = tsFileManagement.getTsFileList(true);
-    for (TsFileResource resource : seqTsFileResources) {
+    // traverse from the newest file so that only the last file containing a device is read, which
+    // avoids loading the time index of every file when the resources are loaded lazily
+    Map<Long, Set<String>> partitionVisitedDevices = new HashMap<>();
+    Set<String> globalVisitedDevices = new HashSet<>();
+    for (int i = seqTsFileResources.size() - 1; i >= 0; i--) {
+      TsFileResource resource = seqTsFileResources.get(i);
       long timePartitionId = resource.getTimePartition();
-      Map<String, Long> endTimeMap = new HashMap<>();
+      Set<String> visitedDevices =
+          partitionVisitedDevices.computeIfAbsent(timePartitionId, l -> new HashSet<>());
+      Map<String, Long> latestTimeMap =
+          latestTimeForEachDevice.computeIfAbsent(timePartitionId, l -> new HashMap<>());
+      Map<String, Long> partitionFlushedTimeMap =
+          partitionLatestFlushedTimeForEachDevice.computeIfAbsent(
+              timePartitionId, id -> new HashMap<>());
       for (String deviceId : resource.getDevices()) {
+        if (!visitedDevices.add(deviceId)) {
+          continue;
+        }
         long endTime = resource.getEndTime(deviceId);
-        endTimeMap.put(deviceId, endTime);
+        latestTimeMap.put(deviceId, endTime);
+        partitionFlushedTimeMap.put(deviceId, endTime);
+        if (globalVisitedDevices.add(deviceId)) {
+          globalLatestFlushedTimeForEachDevice.put(deviceId, endTime);
+        }
       }
-      latestTimeForEachDevice
-          .computeIfAbsent(timePartitionId, l -> new HashMap<>())
-          .putAll(endTimeMap);
-      partitionLatestFlushedTimeForEachDevice
-          .computeIfAbsent(timePartitionId, id -> new HashMap<>())
-          .putAll(endTimeMap);
-      globalLatestFlushedTimeForEachDevice.putAll(endTimeMap);
     }
+    rewriteResourceManifest();
+    logger.info(
+        "{} - {} recovered in {} ms: scanning files and manifest {} ms, recovering TsFiles and "
+            + "redoing WAL {} ms, recovering merge and compaction {} ms, rebuilding latest flushed "
+            + "time {} ms",
+        logicalStorageGroupName,
+        virtualStorageGroupId,
+        System.currentTimeMillis() - startTime,
+        scanCost,
+        recoverFileCost,
+        recoverMergeCost,
+        System.currentTimeMillis() - startTime - scanCost - recoverFileCost - recoverMergeCost);
 
     if (IoTDBDescriptor.getInstance().getConfig().isEnableContinuousCompaction()
         && seqTsFileResources.size() > 0) {
@@ -522,7 +573,7 @@ public class StorageGroupProcessor {
 
   private void recoverCompaction() {
     if (!CompactionMergeTaskPoolManager.getInstance().isTerminated()) {
-      compactionMergeWorking = true;
+      compactionRecovering = true;
       logger.info(
           "{} - {} submit a compaction recover merge task",
           logicalStorageGroupName,
@@ -531,9 +582,11 @@ public class StorageGroupProcessor {
         CompactionMergeTaskPoolManager.getInstance()
             .submitTask(
                 logicalStorageGroupName,
-                tsFileManagement.new CompactionRecoverTask(this::closeCompactionMergeCallBack));
+                tsFileManagement
+                .new CompactionRecoverTask(
+                    (isMerge, timePartitionId) -> compactionRecovering = false));
       } catch (RejectedExecutionException e) {
-        this.closeCompactionMergeCallBack(false, 0);
+        compactionRecovering = false;
         logger.error(
             "{} - {} compaction submit task failed",
             logicalStorageGroupName,
@@ -680,11 +733,60 @@ public class StorageGroupProcessor {
     }
   }
 
-  private void recoverTsFiles(List<TsFileResource> tsFiles, boolean isSeq) {
+  /**
+   * persist the summaries of the current sealed TsFiles, so that stale entries are dropped and the
+   * TsFiles recovered without the manifest can be loaded lazily on the next restart
+   */
+  private void rewriteResourceManifest() {
+    if (resourceManifest == null) {
+      return;
+    }
+    List<TsFileResource> sealedSeqResources = new ArrayList<>();
+    List<TsFileResource> sealedUnseqResources = new ArrayList<>();
+    for (TsFileResource resource : tsFileManagement.getTsFileList(true)) {
+      if (resource.isClosed()) {
+        sealedSeqResources.add(resource);
+      }
+    }
+    for (TsFileResource resource : tsFileManagement.getTsFileList(false)) {
+      if (resource.isClosed()) {
+        sealedUnseqResources.add(resource);
+      }
+    }
+    try {
+      resourceManifest.rewrite(sealedSeqResources, sealedUnseqResources);
+    } catch (IOException e) {
+      logger.error(
+          "{} - {} cannot rewrite the resource manifest",
+          logicalStorageGroupName,
+          virtualStorageGroupId,
+          e);
+    }
+  }
+
+  /** @return the number of TsFiles whose resources are loaded lazily from the manifest */
+  private int recoverTsFiles(
+      List<TsFileResource> tsFiles,
+      boolean isSeq,
+      Map<String, TsFileResourceManifest.Entry> manifestEntries) {
+    int lazyFileNum = 0;
     for (int i = 0; i < tsFiles.size(); i++) {
       TsFileResource tsFileResource = tsFiles.get(i);
       long timePartitionId = tsFileResource.getTimePartition();
 
+      // a sealed TsFile recorded in the manifest needs neither recovering nor reading its resource
+      TsFileResourceManifest.Entry manifestEntry =
+          manifestEntries.get(tsFileResource.getTsFile().getAbsolutePath());
+      if (manifestEntry != null
+          && manifestEntry.isSequence() == isSeq
+          && manifestEntry.matches(tsFileResource)) {
+        manifestEntry.applyTo(tsFileResource);
+        tsFileResource.setClosed(true);
+        tsFileManagement.add(tsFileResource, isSeq);
+        lazyFileNum++;
+        continue;
+      }
+
       TsFileRecoverPerformer recoverPerformer =
           new TsFileRecoverPerformer(
               logicalStorageGroupName
@@ -776,6 +878,7 @@ public class StorageGroupProcessor {
       }
       tsFileManagement.add(tsFileResource, isSeq);
     }
+    return lazyFileNum;
   }
 
   // ({systemTime}-{versionNum}-{mergeNum}.tsfile)
@@ -1542,6 +1645,38 @@ public class StorageGroupProcessor {
     }
   }
 
+  /**
+   * @return the minimum plan index of the data of a time partition that are not flushed yet, or
+   *     Long.MAX_VALUE if all data of the partition are flushed
+   */
+  public long getMinUnflushedPlanIndex(long timePartitionId) {
+    long minPlanIndex = Long.MAX_VALUE;
+    readLock();
+    try {
+      TsFileProcessor seqProcessor = workSequenceTsFileProcessors.get(timePartitionId);
+      if (seqProcessor != null) {
+        minPlanIndex = seqProcessor.getMinUnflushedPlanIndex();
+      }
+      TsFileProcessor unseqProcessor = workUnsequenceTsFileProcessors.get(timePartitionId);
+      if (unseqProcessor != null) {
+        minPlanIndex = Math.min(minPlanIndex, unseqProcessor.getMinUnflushedPlanIndex());
+      }
+      for (TsFileProcessor closingProcessor : closingSequenceTsFileProcessor.cloneList()) {
+        if (closingProcessor.getTimeRangeId() == timePartitionId) {
+          minPlanIndex = Math.min(minPlanIndex, closingProcessor.getMinUnflushedPlanIndex());
+        }
+      }
+      for (TsFileProcessor closingProcessor : closingUnSequenceTsFileProcessor.cloneList()) {
+        if (closingProcessor.getTimeRangeId() == timePartitionId) {
+          minPlanIndex = Math.min(minPlanIndex, closingProcessor.getMinUnflushedPlanIndex());
+        }
+      }
+    } finally {
+      readUnlock();
+    }
+    return minPlanIndex;
+  }
+
   public void forceCloseAllWorkingTsFileProcessors() throws TsFileProcessorException {
     writeLock();
     try {
@@ -1956,6 +2091,20 @@ public class StorageGroupProcessor {
     } finally {
       closeQueryLock.writeLock().unlock();
     }
+    CompactionMergeTaskPoolManager.getInstance().recordFlush(tsFileProcessor.getTsFileResource());
+    if (resourceManifest != null) {
+      try {
+        resourceManifest.append(tsFileProcessor.getTsFileResource(), tsFileProcessor.isSequence());
+      } catch (IOException e) {
+        // the TsFile will be recovered from its .resource file on the next restart
+        logger.warn(
+            "{} - {} cannot append {} to the resource manifest",
+            logicalStorageGroupName,
+            virtualStorageGroupId,
+            tsFileProcessor.getTsFileResource().getTsFile(),
+            e);
+      }
+    }
     // closingSequenceTsFileProcessor is a thread safety class.
     if (closingSequenceTsFileProcessor.contains(tsFileProcessor)) {
       closingSequenceTsFileProcessor.remove(tsFileProcessor);
@@ -1969,14 +2118,76 @@ public class StorageGroupProcessor {
         "signal closing storage group condition in {}",
         logicalStorageGroupName + "-" + virtualStorageGroupId);
 
-    executeCompaction(
+    scheduleCompaction(
         tsFileProcessor.getTimeRangeId(),
         IoTDBDescriptor.getInstance().getConfig().isForceFullMerge());
   }
 
+  /**
+   * submit compaction tasks after the given time partition changes. If more than one partition can
+   * be compacted at the same time, the partitions with the highest read amplification are picked
+   * instead, which may or may not include the given one.
+   */
+  private void scheduleCompaction(long timePartition, boolean fullMerge) {
+    int maxCompactionPartitionNum = getMaxCompactionPartitionNum();
+    if (maxCompactionPartitionNum <= 1) {
+      executeCompaction(timePartition, fullMerge);
+      return;
+    }
+    for (long partition : selectCompactionPartitions()) {
+      synchronized (compactingPartitions) {
+        if (compactingPartitions.size() >= maxCompactionPartitionNum) {
+          return;
+        }
+      }
+      executeCompaction(partition, fullMerge);
+    }
+  }
+
+  private int getMaxCompactionPartitionNum() {
+    if (!tsFileManagement.isPartitionParallelCompactionSupported()) {
+      return 1;
+    }
+    return Math.max(
+        IoTDBDescriptor.getInstance().getConfig().getMaxCompactionPartitionNumInEachStorageGroup(),
+        1);
+  }
+
+  /**
+   * @return the time partitions that have more than one sealed TsFile and are not being compacted,
+   *     ordered by the number of sealed TsFiles (i.e., the files a query of the partition has to
+   *     read) from high to low
+   */
+  private List<Long> selectCompactionPartitions() {
+    Map<Long, Integer> partitionFileNums = new HashMap<>();
+    for (boolean sequence : new boolean[] {true, false}) {
+      for (TsFileResource resource : tsFileManagement.getTsFileList(sequence)) {
+        if (resource.isClosed()) {
+          partitionFileNums.merge(resource.getTimePartition(), 1, Integer::sum);
+        }
+      }
+    }
+    synchronized (compactingPartitions) {
+      partitionFileNums.keySet().removeAll(compactingPartitions);
+    }
+    List<Long> partitions = new ArrayList<>();
+    partitionFileNums.entrySet().stream()
+        .filter(entry -> entry.getValue() > 1)
+        .sorted(Entry.<Long, Integer>comparingByValue().reversed())
+        .forEach(entry -> partitions.add(entry.getKey()));
+    return partitions;
+  }
+
   private void executeCompaction(long timePartition, boolean fullMerge) {
-    if (!compactionMergeWorking && !CompactionMergeTaskPoolManager.getInstance().isTerminated()) {
-      compactionMergeWorking = true;
+    boolean canSubmit = false;
+    if (!compactionRecovering && !CompactionMergeTaskPoolManager.getInstance().isTerminated()) {
+      synchronized (compactingPartitions) {
+        canSubmit =
+            compactingPartitions.size() < getMaxCompactionPartitionNum()
+                && compactingPartitions.add(timePartition);
+      }
+    }
+    if (canSubmit) {
       logger.info(
           "{} submit a compaction merge task",
           logicalStorageGroupName + "-" + virtualStorageGroupId);
@@ -2005,11 +2216,12 @@ public class StorageGroupProcessor {
 
   /** close compaction merge callback, to release some locks */
   private void closeCompactionMergeCallBack(boolean isMerge, long timePartitionId) {
+    synchronized (compactingPartitions) {
+      compactingPartitions.remove(timePartitionId);
+    }
     if (isMerge && IoTDBDescriptor.getInstance().getConfig().isEnableContinuousCompaction()) {
-      executeCompaction(
+      scheduleCompaction(
           timePartitionId, IoTDBDescriptor.getInstance().getConfig().isForceFullMerge());
-    } else {
-      this.compactionMergeWorking = false;
     }
   }
 
@@ -192,7 +192,7 @@ public class TsFileProcessor {
 
     workMemTable.insert(insertRowPlan);
 
-    if (IoTDBDescriptor.getInstance().getConfig().isEnableWal()) {
+    if (IoTDBDescriptor.getInstance().getConfig().isEnableWal() && !insertRowPlan.isSkipWal()) {
       try {
         getLogNode().write(insertRowPlan);
       } catch (Exception e) {
@@ -250,7 +250,8 @@ public class TsFileProcessor {
     }
     try {
       workMemTable.insertTablet(insertTabletPlan, start, end);
-      if (IoTDBDescriptor.getInstance().getConfig().isEnableWal()) {
+      if (IoTDBDescriptor.getInstance().getConfig().isEnableWal()
+          && !insertTabletPlan.isSkipWal()) {
         insertTabletPlan.setStart(start);
         insertTabletPlan.setEnd(end);
         getLogNode().write(insertTabletPlan);
@@ -1055,6 +1056,24 @@ public class TsFileProcessor {
     this.managedByFlushManager = managedByFlushManager;
   }
 
+  /**
+   * @return the minimum plan index of the data that are still in memory (in the working memtable or
+   *     in the flushing memtables), or Long.MAX_VALUE if all data are flushed
+   */
+  public long getMinUnflushedPlanIndex() {
+    long minPlanIndex = Long.MAX_VALUE;
+    // the working memtable is read before the flushing ones, because a memtable is added into the
+    // flushing queue before the working memtable is reset
+    IMemTable memTable = workMemTable;
+    if (memTable != null) {
+      minPlanIndex = memTable.getMinPlanIndex();
+    }
+    for (IMemTable flushingMemTable : flushingMemTables) {
+      minPlanIndex = Math.min(minPlanIndex, flushingMemTable.getMinPlanIndex());
+    }
+    return minPlanIndex;
+  }
+
   public WriteLogNode getLogNode() {
     if (logNode == null) {
       logNode =
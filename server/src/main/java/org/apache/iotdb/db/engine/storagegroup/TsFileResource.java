@@ -24,6 +24,7 @@ import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.querycontext.ReadOnlyMemChunk;
 import org.apache.iotdb.db.engine.storagegroup.StorageGroupProcessor.UpgradeTsFileResourceCallBack;
 import org.apache.iotdb.db.engine.storagegroup.timeindex.DeviceTimeIndex;
+import org.apache.iotdb.db.engine.storagegroup.timeindex.FileTimeIndex;
 import org.apache.iotdb.db.engine.storagegroup.timeindex.ITimeIndex;
 import org.apache.iotdb.db.engine.storagegroup.timeindex.TimeIndexLevel;
 import org.apache.iotdb.db.engine.upgrade.UpgradeTask;
@@ -95,11 +96,17 @@ public class TsFileResource {
 
   private TsFileProcessor processor;
 
-  protected ITimeIndex timeIndex;
+  protected volatile ITimeIndex timeIndex;
 
   /** time index type, fileTimeIndex = 0, deviceTimeIndex = 1 */
   private byte timeIndexType;
 
+  /**
+   * true if the time index is a file level placeholder restored from the resource manifest, and the
+   * real one should be read from the .resource file when first needed
+   */
+  private volatile boolean lazyTimeIndex = false;
+
   private ModificationFile modFile;
 
   private volatile boolean closed = false;
@@ -157,6 +164,7 @@ public class TsFileResource {
   public TsFileResource() {}
 
   public TsFileResource(TsFileResource other) throws IOException {
+    other.loadLazyTimeIndex();
     this.file = other.file;
     this.processor = other.processor;
     this.timeIndex = other.timeIndex;
@@ -320,6 +328,7 @@ public class TsFileResource {
   }
 
   public synchronized void serialize() throws IOException {
+    loadLazyTimeIndex();
     try (OutputStream outputStream =
         fsFactory.getBufferedOutputStream(file + RESOURCE_SUFFIX + TEMP_SUFFIX)) {
       ReadWriteIOUtils.write(VERSION_NUMBER, outputStream);
@@ -395,26 +404,77 @@ public class TsFileResource {
     }
   }
 
+  /**
+   * Use a file level time index restored from the resource manifest instead of deserializing the
+   * .resource file. The device level time index will be loaded when it is first needed. The mods
+   * file recorded in a .resource file is always the one next to the TsFile, so it is picked up here
+   * too.
+   */
+  public synchronized void setLazyTimeIndex(
+      FileTimeIndex fileTimeIndex, long minPlanIndex, long maxPlanIndex) {
+    this.timeIndex = fileTimeIndex;
+    this.timeIndexType = (byte) TimeIndexLevel.FILE_TIME_INDEX.ordinal();
+    this.minPlanIndex = minPlanIndex;
+    this.maxPlanIndex = maxPlanIndex;
+    File modF = fsFactory.getFile(file.getPath() + ModificationFile.FILE_SUFFIX);
+    if (modFile == null && modF.exists()) {
+      modFile = new ModificationFile(modF.getPath());
+    }
+    this.lazyTimeIndex = true;
+  }
+
+  public boolean isLazyTimeIndex() {
+    return lazyTimeIndex;
+  }
+
+  /** replace the file level placeholder with the time index in the .resource file */
+  private void loadLazyTimeIndex() {
+    if (!lazyTimeIndex) {
+      return;
+    }
+    synchronized (this) {
+      if (!lazyTimeIndex) {
+        return;
+      }
+      // keep the mods file that may have been opened or created in the meantime
+      ModificationFile currentModFile = modFile;
+      try {
+        deserialize();
+      } catch (IOException e) {
+        // the file level time index is still a valid (though coarser) bound of each device
+        logger.error("Cannot load the time index of {}, keep the file level one", file, e);
+      }
+      if (currentModFile != null) {
+        modFile = currentModFile;
+      }
+      lazyTimeIndex = false;
+    }
+  }
+
   /** read version number, used for checking compatibility of TsFileResource in the future */
   private byte readVersionNumber(InputStream inputStream) throws IOException {
     return ReadWriteIOUtils.readBytes(inputStream, 1)[0];
   }
 
   public void updateStartTime(String device, long time) {
+    loadLazyTimeIndex();
     timeIndex.updateStartTime(device, time);
   }
 
   // used in merge, refresh all start time
   public void putStartTime(String device, long time) {
+    loadLazyTimeIndex();
     timeIndex.putStartTime(device, time);
   }
 
   public void updateEndTime(String device, long time) {
+    loadLazyTimeIndex();
     timeIndex.updateEndTime(device, time);
   }
 
   // used in merge, refresh all end time
   public void putEndTime(String device, long time) {
+    loadLazyTimeIndex();
     timeIndex.putEndTime(device, time);
   }
 
@@ -454,11 +514,13 @@ public class TsFileResource {
   }
 
   public long getStartTime(String deviceId) {
+    loadLazyTimeIndex();
     return timeIndex.getStartTime(deviceId);
   }
 
   /** open file's end time is Long.MIN_VALUE */
   public long getEndTime(String deviceId) {
+    loadLazyTimeIndex();
     return timeIndex.getEndTime(deviceId);
   }
 
@@ -608,7 +670,7 @@ public class TsFileResource {
     this.deleted = deleted;
   }
 
-  boolean isMerging() {
+  public boolean isMerging() {
     return isMerging;
   }
 
@@ -835,6 +897,12 @@ public class TsFileResource {
 
   public void setTimeIndex(ITimeIndex timeIndex) {
     this.timeIndex = timeIndex;
+    this.lazyTimeIndex = false;
+  }
+
+  /** @return the current time index, without loading a lazy one */
+  ITimeIndex getTimeIndex() {
+    return timeIndex;
   }
 
   // change tsFile name
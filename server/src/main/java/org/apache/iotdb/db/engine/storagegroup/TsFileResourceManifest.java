@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.storagegroup;
+
+import org.apache.iotdb.db.engine.storagegroup.timeindex.FileTimeIndex;
+import org.apache.iotdb.db.engine.storagegroup.timeindex.ITimeIndex;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TsFileResourceManifest keeps a compact, file level summary (devices, min start time, max end
+ * time, plan indexes and file size) of each sealed TsFile of a virtual storage group in one file
+ * under the storage group system dir. On restart, the summaries are used as the time indexes of the
+ * TsFileResources so that the .resource files need not be deserialized one by one; the device level
+ * time index is loaded on demand.
+ *
+ * <p>Entries are appended when a TsFile is sealed, and the whole manifest is rewritten after each
+ * recovery. A later entry of the same TsFile overrides the earlier ones, and a torn entry at the
+ * tail is ignored.
+ */
+public class TsFileResourceManifest {
+
+  private static final Logger logger = LoggerFactory.getLogger(TsFileResourceManifest.class);
+
+  public static final String MANIFEST_FILE_NAME = "resource.manifest";
+  private static final String TEMP_SUFFIX = ".temp";
+
+  private final File manifestFile;
+
+  public TsFileResourceManifest(File storageGroupSysDir) {
+    this.manifestFile = new File(storageGroupSysDir, MANIFEST_FILE_NAME);
+  }
+
+  /**
+   * read all valid entries of the manifest
+   *
+   * @return tsfile absolute path -> entry, empty if the manifest does not exist
+   */
+  public Map<String, Entry> load() {
+    Map<String, Entry> entries = new HashMap<>();
+    if (!manifestFile.exists()) {
+      return entries;
+    }
+    try (DataInputStream inputStream =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(manifestFile)))) {
+      while (true) {
+        int size;
+        try {
+          size = inputStream.readInt();
+        } catch (EOFException e) {
+          break;
+        }
+        if (size <= 0) {
+          logger.warn("Illegal entry size {} in {}, skip the rest", size, manifestFile);
+          break;
+        }
+        byte[] bytes = new byte[size];
+        try {
+          inputStream.readFully(bytes);
+        } catch (EOFException e) {
+          logger.warn("The last entry of {} is incomplete, skip it", manifestFile);
+          break;
+        }
+        Entry entry = Entry.deserialize(new ByteArrayInputStream(bytes));
+        entries.put(entry.tsFilePath, entry);
+      }
+    } catch (IOException e) {
+      logger.error("Cannot read resource manifest {}, ignore it", manifestFile, e);
+      entries.clear();
+    }
+    return entries;
+  }
+
+  /** append the summary of a sealed TsFile */
+  public synchronized void append(TsFileResource resource, boolean sequence) throws IOException {
+    try (OutputStream outputStream =
+        new BufferedOutputStream(new FileOutputStream(manifestFile, true))) {
+      write(Entry.of(resource, sequence), outputStream);
+    }
+  }
+
+  /** replace the manifest with the summaries of the given TsFiles */
+  public synchronized void rewrite(
+      Collection<TsFileResource> sequenceResources, Collection<TsFileResource> unSequenceResources)
+      throws IOException {
+    File tempFile = new File(manifestFile.getPath() + TEMP_SUFFIX);
+    try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+      for (TsFileResource resource : sequenceResources) {
+        write(Entry.of(resource, true), outputStream);
+      }
+      for (TsFileResource resource : unSequenceResources) {
+        write(Entry.of(resource, false), outputStream);
+      }
+    }
+    Files.move(tempFile.toPath(), manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  public File getManifestFile() {
+    return manifestFile;
+  }
+
+  private static void write(Entry entry, OutputStream outputStream) throws IOException {
+    PublicBAOS buffer = new PublicBAOS();
+    entry.serialize(buffer);
+    ReadWriteIOUtils.write(buffer.size(), outputStream);
+    outputStream.write(buffer.getBuf(), 0, buffer.size());
+  }
+
+  /** the summary of one sealed TsFile */
+  public static class Entry {
+
+    private final String tsFilePath;
+    private final boolean sequence;
+    private final long tsFileSize;
+    private final long minPlanIndex;
+    private final long maxPlanIndex;
+    private final FileTimeIndex timeIndex;
+
+    Entry(
+        String tsFilePath,
+        boolean sequence,
+        long tsFileSize,
+        long minPlanIndex,
+        long maxPlanIndex,
+        FileTimeIndex timeIndex) {
+      this.tsFilePath = tsFilePath;
+      this.sequence = sequence;
+      this.tsFileSize = tsFileSize;
+      this.minPlanIndex = minPlanIndex;
+      this.maxPlanIndex = maxPlanIndex;
+      this.timeIndex = timeIndex;
+    }
+
+    static Entry of(TsFileResource resource, boolean sequence) {
+      return new Entry(
+          resource.getTsFile().getAbsolutePath(),
+          sequence,
+          resource.getTsFileSize(),
+          resource.getMinPlanIndex(),
+          resource.getMaxPlanIndex(),
+          toFileTimeIndex(resource.getTimeIndex()));
+    }
+
+    /**
+     * @return true if the entry still describes the given TsFile, i.e., the TsFile has not been
+     *     rewritten since the entry was recorded and its .resource file exists for lazy loading
+     */
+    public boolean matches(TsFileResource resource) {
+      return resource.getTsFileSize() == tsFileSize && resource.resourceFileExists();
+    }
+
+    /** use the summary as the time index of the resource until the real one is needed */
+    public void applyTo(TsFileResource resource) {
+      resource.setLazyTimeIndex(timeIndex, minPlanIndex, maxPlanIndex);
+    }
+
+    public boolean isSequence() {
+      return sequence;
+    }
+
+    public String getTsFilePath() {
+      return tsFilePath;
+    }
+
+    void serialize(OutputStream outputStream) throws IOException {
+      ReadWriteIOUtils.write(tsFilePath, outputStream);
+      ReadWriteIOUtils.write(sequence, outputStream);
+      ReadWriteIOUtils.write(tsFileSize, outputStream);
+      ReadWriteIOUtils.write(minPlanIndex, outputStream);
+      ReadWriteIOUtils.write(maxPlanIndex, outputStream);
+      timeIndex.serialize(outputStream);
+    }
+
+    static Entry deserialize(InputStream inputStream) throws IOException {
+      String tsFilePath = ReadWriteIOUtils.readString(inputStream);
+      boolean sequence = ReadWriteIOUtils.readBool(inputStream);
+      long tsFileSize = ReadWriteIOUtils.readLong(inputStream);
+      long minPlanIndex = ReadWriteIOUtils.readLong(inputStream);
+      long maxPlanIndex = ReadWriteIOUtils.readLong(inputStream);
+      FileTimeIndex timeIndex = new FileTimeIndex().deserialize(inputStream);
+      return new Entry(tsFilePath, sequence, tsFileSize, minPlanIndex, maxPlanIndex, timeIndex);
+    }
+  }
+
+  /** @return a file level time index covering all devices of the given time index */
+  static FileTimeIndex toFileTimeIndex(ITimeIndex timeIndex) {
+    if (timeIndex instanceof FileTimeIndex) {
+      return (FileTimeIndex) timeIndex;
+    }
+    Set<String> devices = new HashSet<>(timeIndex.getDevices());
+    long startTime = Long.MAX_VALUE;
+    long endTime = Long.MIN_VALUE;
+    for (String device : devices) {
+      startTime = Math.min(startTime, timeIndex.getStartTime(device));
+      endTime = Math.max(endTime, timeIndex.getEndTime(device));
+    }
+    return new FileTimeIndex(devices, startTime, endTime);
+  }
+}
@@ -434,6 +434,7 @@ public class MManager {
     try {
       PartialPath path = plan.getPath();
       SchemaUtils.checkDataTypeWithEncoding(plan.getDataType(), plan.getEncoding());
+      SchemaUtils.checkCompressionLevel(plan.getCompressor(), plan.getProps());
 
       ensureStorageGroup(path);
 
@@ -548,12 +549,18 @@ public class MManager {
       for (int i = 0; i < alignedSize; i++) {
         SchemaUtils.checkDataTypeWithEncoding(dataTypes.get(i), encodings.get(i));
       }
+      SchemaUtils.checkCompressionLevel(plan.getCompressor(), plan.getProps());
 
       ensureStorageGroup(devicePath);
 
       // create time series in MTree
       mtree.createAlignedTimeseries(
-          devicePath, measurements, plan.getDataTypes(), plan.getEncodings(), plan.getCompressor());
+          devicePath,
+          measurements,
+          plan.getDataTypes(),
+          plan.getEncodings(),
+          plan.getCompressor(),
+          plan.getProps());
 
       // update statistics and schemaDataTypeNumMap
       totalSeriesNumber.addAndGet(measurements.size());
@@ -1182,7 +1189,12 @@ public class MManager {
       array[i] = measurements.get(i).getMeasurement();
     }
     return new VectorMeasurementSchema(
-        schema.getMeasurementId(), array, types, encodings, schema.getCompressor());
+        schema.getMeasurementId(),
+        array,
+        types,
+        encodings,
+        schema.getCompressor(),
+        schema.getProps());
   }
 
   /**
@@ -294,13 +294,15 @@ public class MTree implements Serializable {
    * @param dataTypes data types list
    * @param encodings encodings list
    * @param compressor compressor
+   * @param props props of the compressor
    */
   void createAlignedTimeseries(
       PartialPath devicePath,
       List<String> measurements,
       List<TSDataType> dataTypes,
       List<TSEncoding> encodings,
-      CompressionType compressor)
+      CompressionType compressor,
+      Map<String, String> props)
       throws MetadataException {
     String[] deviceNodeNames = devicePath.getNodes();
     if (deviceNodeNames.length <= 1 || !deviceNodeNames[0].equals(root.getName())) {
@@ -355,7 +357,8 @@ public class MTree implements Serializable {
                   measurements.toArray(new String[measurementsSize]),
                   dataTypes.toArray(new TSDataType[measurementsSize]),
                   encodings.toArray(new TSEncoding[measurementsSize]),
-                  compressor),
+                  compressor,
+                  props),
               null);
       cur.addChild(leafName, measurementMNode);
       for (String measurement : measurements) {
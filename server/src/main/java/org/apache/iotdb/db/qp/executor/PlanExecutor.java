@@ -1449,7 +1449,8 @@ public class PlanExecutor implements IPlanExecutor {
                 dataTypes,
                 encodings,
                 multiPlan.getCompressors().get(i),
-                null);
+                null,
+                multiPlan.getProps() == null ? null : multiPlan.getProps().get(i));
         try {
           createAlignedTimeSeries(plan);
         } catch (QueryProcessException e) {
@@ -44,6 +44,9 @@ public abstract class InsertPlan extends PhysicalPlan {
   private List<Exception> failedExceptions;
   List<Integer> failedIndices;
 
+  // the plan is already persisted somewhere else (e.g., a Raft log), so it needs no WAL
+  private boolean skipWal;
+
   public InsertPlan(Operator.OperatorType operatorType) {
     super(false, operatorType);
     super.canBeSplit = false;
@@ -95,6 +98,14 @@ public abstract class InsertPlan extends PhysicalPlan {
 
   public abstract long getMinTime();
 
+  public boolean isSkipWal() {
+    return skipWal;
+  }
+
+  public void setSkipWal(boolean skipWal) {
+    this.skipWal = skipWal;
+  }
+
   /** @param index failed measurement index */
   public void markFailedMeasurementInsertion(int index, Exception e) {
     if (measurements[index] == null) {
@@ -36,7 +36,9 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 public class CreateAlignedTimeSeriesPlan extends PhysicalPlan {
 
@@ -48,6 +50,7 @@ public class CreateAlignedTimeSeriesPlan extends PhysicalPlan {
   private List<TSEncoding> encodings;
   private CompressionType compressor;
   private List<String> aliasList;
+  private Map<String, String> props = null;
 
   public CreateAlignedTimeSeriesPlan() {
     super(false, Operator.OperatorType.CREATE_ALIGNED_TIMESERIES);
@@ -71,6 +74,22 @@ public class CreateAlignedTimeSeriesPlan extends PhysicalPlan {
     this.canBeSplit = false;
   }
 
+  /** @param props the properties of the compressor, e.g. the compression level */
+  public CreateAlignedTimeSeriesPlan(
+      PartialPath devicePath,
+      List<String> measurements,
+      List<TSDataType> dataTypes,
+      List<TSEncoding> encodings,
+      CompressionType compressor,
+      List<String> aliasList,
+      Map<String, String> props) {
+    this(devicePath, measurements, dataTypes, encodings, compressor, aliasList);
+    if (props != null) {
+      this.props = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+      this.props.putAll(props);
+    }
+  }
+
   public PartialPath getDevicePath() {
     return devicePath;
   }
@@ -119,6 +138,14 @@ public class CreateAlignedTimeSeriesPlan extends PhysicalPlan {
     this.aliasList = aliasList;
   }
 
+  public Map<String, String> getProps() {
+    return props;
+  }
+
+  public void setProps(Map<String, String> props) {
+    this.props = props;
+  }
+
   @Override
   public String toString() {
     return String.format(
@@ -167,6 +194,14 @@ public class CreateAlignedTimeSeriesPlan extends PhysicalPlan {
     } else {
       stream.write(0);
     }
+
+    // props
+    if (props != null && !props.isEmpty()) {
+      stream.write(1);
+      ReadWriteIOUtils.write(props, stream);
+    } else {
+      stream.write(0);
+    }
     stream.writeLong(index);
   }
 
@@ -199,6 +234,14 @@ public class CreateAlignedTimeSeriesPlan extends PhysicalPlan {
       buffer.put((byte) 0);
     }
 
+    // props
+    if (props != null && !props.isEmpty()) {
+      buffer.put((byte) 1);
+      ReadWriteIOUtils.write(props, buffer);
+    } else {
+      buffer.put((byte) 0);
+    }
+
     buffer.putLong(index);
   }
 
@@ -232,6 +275,11 @@ public class CreateAlignedTimeSeriesPlan extends PhysicalPlan {
       }
     }
 
+    // props
+    if (buffer.get() == 1) {
+      props = ReadWriteIOUtils.readMap(buffer);
+    }
+
     this.index = buffer.getLong();
   }
 
@@ -249,11 +297,12 @@ public class CreateAlignedTimeSeriesPlan extends PhysicalPlan {
         && Objects.equals(measurements, that.measurements)
         && Objects.equals(dataTypes, that.dataTypes)
         && Objects.equals(encodings, that.encodings)
-        && compressor == that.compressor;
+        && compressor == that.compressor
+        && Objects.equals(props, that.props);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(devicePath, measurements, dataTypes, encodings, compressor);
+    return Objects.hash(devicePath, measurements, dataTypes, encodings, compressor, props);
   }
 }
@@ -103,18 +103,11 @@ public class AggregationExecutor {
     Map<PartialPath, List<Integer>> pathToAggrIndexesMap =
         groupAggregationsBySeries(selectedSeries);
     AggregateResult[] aggregateResultList = new AggregateResult[selectedSeries.size()];
-    // TODO-Cluster: group the paths by storage group to reduce communications
     List<StorageGroupProcessor> list =
         StorageEngine.getInstance().mergeLock(new ArrayList<>(pathToAggrIndexesMap.keySet()));
     try {
-      for (Map.Entry<PartialPath, List<Integer>> entry : pathToAggrIndexesMap.entrySet()) {
-        aggregateOneSeries(
-            entry,
-            aggregateResultList,
-            aggregationPlan.getAllMeasurementsInDevice(entry.getKey().getDevice()),
-            timeFilter,
-            context);
-      }
+      aggregateSeries(
+          pathToAggrIndexesMap, aggregateResultList, aggregationPlan, timeFilter, context);
     } finally {
       StorageEngine.getInstance().mergeUnLock(list);
     }
@@ -122,6 +115,30 @@ public class AggregationExecutor {
     return constructDataSet(Arrays.asList(aggregateResultList), aggregationPlan);
   }
 
+  /**
+   * get aggregation results for all series, one series after another by default
+   *
+   * @param pathToAggrIndexesMap path to aggregation indexes map
+   * @param timeFilter time filter
+   * @param context query context
+   */
+  protected void aggregateSeries(
+      Map<PartialPath, List<Integer>> pathToAggrIndexesMap,
+      AggregateResult[] aggregateResultList,
+      AggregationPlan aggregationPlan,
+      Filter timeFilter,
+      QueryContext context)
+      throws IOException, QueryProcessException, StorageEngineException {
+    for (Map.Entry<PartialPath, List<Integer>> entry : pathToAggrIndexesMap.entrySet()) {
+      aggregateOneSeries(
+          entry,
+          aggregateResultList,
+          aggregationPlan.getAllMeasurementsInDevice(entry.getKey().getDevice()),
+          timeFilter,
+          context);
+    }
+  }
+
   /**
    * get aggregation result for one series
    *
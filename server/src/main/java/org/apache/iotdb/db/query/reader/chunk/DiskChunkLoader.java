@@ -24,6 +24,7 @@ import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.controller.IChunkLoader;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 
 import java.io.IOException;
 
@@ -41,6 +42,11 @@ public class DiskChunkLoader implements IChunkLoader {
     return ChunkCache.getInstance().get(chunkMetaData, context.isDebug());
   }
 
+  @Override
+  public Chunk loadChunk(ChunkMetadata chunkMetaData, Filter filter) throws IOException {
+    return ChunkCache.getInstance().get(chunkMetaData, filter, context.isDebug());
+  }
+
   @Override
   public void close() {
     // do nothing
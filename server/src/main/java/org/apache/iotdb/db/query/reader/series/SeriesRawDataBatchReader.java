@@ -127,6 +127,10 @@ public class SeriesRawDataBatchReader implements ManagedSeriesReader {
      * consume next file finally
      */
     while (seriesReader.hasNextFile()) {
+      if (seriesReader.canSkipCurrentFileByValueFilter()) {
+        seriesReader.skipCurrentFile();
+        continue;
+      }
       if (readChunkData()) {
         hasCachedBatchData = true;
         return true;
@@ -171,6 +175,10 @@ public class SeriesRawDataBatchReader implements ManagedSeriesReader {
 
   private boolean readChunkData() throws IOException {
     while (seriesReader.hasNextChunk()) {
+      if (seriesReader.canSkipCurrentChunkByValueFilter()) {
+        seriesReader.skipCurrentChunk();
+        continue;
+      }
       if (readPageData()) {
         return true;
       }
@@ -19,6 +19,10 @@
 package org.apache.iotdb.db.query.reader.series;
 
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.StorageEngine;
+import org.apache.iotdb.db.engine.cache.ChunkCache;
+import org.apache.iotdb.db.engine.merge.selector.MergeFileStrategy;
+import org.apache.iotdb.db.engine.merge.selector.OverlapHeatRecorder;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.metadata.PartialPath;
@@ -26,12 +30,14 @@ import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.QueryResourceManager;
 import org.apache.iotdb.db.query.control.QueryTimeManager;
 import org.apache.iotdb.db.query.filter.TsFileFilter;
+import org.apache.iotdb.db.query.reader.chunk.DiskChunkLoader;
 import org.apache.iotdb.db.query.reader.universal.DescPriorityMergeReader;
 import org.apache.iotdb.db.query.reader.universal.PriorityMergeReader;
 import org.apache.iotdb.db.query.reader.universal.PriorityMergeReader.MergeReaderPriority;
 import org.apache.iotdb.db.utils.FileLoaderUtils;
 import org.apache.iotdb.db.utils.QueryUtils;
 import org.apache.iotdb.db.utils.TestOnly;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.ITimeSeriesMetadata;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
@@ -45,6 +51,7 @@ import org.apache.iotdb.tsfile.read.reader.IPageReader;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
@@ -106,6 +113,13 @@ public class SeriesReader {
    */
   protected final PriorityMergeReader mergeReader;
 
+  /*
+   * whether to record the overlapped unseq pages for the merge file selection
+   */
+  private final boolean needOverlapHeat =
+      IoTDBDescriptor.getInstance().getConfig().getMergeFileStrategy()
+          == MergeFileStrategy.MAX_OVERLAP_HEAT;
+
   /*
    * result cache
    */
@@ -258,6 +272,18 @@ public class SeriesReader {
     firstTimeSeriesMetadata = null;
   }
 
+  /**
+   * @return true if no point of the current file satisfies the value filter according to its
+   *     statistics. The points of a file not overlapped by other files are never overwritten, and
+   *     the deleted ones only make fewer points satisfy the filter.
+   */
+  boolean canSkipCurrentFileByValueFilter() throws IOException {
+    return valueFilter != null
+        && dataType != TSDataType.VECTOR
+        && !isFileOverlapped()
+        && !valueFilter.satisfy(currentFileStatistics());
+  }
+
   /**
    * This method should be called after hasNextFile() until no next chunk, make sure that all
    * overlapped chunks are consumed
@@ -356,6 +382,37 @@ public class SeriesReader {
     }
 
     cachedChunkMetadata.addAll(chunkMetadataList);
+    prefetchChunks(chunkMetadataList);
+  }
+
+  /**
+   * Read the first chunks of a series in a sealed file into ChunkCache in the background, so their
+   * reads are in flight together instead of being issued one by one when each of them is needed.
+   * Only the chunks that may satisfy the filters are prefetched, and the large ones are left to be
+   * read lazily by the pages the query needs, which ChunkCache decides from their headers.
+   */
+  private void prefetchChunks(List<IChunkMetadata> chunkMetadataList) {
+    int maxPrefetchedChunkNum =
+        IoTDBDescriptor.getInstance().getConfig().getMaxPrefetchedChunkNum();
+    if (maxPrefetchedChunkNum <= 0 || chunkMetadataList.size() <= 1) {
+      return;
+    }
+    List<ChunkMetadata> toPrefetch = new ArrayList<>();
+    for (IChunkMetadata chunkMetadata : chunkMetadataList) {
+      if (toPrefetch.size() >= maxPrefetchedChunkNum) {
+        break;
+      }
+      if (chunkMetadata instanceof ChunkMetadata
+          && ((ChunkMetadata) chunkMetadata).isClosed()
+          && chunkMetadata.getChunkLoader() instanceof DiskChunkLoader
+          && (timeFilter == null || timeFilter.satisfy(chunkMetadata.getStatistics()))
+          && (valueFilter == null || valueFilter.satisfy(chunkMetadata.getStatistics()))) {
+        toPrefetch.add((ChunkMetadata) chunkMetadata);
+      }
+    }
+    if (toPrefetch.size() > 1) {
+      ChunkCache.getInstance().prefetch(toPrefetch);
+    }
   }
 
   boolean isChunkOverlapped() throws IOException {
@@ -383,6 +440,17 @@ public class SeriesReader {
     firstChunkMetadata = null;
   }
 
+  /**
+   * @return true if no point of the current chunk satisfies the value filter according to its
+   *     statistics and value bloom filter, see {@link #canSkipCurrentFileByValueFilter()}
+   */
+  boolean canSkipCurrentChunkByValueFilter() throws IOException {
+    return valueFilter != null
+        && dataType != TSDataType.VECTOR
+        && !isChunkOverlapped()
+        && !valueFilter.satisfy(currentChunkStatistics());
+  }
+
   /**
    * This method should be called after hasNextChunk() until no next page, make sure that all
    * overlapped pages are consumed
@@ -704,6 +772,9 @@ public class SeriesReader {
             } else {
               // current timeValuePair is overlapped with firstPageReader, add it to merged reader
               // and update endTime to the max end time
+              if (!firstPageReader.isSeq()) {
+                recordOverlapHeat(firstPageReader);
+              }
               mergeReader.addReader(
                   firstPageReader
                       .getAllSatisfiedPageData(orderUtils.getAscending())
@@ -837,12 +908,22 @@ public class SeriesReader {
   }
 
   private void putPageReaderToMergeReader(VersionPageReader pageReader) throws IOException {
+    recordOverlapHeat(pageReader);
     mergeReader.addReader(
         pageReader.getAllSatisfiedPageData(orderUtils.getAscending()).getBatchDataIterator(),
         pageReader.version,
         orderUtils.getOverlapCheckTime(pageReader.getStatistics()));
   }
 
+  private void recordOverlapHeat(VersionPageReader unseqPageReader) {
+    if (needOverlapHeat) {
+      OverlapHeatRecorder.getInstance()
+          .record(
+              StorageEngine.getTimePartition(unseqPageReader.getStatistics().getStartTime()),
+              seriesPath.getDevice());
+    }
+  }
+
   private BatchData nextOverlappedPage() throws IOException {
     if (hasCachedNextOverlappedPage || hasNextOverlappedPage()) {
       hasCachedNextOverlappedPage = false;
@@ -55,6 +55,7 @@ public enum ServiceType {
   SYSTEMINFO_SERVICE("MemTable Monitor Service", "MemTable, Monitor"),
 
   CLUSTER_INFO_SERVICE("Cluster Monitor Service (thrift-based)", "Cluster Monitor-Thrift"),
+  CLUSTER_FILE_TRANSFER_SERVICE("Cluster File Transfer Service", ""),
   ;
 
   private final String name;
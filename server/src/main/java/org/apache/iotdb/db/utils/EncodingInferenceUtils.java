@@ -20,12 +20,28 @@ package org.apache.iotdb.db.utils;
 
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.utils.datastructure.TVList;
+import org.apache.iotdb.tsfile.encoding.encoder.EncodingSelector;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
 
 public class EncodingInferenceUtils {
 
+  private static final Logger logger = LoggerFactory.getLogger(EncodingInferenceUtils.class);
+
+  /** the number of sample windows spread over a chunk when choosing its encoding */
+  private static final int SAMPLE_WINDOW_NUM = 4;
+  /** the number of consecutive points in a sample window */
+  private static final int SAMPLE_WINDOW_SIZE = 256;
+
   private EncodingInferenceUtils() {
     // util class
   }
@@ -51,4 +67,74 @@ public class EncodingInferenceUtils {
             String.format("Data type %s is not supported.", dataType));
     }
   }
+
+  /**
+   * Choose the value encoding of a chunk to be flushed by encoding a few windows of its sorted
+   * points with each candidate encoding.
+   *
+   * @param tvList the sorted points of the chunk
+   * @param schema the schema of the series
+   * @return the schema of the series, or a copy of it with the chosen encoding if it differs
+   */
+  public static IMeasurementSchema inferChunkSchema(TVList tvList, IMeasurementSchema schema) {
+    TSDataType dataType = schema.getType();
+    TSEncoding original = schema.getEncodingType();
+    int size = tvList.size();
+    if (size == 0 || EncodingSelector.getCandidates(dataType, original).isEmpty()) {
+      return schema;
+    }
+
+    int windowNum;
+    int windowSize;
+    if (size <= SAMPLE_WINDOW_NUM * SAMPLE_WINDOW_SIZE) {
+      windowNum = 1;
+      windowSize = size;
+    } else {
+      windowNum = SAMPLE_WINDOW_NUM;
+      windowSize = SAMPLE_WINDOW_SIZE;
+    }
+    int stride = size / windowNum;
+    TSEncoding selected;
+    try {
+      selected =
+          EncodingSelector.select(
+              dataType,
+              original,
+              (encoder, out) -> {
+                for (int w = 0; w < windowNum; w++) {
+                  int end = w * stride + windowSize;
+                  for (int i = w * stride; i < end; i++) {
+                    switch (dataType) {
+                      case BOOLEAN:
+                        encoder.encode(tvList.getBoolean(i), out);
+                        break;
+                      case INT32:
+                        encoder.encode(tvList.getInt(i), out);
+                        break;
+                      case INT64:
+                        encoder.encode(tvList.getLong(i), out);
+                        break;
+                      case FLOAT:
+                        encoder.encode(tvList.getFloat(i), out);
+                        break;
+                      case DOUBLE:
+                        encoder.encode(tvList.getDouble(i), out);
+                        break;
+                      default:
+                        throw new UnSupportedDataTypeException(
+                            String.format("Data type %s is not supported.", dataType));
+                    }
+                  }
+                }
+              });
+    } catch (IOException e) {
+      logger.warn("Cannot sample the chunk of {}, use {}", schema.getMeasurementId(), original, e);
+      return schema;
+    }
+    if (selected == original) {
+      return schema;
+    }
+    return new MeasurementSchema(
+        schema.getMeasurementId(), dataType, selected, schema.getCompressor(), schema.getProps());
+  }
 }
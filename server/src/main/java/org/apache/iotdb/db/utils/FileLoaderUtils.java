@@ -258,7 +258,7 @@ public class FileLoaderUtils {
       chunkReader = new MemChunkReader(memChunkLoader.getChunk(), timeFilter);
     } else {
       if (chunkMetaData instanceof ChunkMetadata) {
-        Chunk chunk = chunkLoader.loadChunk((ChunkMetadata) chunkMetaData);
+        Chunk chunk = chunkLoader.loadChunk((ChunkMetadata) chunkMetaData, timeFilter);
         chunk.setFromOldFile(chunkMetaData.isFromOldTsFile());
         chunkReader = new ChunkReader(chunk, timeFilter);
         chunkReader.hasNextSatisfiedPage();
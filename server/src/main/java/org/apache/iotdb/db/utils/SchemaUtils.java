@@ -27,6 +27,8 @@ import org.apache.iotdb.db.metadata.PartialPath;
 import org.apache.iotdb.db.metadata.mnode.MeasurementMNode;
 import org.apache.iotdb.db.qp.constant.SQLConstant;
 import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.tsfile.compress.ICompressor;
+import org.apache.iotdb.tsfile.compress.ICompressor.ZstdCompressor;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
@@ -81,6 +83,8 @@ public class SchemaUtils {
     Set<TSEncoding> textSet = new HashSet<>();
     textSet.add(TSEncoding.PLAIN);
     textSet.add(TSEncoding.DICTIONARY);
+    textSet.add(TSEncoding.FRONT_CODING);
+    textSet.add(TSEncoding.FSST);
     schemaChecker.put(TSDataType.TEXT, textSet);
   }
 
@@ -242,4 +246,34 @@ public class SchemaUtils {
           String.format("encoding %s does not support %s", encoding, dataType), true);
     }
   }
+
+  /**
+   * Check the compression level specified by the properties of a time series, which is only
+   * supported by ZSTD and must be within the levels of ZSTD.
+   */
+  public static void checkCompressionLevel(CompressionType compressor, Map<String, String> props)
+      throws MetadataException {
+    if (props == null || !props.containsKey(ICompressor.COMPRESSION_LEVEL)) {
+      return;
+    }
+    String level = props.get(ICompressor.COMPRESSION_LEVEL);
+    if (compressor != CompressionType.ZSTD) {
+      throw new MetadataException(
+          String.format(
+              "compressor %s does not support %s", compressor, ICompressor.COMPRESSION_LEVEL),
+          true);
+    }
+    boolean valid;
+    try {
+      valid = ZstdCompressor.isValidLevel(Integer.parseInt(level));
+    } catch (NumberFormatException e) {
+      valid = false;
+    }
+    if (!valid) {
+      throw new MetadataException(
+          String.format(
+              "%s %s is not a valid level of %s", ICompressor.COMPRESSION_LEVEL, level, compressor),
+          true);
+    }
+  }
 }
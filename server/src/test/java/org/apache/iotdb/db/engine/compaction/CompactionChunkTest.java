@@ -19,7 +19,9 @@
 
 package org.apache.iotdb.db.engine.compaction;
 
+import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBConstant;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.constant.TestConstant;
 import org.apache.iotdb.db.engine.compaction.utils.CompactionUtils;
 import org.apache.iotdb.db.engine.merge.manage.MergeManager;
@@ -28,7 +30,10 @@ import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.metadata.IllegalPathException;
 import org.apache.iotdb.db.exception.metadata.MetadataException;
 import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.Chunk;
@@ -47,6 +52,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +60,7 @@ import java.util.Map.Entry;
 
 import static org.apache.iotdb.db.conf.IoTDBConstant.PATH_SEPARATOR;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class CompactionChunkTest extends LevelCompactionTest {
 
@@ -235,4 +242,73 @@ public class CompactionChunkTest extends LevelCompactionTest {
     }
     reader.close();
   }
+
+  @Test
+  public void testColdRecompressMerge() throws IOException, IllegalPathException {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    long prevColdFileThreshold = config.getCompactionColdFileThresholdInMs();
+    // the source files are named after timestamps near 0, so they are old enough
+    config.setCompactionColdFileThresholdInMs(1);
+    File file =
+        new File(
+            TestConstant.BASE_OUTPUT_PATH.concat(
+                0
+                    + IoTDBConstant.FILE_NAME_SEPARATOR
+                    + 0
+                    + IoTDBConstant.FILE_NAME_SEPARATOR
+                    + 1
+                    + IoTDBConstant.FILE_NAME_SEPARATOR
+                    + 0
+                    + ".tsfile"));
+    TsFileResource targetTsfileResource = new TsFileResource(file);
+    Map<Path, Long> sourcePointCounts = new HashMap<>();
+    for (TsFileResource tsFileResource : seqResources) {
+      try (TsFileSequenceReader reader = new TsFileSequenceReader(tsFileResource.getTsFilePath())) {
+        for (Path path : reader.getAllPaths()) {
+          for (ChunkMetadata chunkMetadata : reader.getChunkMetadataList(path)) {
+            sourcePointCounts.merge(path, chunkMetadata.getNumOfPoints(), Long::sum);
+          }
+        }
+      }
+    }
+    long prevSavedBytes = CompactionMergeTaskPoolManager.getInstance().getRecompressionSavedBytes();
+    try {
+      CompactionUtils.merge(
+          targetTsfileResource,
+          seqResources,
+          COMPACTION_TEST_SG,
+          null,
+          new HashSet<>(),
+          true,
+          new ArrayList<>());
+    } finally {
+      config.setCompactionColdFileThresholdInMs(prevColdFileThreshold);
+    }
+    assertTrue(
+        CompactionMergeTaskPoolManager.getInstance().getRecompressionSavedBytes() > prevSavedBytes);
+
+    TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath());
+    List<Path> paths = reader.getAllPaths();
+    assertEquals(sourcePointCounts.size(), paths.size());
+    for (Path path : paths) {
+      List<ChunkMetadata> chunkMetadataList = reader.getChunkMetadataList(path);
+      long totalPointCount = 0;
+      for (ChunkMetadata chunkMetadata : chunkMetadataList) {
+        Chunk chunk = reader.readMemChunk(chunkMetadata);
+        ChunkHeader header = chunk.getHeader();
+        assertEquals(CompressionType.ZSTD, header.getCompressionType());
+        assertEquals(TSEncoding.GORILLA, header.getEncodingType());
+        IChunkReader chunkReader = new ChunkReaderByTimestamp(chunk);
+        while (chunkReader.hasNextSatisfiedPage()) {
+          BatchData batchData = chunkReader.nextPageData();
+          for (int i = 0; i < batchData.length(); i++) {
+            assertEquals(batchData.getTimeByIndex(i), batchData.getDoubleByIndex(i), 0.001);
+          }
+          totalPointCount += batchData.length();
+        }
+      }
+      assertEquals((long) sourcePointCounts.get(path), totalPointCount);
+    }
+    reader.close();
+  }
 }
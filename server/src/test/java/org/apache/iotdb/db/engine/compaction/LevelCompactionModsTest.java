@@ -80,7 +80,7 @@ public class LevelCompactionModsTest extends LevelCompactionTest {
     }
     List<TsFileResource> sourceTsFileResources = new ArrayList<>();
     sourceTsFileResources.add(sourceTsFileResource);
-    levelCompactionTsFileManagement.renameLevelFilesMods(
+    levelCompactionTsFileManagement.renameCompactedFilesMods(
         filterModifications, sourceTsFileResources, targetTsFileResource);
     try (ModificationFile targetModificationFile =
         new ModificationFile(targetTsFileResource.getTsFilePath() + ModificationFile.FILE_SUFFIX)) {
@@ -123,7 +123,7 @@ public class LevelCompactionModsTest extends LevelCompactionTest {
     }
     List<TsFileResource> sourceTsFileResources = new ArrayList<>();
     sourceTsFileResources.add(sourceTsFileResource);
-    levelCompactionTsFileManagement.renameLevelFilesMods(
+    levelCompactionTsFileManagement.renameCompactedFilesMods(
         filterModifications, sourceTsFileResources, targetTsFileResource);
     try (ModificationFile targetModificationFile =
         new ModificationFile(targetTsFileResource.getTsFilePath() + ModificationFile.FILE_SUFFIX)) {
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction;
+
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.constant.TestConstant;
+import org.apache.iotdb.db.engine.StorageEngine;
+import org.apache.iotdb.db.engine.compaction.TsFileManagement.CompactionMergeTask;
+import org.apache.iotdb.db.engine.compaction.level.LevelCompactionTsFileManagement;
+import org.apache.iotdb.db.engine.compaction.utils.CompactionLogger;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.db.exception.metadata.MetadataException;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.apache.iotdb.db.engine.compaction.utils.CompactionLogger.COMPACTION_LOG_NAME;
+import static org.apache.iotdb.db.engine.compaction.utils.CompactionLogger.SOURCE_NAME;
+import static org.apache.iotdb.db.engine.compaction.utils.CompactionLogger.TARGET_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LevelCompactionPartitionTest extends LevelCompactionTest {
+
+  File tempSGDir;
+  private int prevSeqFileNumInEachLevel;
+  private boolean prevEnableUnseqCompaction;
+  private boolean prevEnablePartition;
+  private long prevPartitionInterval;
+
+  @Override
+  @Before
+  public void setUp() throws IOException, WriteProcessException, MetadataException {
+    super.setUp();
+    tempSGDir = new File(TestConstant.BASE_OUTPUT_PATH.concat("tempSG"));
+    tempSGDir.mkdirs();
+    prevSeqFileNumInEachLevel =
+        IoTDBDescriptor.getInstance().getConfig().getSeqFileNumInEachLevel();
+    IoTDBDescriptor.getInstance().getConfig().setSeqFileNumInEachLevel(3);
+    prevEnableUnseqCompaction = IoTDBDescriptor.getInstance().getConfig().isEnableUnseqCompaction();
+    IoTDBDescriptor.getInstance().getConfig().setEnableUnseqCompaction(false);
+    prevEnablePartition = StorageEngine.isEnablePartition();
+    prevPartitionInterval = StorageEngine.getTimePartitionInterval();
+    StorageEngine.setEnablePartition(true);
+    StorageEngine.setTimePartitionInterval(3 * ptNum);
+  }
+
+  @Override
+  @After
+  public void tearDown() throws IOException, StorageEngineException {
+    super.tearDown();
+    FileUtils.deleteDirectory(tempSGDir);
+    IoTDBDescriptor.getInstance().getConfig().setSeqFileNumInEachLevel(prevSeqFileNumInEachLevel);
+    IoTDBDescriptor.getInstance().getConfig().setEnableUnseqCompaction(prevEnableUnseqCompaction);
+    StorageEngine.setEnablePartition(prevEnablePartition);
+    StorageEngine.setTimePartitionInterval(prevPartitionInterval);
+  }
+
+  /** the compaction tasks of two time partitions run at the same time */
+  @Test
+  public void testParallelPartitionCompaction() throws Exception {
+    LevelCompactionTsFileManagement levelCompactionTsFileManagement =
+        new LevelCompactionTsFileManagement(COMPACTION_TEST_SG, tempSGDir.getPath());
+    levelCompactionTsFileManagement.addAll(seqResources, true);
+    levelCompactionTsFileManagement.addAll(unseqResources, false);
+    assertTrue(levelCompactionTsFileManagement.isPartitionParallelCompactionSupported());
+
+    levelCompactionTsFileManagement.forkCurrentFileList(0);
+    levelCompactionTsFileManagement.forkCurrentFileList(1);
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    List<Future<Void>> futures = new ArrayList<>();
+    try {
+      for (long timePartition = 0; timePartition < 2; timePartition++) {
+        futures.add(
+            pool.submit(
+                levelCompactionTsFileManagement
+                .new CompactionMergeTask((isMerge, timePartitionId) -> {}, timePartition)));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertFalse(levelCompactionTsFileManagement.isSeqMerging());
+    for (long timePartition = 0; timePartition < 2; timePartition++) {
+      List<TsFileResource> partitionFiles =
+          levelCompactionTsFileManagement.getTsFileListByTimePartition(true, timePartition);
+      assertEquals(1, partitionFiles.size());
+      assertEquals(
+          1,
+          TsFileResource.getTsFileName(partitionFiles.get(0).getTsFile().getName()).getMergeCnt());
+      assertFalse(
+          new File(
+                  tempSGDir,
+                  CompactionLogger.getPartitionCompactionLogName(COMPACTION_TEST_SG, timePartition))
+              .exists());
+    }
+  }
+
+  /** the logs of each time partition and the log of the whole storage group are all recovered */
+  @Test
+  public void testRecoverPartitionLogs() throws IOException {
+    LevelCompactionTsFileManagement levelCompactionTsFileManagement =
+        new LevelCompactionTsFileManagement(COMPACTION_TEST_SG, tempSGDir.getPath());
+    levelCompactionTsFileManagement.addAll(seqResources, true);
+    levelCompactionTsFileManagement.addAll(unseqResources, false);
+
+    List<File> targetFiles = new ArrayList<>();
+    List<CompactionLogger> compactionLoggers = new ArrayList<>();
+    compactionLoggers.add(new CompactionLogger(tempSGDir.getPath(), COMPACTION_TEST_SG));
+    compactionLoggers.add(new CompactionLogger(tempSGDir.getPath(), COMPACTION_TEST_SG, 1));
+    for (int i = 0; i < compactionLoggers.size(); i++) {
+      // the targets have not been written when the system crashes
+      File sourceFile = seqResources.get(3 * i).getTsFile();
+      File targetFile = TsFileResource.modifyTsFileNameMergeCnt(sourceFile);
+      assertTrue(targetFile.createNewFile());
+      targetFiles.add(targetFile);
+      CompactionLogger compactionLogger = compactionLoggers.get(i);
+      compactionLogger.logFile(SOURCE_NAME, sourceFile);
+      compactionLogger.logSequence(true);
+      compactionLogger.logFile(TARGET_NAME, targetFile);
+      compactionLogger.close();
+    }
+
+    levelCompactionTsFileManagement.recover();
+
+    for (File targetFile : targetFiles) {
+      assertFalse(targetFile.exists());
+    }
+    File[] logFiles = tempSGDir.listFiles((dir, name) -> name.endsWith(COMPACTION_LOG_NAME));
+    assertEquals(0, logFiles == null ? 0 : logFiles.length);
+    assertEquals(seqFileNum, levelCompactionTsFileManagement.size(true));
+  }
+}
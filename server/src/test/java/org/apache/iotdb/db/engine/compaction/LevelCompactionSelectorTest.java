@@ -35,6 +35,7 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 
@@ -68,9 +69,9 @@ public class LevelCompactionSelectorTest extends LevelCompactionTest {
     Field fieldForkedSequenceTsFileResources =
         LevelCompactionTsFileManagement.class.getDeclaredField("forkedSequenceTsFileResources");
     fieldForkedSequenceTsFileResources.setAccessible(true);
-    List<TsFileResource> forkedSequenceTsFileResources =
-        (List<TsFileResource>)
+    Map<Long, List<List<TsFileResource>>> forkedSequenceTsFileResources =
+        (Map<Long, List<List<TsFileResource>>>)
             fieldForkedSequenceTsFileResources.get(levelCompactionTsFileManagement);
-    assertEquals(2, forkedSequenceTsFileResources.size());
+    assertEquals(2, forkedSequenceTsFileResources.get(0L).size());
   }
 }
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction;
+
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.constant.TestConstant;
+import org.apache.iotdb.db.engine.StorageEngine;
+import org.apache.iotdb.db.engine.compaction.TsFileManagement.CompactionMergeTask;
+import org.apache.iotdb.db.engine.compaction.window.TimeWindowCompactionTsFileManagement;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.db.exception.metadata.IllegalPathException;
+import org.apache.iotdb.db.exception.metadata.MetadataException;
+import org.apache.iotdb.db.metadata.PartialPath;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.reader.series.SeriesRawDataBatchReader;
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.reader.IBatchReader;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimeWindowCompactionMergeTest extends LevelCompactionTest {
+
+  File tempSGDir;
+  private boolean prevEnableUnseqCompaction;
+  private boolean prevEnablePartition;
+  private long prevPartitionInterval;
+
+  @Override
+  @Before
+  public void setUp() throws IOException, WriteProcessException, MetadataException {
+    super.setUp();
+    tempSGDir = new File(TestConstant.BASE_OUTPUT_PATH.concat("tempSG"));
+    tempSGDir.mkdirs();
+    prevEnableUnseqCompaction = IoTDBDescriptor.getInstance().getConfig().isEnableUnseqCompaction();
+    IoTDBDescriptor.getInstance().getConfig().setEnableUnseqCompaction(false);
+    prevEnablePartition = StorageEngine.isEnablePartition();
+    prevPartitionInterval = StorageEngine.getTimePartitionInterval();
+  }
+
+  @Override
+  @After
+  public void tearDown() throws IOException, StorageEngineException {
+    super.tearDown();
+    FileUtils.deleteDirectory(tempSGDir);
+    IoTDBDescriptor.getInstance().getConfig().setEnableUnseqCompaction(prevEnableUnseqCompaction);
+    StorageEngine.setEnablePartition(prevEnablePartition);
+    StorageEngine.setTimePartitionInterval(prevPartitionInterval);
+  }
+
+  /** the flushed files of the active window are compacted when there are enough of them */
+  @Test
+  public void testCompactActiveWindow() throws IllegalPathException, IOException {
+    TimeWindowCompactionTsFileManagement tsFileManagement =
+        new TimeWindowCompactionTsFileManagement(COMPACTION_TEST_SG, tempSGDir.getPath());
+    tsFileManagement.addAll(seqResources, true);
+    tsFileManagement.addAll(unseqResources, false);
+    long prevWrittenBytes =
+        CompactionMergeTaskPoolManager.getInstance().getCompactionWrittenBytes();
+
+    runCompaction(tsFileManagement);
+
+    assertEquals(1, tsFileManagement.size(true));
+    assertEquals(500, countPoints(tsFileManagement.getTsFileList(true)));
+    assertTrue(
+        CompactionMergeTaskPoolManager.getInstance().getCompactionWrittenBytes()
+            > prevWrittenBytes);
+
+    // the compacted file is not rewritten again
+    TsFileResource compacted = tsFileManagement.getTsFileList(true).get(0);
+    runCompaction(tsFileManagement);
+    assertEquals(compacted, tsFileManagement.getTsFileList(true).get(0));
+  }
+
+  /** each closed window is compacted into one file, the active window is kept */
+  @Test
+  public void testCompactClosedWindows() throws IllegalPathException, IOException {
+    StorageEngine.setEnablePartition(true);
+    StorageEngine.setTimePartitionInterval(2 * ptNum);
+    TimeWindowCompactionTsFileManagement tsFileManagement =
+        new TimeWindowCompactionTsFileManagement(COMPACTION_TEST_SG, tempSGDir.getPath());
+    tsFileManagement.addAll(seqResources, true);
+    tsFileManagement.addAll(unseqResources, false);
+
+    // only the window of the task is compacted
+    runCompaction(tsFileManagement, 0);
+    assertEquals(1, tsFileManagement.getTsFileListByTimePartition(true, 0).size());
+    assertEquals(2, tsFileManagement.getTsFileListByTimePartition(true, 1).size());
+
+    runCompaction(tsFileManagement, 1);
+    runCompaction(tsFileManagement, 2);
+    assertEquals(1, tsFileManagement.getTsFileListByTimePartition(true, 0).size());
+    assertEquals(1, tsFileManagement.getTsFileListByTimePartition(true, 1).size());
+    assertEquals(2, tsFileManagement.getTsFileListByTimePartition(true, 2).size());
+    assertEquals(500, countPoints(tsFileManagement.getTsFileList(true)));
+  }
+
+  /** the files after a file being merged are not compacted with the files before it */
+  @Test
+  public void testSkipFilesAfterMergingFile() throws IllegalPathException, IOException {
+    StorageEngine.setEnablePartition(true);
+    StorageEngine.setTimePartitionInterval(3 * ptNum);
+    TimeWindowCompactionTsFileManagement tsFileManagement =
+        new TimeWindowCompactionTsFileManagement(COMPACTION_TEST_SG, tempSGDir.getPath());
+    tsFileManagement.addAll(seqResources, true);
+    tsFileManagement.addAll(unseqResources, false);
+    List<TsFileResource> windowFiles = tsFileManagement.getTsFileListByTimePartition(true, 0);
+    assertEquals(3, windowFiles.size());
+
+    windowFiles.get(1).setMerging(true);
+    runCompaction(tsFileManagement, 0);
+    assertEquals(windowFiles, tsFileManagement.getTsFileListByTimePartition(true, 0));
+
+    windowFiles.get(1).setMerging(false);
+    runCompaction(tsFileManagement, 0);
+    assertEquals(1, tsFileManagement.getTsFileListByTimePartition(true, 0).size());
+    assertEquals(500, countPoints(tsFileManagement.getTsFileList(true)));
+  }
+
+  private void runCompaction(TsFileManagement tsFileManagement) throws IOException {
+    runCompaction(tsFileManagement, 0);
+  }
+
+  private void runCompaction(TsFileManagement tsFileManagement, long timePartition)
+      throws IOException {
+    tsFileManagement.forkCurrentFileList(timePartition);
+    CompactionMergeTask compactionMergeTask =
+        tsFileManagement.new CompactionMergeTask((isMerge, timePartitionId) -> {}, timePartition);
+    compactionMergeTask.call();
+  }
+
+  private int countPoints(List<TsFileResource> seqFiles) throws IllegalPathException, IOException {
+    QueryContext context = new QueryContext();
+    PartialPath path =
+        new PartialPath(
+            deviceIds[0]
+                + TsFileConstant.PATH_SEPARATOR
+                + measurementSchemas[0].getMeasurementId());
+    IBatchReader tsFilesReader =
+        new SeriesRawDataBatchReader(
+            path,
+            measurementSchemas[0].getType(),
+            context,
+            seqFiles,
+            new ArrayList<>(),
+            null,
+            null,
+            true);
+    int count = 0;
+    while (tsFilesReader.hasNextBatch()) {
+      BatchData batchData = tsFilesReader.nextBatch();
+      for (int i = 0; i < batchData.length(); i++) {
+        count++;
+        assertEquals(batchData.getTimeByIndex(i), batchData.getDoubleByIndex(i), 0.001);
+      }
+    }
+    return count;
+  }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.iotdb.db.engine.memtable;
 
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.constant.TestConstant;
 import org.apache.iotdb.db.engine.MetadataManagerHelper;
 import org.apache.iotdb.db.engine.flush.MemTableFlushTask;
@@ -25,7 +26,9 @@ import org.apache.iotdb.db.exception.metadata.IllegalPathException;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.fileSystem.FSFactoryProducer;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.write.writer.RestorableTsFileIOWriter;
 
 import org.junit.After;
@@ -157,4 +160,37 @@ public class MemTableFlushTaskTest {
     assertEquals(TSDataType.BOOLEAN, chunkMetaData.getDataType());
     assertEquals(endTime - startTime + 1, chunkMetaData.getNumOfPoints());
   }
+
+  @Test
+  public void testFlushWithAdaptiveEncoding()
+      throws ExecutionException, InterruptedException, IOException {
+    boolean enableAdaptiveEncoding =
+        IoTDBDescriptor.getInstance().getConfig().isEnableAdaptiveEncoding();
+    IoTDBDescriptor.getInstance().getConfig().setEnableAdaptiveEncoding(true);
+    try {
+      // the increasing values are written with PLAIN
+      MemTableTestUtils.produceData(
+          memTable,
+          startTime,
+          endTime,
+          MemTableTestUtils.deviceId0,
+          MemTableTestUtils.measurementId0,
+          MemTableTestUtils.dataType0);
+      new MemTableFlushTask(memTable, writer, storageGroup).syncFlushMemTable();
+      writer.makeMetadataVisible();
+      ChunkMetadata chunkMetaData =
+          writer
+              .getVisibleMetadataList(
+                  MemTableTestUtils.deviceId0,
+                  MemTableTestUtils.measurementId0,
+                  MemTableTestUtils.dataType0)
+              .get(0);
+      writer.endFile();
+      try (TsFileSequenceReader reader = new TsFileSequenceReader(filePath)) {
+        assertEquals(TSEncoding.TS_2DIFF, reader.readChunkHeader(chunkMetaData).getEncodingType());
+      }
+    } finally {
+      IoTDBDescriptor.getInstance().getConfig().setEnableAdaptiveEncoding(enableAdaptiveEncoding);
+    }
+  }
 }
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.merge;
+
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.StorageEngine;
+import org.apache.iotdb.db.engine.merge.manage.MergeResource;
+import org.apache.iotdb.db.engine.merge.selector.IMergeFileSelector;
+import org.apache.iotdb.db.engine.merge.selector.MaxOverlapHeatMergeFileSelector;
+import org.apache.iotdb.db.engine.merge.selector.MergeFileStrategy;
+import org.apache.iotdb.db.engine.merge.selector.OverlapHeatRecorder;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.exception.MergeException;
+import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.db.exception.metadata.MetadataException;
+import org.apache.iotdb.db.metadata.PartialPath;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.reader.series.SeriesRawDataBatchReader;
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.read.reader.IBatchReader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MaxOverlapHeatMergeFileSelectorTest extends MergeTest {
+
+  // enough for the fourth unseq file and its seq file, but not for another unseq file
+  private static final long MEMORY_BUDGET = 130000;
+
+  private boolean prevEnablePartition;
+  private long prevPartitionInterval;
+  private MergeFileStrategy prevMergeFileStrategy;
+
+  @Override
+  @Before
+  public void setUp() throws IOException, WriteProcessException, MetadataException {
+    super.setUp();
+    prevEnablePartition = StorageEngine.isEnablePartition();
+    prevPartitionInterval = StorageEngine.getTimePartitionInterval();
+    prevMergeFileStrategy = IoTDBDescriptor.getInstance().getConfig().getMergeFileStrategy();
+    // each seq file is a time partition
+    StorageEngine.setEnablePartition(true);
+    StorageEngine.setTimePartitionInterval(ptNum);
+    OverlapHeatRecorder.getInstance().clear();
+  }
+
+  @Override
+  @After
+  public void tearDown() throws IOException, StorageEngineException {
+    super.tearDown();
+    StorageEngine.setEnablePartition(prevEnablePartition);
+    StorageEngine.setTimePartitionInterval(prevPartitionInterval);
+    IoTDBDescriptor.getInstance().getConfig().setMergeFileStrategy(prevMergeFileStrategy);
+    OverlapHeatRecorder.getInstance().clear();
+  }
+
+  @Test
+  public void testHottestFirst() throws MergeException, IOException {
+    for (int i = 0; i < 10; i++) {
+      OverlapHeatRecorder.getInstance().record(3, deviceIds[0]);
+    }
+    List<TsFileResource> unseqFiles = unseqResources.subList(0, unseqFileNum);
+    MergeResource resource = new MergeResource(seqResources, unseqFiles);
+    IMergeFileSelector mergeFileSelector =
+        new MaxOverlapHeatMergeFileSelector(resource, MEMORY_BUDGET);
+    List[] result = mergeFileSelector.select();
+    assertEquals(seqResources.subList(3, 4), result[0]);
+    assertEquals(unseqFiles.subList(3, 4), result[1]);
+    resource.clear();
+    // the merged overlaps cool down
+    assertEquals(5, OverlapHeatRecorder.getInstance().getHeat(3, deviceIds[0]));
+  }
+
+  @Test
+  public void testFullSelectionKeepsVersionOrder() throws MergeException, IOException {
+    OverlapHeatRecorder.getInstance().record(4, deviceIds[0]);
+    MergeResource resource = new MergeResource(seqResources, unseqResources);
+    IMergeFileSelector mergeFileSelector =
+        new MaxOverlapHeatMergeFileSelector(resource, Long.MAX_VALUE);
+    List[] result = mergeFileSelector.select();
+    assertEquals(seqResources, result[0]);
+    assertEquals(unseqResources, result[1]);
+    resource.clear();
+  }
+
+  @Test
+  public void testOlderOverlappedFileFirst() throws MergeException, IOException {
+    // the large unseq file covering all seq files is older than the fourth one here
+    TsFileResource largeUnseqFile = unseqResources.get(unseqFileNum);
+    TsFileResource hotUnseqFile = unseqResources.get(3);
+    for (int i = 0; i < 10; i++) {
+      OverlapHeatRecorder.getInstance().record(3, deviceIds[0]);
+    }
+    List<TsFileResource> unseqFiles = Arrays.asList(largeUnseqFile, hotUnseqFile);
+    MergeResource resource = new MergeResource(seqResources, unseqFiles);
+    IMergeFileSelector mergeFileSelector =
+        new MaxOverlapHeatMergeFileSelector(resource, Long.MAX_VALUE);
+    List[] result = mergeFileSelector.select();
+    assertEquals(unseqFiles, result[1]);
+    resource.clear();
+
+    // the hot file can not be merged before the older one that is still being written
+    largeUnseqFile.setClosed(false);
+    try {
+      resource = new MergeResource(seqResources, unseqFiles);
+      mergeFileSelector = new MaxOverlapHeatMergeFileSelector(resource, Long.MAX_VALUE);
+      assertEquals(0, mergeFileSelector.select().length);
+      resource.clear();
+    } finally {
+      largeUnseqFile.setClosed(true);
+    }
+  }
+
+  @Test
+  public void testRecordOverlapHeat() throws Exception {
+    IoTDBDescriptor.getInstance()
+        .getConfig()
+        .setMergeFileStrategy(MergeFileStrategy.MAX_OVERLAP_HEAT);
+    PartialPath path =
+        new PartialPath(
+            deviceIds[0]
+                + TsFileConstant.PATH_SEPARATOR
+                + measurementSchemas[0].getMeasurementId());
+    IBatchReader tsFilesReader =
+        new SeriesRawDataBatchReader(
+            path,
+            measurementSchemas[0].getType(),
+            new QueryContext(),
+            seqResources,
+            Collections.singletonList(unseqResources.get(1)),
+            null,
+            null,
+            true);
+    try {
+      while (tsFilesReader.hasNextBatch()) {
+        tsFilesReader.nextBatch();
+      }
+    } finally {
+      tsFilesReader.close();
+    }
+    assertTrue(OverlapHeatRecorder.getInstance().getHeat(1, deviceIds[0]) > 0);
+    assertEquals(0, OverlapHeatRecorder.getInstance().getHeat(0, deviceIds[0]));
+    assertEquals(0, OverlapHeatRecorder.getInstance().getHeat(1, deviceIds[1]));
+  }
+}
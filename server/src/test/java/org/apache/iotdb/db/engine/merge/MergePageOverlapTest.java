@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.apache.iotdb.db.engine.merge;
+
+import org.apache.iotdb.db.conf.IoTDBConstant;
+import org.apache.iotdb.db.constant.TestConstant;
+import org.apache.iotdb.db.engine.merge.manage.MergeResource;
+import org.apache.iotdb.db.engine.merge.task.MergeTask;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.db.exception.metadata.MetadataException;
+import org.apache.iotdb.db.metadata.PartialPath;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.reader.series.SeriesRawDataBatchReader;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.reader.IBatchReader;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/** unseq data overlaps only a few pages of a multi-page sequence chunk */
+public class MergePageOverlapTest extends MergeTest {
+
+  private File tempSGDir;
+  private int prevMaxNumberOfPointsInPage;
+
+  @Override
+  @Before
+  public void setUp() throws IOException, WriteProcessException, MetadataException {
+    seqFileNum = 1;
+    unseqFileNum = 1;
+    ptNum = 1000;
+    flushInterval = 1000;
+    prevMaxNumberOfPointsInPage =
+        TSFileDescriptor.getInstance().getConfig().getMaxNumberOfPointsInPage();
+    TSFileDescriptor.getInstance().getConfig().setMaxNumberOfPointsInPage(100);
+    super.setUp();
+    tempSGDir = new File(TestConstant.BASE_OUTPUT_PATH.concat("tempSG"));
+    tempSGDir.mkdirs();
+  }
+
+  @Override
+  @After
+  public void tearDown() throws IOException, StorageEngineException {
+    super.tearDown();
+    FileUtils.deleteDirectory(tempSGDir);
+    TSFileDescriptor.getInstance()
+        .getConfig()
+        .setMaxNumberOfPointsInPage(prevMaxNumberOfPointsInPage);
+  }
+
+  @Override
+  void prepareFiles(int seqFileNum, int unseqFileNum) throws IOException, WriteProcessException {
+    // one chunk of 10 pages for each series
+    TsFileResource seqResource = newResource(0);
+    seqResources.add(seqResource);
+    prepareFile(seqResource, 0, ptNum, 0);
+    // overwrites 150 ~ 159 which fall in the second page only, and appends 1000 ~ 1009
+    TsFileResource unseqResource = newResource(1);
+    unseqResources.add(unseqResource);
+    prepareFile(unseqResource, 150, 10, 10000);
+    TsFileResource appendResource = newResource(2);
+    unseqResources.add(appendResource);
+    prepareFile(appendResource, ptNum, 10, 10000);
+  }
+
+  private TsFileResource newResource(int version) {
+    File file =
+        new File(
+            TestConstant.BASE_OUTPUT_PATH.concat(
+                version
+                    + IoTDBConstant.FILE_NAME_SEPARATOR
+                    + version
+                    + IoTDBConstant.FILE_NAME_SEPARATOR
+                    + 0
+                    + IoTDBConstant.FILE_NAME_SEPARATOR
+                    + 0
+                    + ".tsfile"));
+    TsFileResource tsFileResource = new TsFileResource(file);
+    tsFileResource.setClosed(true);
+    tsFileResource.setMinPlanIndex(version);
+    tsFileResource.setMaxPlanIndex(version);
+    tsFileResource.setVersion(version);
+    return tsFileResource;
+  }
+
+  @Test
+  public void testFullMerge() throws Exception {
+    testMerge(true);
+  }
+
+  @Test
+  public void testPartialMerge() throws Exception {
+    testMerge(false);
+  }
+
+  private void testMerge(boolean fullMerge) throws Exception {
+    MergeTask mergeTask =
+        new MergeTask(
+            new MergeResource(seqResources, unseqResources),
+            tempSGDir.getPath(),
+            (k, v, l) -> {},
+            "test",
+            fullMerge,
+            1,
+            MERGE_TEST_SG);
+    mergeTask.call();
+
+    QueryContext context = new QueryContext();
+    PartialPath path =
+        new PartialPath(
+            deviceIds[0]
+                + TsFileConstant.PATH_SEPARATOR
+                + measurementSchemas[0].getMeasurementId());
+    IBatchReader tsFilesReader =
+        new SeriesRawDataBatchReader(
+            path,
+            measurementSchemas[0].getType(),
+            context,
+            Collections.singletonList(seqResources.get(0)),
+            new ArrayList<>(),
+            null,
+            null,
+            true);
+    int cnt = 0;
+    try {
+      while (tsFilesReader.hasNextBatch()) {
+        BatchData batchData = tsFilesReader.nextBatch();
+        for (int i = 0; i < batchData.length(); i++) {
+          long time = batchData.getTimeByIndex(i);
+          assertEquals(cnt, time);
+          double expected = (time >= 150 && time < 160) || time >= ptNum ? time + 10000 : time;
+          assertEquals(expected, batchData.getDoubleByIndex(i), 0.001);
+          cnt++;
+        }
+      }
+      assertEquals(ptNum + 10, cnt);
+    } finally {
+      tsFilesReader.close();
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.storagegroup;
+
+import org.apache.iotdb.db.constant.TestConstant;
+import org.apache.iotdb.db.engine.modification.Deletion;
+import org.apache.iotdb.db.engine.modification.ModificationFile;
+import org.apache.iotdb.db.exception.metadata.IllegalPathException;
+import org.apache.iotdb.db.metadata.PartialPath;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TsFileResourceManifestTest {
+
+  private final File dir = new File(TestConstant.OUTPUT_DATA_DIR, "manifestTest");
+
+  @Before
+  public void setUp() {
+    assertTrue(dir.mkdirs() || dir.exists());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(dir);
+  }
+
+  private TsFileResource createResource(String name, long base) throws IOException {
+    File file = new File(dir, name);
+    try (FileOutputStream outputStream = new FileOutputStream(file)) {
+      outputStream.write(new byte[(int) (base % 100) + 1]);
+    }
+    TsFileResource resource = new TsFileResource(file);
+    resource.updateStartTime("root.sg.d1", base);
+    resource.updateEndTime("root.sg.d1", base + 10);
+    resource.updateStartTime("root.sg.d2", base + 5);
+    resource.updateEndTime("root.sg.d2", base + 100);
+    resource.updatePlanIndexes(base);
+    resource.serialize();
+    resource.close();
+    return resource;
+  }
+
+  @Test
+  public void testLazyLoading() throws IOException {
+    TsFileResource resource = createResource("1-1-0-0.tsfile", 1000);
+    TsFileResourceManifest manifest = new TsFileResourceManifest(dir);
+    manifest.append(resource, true);
+
+    Map<String, TsFileResourceManifest.Entry> entries = manifest.load();
+    assertEquals(1, entries.size());
+    TsFileResource restored = new TsFileResource(resource.getTsFile());
+    TsFileResourceManifest.Entry entry = entries.get(resource.getTsFile().getAbsolutePath());
+    assertTrue(entry.isSequence());
+    assertTrue(entry.matches(restored));
+
+    entry.applyTo(restored);
+    assertTrue(restored.isLazyTimeIndex());
+    assertEquals(2, restored.getDevices().size());
+    assertEquals(1000, restored.getMinPlanIndex());
+    assertTrue(restored.stillLives(1050));
+    assertTrue(restored.isLazyTimeIndex());
+
+    // device level times are loaded from the .resource file on demand
+    assertEquals(1005, restored.getStartTime("root.sg.d2"));
+    assertFalse(restored.isLazyTimeIndex());
+    assertEquals(1010, restored.getEndTime("root.sg.d1"));
+  }
+
+  @Test
+  public void testLazyLoadingWithMods() throws IOException, IllegalPathException {
+    TsFileResource resource = createResource("1-1-0-0.tsfile", 1000);
+    try (ModificationFile modFile = resource.getModFile()) {
+      modFile.write(new Deletion(new PartialPath("root.sg.d1.s1"), 1, 1005));
+    }
+    // record the mods file in the .resource file
+    resource.serialize();
+    TsFileResourceManifest manifest = new TsFileResourceManifest(dir);
+    manifest.append(resource, true);
+
+    TsFileResource restored = new TsFileResource(resource.getTsFile());
+    manifest.load().get(resource.getTsFile().getAbsolutePath()).applyTo(restored);
+    assertTrue(restored.isLazyTimeIndex());
+
+    // the mods file is known before the device level time index is loaded
+    ModificationFile modFile = restored.getModFile();
+    assertTrue(restored.isLazyTimeIndex());
+    assertEquals(1, modFile.getModifications().size());
+
+    // and it is kept when the device level time index is loaded
+    modFile.write(new Deletion(new PartialPath("root.sg.d2.s1"), 1, 1050));
+    assertEquals(1005, restored.getStartTime("root.sg.d2"));
+    assertSame(modFile, restored.getModFile());
+    assertEquals(2, restored.getModFile().getModifications().size());
+    restored.close();
+  }
+
+  @Test
+  public void testRewriteAndTornTail() throws IOException {
+    TsFileResource resource1 = createResource("1-1-0-0.tsfile", 1000);
+    TsFileResource resource2 = createResource("2-2-0-0.tsfile", 2000);
+    TsFileResourceManifest manifest = new TsFileResourceManifest(dir);
+    manifest.append(resource1, true);
+    manifest.rewrite(Collections.singletonList(resource2), Collections.emptyList());
+    manifest.append(resource1, false);
+
+    // simulate a crash while appending
+    try (RandomAccessFile file = new RandomAccessFile(manifest.getManifestFile(), "rw")) {
+      file.setLength(file.length() - 3);
+    }
+    Map<String, TsFileResourceManifest.Entry> entries = manifest.load();
+    assertEquals(1, entries.size());
+    assertTrue(entries.containsKey(resource2.getTsFile().getAbsolutePath()));
+
+    // a TsFile changed after being recorded is not taken from the manifest
+    try (FileOutputStream outputStream = new FileOutputStream(resource2.getTsFile(), true)) {
+      outputStream.write(1);
+    }
+    assertFalse(
+        entries
+            .get(resource2.getTsFile().getAbsolutePath())
+            .matches(new TsFileResource(resource2.getTsFile())));
+  }
+}
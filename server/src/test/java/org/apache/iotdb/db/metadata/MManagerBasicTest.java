@@ -28,6 +28,7 @@ import org.apache.iotdb.db.metadata.template.Template;
 import org.apache.iotdb.db.qp.physical.crud.CreateTemplatePlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertRowPlan;
 import org.apache.iotdb.db.qp.physical.crud.SetDeviceTemplatePlan;
+import org.apache.iotdb.db.qp.physical.sys.CreateAlignedTimeSeriesPlan;
 import org.apache.iotdb.db.qp.physical.sys.CreateTimeSeriesPlan;
 import org.apache.iotdb.db.qp.physical.sys.ShowTimeSeriesPlan;
 import org.apache.iotdb.db.query.context.QueryContext;
@@ -720,6 +721,62 @@ public class MManagerBasicTest {
     }
   }
 
+  @Test
+  public void testCreateTimeseriesWithCompressionLevel() throws MetadataException {
+    MManager manager = IoTDB.metaManager;
+    manager.setStorageGroup(new PartialPath("root.laptop"));
+    manager.createTimeseries(
+        new PartialPath("root.laptop.d1.s0"),
+        TSDataType.INT32,
+        TSEncoding.PLAIN,
+        CompressionType.ZSTD,
+        Collections.singletonMap("compression_level", "9"));
+    assertTrue(manager.isPathExist(new PartialPath("root.laptop.d1.s0")));
+
+    String[][] illegalCases = {
+      {"SNAPPY", "9"}, {"ZSTD", "abc"}, {"ZSTD", "100"}, {"ZSTD", "-1000000"}
+    };
+    for (int i = 0; i < illegalCases.length; i++) {
+      try {
+        manager.createTimeseries(
+            new PartialPath("root.laptop.d1.s" + (i + 1)),
+            TSDataType.INT32,
+            TSEncoding.PLAIN,
+            CompressionType.valueOf(illegalCases[i][0]),
+            Collections.singletonMap("compression_level", illegalCases[i][1]));
+        fail();
+      } catch (MetadataException e) {
+        assertFalse(manager.isPathExist(new PartialPath("root.laptop.d1.s" + (i + 1))));
+      }
+    }
+
+    // the same check applies to aligned timeseries
+    manager.createAlignedTimeSeries(
+        new CreateAlignedTimeSeriesPlan(
+            new PartialPath("root.laptop.d2"),
+            Arrays.asList("s1", "s2"),
+            Arrays.asList(TSDataType.INT32, TSDataType.FLOAT),
+            Arrays.asList(TSEncoding.PLAIN, TSEncoding.PLAIN),
+            CompressionType.ZSTD,
+            null,
+            Collections.singletonMap("compression_level", "9")));
+    assertTrue(manager.isPathExist(new PartialPath("root.laptop.d2.s1")));
+    try {
+      manager.createAlignedTimeSeries(
+          new CreateAlignedTimeSeriesPlan(
+              new PartialPath("root.laptop.d3"),
+              Arrays.asList("s1", "s2"),
+              Arrays.asList(TSDataType.INT32, TSDataType.FLOAT),
+              Arrays.asList(TSEncoding.PLAIN, TSEncoding.PLAIN),
+              CompressionType.ZSTD,
+              null,
+              Collections.singletonMap("compression_level", "100")));
+      fail();
+    } catch (MetadataException e) {
+      assertFalse(manager.isPathExist(new PartialPath("root.laptop.d3.s1")));
+    }
+  }
+
   @Test
   public void testGetDevicesWithGivenPrefix() {
     MManager manager = IoTDB.metaManager;
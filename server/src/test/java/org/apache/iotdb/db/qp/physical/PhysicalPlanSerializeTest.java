@@ -198,8 +198,9 @@ public class PhysicalPlanSerializeTest {
             Arrays.asList("s1", "s2"),
             Arrays.asList(TSDataType.DOUBLE, TSDataType.INT32),
             Arrays.asList(TSEncoding.RLE, TSEncoding.RLE),
-            CompressionType.SNAPPY,
-            null);
+            CompressionType.ZSTD,
+            null,
+            Collections.singletonMap("compression_level", "9"));
 
     PhysicalPlan result = testTwoSerializeMethodAndDeserialize(createAlignedTimeSeriesPlan);
 
@@ -104,6 +104,9 @@ struct AppendEntriesRequest {
   // because a data server may play many data groups members, this is used to identify which
   // member should process the request or response. Only used in data group communication.
   7: optional Node header
+
+  // true if the logs are compressed together into the only entry, see LogCompressionUtils
+  8: optional bool compressed
 }
 
 struct AddNodeResponse {
@@ -164,6 +167,17 @@ struct PullSnapshotResp {
   1: optional map<int, binary> snapshotBytes
 }
 
+// what a node needs to know before pulling a file from another node, see FileSnapshot
+struct PullFileInfo {
+  // -1 if the file does not exist
+  1: required long length
+  // the CRC32 checksum of the whole file
+  2: required long checksum
+  // the port on which the node sends files with zero copy, or -1 if files can only be read
+  // through readFile()
+  3: required int transferPort
+}
+
 struct ExecutNonQueryReq {
   1: required binary planBytes
   2: optional Node header
@@ -190,6 +204,9 @@ struct SingleSeriesQueryRequest {
   9: required bool ascending
   10: required int fetchSize
   11: required int deduplicatedPathNum
+  // a filter expression over several series of one storage group, when set, the expression is
+  // evaluated by the receiver and only the timestamps satisfying it are returned
+  12: optional binary expressionBytes
 }
 
 struct MultSeriesQueryRequest {
@@ -222,6 +239,15 @@ struct TNodeStatus {
 
 }
 
+// the recent loads of the slots held by a data group on a node, see SlotManager
+struct SlotLoads {
+  1: required Node header
+  // slot -> the number of points written into the slot recently
+  2: required map<int, long> writeLoads
+  // slot -> the number of TsFiles of the slot scanned by queries recently
+  3: required map<int, long> readLoads
+}
+
 struct GetAggrResultRequest {
   1: required string path
   2: required list<string> aggregations
@@ -234,6 +260,23 @@ struct GetAggrResultRequest {
   9: required bool ascending
 }
 
+/**
+* Aggregations of multiple series in one data group, so that the series of a group can be
+* aggregated in one request.
+**/
+struct GetMultSeriesAggrResultRequest {
+  1: required list<string> paths
+  // the aggregations of each path
+  2: required list<list<string>> aggregations
+  3: required list<int> dataTypeOrdinals
+  4: optional binary timeFilterBytes
+  5: required Node header
+  6: required long queryId
+  7: required Node requestor
+  8: required map<string, set<string>> deviceMeasurements
+  9: required bool ascending
+}
+
 struct GroupByRequest {
   1: required string path
   2: required int dataTypeOrdinal
@@ -327,6 +370,12 @@ service RaftService {
   **/
   binary readFile(1:string filePath, 2:long offset, 3:int length)
 
+  /**
+  * Get the length and the checksum of a file before pulling it, so the pulled file can be
+  * verified, and where the file can be pulled with zero copy.
+  **/
+  PullFileInfo getPullFileInfo(1:string filePath)
+
   /**
   * Test if a log of "index" and "term" exists.
   **/
@@ -417,6 +466,13 @@ service TSDataService extends RaftService {
 
   list<binary> getAggrResult(1:GetAggrResultRequest request)
 
+  /**
+  * Perform the aggregations of multiple series in a data group.
+  * @return the serialized AggregationResults, the results of each path are in the order of the
+  * paths, and the results of a path are in the order of its aggregations.
+  **/
+  list<binary> getMultSeriesAggrResult(1:GetMultSeriesAggrResultRequest request)
+
   list<string> getUnregisteredTimeseries(1: Node header, 2: list<string> timeseriesList)
 
   PullSnapshotResp pullSnapshot(1:PullSnapshotRequest request)
@@ -502,6 +558,21 @@ service TSMetaService extends RaftService {
 
   Node checkAlive()
 
+  /**
+  * Get the recent loads of the slots held by the data groups on the receiver, which are used to
+  * move slots between data groups to balance their loads.
+  **/
+  list<SlotLoads> getSlotLoads()
+
+  /**
+  * Move slots between data groups to balance their loads. If the receiver is not the leader, the
+  * request will be forwarded to the leader.
+  * return -1(RESPONSE_AGREE) or -3(RESPONSE_REJECT)
+  *
+  * @param slotNewHeaders slot -> the header of the group the slot is moved to
+  **/
+  long migrateSlots(1: map<int, Node> slotNewHeaders)
+
   /**
   * When a node starts, it send handshakes to all other nodes so they know the node is alive
   * again. Notice that heartbeats exists only between leaders and followers, so coordinators
@@ -55,6 +55,10 @@ public abstract class LRUCache<K, T> implements Cache<K, T> {
     cache.clear();
   }
 
+  public synchronized boolean containsKey(K key) {
+    return cache.containsKey(key);
+  }
+
   public synchronized void put(K key, T value) {
     cache.put(key, value);
   }
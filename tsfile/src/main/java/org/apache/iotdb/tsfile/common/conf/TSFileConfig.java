@@ -106,8 +106,33 @@ public class TSFileConfig implements Serializable {
   private double sdtMaxError = 100;
   /** Default DFT satisfy rate is 0.1 */
   private double dftSatisfyRate = 0.1;
-  /** Data compression method, TsFile supports UNCOMPRESSED, SNAPPY or LZ4. */
+  /** Data compression method, TsFile supports UNCOMPRESSED, SNAPPY, LZ4, GZIP or ZSTD. */
   private CompressionType compressor = CompressionType.SNAPPY;
+  /**
+   * Default ZSTD compression level, used when a series does not specify one by the
+   * "compression_level" property. Higher levels compress better but slower.
+   */
+  private int zstdCompressionLevel = 3;
+  /**
+   * When a query only needs some pages of a chunk whose data is at least this size, only its page
+   * headers and the needed pages are read instead of the whole chunk. Non-positive values disable
+   * it. The default is 1MB.
+   */
+  private int lazyChunkReadThresholdInByte = 1024 * 1024;
+  /**
+   * Max size of the bloom filter of the values in each chunk, which is used to skip the chunks
+   * without the values a query is looking for. The filter of a chunk with few distinct values is
+   * smaller. Non-positive values disable it.
+   */
+  private int valueBloomFilterSizeInByte = 0;
+  /** Number of the threads reading TsFiles asynchronously, which are shared by all the files. */
+  private int asyncReadThreadNum = 8;
+  /**
+   * When several chunks of a file are read asynchronously, the chunks whose offsets are within this
+   * size from the first one are read together by one I/O, even if there are other data between
+   * them. Non-positive values disable it. The default is 1MB.
+   */
+  private int maxCoalescedReadSizeInByte = 1024 * 1024;
   /** Line count threshold for checking page memory occupied size. */
   private int pageCheckSizeThreshold = 100;
   /** Default endian value is BIG_ENDIAN. */
@@ -283,6 +308,46 @@ public class TSFileConfig implements Serializable {
     this.compressor = CompressionType.valueOf(compressor);
   }
 
+  public int getZstdCompressionLevel() {
+    return zstdCompressionLevel;
+  }
+
+  public void setZstdCompressionLevel(int zstdCompressionLevel) {
+    this.zstdCompressionLevel = zstdCompressionLevel;
+  }
+
+  public int getLazyChunkReadThresholdInByte() {
+    return lazyChunkReadThresholdInByte;
+  }
+
+  public void setLazyChunkReadThresholdInByte(int lazyChunkReadThresholdInByte) {
+    this.lazyChunkReadThresholdInByte = lazyChunkReadThresholdInByte;
+  }
+
+  public int getValueBloomFilterSizeInByte() {
+    return valueBloomFilterSizeInByte;
+  }
+
+  public void setValueBloomFilterSizeInByte(int valueBloomFilterSizeInByte) {
+    this.valueBloomFilterSizeInByte = valueBloomFilterSizeInByte;
+  }
+
+  public int getAsyncReadThreadNum() {
+    return asyncReadThreadNum;
+  }
+
+  public void setAsyncReadThreadNum(int asyncReadThreadNum) {
+    this.asyncReadThreadNum = asyncReadThreadNum;
+  }
+
+  public int getMaxCoalescedReadSizeInByte() {
+    return maxCoalescedReadSizeInByte;
+  }
+
+  public void setMaxCoalescedReadSizeInByte(int maxCoalescedReadSizeInByte) {
+    this.maxCoalescedReadSizeInByte = maxCoalescedReadSizeInByte;
+  }
+
   public int getPageCheckSizeThreshold() {
     return pageCheckSizeThreshold;
   }
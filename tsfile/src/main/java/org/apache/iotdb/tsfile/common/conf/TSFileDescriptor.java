@@ -140,6 +140,29 @@ public class TSFileDescriptor {
       conf.setTimeEncoder(properties.getProperty("time_encoder", conf.getTimeEncoder()));
       conf.setValueEncoder(properties.getProperty("value_encoder", conf.getValueEncoder()));
       conf.setCompressor(properties.getProperty("compressor", conf.getCompressor().toString()));
+      conf.setZstdCompressionLevel(
+          Integer.parseInt(
+              properties.getProperty(
+                  "zstd_compression_level", Integer.toString(conf.getZstdCompressionLevel()))));
+      conf.setLazyChunkReadThresholdInByte(
+          Integer.parseInt(
+              properties.getProperty(
+                  "lazy_chunk_read_threshold_in_byte",
+                  Integer.toString(conf.getLazyChunkReadThresholdInByte()))));
+      conf.setValueBloomFilterSizeInByte(
+          Integer.parseInt(
+              properties.getProperty(
+                  "value_bloom_filter_size_in_byte",
+                  Integer.toString(conf.getValueBloomFilterSizeInByte()))));
+      conf.setAsyncReadThreadNum(
+          Integer.parseInt(
+              properties.getProperty(
+                  "async_read_thread_num", Integer.toString(conf.getAsyncReadThreadNum()))));
+      conf.setMaxCoalescedReadSizeInByte(
+          Integer.parseInt(
+              properties.getProperty(
+                  "max_coalesced_read_size_in_byte",
+                  Integer.toString(conf.getMaxCoalescedReadSizeInByte()))));
       conf.setBatchSize(
           Integer.parseInt(
               properties.getProperty("batch_size", Integer.toString(conf.getBatchSize()))));
@@ -32,6 +32,8 @@ public class TsFileConstant {
 
   public static final byte TIME_COLUMN_MASK = (byte) 0x80;
   public static final byte VALUE_COLUMN_MASK = (byte) 0x40;
+  /** set in the type of a TimeseriesMetadata whose ChunkMetadata have value bloom filters */
+  public static final byte VALUE_BLOOM_FILTER_MASK = (byte) 0x20;
 
   private TsFileConstant() {}
 }
@@ -19,9 +19,11 @@
 
 package org.apache.iotdb.tsfile.compress;
 
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.exception.compress.CompressionTypeNotSupportedException;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 
+import com.github.luben.zstd.Zstd;
 import net.jpountz.lz4.LZ4Compressor;
 import net.jpountz.lz4.LZ4Factory;
 import org.xerial.snappy.Snappy;
@@ -31,16 +33,21 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.Map;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 import static org.apache.iotdb.tsfile.file.metadata.enums.CompressionType.GZIP;
 import static org.apache.iotdb.tsfile.file.metadata.enums.CompressionType.LZ4;
 import static org.apache.iotdb.tsfile.file.metadata.enums.CompressionType.SNAPPY;
+import static org.apache.iotdb.tsfile.file.metadata.enums.CompressionType.ZSTD;
 
 /** compress data according to type in schema. */
 public interface ICompressor extends Serializable {
 
+  /** the property of a time series that specifies its compression level */
+  String COMPRESSION_LEVEL = "compression_level";
+
   static ICompressor getCompressor(String name) {
     return getCompressor(CompressionType.valueOf(name));
   }
@@ -64,11 +71,28 @@ public interface ICompressor extends Serializable {
         return new IOTDBLZ4Compressor();
       case GZIP:
         return new GZIPCompressor();
+      case ZSTD:
+        return new ZstdCompressor();
       default:
         throw new CompressionTypeNotSupportedException(name.toString());
     }
   }
 
+  /**
+   * get Compressor according to CompressionType and the properties of a time series, which may
+   * specify the compression level by COMPRESSION_LEVEL.
+   *
+   * @param name CompressionType
+   * @param props properties of the time series, may be null
+   * @return the Compressor of specified CompressionType
+   */
+  static ICompressor getCompressor(CompressionType name, Map<String, String> props) {
+    if (name == ZSTD && props != null && props.containsKey(COMPRESSION_LEVEL)) {
+      return new ZstdCompressor(Integer.parseInt(props.get(COMPRESSION_LEVEL)));
+    }
+    return getCompressor(name);
+  }
+
   byte[] compress(byte[] data) throws IOException;
 
   /**
@@ -257,4 +281,102 @@ public interface ICompressor extends Serializable {
       return GZIP;
     }
   }
+
+  class ZstdCompressor implements ICompressor {
+
+    private final int level;
+
+    public ZstdCompressor() {
+      this(TSFileDescriptor.getInstance().getConfig().getZstdCompressionLevel());
+    }
+
+    public ZstdCompressor(int level) {
+      this.level = level;
+    }
+
+    /** @return whether level is in the range of compression levels supported by ZSTD */
+    public static boolean isValidLevel(int level) {
+      return level >= Zstd.minCompressionLevel() && level <= Zstd.maxCompressionLevel();
+    }
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+      if (data == null) {
+        return new byte[0];
+      }
+      try {
+        return Zstd.compress(data, level);
+      } catch (RuntimeException e) {
+        throw new IOException(e);
+      }
+    }
+
+    @Override
+    public int compress(byte[] data, int offset, int length, byte[] compressed) throws IOException {
+      return checkResult(
+          Zstd.compressByteArray(compressed, 0, compressed.length, data, offset, length, level));
+    }
+
+    /**
+     * Compress the remaining bytes of data into compressed without intermediate copies if both
+     * buffers are direct or both are array-backed. The positions of both buffers are advanced.
+     */
+    @Override
+    public int compress(ByteBuffer data, ByteBuffer compressed) throws IOException {
+      int size;
+      if (data.isDirect() && compressed.isDirect()) {
+        size =
+            checkResult(
+                Zstd.compressDirectByteBuffer(
+                    compressed,
+                    compressed.position(),
+                    compressed.remaining(),
+                    data,
+                    data.position(),
+                    data.remaining(),
+                    level));
+      } else if (data.hasArray() && compressed.hasArray()) {
+        size =
+            checkResult(
+                Zstd.compressByteArray(
+                    compressed.array(),
+                    compressed.arrayOffset() + compressed.position(),
+                    compressed.remaining(),
+                    data.array(),
+                    data.arrayOffset() + data.position(),
+                    data.remaining(),
+                    level));
+      } else {
+        byte[] dataBefore = new byte[data.remaining()];
+        data.duplicate().get(dataBefore);
+        byte[] res = compress(dataBefore);
+        compressed.duplicate().put(res);
+        size = res.length;
+      }
+      data.position(data.limit());
+      compressed.position(compressed.position() + size);
+      return size;
+    }
+
+    private static int checkResult(long result) throws IOException {
+      if (Zstd.isError(result)) {
+        throw new IOException("ZSTD compression failed: " + Zstd.getErrorName(result));
+      }
+      return (int) result;
+    }
+
+    @Override
+    public int getMaxBytesForCompression(int uncompressedDataSize) {
+      return (int) Zstd.compressBound(uncompressedDataSize);
+    }
+
+    @Override
+    public CompressionType getType() {
+      return ZSTD;
+    }
+
+    public int getLevel() {
+      return level;
+    }
+  }
 }
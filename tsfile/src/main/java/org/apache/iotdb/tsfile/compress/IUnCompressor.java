@@ -22,6 +22,7 @@ package org.apache.iotdb.tsfile.compress;
 import org.apache.iotdb.tsfile.exception.compress.CompressionTypeNotSupportedException;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 
+import com.github.luben.zstd.Zstd;
 import net.jpountz.lz4.LZ4Compressor;
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4SafeDecompressor;
@@ -54,6 +55,8 @@ public interface IUnCompressor {
         return new LZ4UnCompressor();
       case GZIP:
         return new GZIPUnCompressor();
+      case ZSTD:
+        return new ZstdUnCompressor();
       default:
         throw new CompressionTypeNotSupportedException(name.toString());
     }
@@ -312,4 +315,96 @@ public interface IUnCompressor {
       return CompressionType.GZIP;
     }
   }
+
+  class ZstdUnCompressor implements IUnCompressor {
+
+    @Override
+    public int getUncompressedLength(byte[] array, int offset, int length) throws IOException {
+      return checkResult(Zstd.getFrameContentSize(array, offset, length));
+    }
+
+    @Override
+    public int getUncompressedLength(ByteBuffer buffer) throws IOException {
+      if (buffer.isDirect()) {
+        return checkResult(
+            Zstd.getDirectByteBufferFrameContentSize(
+                buffer, buffer.position(), buffer.remaining()));
+      }
+      return getUncompressedLength(
+          buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+
+    @Override
+    public byte[] uncompress(byte[] byteArray) throws IOException {
+      if (null == byteArray) {
+        return new byte[0];
+      }
+      byte[] output = new byte[getUncompressedLength(byteArray, 0, byteArray.length)];
+      uncompress(byteArray, 0, byteArray.length, output, 0);
+      return output;
+    }
+
+    @Override
+    public int uncompress(byte[] byteArray, int offset, int length, byte[] output, int outOffset)
+        throws IOException {
+      return checkResult(
+          Zstd.decompressByteArray(
+              output, outOffset, output.length - outOffset, byteArray, offset, length));
+    }
+
+    /**
+     * Uncompress the remaining bytes of compressed into uncompressed without intermediate copies if
+     * both buffers are direct or both are array-backed. The positions of both buffers are advanced.
+     */
+    @Override
+    public int uncompress(ByteBuffer compressed, ByteBuffer uncompressed) throws IOException {
+      if (compressed == null || !compressed.hasRemaining()) {
+        return 0;
+      }
+
+      int size;
+      if (compressed.isDirect() && uncompressed.isDirect()) {
+        size =
+            checkResult(
+                Zstd.decompressDirectByteBuffer(
+                    uncompressed,
+                    uncompressed.position(),
+                    uncompressed.remaining(),
+                    compressed,
+                    compressed.position(),
+                    compressed.remaining()));
+      } else if (compressed.hasArray() && uncompressed.hasArray()) {
+        size =
+            checkResult(
+                Zstd.decompressByteArray(
+                    uncompressed.array(),
+                    uncompressed.arrayOffset() + uncompressed.position(),
+                    uncompressed.remaining(),
+                    compressed.array(),
+                    compressed.arrayOffset() + compressed.position(),
+                    compressed.remaining()));
+      } else {
+        byte[] dataBefore = new byte[compressed.remaining()];
+        compressed.duplicate().get(dataBefore);
+        byte[] res = uncompress(dataBefore);
+        uncompressed.duplicate().put(res);
+        size = res.length;
+      }
+      compressed.position(compressed.limit());
+      uncompressed.position(uncompressed.position() + size);
+      return size;
+    }
+
+    private static int checkResult(long result) throws IOException {
+      if (result < 0 || Zstd.isError(result)) {
+        throw new IOException("ZSTD uncompression failed: " + Zstd.getErrorName(result));
+      }
+      return (int) result;
+    }
+
+    @Override
+    public CompressionType getCodecName() {
+      return CompressionType.ZSTD;
+    }
+  }
 }
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.bitpacking;
+
+/**
+ * Reads of 64-bit windows of bit-packed bytes shared by {@link IntPacker} and {@link LongPacker}.
+ */
+class BitPackingUtils {
+
+  private BitPackingUtils() {}
+
+  /** @return the 8 bytes from buf[index] in big-endian order */
+  static long getLong(byte[] buf, int index) {
+    return ((long) buf[index] << 56)
+        | ((buf[index + 1] & 0xFFL) << 48)
+        | ((buf[index + 2] & 0xFFL) << 40)
+        | ((buf[index + 3] & 0xFFL) << 32)
+        | ((buf[index + 4] & 0xFFL) << 24)
+        | ((buf[index + 5] & 0xFFL) << 16)
+        | ((buf[index + 6] & 0xFFL) << 8)
+        | (buf[index + 7] & 0xFFL);
+  }
+
+  /** Like {@link #getLong}, but the bytes after the end of buf are read as 0. */
+  static long getLongPadded(byte[] buf, int index) {
+    long window = 0;
+    for (int i = 0; i < Long.BYTES; i++) {
+      window <<= 8;
+      if (index + i < buf.length) {
+        window |= buf[index + i] & 0xFFL;
+      }
+    }
+    return window;
+  }
+}
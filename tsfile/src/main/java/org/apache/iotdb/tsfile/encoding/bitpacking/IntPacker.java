@@ -19,6 +19,8 @@
 
 package org.apache.iotdb.tsfile.encoding.bitpacking;
 
+import java.util.Arrays;
+
 /**
  * This class is used to encode(decode) Integer in Java with specified bit-width. User need to
  * guarantee that the length of every given Integer in binary mode is less than or equal to the
@@ -55,48 +57,7 @@ public class IntPacker {
    *     IntPacker#width} / 8)
    */
   public void pack8Values(int[] values, int offset, byte[] buf) {
-    int bufIdx = 0;
-    int valueIdx = offset;
-    // remaining bits for the current unfinished Integer
-    int leftBit = 0;
-
-    while (valueIdx < NUM_OF_INTS + offset) {
-      // buffer is used for saving 32 bits as a part of result
-      int buffer = 0;
-      // remaining size of bits in the 'buffer'
-      int leftSize = 32;
-
-      // encode the left bits of current Integer to 'buffer'
-      if (leftBit > 0) {
-        buffer |= (values[valueIdx] << (32 - leftBit));
-        leftSize -= leftBit;
-        leftBit = 0;
-        valueIdx++;
-      }
-
-      while (leftSize >= width && valueIdx < NUM_OF_INTS + offset) {
-        // encode one Integer to the 'buffer'
-        buffer |= (values[valueIdx] << (leftSize - width));
-        leftSize -= width;
-        valueIdx++;
-      }
-      // If the remaining space of the buffer can not save the bits for one Integer,
-      if (leftSize > 0 && valueIdx < NUM_OF_INTS + offset) {
-        // put the first 'leftSize' bits of the Integer into remaining space of the
-        // buffer
-        buffer |= (values[valueIdx] >>> (width - leftSize));
-        leftBit = width - leftSize;
-      }
-
-      // put the buffer into the final result
-      for (int j = 0; j < 4; j++) {
-        buf[bufIdx] = (byte) ((buffer >>> ((3 - j) * 8)) & 0xFF);
-        bufIdx++;
-        if (bufIdx >= width) {
-          return;
-        }
-      }
-    }
+    packValues(values, offset, NUM_OF_INTS, width, buf);
   }
 
   /**
@@ -107,32 +68,7 @@ public class IntPacker {
    * @param values - decoded result , the length of 'values' should be @{link IntPacker#NUM_OF_INTS}
    */
   public void unpack8Values(byte[] buf, int offset, int[] values) {
-    int byteIdx = offset;
-    long buffer = 0;
-    // total bits which have read from 'buf' to 'buffer'. i.e.,
-    // number of available bits to be decoded.
-    int totalBits = 0;
-    int valueIdx = 0;
-
-    while (valueIdx < NUM_OF_INTS) {
-      // If current available bits are not enough to decode one Integer,
-      // then add next byte from buf to 'buffer' until totalBits >= width
-      while (totalBits < width) {
-        buffer = (buffer << 8) | (buf[byteIdx] & 0xFF);
-        byteIdx++;
-        totalBits += 8;
-      }
-
-      // If current available bits are enough to decode one Integer,
-      // then decode one Integer one by one until left bits in 'buffer' is
-      // not enough to decode one Integer.
-      while (totalBits >= width && valueIdx < 8) {
-        values[valueIdx] = (int) (buffer >>> (totalBits - width));
-        valueIdx++;
-        totalBits -= width;
-        buffer = buffer & ((1 << totalBits) - 1);
-      }
-    }
+    unpackValues(buf, offset, width, values, 0, NUM_OF_INTS);
   }
 
   /**
@@ -144,15 +80,87 @@ public class IntPacker {
    * @param values decoded result.
    */
   public void unpackAllValues(byte[] buf, int length, int[] values) {
-    int idx = 0;
-    int k = 0;
-    while (idx < length) {
-      int[] tv = new int[8];
-      // decode 8 values one time, current result will be saved in the array named 'tv'
-      unpack8Values(buf, idx, tv);
-      System.arraycopy(tv, 0, values, k, 8);
-      idx += width;
-      k += 8;
+    unpackValues(buf, 0, width, values, 0, length / width * NUM_OF_INTS);
+  }
+
+  /**
+   * Encode Integers one after another with specified bit-width to bytes from the start of 'buf',
+   * the last byte is padded with '0' bits.
+   *
+   * @param values - array where the Integers are in
+   * @param offset - the offset of first Integer to be encoded
+   * @param num - number of Integers to be encoded
+   * @param width - bit-width, in [0, 32]
+   * @param buf - encoded bytes, buf size must be at least ceil(num * width / 8)
+   */
+  public static void packValues(int[] values, int offset, int num, int width, byte[] buf) {
+    long mask = (1L << width) - 1;
+    // the bits not written to 'buf' yet are the lowest 'bits' bits of 'buffer'
+    long buffer = 0;
+    int bits = 0;
+    int bufIdx = 0;
+    for (int i = offset; i < offset + num; i++) {
+      buffer = (buffer << width) | (values[i] & mask);
+      bits += width;
+      while (bits >= 8) {
+        bits -= 8;
+        buf[bufIdx++] = (byte) (buffer >>> bits);
+      }
+    }
+    if (bits > 0) {
+      buf[bufIdx] = (byte) (buffer << (8 - bits));
+    }
+  }
+
+  /**
+   * Decode Integers stored one after another with specified bit-width. Each Integer is shifted out
+   * of a 64-bit window of 'buf', and 8 Integers no wider than 8 bits are shifted out of one window
+   * by unrolled code, so there is no branch depending on the data, which lets the JIT unroll and
+   * schedule the loops well.
+   *
+   * @param buf - array where bytes are in
+   * @param offset - offset of first byte to be decoded in buf
+   * @param width - bit-width, in [0, 32]
+   * @param values - decoded result
+   * @param valueOffset - the offset in 'values' of the first decoded Integer
+   * @param num - number of Integers to be decoded
+   */
+  public static void unpackValues(
+      byte[] buf, int offset, int width, int[] values, int valueOffset, int num) {
+    if (width == 0) {
+      Arrays.fill(values, valueOffset, valueOffset + num, 0);
+      return;
+    }
+    // the values whose window is inside 'buf'
+    int safeNum =
+        buf.length - offset >= Long.BYTES
+            ? Math.min(num, ((buf.length - offset - Long.BYTES + 1) * 8 + width - 1) / width)
+            : 0;
+    int i = 0;
+    if (width <= 8) {
+      int mask = (1 << width) - 1;
+      for (; i + NUM_OF_INTS <= safeNum; i += NUM_OF_INTS) {
+        long window = BitPackingUtils.getLong(buf, offset + i / 8 * width);
+        int v = valueOffset + i;
+        values[v] = (int) (window >>> (64 - width)) & mask;
+        values[v + 1] = (int) (window >>> (64 - 2 * width)) & mask;
+        values[v + 2] = (int) (window >>> (64 - 3 * width)) & mask;
+        values[v + 3] = (int) (window >>> (64 - 4 * width)) & mask;
+        values[v + 4] = (int) (window >>> (64 - 5 * width)) & mask;
+        values[v + 5] = (int) (window >>> (64 - 6 * width)) & mask;
+        values[v + 6] = (int) (window >>> (64 - 7 * width)) & mask;
+        values[v + 7] = (int) (window >>> (64 - 8 * width)) & mask;
+      }
+    }
+    for (; i < safeNum; i++) {
+      long bitIdx = (long) i * width;
+      long window = BitPackingUtils.getLong(buf, offset + (int) (bitIdx >>> 3));
+      values[valueOffset + i] = (int) ((window << (bitIdx & 7)) >>> (64 - width));
+    }
+    for (; i < num; i++) {
+      long bitIdx = (long) i * width;
+      long window = BitPackingUtils.getLongPadded(buf, offset + (int) (bitIdx >>> 3));
+      values[valueOffset + i] = (int) ((window << (bitIdx & 7)) >>> (64 - width));
     }
   }
 
@@ -19,6 +19,8 @@
 
 package org.apache.iotdb.tsfile.encoding.bitpacking;
 
+import java.util.Arrays;
+
 /**
  * This class is used to encode(decode) Long in Java with specified bit-width. User need to
  * guarantee that the length of every given Long in binary mode is less than or equal to the
@@ -56,48 +58,7 @@ public class LongPacker {
    *     {@link IntPacker#width} / 8)
    */
   public void pack8Values(long[] values, int offset, byte[] buf) {
-
-    int bufIdx = 0;
-    int valueIdx = offset;
-    // remaining bits for the current unfinished Integer
-    int leftBit = 0;
-
-    while (valueIdx < NUM_OF_LONGS + offset) {
-      // buffer is used for saving 64 bits as a part of result
-      long buffer = 0;
-      // remaining size of bits in the 'buffer'
-      int leftSize = 64;
-
-      // encode the left bits of current Long to 'buffer'
-      if (leftBit > 0) {
-        buffer |= (values[valueIdx] << (64 - leftBit));
-        leftSize -= leftBit;
-        leftBit = 0;
-        valueIdx++;
-      }
-
-      while (leftSize >= width && valueIdx < NUM_OF_LONGS + offset) {
-        // encode one Long to the 'buffer'
-        buffer |= (values[valueIdx] << (leftSize - width));
-        leftSize -= width;
-        valueIdx++;
-      }
-      // If the remaining space of the buffer can not save the bits for one Long
-      if (leftSize > 0 && valueIdx < NUM_OF_LONGS + offset) {
-        // put the first 'leftSize' bits of the Long into remaining space of the buffer
-        buffer |= (values[valueIdx] >>> (width - leftSize));
-        leftBit = width - leftSize;
-      }
-
-      // put the buffer into the final result
-      for (int j = 0; j < 8; j++) {
-        buf[bufIdx] = (byte) ((buffer >>> ((8 - j - 1) * 8)) & 0xFF);
-        bufIdx++;
-        if (bufIdx >= width * 8 / 8) {
-          return;
-        }
-      }
-    }
+    packValues(values, offset, NUM_OF_LONGS, width, buf);
   }
 
   /**
@@ -108,44 +69,7 @@ public class LongPacker {
    * @param values - decoded result , the size of values should be 8
    */
   public void unpack8Values(byte[] buf, int offset, long[] values) {
-    int byteIdx = offset;
-    int valueIdx = 0;
-    // left bit(s) available for current byte in 'buf'
-    int leftBits = 8;
-    // bits that has been read for current long value which is to be decoded
-    int totalBits = 0;
-
-    // decode long value one by one
-    while (valueIdx < 8) {
-      // set all the 64 bits in current value to '0'
-      values[valueIdx] = 0;
-      // read until 'totalBits' is equal to width
-      while (totalBits < width) {
-        // If 'leftBits' in current byte belongs to current long value
-        if (width - totalBits >= leftBits) {
-          // then put left bits in current byte to current long value
-          values[valueIdx] = values[valueIdx] << leftBits;
-          values[valueIdx] = values[valueIdx] | (((1L << leftBits) - 1) & buf[byteIdx]);
-          totalBits += leftBits;
-          // get next byte
-          byteIdx++;
-          // set 'leftBits' in next byte to 8 because the next byte has not been used
-          leftBits = 8;
-          // Else take part of bits in 'leftBits' to current value.
-        } else {
-          // numbers of bits to be take
-          int t = width - totalBits;
-          values[valueIdx] = values[valueIdx] << t;
-          values[valueIdx] =
-              values[valueIdx] | (((1L << leftBits) - 1) & buf[byteIdx]) >>> (leftBits - t);
-          leftBits -= t;
-          totalBits += t;
-        }
-      }
-      // Start to decode next long value
-      valueIdx++;
-      totalBits = 0;
-    }
+    unpackValues(buf, offset, width, values, 0, NUM_OF_LONGS);
   }
 
   /**
@@ -157,16 +81,115 @@ public class LongPacker {
    * @param values decoded result
    */
   public void unpackAllValues(byte[] buf, int length, long[] values) {
-    int idx = 0;
-    int k = 0;
-    while (idx < length) {
-      long[] tv = new long[8];
-      // decode 8 values one time, current result will be saved in the array named
-      // 'tv'
-      unpack8Values(buf, idx, tv);
-      System.arraycopy(tv, 0, values, k, 8);
-      idx += width;
-      k += 8;
+    unpackValues(buf, 0, width, values, 0, length / width * NUM_OF_LONGS);
+  }
+
+  /**
+   * Encode Long values one after another with specified bit-width to bytes from the start of 'buf',
+   * the last byte is padded with '0' bits.
+   *
+   * @param values - array where the Long values are in
+   * @param offset - the offset of first Long value to be encoded
+   * @param num - number of Long values to be encoded
+   * @param width - bit-width, in [0, 64]
+   * @param buf - encoded bytes, buf size must be at least ceil(num * width / 8)
+   */
+  public static void packValues(long[] values, int offset, int num, int width, byte[] buf) {
+    // a value wider than 32 bits is written in two parts, so 'buffer' never overflows
+    int highWidth = Math.max(width - 32, 0);
+    int lowWidth = width - highWidth;
+    long highMask = (1L << highWidth) - 1;
+    long lowMask = (1L << lowWidth) - 1;
+    // the bits not written to 'buf' yet are the lowest 'bits' bits of 'buffer'
+    long buffer = 0;
+    int bits = 0;
+    int bufIdx = 0;
+    for (int i = offset; i < offset + num; i++) {
+      buffer = (buffer << highWidth) | ((values[i] >>> lowWidth) & highMask);
+      bits += highWidth;
+      while (bits >= 8) {
+        bits -= 8;
+        buf[bufIdx++] = (byte) (buffer >>> bits);
+      }
+      buffer = (buffer << lowWidth) | (values[i] & lowMask);
+      bits += lowWidth;
+      while (bits >= 8) {
+        bits -= 8;
+        buf[bufIdx++] = (byte) (buffer >>> bits);
+      }
+    }
+    if (bits > 0) {
+      buf[bufIdx] = (byte) (buffer << (8 - bits));
+    }
+  }
+
+  /**
+   * Decode Long values stored one after another with specified bit-width. Each value is shifted out
+   * of a 64-bit window of 'buf' (plus the next byte if it is wider than 57 bits), and 8 values no
+   * wider than 8 bits are shifted out of one window by unrolled code, so there is no branch
+   * depending on the data, which lets the JIT unroll and schedule the loops well.
+   *
+   * @param buf - array where bytes are in
+   * @param offset - offset of first byte to be decoded in buf
+   * @param width - bit-width, in [0, 64]
+   * @param values - decoded result
+   * @param valueOffset - the offset in 'values' of the first decoded value
+   * @param num - number of values to be decoded
+   */
+  public static void unpackValues(
+      byte[] buf, int offset, int width, long[] values, int valueOffset, int num) {
+    if (width == 0) {
+      Arrays.fill(values, valueOffset, valueOffset + num, 0L);
+      return;
+    }
+    // the values whose window and the byte after it are inside 'buf'
+    int safeNum =
+        buf.length - offset > Long.BYTES
+            ? Math.min(num, ((buf.length - offset - Long.BYTES) * 8 + width - 1) / width)
+            : 0;
+    int i = 0;
+    if (width <= 8) {
+      long mask = (1L << width) - 1;
+      for (; i + NUM_OF_LONGS <= safeNum; i += NUM_OF_LONGS) {
+        long window = BitPackingUtils.getLong(buf, offset + i / 8 * width);
+        int v = valueOffset + i;
+        values[v] = (window >>> (64 - width)) & mask;
+        values[v + 1] = (window >>> (64 - 2 * width)) & mask;
+        values[v + 2] = (window >>> (64 - 3 * width)) & mask;
+        values[v + 3] = (window >>> (64 - 4 * width)) & mask;
+        values[v + 4] = (window >>> (64 - 5 * width)) & mask;
+        values[v + 5] = (window >>> (64 - 6 * width)) & mask;
+        values[v + 6] = (window >>> (64 - 7 * width)) & mask;
+        values[v + 7] = (window >>> (64 - 8 * width)) & mask;
+      }
+    }
+    if (width <= 57) {
+      for (; i < safeNum; i++) {
+        long bitIdx = (long) i * width;
+        long window = BitPackingUtils.getLong(buf, offset + (int) (bitIdx >>> 3));
+        values[valueOffset + i] = (window << (bitIdx & 7)) >>> (64 - width);
+      }
+    } else {
+      for (; i < safeNum; i++) {
+        long bitIdx = (long) i * width;
+        int byteIdx = offset + (int) (bitIdx >>> 3);
+        int shift = (int) (bitIdx & 7);
+        // the shift of the next byte is at least 8, i.e., it is dropped, if the window is enough
+        values[valueOffset + i] =
+            (BitPackingUtils.getLong(buf, byteIdx) << shift) >>> (64 - width)
+                | (buf[byteIdx + Long.BYTES] & 0xFFL) >>> (72 - shift - width);
+      }
+    }
+    for (; i < num; i++) {
+      long bitIdx = (long) i * width;
+      int byteIdx = offset + (int) (bitIdx >>> 3);
+      int shift = (int) (bitIdx & 7);
+      long value = (BitPackingUtils.getLongPadded(buf, byteIdx) << shift) >>> (64 - width);
+      if (shift + width > 64) {
+        // the lowest bits are in the byte after the window
+        value |= (buf[byteIdx + Long.BYTES] & 0xFFL) >>> (72 - shift - width);
+      }
+      values[valueOffset + i] = value;
     }
   }
 
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import org.apache.iotdb.tsfile.utils.Binary;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+/**
+ * A decoder of TEXT values that can tell whether a value equals one of some given values from its
+ * encoded form, so the values that do not are skipped without being decoded.
+ */
+public interface BinaryMatchingDecoder {
+
+  /**
+   * Read the next value if it is one of the given values, otherwise skip it.
+   *
+   * @param values the values to match, which are expected to be the same set in successive calls
+   * @return the matched one of the given values, or null if the next value is not one of them
+   */
+  Binary readBinaryIfIn(ByteBuffer buffer, Set<Binary> values);
+}
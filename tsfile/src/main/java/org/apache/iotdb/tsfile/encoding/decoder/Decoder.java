@@ -112,6 +112,10 @@ public abstract class Decoder {
         }
       case DICTIONARY:
         return new DictionaryDecoder();
+      case FRONT_CODING:
+        return new FrontCodingDecoder();
+      case FSST:
+        return new FsstDecoder();
       default:
         throw new TsFileDecodingException(String.format(ERROR_MSG, encoding, dataType));
     }
@@ -145,10 +149,59 @@ public abstract class Decoder {
     throw new TsFileDecodingException("Method readBinary is not supported by Decoder");
   }
 
+  /**
+   * Read the next binary values into out until it is full or there are no more values. The values
+   * are read one by one by default, encodings that can decode values in batches override this.
+   *
+   * @return the number of the values read
+   */
+  public int readBinaries(ByteBuffer buffer, Binary[] out) throws IOException {
+    int num = 0;
+    while (num < out.length && hasNext(buffer)) {
+      out[num++] = readBinary(buffer);
+    }
+    return num;
+  }
+
   public BigDecimal readBigDecimal(ByteBuffer buffer) {
     throw new TsFileDecodingException("Method readBigDecimal is not supported by Decoder");
   }
 
+  /**
+   * Skip the next values of the given type. The values are read and dropped by default, encodings
+   * that can locate a value without decoding the ones before it override this.
+   *
+   * @param num the number of values to skip, which must not exceed the number of the left values
+   */
+  public void skip(TSDataType dataType, int num, ByteBuffer buffer) {
+    for (int i = 0; i < num; i++) {
+      switch (dataType) {
+        case BOOLEAN:
+          readBoolean(buffer);
+          break;
+        case INT32:
+          readInt(buffer);
+          break;
+        case INT64:
+        case VECTOR:
+          readLong(buffer);
+          break;
+        case FLOAT:
+          readFloat(buffer);
+          break;
+        case DOUBLE:
+          readDouble(buffer);
+          break;
+        case TEXT:
+          readBinary(buffer);
+          break;
+        default:
+          throw new TsFileDecodingException(
+              String.format("Method skip is not supported for %s", dataType));
+      }
+    }
+  }
+
   public abstract boolean hasNext(ByteBuffer buffer) throws IOException;
 
   public abstract void reset();
@@ -19,9 +19,11 @@
 
 package org.apache.iotdb.tsfile.encoding.decoder;
 
+import org.apache.iotdb.tsfile.encoding.bitpacking.IntPacker;
+import org.apache.iotdb.tsfile.encoding.bitpacking.LongPacker;
 import org.apache.iotdb.tsfile.encoding.encoder.DeltaBinaryEncoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
-import org.apache.iotdb.tsfile.utils.BytesUtils;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.IOException;
@@ -59,8 +61,6 @@ public abstract class DeltaBinaryDecoder extends Decoder {
 
   protected abstract void allocateDataArray();
 
-  protected abstract void readValue(int i);
-
   /**
    * calculate the bytes length containing v bits.
    *
@@ -76,6 +76,39 @@ public abstract class DeltaBinaryDecoder extends Decoder {
     return (nextReadIndex < readIntTotalCount) || buffer.remaining() > 0;
   }
 
+  /** Drop the rest of the unpacked pack, so the next value is read from a new buffer. */
+  @Override
+  public void reset() {
+    nextReadIndex = 0;
+    readIntTotalCount = 0;
+  }
+
+  /**
+   * @return the size of the header of a pack, i.e., packNum, packWidth, minDeltaBase, firstValue
+   */
+  protected abstract int getPackHeaderSize();
+
+  /** @return the position of the pack after the one starting at the given position */
+  protected int getNextPackPosition(ByteBuffer buffer, int packPosition) {
+    int num = buffer.getInt(packPosition);
+    int width = buffer.getInt(packPosition + Integer.BYTES);
+    return packPosition + getPackHeaderSize() + ceil(num * width);
+  }
+
+  /** The packs that are skipped as a whole are jumped over by their headers without unpacking. */
+  @Override
+  public void skip(TSDataType dataType, int num, ByteBuffer buffer) {
+    int skippedInPack = Math.min(num, readIntTotalCount - nextReadIndex);
+    nextReadIndex += skippedInPack;
+    num -= skippedInPack;
+    // each pack holds its first value and packNum deltas
+    while (num > 0 && buffer.remaining() > 0 && num > buffer.getInt(buffer.position())) {
+      num -= buffer.getInt(buffer.position()) + 1;
+      buffer.position(getNextPackPosition(buffer, buffer.position()));
+    }
+    super.skip(dataType, num, buffer);
+  }
+
   public static class IntDeltaDecoder extends DeltaBinaryDecoder {
 
     private int firstValue;
@@ -131,9 +164,10 @@ public abstract class DeltaBinaryDecoder extends Decoder {
     }
 
     private void readPack() {
+      IntPacker.unpackValues(deltaBuf, 0, packWidth, data, 0, packNum);
       for (int i = 0; i < packNum; i++) {
-        readValue(i);
-        previous = data[i];
+        previous += minDeltaBase + data[i];
+        data[i] = previous;
       }
     }
 
@@ -149,18 +183,12 @@ public abstract class DeltaBinaryDecoder extends Decoder {
     }
 
     @Override
-    protected void readValue(int i) {
-      int v = BytesUtils.bytesToInt(deltaBuf, packWidth * i, packWidth);
-      data[i] = previous + minDeltaBase + v;
-    }
-
-    @Override
-    public void reset() {
-      // do nothing
+    protected int getPackHeaderSize() {
+      return 4 * Integer.BYTES;
     }
   }
 
-  public static class LongDeltaDecoder extends DeltaBinaryDecoder {
+  public static class LongDeltaDecoder extends DeltaBinaryDecoder implements TimeSeekableDecoder {
 
     private long firstValue;
     private long[] data;
@@ -210,9 +238,10 @@ public abstract class DeltaBinaryDecoder extends Decoder {
     }
 
     private void readPack() {
+      LongPacker.unpackValues(deltaBuf, 0, packWidth, data, 0, packNum);
       for (int i = 0; i < packNum; i++) {
-        readValue(i);
-        previous = data[i];
+        previous += minDeltaBase + data[i];
+        data[i] = previous;
       }
     }
 
@@ -234,14 +263,48 @@ public abstract class DeltaBinaryDecoder extends Decoder {
     }
 
     @Override
-    protected void readValue(int i) {
-      long v = BytesUtils.bytesToLong(deltaBuf, packWidth * i, packWidth);
-      data[i] = previous + minDeltaBase + v;
+    protected int getPackHeaderSize() {
+      return 2 * Integer.BYTES + 2 * Long.BYTES;
     }
 
+    /**
+     * The packs are jumped over by the first values in their headers, only the pack containing the
+     * time is unpacked.
+     */
     @Override
-    public void reset() {
-      // do nothing
+    public int skipTimestampsBefore(long time, ByteBuffer buffer) {
+      int skipped = 0;
+      while (nextReadIndex < readIntTotalCount && data[nextReadIndex] < time) {
+        nextReadIndex++;
+        skipped++;
+      }
+      if (nextReadIndex < readIntTotalCount) {
+        return skipped;
+      }
+
+      // a pack is before the time if the next one starts no later than it
+      int firstValueOffset = 2 * Integer.BYTES + Long.BYTES;
+      while (buffer.remaining() > 0) {
+        int nextPackPosition = getNextPackPosition(buffer, buffer.position());
+        if (nextPackPosition >= buffer.limit()
+            || buffer.getLong(nextPackPosition + firstValueOffset) > time) {
+          break;
+        }
+        skipped += buffer.getInt(buffer.position()) + 1;
+        buffer.position(nextPackPosition);
+      }
+      if (buffer.remaining() == 0 || buffer.getLong(buffer.position() + firstValueOffset) >= time) {
+        return skipped;
+      }
+
+      // the time is inside this pack
+      loadIntBatch(buffer);
+      skipped++;
+      while (nextReadIndex < readIntTotalCount && data[nextReadIndex] < time) {
+        nextReadIndex++;
+        skipped++;
+      }
+      return skipped;
     }
   }
 }
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Decoder for values encoded by {@link
+ * org.apache.iotdb.tsfile.encoding.encoder.FrontCodingEncoder}. When matching, it tracks the length
+ * of the prefix each wanted value shares with the current value, so only the suffixes of the values
+ * that may match are compared.
+ */
+public class FrontCodingDecoder extends Decoder implements BinaryMatchingDecoder {
+
+  private byte[] current = new byte[32];
+  private int currentLength;
+
+  private Set<Binary> matchedValues;
+  private Binary[] targets;
+  /** the length of the prefix each target shares with the current value */
+  private int[] targetPrefixLengths;
+
+  public FrontCodingDecoder() {
+    super(TSEncoding.FRONT_CODING);
+  }
+
+  @Override
+  public boolean hasNext(ByteBuffer buffer) {
+    return buffer.hasRemaining();
+  }
+
+  @Override
+  public Binary readBinary(ByteBuffer buffer) {
+    readNext(buffer);
+    // the prefix lengths of the targets are not tracked any more
+    matchedValues = null;
+    return new Binary(Arrays.copyOf(current, currentLength));
+  }
+
+  /**
+   * Each value is decoded into its own array, which also holds the prefix of the next value, so the
+   * values are not copied out of the current value one by one.
+   */
+  @Override
+  public int readBinaries(ByteBuffer buffer, Binary[] out) {
+    matchedValues = null;
+    byte[] last = current;
+    int lastLength = currentLength;
+    int num = 0;
+    while (num < out.length && buffer.hasRemaining()) {
+      int prefixLength = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+      int suffixLength = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+      byte[] value = new byte[prefixLength + suffixLength];
+      System.arraycopy(last, 0, value, 0, prefixLength);
+      buffer.get(value, prefixLength, suffixLength);
+      out[num++] = new Binary(value);
+      last = value;
+      lastLength = value.length;
+    }
+    if (last != current) {
+      // the current value must not be shared with the returned ones, as it is decoded in place
+      current = Arrays.copyOf(last, Math.max(lastLength, current.length));
+      currentLength = lastLength;
+    }
+    return num;
+  }
+
+  @Override
+  public Binary readBinaryIfIn(ByteBuffer buffer, Set<Binary> values) {
+    if (values != matchedValues) {
+      initTargets(values);
+    }
+    int prefixLength = readNext(buffer);
+    Binary matched = null;
+    for (int i = 0; i < targets.length; i++) {
+      int sharedLength = targetPrefixLengths[i];
+      byte[] target = targets[i].getValues();
+      // otherwise, the current value differs from the target at where the last one does
+      if (prefixLength <= sharedLength) {
+        sharedLength = prefixLength;
+        int limit = Math.min(currentLength, target.length);
+        while (sharedLength < limit && current[sharedLength] == target[sharedLength]) {
+          sharedLength++;
+        }
+        targetPrefixLengths[i] = sharedLength;
+      }
+      if (sharedLength == target.length && sharedLength == currentLength) {
+        matched = targets[i];
+      }
+    }
+    return matched;
+  }
+
+  /** @return the length of the prefix the next value shares with the last one */
+  private int readNext(ByteBuffer buffer) {
+    int prefixLength = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+    int suffixLength = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+    currentLength = prefixLength + suffixLength;
+    if (current.length < currentLength) {
+      current = Arrays.copyOf(current, Math.max(currentLength, current.length * 2));
+    }
+    buffer.get(current, prefixLength, suffixLength);
+    return prefixLength;
+  }
+
+  private void initTargets(Set<Binary> values) {
+    matchedValues = values;
+    targets = values.toArray(new Binary[0]);
+    targetPrefixLengths = new int[targets.length];
+    for (int i = 0; i < targets.length; i++) {
+      byte[] target = targets[i].getValues();
+      int limit = Math.min(currentLength, target.length);
+      int sharedLength = 0;
+      while (sharedLength < limit && current[sharedLength] == target[sharedLength]) {
+        sharedLength++;
+      }
+      targetPrefixLengths[i] = sharedLength;
+    }
+  }
+
+  @Override
+  public void reset() {
+    currentLength = 0;
+    matchedValues = null;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import org.apache.iotdb.tsfile.encoding.encoder.FsstSymbolTable;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Decoder for values encoded by {@link org.apache.iotdb.tsfile.encoding.encoder.FsstEncoder}. As
+ * equal values have equal codes, values are matched by compressing the wanted ones with the symbol
+ * table of the page and comparing the codes.
+ */
+public class FsstDecoder extends Decoder implements BinaryMatchingDecoder {
+
+  private FsstSymbolTable table;
+
+  private Set<Binary> matchedValues;
+  private Binary[] targets;
+  private byte[][] targetCodes;
+
+  public FsstDecoder() {
+    super(TSEncoding.FSST);
+  }
+
+  @Override
+  public boolean hasNext(ByteBuffer buffer) {
+    if (table == null) {
+      table = FsstSymbolTable.deserializeFrom(buffer);
+    }
+    return buffer.hasRemaining();
+  }
+
+  @Override
+  public Binary readBinary(ByteBuffer buffer) {
+    if (table == null) {
+      table = FsstSymbolTable.deserializeFrom(buffer);
+    }
+    int codeNum = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+    return new Binary(table.decompress(buffer, codeNum));
+  }
+
+  @Override
+  public int readBinaries(ByteBuffer buffer, Binary[] out) {
+    if (table == null) {
+      table = FsstSymbolTable.deserializeFrom(buffer);
+    }
+    int num = 0;
+    while (num < out.length && buffer.hasRemaining()) {
+      int codeNum = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+      out[num++] = new Binary(table.decompress(buffer, codeNum));
+    }
+    return num;
+  }
+
+  @Override
+  public Binary readBinaryIfIn(ByteBuffer buffer, Set<Binary> values) {
+    if (table == null) {
+      table = FsstSymbolTable.deserializeFrom(buffer);
+    }
+    if (values != matchedValues) {
+      initTargets(values);
+    }
+    int codeNum = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+    int start = buffer.position();
+    Binary matched = null;
+    for (int i = 0; i < targets.length && matched == null; i++) {
+      byte[] codes = targetCodes[i];
+      if (codes.length != codeNum) {
+        continue;
+      }
+      int j = 0;
+      while (j < codeNum && buffer.get(start + j) == codes[j]) {
+        j++;
+      }
+      if (j == codeNum) {
+        matched = targets[i];
+      }
+    }
+    buffer.position(start + codeNum);
+    return matched;
+  }
+
+  private void initTargets(Set<Binary> values) {
+    matchedValues = values;
+    targets = values.toArray(new Binary[0]);
+    targetCodes = new byte[targets.length][];
+    for (int i = 0; i < targets.length; i++) {
+      byte[] value = targets[i].getValues();
+      byte[] codes = new byte[2 * value.length];
+      int codeNum = table.compress(value, codes);
+      targetCodes[i] = Arrays.copyOf(codes, codeNum);
+    }
+  }
+
+  @Override
+  public void reset() {
+    table = null;
+    matchedValues = null;
+  }
+}
@@ -20,6 +20,7 @@
 package org.apache.iotdb.tsfile.encoding.decoder;
 
 import org.apache.iotdb.tsfile.exception.encoding.TsFileDecodingException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
@@ -71,6 +72,30 @@ public class PlainDecoder extends Decoder {
     return new Binary(buf);
   }
 
+  @Override
+  public void skip(TSDataType dataType, int num, ByteBuffer buffer) {
+    switch (dataType) {
+      case BOOLEAN:
+        buffer.position(buffer.position() + num);
+        break;
+      case INT64:
+      case DOUBLE:
+        buffer.position(buffer.position() + num * 8);
+        break;
+      case FLOAT:
+        buffer.position(buffer.position() + num * 4);
+        break;
+      case TEXT:
+        for (int i = 0; i < num; i++) {
+          int length = readInt(buffer);
+          buffer.position(buffer.position() + length);
+        }
+        break;
+      default:
+        super.skip(dataType, num, buffer);
+    }
+  }
+
   @Override
   public boolean hasNext(ByteBuffer buffer) {
     return buffer.remaining() > 0;
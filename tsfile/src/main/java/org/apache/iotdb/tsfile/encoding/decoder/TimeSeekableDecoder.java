@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A decoder of increasing timestamps whose encoding carries enough of them, e.g., the first one of
+ * each pack, to locate a time without decoding all the timestamps before it.
+ */
+public interface TimeSeekableDecoder {
+
+  /**
+   * Skip the next timestamps that are smaller than the given time, after which the next timestamp
+   * to read is the first one not smaller than it.
+   *
+   * @return the number of the skipped timestamps
+   */
+  int skipTimestampsBefore(long time, ByteBuffer buffer);
+}
@@ -19,6 +19,8 @@
 
 package org.apache.iotdb.tsfile.encoding.encoder;
 
+import org.apache.iotdb.tsfile.encoding.bitpacking.IntPacker;
+import org.apache.iotdb.tsfile.encoding.bitpacking.LongPacker;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.utils.BytesUtils;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
@@ -67,7 +69,8 @@ public abstract class DeltaBinaryEncoder extends Encoder {
 
   protected abstract void writeHeader() throws IOException;
 
-  protected abstract void writeValueToBytes(int i);
+  /** write the first {@code writeIndex} deltas into {@code encodingBlockBuffer}. */
+  protected abstract void writeValuesToBytes();
 
   protected abstract void calcTwoDiff(int i);
 
@@ -77,9 +80,7 @@ public abstract class DeltaBinaryEncoder extends Encoder {
 
   /** write all data into {@code encodingBlockBuffer}. */
   private void writeDataWithMinWidth() {
-    for (int i = 0; i < writeIndex; i++) {
-      writeValueToBytes(i);
-    }
+    writeValuesToBytes();
     int encodingLength = (int) Math.ceil((double) (writeIndex * writeWidth) / 8.0);
     out.write(encodingBlockBuffer, 0, encodingLength);
   }
@@ -194,8 +195,8 @@ public abstract class DeltaBinaryEncoder extends Encoder {
     }
 
     @Override
-    protected void writeValueToBytes(int i) {
-      BytesUtils.intToBytes(deltaBlockBuffer[i], encodingBlockBuffer, writeWidth * i, writeWidth);
+    protected void writeValuesToBytes() {
+      IntPacker.packValues(deltaBlockBuffer, 0, writeIndex, writeWidth, encodingBlockBuffer);
     }
 
     @Override
@@ -273,8 +274,8 @@ public abstract class DeltaBinaryEncoder extends Encoder {
     }
 
     @Override
-    protected void writeValueToBytes(int i) {
-      BytesUtils.longToBytes(deltaBlockBuffer[i], encodingBlockBuffer, writeWidth * i, writeWidth);
+    protected void writeValuesToBytes() {
+      LongPacker.packValues(deltaBlockBuffer, 0, writeIndex, writeWidth, encodingBlockBuffer);
     }
 
     @Override
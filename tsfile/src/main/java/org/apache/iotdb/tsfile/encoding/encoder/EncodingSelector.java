@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * EncodingSelector picks the most compact value encoding of a chunk by encoding a sample of its
+ * values with each lossless encoding of the data type. As the encoding is recorded in the header of
+ * each chunk, the chunks of a series may use different encodings.
+ */
+public class EncodingSelector {
+
+  /** the fraction of the sample size another encoding must save to replace the original one */
+  private static final double MIN_GAIN = 0.05;
+
+  private EncodingSelector() {}
+
+  /** feeds the sample values of a chunk to an encoder */
+  @FunctionalInterface
+  public interface SampleWriter {
+
+    void write(Encoder encoder, ByteArrayOutputStream out);
+  }
+
+  /**
+   * @return the encodings that may replace the original one, or an empty list if the original one
+   *     should be kept, e.g., RLE and TS_2DIFF of floating numbers keep a limited precision chosen
+   *     by the user
+   */
+  public static List<TSEncoding> getCandidates(TSDataType dataType, TSEncoding original) {
+    List<TSEncoding> candidates;
+    switch (dataType) {
+      case BOOLEAN:
+        candidates = Arrays.asList(TSEncoding.PLAIN, TSEncoding.RLE);
+        break;
+      case INT32:
+      case INT64:
+        candidates =
+            Arrays.asList(
+                TSEncoding.PLAIN, TSEncoding.RLE, TSEncoding.TS_2DIFF, TSEncoding.GORILLA);
+        break;
+      case FLOAT:
+      case DOUBLE:
+        candidates = Arrays.asList(TSEncoding.PLAIN, TSEncoding.GORILLA);
+        break;
+      default:
+        candidates = Collections.emptyList();
+        break;
+    }
+    return candidates.contains(original) ? candidates : Collections.emptyList();
+  }
+
+  /**
+   * Encode the sample with the original encoding and the candidates, and return the one with the
+   * smallest output. The original encoding is kept unless another one is notably smaller.
+   */
+  public static TSEncoding select(
+      TSDataType dataType, TSEncoding original, SampleWriter sampleWriter) throws IOException {
+    List<TSEncoding> candidates = getCandidates(dataType, original);
+    if (candidates.isEmpty()) {
+      return original;
+    }
+    long originalSize = getEncodedSize(dataType, original, sampleWriter);
+    TSEncoding selected = original;
+    long selectedSize = (long) (originalSize * (1 - MIN_GAIN));
+    for (TSEncoding candidate : candidates) {
+      if (candidate == original) {
+        continue;
+      }
+      long size = getEncodedSize(dataType, candidate, sampleWriter);
+      if (size < selectedSize) {
+        selected = candidate;
+        selectedSize = size;
+      }
+    }
+    return selected;
+  }
+
+  public static long getEncodedSize(
+      TSDataType dataType, TSEncoding encoding, SampleWriter sampleWriter) throws IOException {
+    Encoder encoder = TSEncodingBuilder.getEncodingBuilder(encoding).getEncoder(dataType);
+    PublicBAOS out = new PublicBAOS();
+    sampleWriter.write(encoder, out);
+    encoder.flush(out);
+    return out.size();
+  }
+}
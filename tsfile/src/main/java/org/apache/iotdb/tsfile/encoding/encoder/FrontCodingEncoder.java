@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * An encoder implementing front coding, i.e., each value is written as the length of the prefix it
+ * shares with the previous value and the rest of it. It suits TEXT values whose neighbours share
+ * long prefixes. The first value of a page shares nothing.
+ *
+ * <pre>Encoding format: {@code
+ * [<shared prefix length> <suffix length> <suffix>]...
+ * }</pre>
+ */
+public class FrontCodingEncoder extends Encoder {
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private final int maxStringLength;
+  private byte[] previous = EMPTY;
+
+  public FrontCodingEncoder(int maxStringLength) {
+    super(TSEncoding.FRONT_CODING);
+    this.maxStringLength = maxStringLength;
+  }
+
+  @Override
+  public void encode(Binary value, ByteArrayOutputStream out) {
+    byte[] bytes = value.getValues();
+    int limit = Math.min(previous.length, bytes.length);
+    int prefixLength = 0;
+    while (prefixLength < limit && previous[prefixLength] == bytes[prefixLength]) {
+      prefixLength++;
+    }
+    ReadWriteForEncodingUtils.writeUnsignedVarInt(prefixLength, out);
+    ReadWriteForEncodingUtils.writeUnsignedVarInt(bytes.length - prefixLength, out);
+    out.write(bytes, prefixLength, bytes.length - prefixLength);
+    previous = bytes;
+  }
+
+  @Override
+  public void flush(ByteArrayOutputStream out) {
+    // the values are written when encoded, only the previous value of the next page is reset
+    previous = EMPTY;
+  }
+
+  @Override
+  public int getOneItemMaxSize() {
+    // two unsigned var ints and a whole value
+    return 2 * (Integer.BYTES + 1) + TSFileConfig.BYTE_SIZE_PER_CHAR * maxStringLength;
+  }
+
+  @Override
+  public long getMaxByteSize() {
+    return 0;
+  }
+}
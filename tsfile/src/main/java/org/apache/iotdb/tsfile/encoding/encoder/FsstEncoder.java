@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An encoder implementing FSST compression with one symbol table per page, see {@link
+ * FsstSymbolTable}. The values of a page are kept until flush, when the table is built from them.
+ *
+ * <pre>Encoding format: {@code
+ * <symbol table> [<code number> <codes>]...
+ * }</pre>
+ */
+public class FsstEncoder extends Encoder {
+
+  private final int maxStringLength;
+  private final List<Binary> values = new ArrayList<>();
+  private long valuesSize;
+  // the arrays to count the codes when building the tables, reused by the flushes of the pages
+  private int[] counts;
+  private int[] pairCounts;
+
+  public FsstEncoder(int maxStringLength) {
+    super(TSEncoding.FSST);
+    this.maxStringLength = maxStringLength;
+  }
+
+  @Override
+  public void encode(Binary value, ByteArrayOutputStream out) {
+    values.add(value);
+    valuesSize += value.getLength();
+  }
+
+  @Override
+  public void flush(ByteArrayOutputStream out) {
+    if (pairCounts == null) {
+      counts = new int[FsstSymbolTable.COUNTS_LENGTH];
+      pairCounts = new int[FsstSymbolTable.PAIR_COUNTS_LENGTH];
+    }
+    FsstSymbolTable table = FsstSymbolTable.build(values, counts, pairCounts);
+    table.serializeTo(out);
+    byte[] codes = new byte[0];
+    for (Binary value : values) {
+      byte[] bytes = value.getValues();
+      if (codes.length < 2 * bytes.length) {
+        codes = new byte[2 * bytes.length];
+      }
+      int codeNum = table.compress(bytes, codes);
+      ReadWriteForEncodingUtils.writeUnsignedVarInt(codeNum, out);
+      out.write(codes, 0, codeNum);
+    }
+    values.clear();
+    valuesSize = 0;
+  }
+
+  @Override
+  public int getOneItemMaxSize() {
+    // an unsigned var int and a value whose bytes are all escaped
+    return Integer.BYTES + 1 + 2 * TSFileConfig.BYTE_SIZE_PER_CHAR * maxStringLength;
+  }
+
+  @Override
+  public long getMaxByteSize() {
+    return FsstSymbolTable.MAX_SERIALIZED_SIZE
+        + (long) values.size() * (Integer.BYTES + 1)
+        + 2 * valuesSize;
+  }
+}
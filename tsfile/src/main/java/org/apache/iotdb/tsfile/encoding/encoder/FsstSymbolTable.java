@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.encoder;
+
+import org.apache.iotdb.tsfile.utils.Binary;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The symbol table of FSST (Fast Static Symbol Table) compression, which maps up to 255 frequent
+ * strings of 1 to 8 bytes (symbols) to 1-byte codes. A value is compressed by repeatedly replacing
+ * its longest prefix that is a symbol by the code of the symbol, and a byte that starts no symbol
+ * is escaped by {@link #ESCAPE} followed by the byte itself. As the compression of a value only
+ * depends on the table, equal values are compressed into equal codes.
+ *
+ * <p>A table is built from a sample of the values in a few generations, each of which compresses
+ * the sample with the table of the last generation, and then keeps the symbols and the
+ * concatenations of adjacent symbols that save the most bytes.
+ *
+ * <pre>Serialized format: {@code
+ * <symbol number> [<symbol length> <symbol>]...
+ * }</pre>
+ */
+public class FsstSymbolTable {
+
+  public static final int ESCAPE = 255;
+  public static final int MAX_SYMBOL_NUM = 255;
+  public static final int MAX_SYMBOL_LENGTH = 8;
+  public static final int MAX_SERIALIZED_SIZE = 1 + MAX_SYMBOL_NUM * (1 + MAX_SYMBOL_LENGTH);
+
+  private static final int GENERATION_NUM = 5;
+  /** the total size of the values sampled to build a table */
+  private static final int SAMPLE_SIZE = 16 * 1024;
+  /** the codes counted when building a table, including the escaped bytes after the symbols */
+  private static final int CODE_SPACE = MAX_SYMBOL_NUM + 256;
+
+  public static final int COUNTS_LENGTH = CODE_SPACE;
+  public static final int PAIR_COUNTS_LENGTH = CODE_SPACE * CODE_SPACE;
+
+  private final byte[][] symbols;
+  /** the codes of the symbols starting with each byte, from the longest symbol to the shortest */
+  private final int[][] codesByFirstByte = new int[256][];
+
+  private FsstSymbolTable(byte[][] symbols) {
+    this.symbols = symbols;
+    List<List<Integer>> codeLists = new ArrayList<>(256);
+    for (int i = 0; i < 256; i++) {
+      codeLists.add(new ArrayList<>());
+    }
+    for (int code = 0; code < symbols.length; code++) {
+      codeLists.get(symbols[code][0] & 0xFF).add(code);
+    }
+    for (int i = 0; i < 256; i++) {
+      codesByFirstByte[i] =
+          codeLists.get(i).stream()
+              .sorted(Comparator.comparingInt((Integer code) -> -symbols[code].length))
+              .mapToInt(Integer::intValue)
+              .toArray();
+    }
+  }
+
+  public int getSymbolNum() {
+    return symbols.length;
+  }
+
+  /** Build a table from the given values, of which at most about 16KB are sampled. */
+  public static FsstSymbolTable build(List<Binary> values) {
+    return build(values, new int[CODE_SPACE], new int[CODE_SPACE * CODE_SPACE]);
+  }
+
+  /**
+   * Build a table with the given arrays to count the codes, which can be reused by the builds of an
+   * encoder as the pair counts take about 1MB.
+   *
+   * @param counts an array of {@link #COUNTS_LENGTH}
+   * @param pairCounts an array of {@link #PAIR_COUNTS_LENGTH}
+   */
+  public static FsstSymbolTable build(List<Binary> values, int[] counts, int[] pairCounts) {
+    long totalSize = 0;
+    for (Binary value : values) {
+      totalSize += value.getLength();
+    }
+    int step = (int) Math.max(1, totalSize / SAMPLE_SIZE);
+    List<byte[]> sample = new ArrayList<>();
+    for (int i = 0; i < values.size(); i += step) {
+      sample.add(values.get(i).getValues());
+    }
+
+    FsstSymbolTable table = new FsstSymbolTable(new byte[0][]);
+    for (int generation = 0; generation < GENERATION_NUM; generation++) {
+      Arrays.fill(counts, 0);
+      Arrays.fill(pairCounts, 0);
+      table.count(sample, counts, pairCounts);
+      table = table.nextGeneration(counts, pairCounts);
+    }
+    return table;
+  }
+
+  private void count(List<byte[]> sample, int[] counts, int[] pairCounts) {
+    for (byte[] value : sample) {
+      int position = 0;
+      int previousCode = -1;
+      while (position < value.length) {
+        int code = findLongestSymbol(value, position);
+        if (code < 0) {
+          code = MAX_SYMBOL_NUM + (value[position] & 0xFF);
+          position++;
+        } else {
+          position += symbols[code].length;
+        }
+        counts[code]++;
+        if (previousCode >= 0) {
+          pairCounts[previousCode * CODE_SPACE + code]++;
+        }
+        previousCode = code;
+      }
+    }
+  }
+
+  private FsstSymbolTable nextGeneration(int[] counts, int[] pairCounts) {
+    // the number of bytes each candidate would save
+    Map<ByteBuffer, Long> gains = new HashMap<>();
+    for (int code = 0; code < CODE_SPACE; code++) {
+      if (counts[code] == 0) {
+        continue;
+      }
+      byte[] first = getCodeBytes(code);
+      gains.merge(ByteBuffer.wrap(first), (long) counts[code] * first.length, Long::sum);
+      for (int nextCode = 0; nextCode < CODE_SPACE; nextCode++) {
+        int count = pairCounts[code * CODE_SPACE + nextCode];
+        if (count == 0) {
+          continue;
+        }
+        byte[] second = getCodeBytes(nextCode);
+        if (first.length + second.length > MAX_SYMBOL_LENGTH) {
+          continue;
+        }
+        byte[] concatenation = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, concatenation, first.length, second.length);
+        gains.merge(ByteBuffer.wrap(concatenation), (long) count * concatenation.length, Long::sum);
+      }
+    }
+
+    List<Entry<ByteBuffer, Long>> candidates = new ArrayList<>(gains.entrySet());
+    candidates.sort(
+        Comparator.comparing((Entry<ByteBuffer, Long> e) -> -e.getValue())
+            .thenComparing(Entry::getKey));
+    int symbolNum = Math.min(MAX_SYMBOL_NUM, candidates.size());
+    byte[][] newSymbols = new byte[symbolNum][];
+    for (int i = 0; i < symbolNum; i++) {
+      newSymbols[i] = candidates.get(i).getKey().array();
+    }
+    return new FsstSymbolTable(newSymbols);
+  }
+
+  private byte[] getCodeBytes(int code) {
+    return code < MAX_SYMBOL_NUM ? symbols[code] : new byte[] {(byte) (code - MAX_SYMBOL_NUM)};
+  }
+
+  /** @return the code of the longest symbol at the position, or -1 if there is no such symbol */
+  private int findLongestSymbol(byte[] value, int position) {
+    for (int code : codesByFirstByte[value[position] & 0xFF]) {
+      byte[] symbol = symbols[code];
+      if (symbol.length > value.length - position) {
+        continue;
+      }
+      int i = 1;
+      while (i < symbol.length && symbol[i] == value[position + i]) {
+        i++;
+      }
+      if (i == symbol.length) {
+        return code;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Compress a value.
+   *
+   * @param codes the array of the codes, whose length should be at least twice of the value's
+   * @return the number of the codes
+   */
+  public int compress(byte[] value, byte[] codes) {
+    int position = 0;
+    int codeNum = 0;
+    while (position < value.length) {
+      int code = findLongestSymbol(value, position);
+      if (code < 0) {
+        codes[codeNum++] = (byte) ESCAPE;
+        codes[codeNum++] = value[position++];
+      } else {
+        codes[codeNum++] = (byte) code;
+        position += symbols[code].length;
+      }
+    }
+    return codeNum;
+  }
+
+  /** Decompress the given number of codes from the current position of the buffer. */
+  public byte[] decompress(ByteBuffer buffer, int codeNum) {
+    int start = buffer.position();
+    int end = start + codeNum;
+    int length = 0;
+    for (int i = start; i < end; i++) {
+      int code = buffer.get(i) & 0xFF;
+      if (code == ESCAPE) {
+        i++;
+        length++;
+      } else {
+        length += symbols[code].length;
+      }
+    }
+
+    byte[] value = new byte[length];
+    int position = 0;
+    for (int i = start; i < end; i++) {
+      int code = buffer.get(i) & 0xFF;
+      if (code == ESCAPE) {
+        value[position++] = buffer.get(++i);
+      } else {
+        byte[] symbol = symbols[code];
+        System.arraycopy(symbol, 0, value, position, symbol.length);
+        position += symbol.length;
+      }
+    }
+    buffer.position(end);
+    return value;
+  }
+
+  public void serializeTo(ByteArrayOutputStream out) {
+    out.write(symbols.length);
+    for (byte[] symbol : symbols) {
+      out.write(symbol.length);
+      out.write(symbol, 0, symbol.length);
+    }
+  }
+
+  public static FsstSymbolTable deserializeFrom(ByteBuffer buffer) {
+    byte[][] symbols = new byte[buffer.get() & 0xFF][];
+    for (int i = 0; i < symbols.length; i++) {
+      symbols[i] = new byte[buffer.get()];
+      buffer.get(symbols[i]);
+    }
+    return new FsstSymbolTable(symbols);
+  }
+}
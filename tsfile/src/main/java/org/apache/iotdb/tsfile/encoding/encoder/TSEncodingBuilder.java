@@ -70,6 +70,10 @@ public abstract class TSEncodingBuilder {
         return new GorillaV2();
       case DICTIONARY:
         return new Dictionary();
+      case FRONT_CODING:
+        return new FrontCoding();
+      case FSST:
+        return new Fsst();
       default:
         throw new UnsupportedOperationException(type.toString());
     }
@@ -110,21 +114,26 @@ public abstract class TSEncodingBuilder {
 
     @Override
     public void initFromProps(Map<String, String> props) {
-      // set max error from initialized map or default value if not set
-      if (props == null || !props.containsKey(Encoder.MAX_STRING_LENGTH)) {
-        maxStringLength = TSFileDescriptor.getInstance().getConfig().getMaxStringLength();
-      } else {
-        maxStringLength = Integer.valueOf(props.get(Encoder.MAX_STRING_LENGTH));
-        if (maxStringLength < 0) {
-          maxStringLength = TSFileDescriptor.getInstance().getConfig().getMaxStringLength();
-          logger.warn(
-              "cannot set max string length to negative value, replaced with default value:{}",
-              maxStringLength);
-        }
-      }
+      maxStringLength = getMaxStringLength(props);
     }
   }
 
+  /** @return the max string length in the properties, or the default one if not set */
+  protected static int getMaxStringLength(Map<String, String> props) {
+    // set max error from initialized map or default value if not set
+    if (props == null || !props.containsKey(Encoder.MAX_STRING_LENGTH)) {
+      return TSFileDescriptor.getInstance().getConfig().getMaxStringLength();
+    }
+    int maxStringLength = Integer.valueOf(props.get(Encoder.MAX_STRING_LENGTH));
+    if (maxStringLength < 0) {
+      maxStringLength = TSFileDescriptor.getInstance().getConfig().getMaxStringLength();
+      logger.warn(
+          "cannot set max string length to negative value, replaced with default value:{}",
+          maxStringLength);
+    }
+    return maxStringLength;
+  }
+
   /** for ENUMS, INT32, BOOLEAN, INT64, FLOAT, DOUBLE. */
   public static class Rle extends TSEncodingBuilder {
 
@@ -314,4 +323,42 @@ public abstract class TSEncodingBuilder {
       // do nothing
     }
   }
+
+  /** for TEXT. */
+  public static class FrontCoding extends TSEncodingBuilder {
+
+    private int maxStringLength = TSFileDescriptor.getInstance().getConfig().getMaxStringLength();
+
+    @Override
+    public Encoder getEncoder(TSDataType type) {
+      if (type == TSDataType.TEXT) {
+        return new FrontCodingEncoder(maxStringLength);
+      }
+      throw new UnSupportedDataTypeException("FRONT_CODING doesn't support data type: " + type);
+    }
+
+    @Override
+    public void initFromProps(Map<String, String> props) {
+      maxStringLength = getMaxStringLength(props);
+    }
+  }
+
+  /** for TEXT. */
+  public static class Fsst extends TSEncodingBuilder {
+
+    private int maxStringLength = TSFileDescriptor.getInstance().getConfig().getMaxStringLength();
+
+    @Override
+    public Encoder getEncoder(TSDataType type) {
+      if (type == TSDataType.TEXT) {
+        return new FsstEncoder(maxStringLength);
+      }
+      throw new UnSupportedDataTypeException("FSST doesn't support data type: " + type);
+    }
+
+    @Override
+    public void initFromProps(Map<String, String> props) {
+      maxStringLength = getMaxStringLength(props);
+    }
+  }
 }
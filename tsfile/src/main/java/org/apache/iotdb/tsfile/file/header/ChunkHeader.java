@@ -157,6 +157,22 @@ public class ChunkHeader {
     return new ChunkHeader(chunkType, measurementID, dataSize, dataType, type, encoding);
   }
 
+  /**
+   * deserialize from a buffer, the marker has not been read.
+   *
+   * @param buffer the buffer positioned at the start of the chunk header, which is positioned at
+   *     the end of it after the call
+   */
+  public static ChunkHeader deserializeFrom(ByteBuffer buffer) {
+    byte chunkType = buffer.get();
+    String measurementID = ReadWriteIOUtils.readVarIntString(buffer);
+    int dataSize = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+    TSDataType dataType = ReadWriteIOUtils.readDataType(buffer);
+    CompressionType type = ReadWriteIOUtils.readCompressionType(buffer);
+    TSEncoding encoding = ReadWriteIOUtils.readEncoding(buffer);
+    return new ChunkHeader(chunkType, measurementID, dataSize, dataType, type, encoding);
+  }
+
   /**
    * deserialize from TsFileInput, the marker has not been read.
    *
@@ -22,6 +22,7 @@ import org.apache.iotdb.tsfile.common.cache.Accountable;
 import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.file.metadata.statistics.ValueBloomFilter;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.controller.IChunkLoader;
 import org.apache.iotdb.tsfile.utils.RamUsageEstimator;
@@ -142,11 +143,31 @@ public class ChunkMetadata implements Accountable, IChunkMetadata {
    * @throws IOException IOException
    */
   public int serializeTo(OutputStream outputStream, boolean serializeStatistic) throws IOException {
+    return serializeTo(outputStream, serializeStatistic, false);
+  }
+
+  /**
+   * serialize to outputStream.
+   *
+   * @param serializeValueBloomFilter whether a flag and the value bloom filter if any follow the
+   *     statistics
+   * @return length
+   */
+  public int serializeTo(
+      OutputStream outputStream, boolean serializeStatistic, boolean serializeValueBloomFilter)
+      throws IOException {
     int byteLen = 0;
     byteLen += ReadWriteIOUtils.write(offsetOfChunkHeader, outputStream);
     if (serializeStatistic) {
       byteLen += statistics.serialize(outputStream);
     }
+    if (serializeValueBloomFilter) {
+      ValueBloomFilter valueBloomFilter = statistics.getValueBloomFilter();
+      byteLen += ReadWriteIOUtils.write(valueBloomFilter != null, outputStream);
+      if (valueBloomFilter != null) {
+        byteLen += valueBloomFilter.serializeTo(outputStream);
+      }
+    }
     return byteLen;
   }
 
@@ -165,13 +186,21 @@ public class ChunkMetadata implements Accountable, IChunkMetadata {
     chunkMetaData.offsetOfChunkHeader = ReadWriteIOUtils.readLong(buffer);
     // if the TimeSeriesMetadataType is not 0, it means it has more than one chunk
     // and each chunk's metadata has its own statistics
-    if ((timeseriesMetadata.getTimeSeriesMetadataType() & 0x3F) != 0) {
+    if ((timeseriesMetadata.getTimeSeriesMetadataType() & 0x1F) != 0) {
       chunkMetaData.statistics = Statistics.deserialize(buffer, chunkMetaData.tsDataType);
     } else {
       // if the TimeSeriesMetadataType is 0, it means it has only one chunk
       // and that chunk's metadata has no statistic
       chunkMetaData.statistics = timeseriesMetadata.getStatistics();
     }
+    if ((timeseriesMetadata.getTimeSeriesMetadataType() & TsFileConstant.VALUE_BLOOM_FILTER_MASK)
+            != 0
+        && ReadWriteIOUtils.readBool(buffer)) {
+      // the statistics of a series with only one chunk are those of the chunk, so they share the
+      // filter
+      chunkMetaData.statistics.setValueBloomFilter(
+          ValueBloomFilter.deserializeFrom(buffer, chunkMetaData.tsDataType));
+    }
     return chunkMetaData;
   }
 
@@ -269,9 +298,11 @@ public class ChunkMetadata implements Accountable, IChunkMetadata {
   }
 
   public long calculateRamSize() {
+    ValueBloomFilter valueBloomFilter = statistics.getValueBloomFilter();
     return CHUNK_METADATA_FIXED_RAM_SIZE
         + RamUsageEstimator.sizeOf(measurementUid)
-        + statistics.calculateRamSize();
+        + statistics.calculateRamSize()
+        + (valueBloomFilter == null ? 0 : valueBloomFilter.calculateRamSize());
   }
 
   public static long calculateRamSize(String measurementId, TSDataType dataType) {
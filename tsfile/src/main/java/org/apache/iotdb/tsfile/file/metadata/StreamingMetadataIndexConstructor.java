@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.file.metadata;
+
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.file.metadata.enums.MetadataIndexNodeType;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+import org.apache.iotdb.tsfile.write.writer.TsFileOutput;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * StreamingMetadataIndexConstructor constructs the same metadata index tree as {@link
+ * MetadataIndexConstructor}, but takes the TimeseriesMetadata one by one, sorted by their devices
+ * and then their measurements, and serializes each of them at once. So only the index nodes of the
+ * current device are kept in memory, besides an index entry of each device. As the root nodes of
+ * the devices must be serialized together after all the TimeseriesMetadata, they are kept in a
+ * temporary file until then. Aligned series are not supported.
+ */
+public class StreamingMetadataIndexConstructor implements AutoCloseable {
+
+  private static final TSFileConfig config = TSFileDescriptor.getInstance().getConfig();
+
+  private final TsFileOutput out;
+  private final File deviceNodeFile;
+  private DataOutputStream deviceNodeOutput;
+  private int deviceNum;
+
+  private String currentDevice;
+  private Queue<MetadataIndexNode> measurementMetadataIndexQueue;
+  private MetadataIndexNode currentIndexNode;
+  private int serializedTimeseriesMetadataNum;
+
+  /**
+   * @param out tsfile output
+   * @param deviceNodeFile the temporary file of the root nodes of the devices, which is removed
+   *     when this is closed
+   */
+  public StreamingMetadataIndexConstructor(TsFileOutput out, File deviceNodeFile)
+      throws IOException {
+    this.out = out;
+    this.deviceNodeFile = deviceNodeFile;
+    this.deviceNodeOutput =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(deviceNodeFile)));
+  }
+
+  /**
+   * Serialize a TimeseriesMetadata and index it.
+   *
+   * @param device the device of the series, which must not be smaller than the last one
+   * @param timeseriesMetadata whose measurement must be larger than the last one of the same device
+   */
+  public void addTimeseriesMetadata(String device, TimeseriesMetadata timeseriesMetadata)
+      throws IOException {
+    if (!device.equals(currentDevice)) {
+      endDevice();
+      currentDevice = device;
+      measurementMetadataIndexQueue = new ArrayDeque<>();
+      currentIndexNode = new MetadataIndexNode(MetadataIndexNodeType.LEAF_MEASUREMENT);
+      serializedTimeseriesMetadataNum = 0;
+    }
+    // when constructing from leaf node, every "degree number of nodes" are related to an entry
+    if (serializedTimeseriesMetadataNum == 0
+        || serializedTimeseriesMetadataNum >= config.getMaxDegreeOfIndexNode()) {
+      if (currentIndexNode.isFull()) {
+        MetadataIndexConstructor.addCurrentIndexNodeToQueue(
+            currentIndexNode, measurementMetadataIndexQueue, out);
+        currentIndexNode = new MetadataIndexNode(MetadataIndexNodeType.LEAF_MEASUREMENT);
+      }
+      currentIndexNode.addEntry(
+          new MetadataIndexEntry(timeseriesMetadata.getMeasurementId(), out.getPosition()));
+      serializedTimeseriesMetadataNum = 0;
+    }
+    timeseriesMetadata.serializeTo(out.wrapAsStream());
+    serializedTimeseriesMetadataNum++;
+  }
+
+  /** build the index of the measurements of the current device and keep its root node aside */
+  private void endDevice() throws IOException {
+    if (currentDevice == null) {
+      return;
+    }
+    MetadataIndexConstructor.addCurrentIndexNodeToQueue(
+        currentIndexNode, measurementMetadataIndexQueue, out);
+    MetadataIndexNode deviceRootNode =
+        MetadataIndexConstructor.generateRootNode(
+            measurementMetadataIndexQueue, out, MetadataIndexNodeType.INTERNAL_MEASUREMENT);
+    PublicBAOS buffer = new PublicBAOS();
+    deviceRootNode.serializeTo(buffer);
+    ReadWriteIOUtils.write(currentDevice, deviceNodeOutput);
+    ReadWriteIOUtils.write(buffer.size(), deviceNodeOutput);
+    buffer.writeTo(deviceNodeOutput);
+    deviceNum++;
+    currentDevice = null;
+    measurementMetadataIndexQueue = null;
+    currentIndexNode = null;
+  }
+
+  /**
+   * Serialize the root nodes of the devices and build the index of the devices.
+   *
+   * @return the root node of the metadata index
+   */
+  public MetadataIndexNode finish() throws IOException {
+    endDevice();
+    deviceNodeOutput.close();
+    deviceNodeOutput = null;
+
+    // if not exceed the max child nodes num, ignore the device index and directly point to the
+    // measurement
+    Queue<MetadataIndexNode> deviceMetadataIndexQueue = new ArrayDeque<>();
+    MetadataIndexNode currentDeviceIndexNode =
+        new MetadataIndexNode(MetadataIndexNodeType.LEAF_DEVICE);
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(deviceNodeFile)))) {
+      for (int i = 0; i < deviceNum; i++) {
+        String device = ReadWriteIOUtils.readString(input);
+        byte[] deviceRootNode = new byte[ReadWriteIOUtils.readInt(input)];
+        input.readFully(deviceRootNode);
+        // when constructing from internal node, each node is related to an entry
+        if (currentDeviceIndexNode.isFull()) {
+          MetadataIndexConstructor.addCurrentIndexNodeToQueue(
+              currentDeviceIndexNode, deviceMetadataIndexQueue, out);
+          currentDeviceIndexNode = new MetadataIndexNode(MetadataIndexNodeType.LEAF_DEVICE);
+        }
+        currentDeviceIndexNode.addEntry(new MetadataIndexEntry(device, out.getPosition()));
+        out.write(deviceRootNode);
+      }
+    }
+    if (deviceNum <= config.getMaxDegreeOfIndexNode()) {
+      currentDeviceIndexNode.setEndOffset(out.getPosition());
+      return currentDeviceIndexNode;
+    }
+
+    // else, build level index for devices
+    MetadataIndexConstructor.addCurrentIndexNodeToQueue(
+        currentDeviceIndexNode, deviceMetadataIndexQueue, out);
+    MetadataIndexNode deviceMetadataIndexNode =
+        MetadataIndexConstructor.generateRootNode(
+            deviceMetadataIndexQueue, out, MetadataIndexNodeType.INTERNAL_DEVICE);
+    deviceMetadataIndexNode.setEndOffset(out.getPosition());
+    return deviceMetadataIndexNode;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (deviceNodeOutput != null) {
+      deviceNodeOutput.close();
+      deviceNodeOutput = null;
+    }
+    Files.deleteIfExists(deviceNodeFile.toPath());
+  }
+}
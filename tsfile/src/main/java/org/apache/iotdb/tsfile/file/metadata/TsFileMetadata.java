@@ -106,9 +106,19 @@ public class TsFileMetadata {
    * @return -byte length
    */
   public int serializeBloomFilter(OutputStream outputStream, Set<Path> paths) throws IOException {
-    int byteLen = 0;
-    BloomFilter filter = buildBloomFilter(paths);
+    return serializeBloomFilter(outputStream, buildBloomFilter(paths));
+  }
 
+  /**
+   * use the given outputStream to serialize bloom filter.
+   *
+   * @param outputStream -output stream to determine byte length
+   * @param filter the bloom filter of the paths in the file
+   * @return -byte length
+   */
+  public int serializeBloomFilter(OutputStream outputStream, BloomFilter filter)
+      throws IOException {
+    int byteLen = 0;
     byte[] bytes = filter.serialize();
     byteLen += ReadWriteForEncodingUtils.writeUnsignedVarInt(bytes.length, outputStream);
     outputStream.write(bytes);
@@ -125,15 +135,19 @@ public class TsFileMetadata {
    * @return bloom filter
    */
   private BloomFilter buildBloomFilter(Set<Path> paths) {
-    BloomFilter filter =
-        BloomFilter.getEmptyBloomFilter(
-            TSFileDescriptor.getInstance().getConfig().getBloomFilterErrorRate(), paths.size());
+    BloomFilter filter = getEmptyBloomFilter(paths.size());
     for (Path path : paths) {
       filter.add(path.toString());
     }
     return filter;
   }
 
+  /** @return an empty bloom filter for the given number of paths */
+  public static BloomFilter getEmptyBloomFilter(int pathNum) {
+    return BloomFilter.getEmptyBloomFilter(
+        TSFileDescriptor.getInstance().getConfig().getBloomFilterErrorRate(), pathNum);
+  }
+
   public long getMetaOffset() {
     return metaOffset;
   }
@@ -27,7 +27,9 @@ public enum TSEncoding {
   BITMAP((byte) 5),
   GORILLA_V1((byte) 6),
   REGULAR((byte) 7),
-  GORILLA((byte) 8);
+  GORILLA((byte) 8),
+  FRONT_CODING((byte) 9),
+  FSST((byte) 10);
 
   private final byte type;
 
@@ -65,6 +67,10 @@ public enum TSEncoding {
         return TSEncoding.REGULAR;
       case 8:
         return TSEncoding.GORILLA;
+      case 9:
+        return TSEncoding.FRONT_CODING;
+      case 10:
+        return TSEncoding.FSST;
       default:
         throw new IllegalArgumentException("Invalid input: " + encoding);
     }
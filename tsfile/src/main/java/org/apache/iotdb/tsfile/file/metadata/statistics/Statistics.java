@@ -57,6 +57,12 @@ public abstract class Statistics<T> {
   private long startTime = Long.MAX_VALUE;
   private long endTime = Long.MIN_VALUE;
 
+  /**
+   * bloom filter of the values, only chunk statistics may have it. It is not serialized with the
+   * statistics but with the chunk metadata, and is dropped once the statistics are updated.
+   */
+  private ValueBloomFilter valueBloomFilter;
+
   /**
    * static method providing statistic instance for respective data type.
    *
@@ -183,6 +189,7 @@ public abstract class Statistics<T> {
       this.count += stats.count;
       mergeStatisticsValue(stats);
       isEmpty = false;
+      valueBloomFilter = null;
     } else {
       String thisClass = this.getClass().toString();
       String statsClass = stats.getClass().toString();
@@ -230,6 +237,7 @@ public abstract class Statistics<T> {
       endTime = time;
     }
     count++;
+    valueBloomFilter = null;
   }
 
   public void update(long[] time, boolean[] values, int batchSize) {
@@ -270,6 +278,7 @@ public abstract class Statistics<T> {
       endTime = time[batchSize - 1];
     }
     count += batchSize;
+    valueBloomFilter = null;
   }
 
   protected abstract void mergeStatisticsValue(Statistics stats);
@@ -282,6 +291,22 @@ public abstract class Statistics<T> {
     isEmpty = empty;
   }
 
+  public ValueBloomFilter getValueBloomFilter() {
+    return valueBloomFilter;
+  }
+
+  public void setValueBloomFilter(ValueBloomFilter valueBloomFilter) {
+    this.valueBloomFilter = valueBloomFilter;
+  }
+
+  /**
+   * @param value a value of the type of the statistics
+   * @return false if the value is surely not in the data described by the statistics
+   */
+  public boolean mayContainValue(Object value) {
+    return valueBloomFilter == null || valueBloomFilter.mightContain(value);
+  }
+
   void updateStats(boolean value) {
     throw new UnsupportedOperationException();
   }
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.file.metadata.statistics;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A bloom filter of the values in a chunk, which tells that a chunk has none of the values an
+ * equality or IN predicate looks for.
+ *
+ * <p>The number of bits is a power of two, so that a filter can be folded in half by OR-ing its two
+ * halves. A filter is created with the max size and folded when the chunk ends, while it stays
+ * sparse enough, so chunks with few distinct values get small filters.
+ *
+ * <p>It is serialized as: {@code <bit number: int> <bits: long>...}
+ */
+public class ValueBloomFilter {
+
+  private static final int HASH_FUNCTION_NUM = 3;
+  private static final int MIN_BIT_NUM = Long.SIZE;
+  /** a filter with a higher ratio of set bits is too inaccurate to be worth its bytes */
+  private static final double MAX_FILL_RATIO = 0.5;
+  /** a filter is folded only if it is still accurate enough after folding */
+  private static final double MAX_FOLDED_FILL_RATIO = 0.3;
+
+  private final TSDataType dataType;
+  private long[] words;
+
+  private ValueBloomFilter(TSDataType dataType, long[] words) {
+    this.dataType = dataType;
+    this.words = words;
+  }
+
+  /**
+   * @param maxSizeInByte the max serialized size of the bits
+   * @return an empty filter, or null if no filter should be kept for the data type or size
+   */
+  public static ValueBloomFilter getEmptyFilter(TSDataType dataType, int maxSizeInByte) {
+    if (maxSizeInByte * 8 < MIN_BIT_NUM || !isSupported(dataType)) {
+      return null;
+    }
+    int bitNum = Integer.highestOneBit(Math.min(maxSizeInByte, Integer.MAX_VALUE / 8) * 8);
+    return new ValueBloomFilter(dataType, new long[bitNum / Long.SIZE]);
+  }
+
+  private static boolean isSupported(TSDataType dataType) {
+    switch (dataType) {
+      case INT32:
+      case INT64:
+      case FLOAT:
+      case DOUBLE:
+      case TEXT:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  public void add(int value) {
+    addHash(mix((long) value));
+  }
+
+  public void add(long value) {
+    addHash(mix(value));
+  }
+
+  public void add(float value) {
+    addHash(mix((long) Float.floatToIntBits(value)));
+  }
+
+  public void add(double value) {
+    addHash(mix(Double.doubleToLongBits(value)));
+  }
+
+  public void add(Binary value) {
+    addHash(hash(value));
+  }
+
+  private void addHash(long hash) {
+    int hash1 = (int) hash;
+    int hash2 = (int) (hash >>> 32);
+    int mask = words.length * Long.SIZE - 1;
+    for (int i = 0; i < HASH_FUNCTION_NUM; i++) {
+      int index = (hash1 + i * hash2) & mask;
+      words[index >>> 6] |= 1L << index;
+    }
+  }
+
+  /**
+   * @param value a value of the type of the filter
+   * @return false if the value is surely not in the chunk, true if it may be in the chunk or is not
+   *     of the type of the filter
+   */
+  public boolean mightContain(Object value) {
+    long hash;
+    if (dataType == TSDataType.INT32 && value instanceof Integer) {
+      hash = mix((long) (Integer) value);
+    } else if (dataType == TSDataType.INT64 && value instanceof Long) {
+      hash = mix((Long) value);
+    } else if (dataType == TSDataType.FLOAT && value instanceof Float) {
+      hash = mix((long) Float.floatToIntBits((Float) value));
+    } else if (dataType == TSDataType.DOUBLE && value instanceof Double) {
+      hash = mix(Double.doubleToLongBits((Double) value));
+    } else if (dataType == TSDataType.TEXT && value instanceof Binary) {
+      hash = hash((Binary) value);
+    } else {
+      return true;
+    }
+    int hash1 = (int) hash;
+    int hash2 = (int) (hash >>> 32);
+    int mask = words.length * Long.SIZE - 1;
+    for (int i = 0; i < HASH_FUNCTION_NUM; i++) {
+      int index = (hash1 + i * hash2) & mask;
+      if ((words[index >>> 6] & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Fold the filter in half as long as it stays accurate enough.
+   *
+   * @return false if the filter is too full to be kept
+   */
+  public boolean compact() {
+    if (getSetBitNum() > getBitNum() * MAX_FILL_RATIO) {
+      return false;
+    }
+    while (words.length > 1) {
+      int half = words.length / 2;
+      long[] folded = Arrays.copyOf(words, half);
+      for (int i = 0; i < half; i++) {
+        folded[i] |= words[half + i];
+      }
+      if (getSetBitNum(folded) > half * Long.SIZE * MAX_FOLDED_FILL_RATIO) {
+        break;
+      }
+      words = folded;
+    }
+    return true;
+  }
+
+  public int getBitNum() {
+    return words.length * Long.SIZE;
+  }
+
+  private int getSetBitNum() {
+    return getSetBitNum(words);
+  }
+
+  private static int getSetBitNum(long[] words) {
+    int num = 0;
+    for (long word : words) {
+      num += Long.bitCount(word);
+    }
+    return num;
+  }
+
+  public int serializeTo(OutputStream outputStream) throws IOException {
+    int byteLen = ReadWriteIOUtils.write(getBitNum(), outputStream);
+    for (long word : words) {
+      byteLen += ReadWriteIOUtils.write(word, outputStream);
+    }
+    return byteLen;
+  }
+
+  public static ValueBloomFilter deserializeFrom(ByteBuffer buffer, TSDataType dataType) {
+    long[] words = new long[ReadWriteIOUtils.readInt(buffer) / Long.SIZE];
+    for (int i = 0; i < words.length; i++) {
+      words[i] = ReadWriteIOUtils.readLong(buffer);
+    }
+    return new ValueBloomFilter(dataType, words);
+  }
+
+  public long calculateRamSize() {
+    return 32L + (long) words.length * Long.BYTES;
+  }
+
+  /** the finalizer of MurmurHash3, which spreads the bits of similar values */
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  /** FNV-1a over the bytes of the value */
+  private static long hash(Binary value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getValues()) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return mix(hash);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ValueBloomFilter that = (ValueBloomFilter) o;
+    return dataType == that.dataType && Arrays.equals(words, that.words);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * dataType.hashCode() + Arrays.hashCode(words);
+  }
+}
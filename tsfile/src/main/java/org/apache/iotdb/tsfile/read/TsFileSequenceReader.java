@@ -43,7 +43,9 @@ import org.apache.iotdb.tsfile.fileSystem.FSFactoryProducer;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.controller.MetadataQuerierByFileImpl;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.reader.TsFileInput;
 import org.apache.iotdb.tsfile.read.reader.page.PageReader;
 import org.apache.iotdb.tsfile.utils.BloomFilter;
@@ -58,6 +60,7 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -73,6 +76,8 @@ import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -83,6 +88,9 @@ public class TsFileSequenceReader implements AutoCloseable {
   private static final Logger logger = LoggerFactory.getLogger(TsFileSequenceReader.class);
   private static final Logger resourceLogger = LoggerFactory.getLogger("FileMonitor");
   protected static final TSFileConfig config = TSFileDescriptor.getInstance().getConfig();
+  /** the initial size of each read of page headers when a chunk is read lazily */
+  private static final int PAGE_HEADER_WINDOW_SIZE = 4096;
+
   private static final String METADATA_INDEX_NODE_DESERIALIZE_ERROR =
       "Something error happened while deserializing MetadataIndexNode of file {}";
   protected String file;
@@ -831,6 +839,17 @@ public class TsFileSequenceReader implements AutoCloseable {
     return ChunkHeader.deserializeFrom(tsFileInput.wrapAsInputStream(), chunkType);
   }
 
+  /**
+   * read the header of a chunk without its data.
+   *
+   * @param metaData the metadata of the chunk
+   */
+  public ChunkHeader readChunkHeader(ChunkMetadata metaData) throws IOException {
+    return readChunkHeader(
+        metaData.getOffsetOfChunkHeader(),
+        ChunkHeader.getSerializedSize(metaData.getMeasurementUid()));
+  }
+
   /**
    * read the chunk's header.
    *
@@ -867,6 +886,282 @@ public class TsFileSequenceReader implements AutoCloseable {
     return new Chunk(header, buffer, metaData.getDeleteIntervalList(), metaData.getStatistics());
   }
 
+  /**
+   * read the chunks of the given metadata without waiting for them, by the asynchronous reads of
+   * {@link TsFileInput#readAsync}. The chunks are sorted by their offsets, and the ones whose
+   * offsets are within maxCoalescedReadSizeInByte from the first one of them are read by one I/O,
+   * which also covers the header of the last one, whose data is read by another I/O. The other data
+   * between these chunks are read and dropped, which is cheaper than separate I/Os when they are
+   * small. A chunk whose data is not smaller than lazyChunkReadThresholdInByte is not read ahead,
+   * as a query may only need a few of its pages, so only its header is read.
+   *
+   * @param metadataList the metadata of the chunks of this file
+   * @return the futures of the chunks in the order of the given metadata, which are completed with
+   *     null if the chunk is too large to be read ahead, or exceptionally with an IOException if
+   *     the read fails
+   */
+  public List<CompletableFuture<Chunk>> readMemChunksAsync(List<ChunkMetadata> metadataList) {
+    List<CompletableFuture<Chunk>> futures = new ArrayList<>(metadataList.size());
+    List<Integer> order = new ArrayList<>(metadataList.size());
+    for (int i = 0; i < metadataList.size(); i++) {
+      futures.add(new CompletableFuture<>());
+      order.add(i);
+    }
+    order.sort(Comparator.comparingLong(i -> metadataList.get(i).getOffsetOfChunkHeader()));
+
+    // a chunk asked for twice is only read once
+    List<Integer> distinctOrder = new ArrayList<>(order.size());
+    for (int i : order) {
+      if (!distinctOrder.isEmpty()) {
+        int prev = distinctOrder.get(distinctOrder.size() - 1);
+        ChunkMetadata metaData = metadataList.get(i);
+        if (metadataList.get(prev).getOffsetOfChunkHeader() == metaData.getOffsetOfChunkHeader()) {
+          futures
+              .get(prev)
+              .whenComplete(
+                  (chunk, e) -> {
+                    if (e != null) {
+                      futures.get(i).completeExceptionally(e);
+                    } else if (chunk == null) {
+                      futures.get(i).complete(null);
+                    } else {
+                      futures
+                          .get(i)
+                          .complete(
+                              new Chunk(
+                                  chunk.getHeader(),
+                                  chunk.getData().duplicate(),
+                                  metaData.getDeleteIntervalList(),
+                                  metaData.getStatistics()));
+                    }
+                  });
+          continue;
+        }
+      }
+      distinctOrder.add(i);
+    }
+
+    int runStart = 0;
+    for (int i = 1; i <= distinctOrder.size(); i++) {
+      if (i == distinctOrder.size()
+          || metadataList.get(distinctOrder.get(i)).getOffsetOfChunkHeader()
+                  - metadataList.get(distinctOrder.get(runStart)).getOffsetOfChunkHeader()
+              > config.getMaxCoalescedReadSizeInByte()) {
+        readChunkRunAsync(metadataList, distinctOrder.subList(runStart, i), futures);
+        runStart = i;
+      }
+    }
+    return futures;
+  }
+
+  /**
+   * read a run of chunks, the first ones and the header of the last one are read together.
+   *
+   * @param run the indexes of the chunks in metadataList, sorted by their offsets
+   */
+  private void readChunkRunAsync(
+      List<ChunkMetadata> metadataList, List<Integer> run, List<CompletableFuture<Chunk>> futures) {
+    ChunkMetadata lastMetaData = metadataList.get(run.get(run.size() - 1));
+    long start = metadataList.get(run.get(0)).getOffsetOfChunkHeader();
+    long end =
+        lastMetaData.getOffsetOfChunkHeader()
+            + ChunkHeader.getSerializedSize(lastMetaData.getMeasurementUid());
+    tsFileInput
+        .readAsync(start, (int) (end - start))
+        .thenCompose(
+            buffer -> {
+              ChunkHeader lastHeader;
+              try {
+                for (int i = 0; i < run.size() - 1; i++) {
+                  ChunkMetadata metaData = metadataList.get(run.get(i));
+                  long nextOffset = metadataList.get(run.get(i + 1)).getOffsetOfChunkHeader();
+                  futures
+                      .get(run.get(i))
+                      .complete(
+                          sliceChunk(
+                              buffer,
+                              (int) (metaData.getOffsetOfChunkHeader() - start),
+                              (int) (nextOffset - start),
+                              metaData));
+                }
+                buffer.position((int) (lastMetaData.getOffsetOfChunkHeader() - start));
+                lastHeader = ChunkHeader.deserializeFrom(buffer);
+              } catch (IOException | RuntimeException e) {
+                throw new CompletionException(
+                    new IOException("Broken chunks in " + file + " from " + start, e));
+              }
+              if (isTooLargeToReadAhead(lastHeader)) {
+                return CompletableFuture.completedFuture(null);
+              }
+              return tsFileInput
+                  .readAsync(
+                      lastMetaData.getOffsetOfChunkHeader() + lastHeader.getSerializedSize(),
+                      lastHeader.getDataSize())
+                  .thenApply(
+                      data -> {
+                        if (data.remaining() != lastHeader.getDataSize()) {
+                          throw new CompletionException(
+                              new IOException(
+                                  "reach the end of the data of the chunk in "
+                                      + file
+                                      + " at "
+                                      + lastMetaData.getOffsetOfChunkHeader()));
+                        }
+                        return new Chunk(
+                            lastHeader,
+                            data,
+                            lastMetaData.getDeleteIntervalList(),
+                            lastMetaData.getStatistics());
+                      });
+            })
+        .whenComplete(
+            (chunk, e) -> {
+              if (e != null) {
+                Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                for (int i : run) {
+                  futures.get(i).completeExceptionally(cause);
+                }
+              } else {
+                futures.get(run.get(run.size() - 1)).complete(chunk);
+              }
+            });
+  }
+
+  /**
+   * copy a chunk out of the buffer of a coalesced read, so the buffer is not held by the chunk.
+   *
+   * @param offset the offset of the chunk in the buffer
+   * @param nextOffset the offset of the next chunk in the buffer, which the chunk must not exceed
+   * @return the chunk, or null if it is too large to be read ahead
+   */
+  private Chunk sliceChunk(ByteBuffer buffer, int offset, int nextOffset, ChunkMetadata metaData)
+      throws IOException {
+    ByteBuffer chunkBuffer = buffer.duplicate();
+    chunkBuffer.position(offset);
+    ChunkHeader header = ChunkHeader.deserializeFrom(chunkBuffer);
+    if (isTooLargeToReadAhead(header)) {
+      return null;
+    }
+    if (chunkBuffer.position() + header.getDataSize() > nextOffset) {
+      throw new IOException(
+          "the chunk at " + metaData.getOffsetOfChunkHeader() + " overlaps the next one");
+    }
+    chunkBuffer.limit(chunkBuffer.position() + header.getDataSize());
+    ByteBuffer data = ByteBuffer.allocate(header.getDataSize());
+    data.put(chunkBuffer);
+    data.flip();
+    return new Chunk(header, data, metaData.getDeleteIntervalList(), metaData.getStatistics());
+  }
+
+  /** @return whether the chunk is large enough to be read lazily by the pages a query needs */
+  private boolean isTooLargeToReadAhead(ChunkHeader header) {
+    int threshold = config.getLazyChunkReadThresholdInByte();
+    return threshold > 0 && header.getDataSize() >= threshold;
+  }
+
+  /**
+   * read memory chunk for a query with the given filter. If the chunk has several pages and its
+   * data is not smaller than lazyChunkReadThresholdInByte, its page headers are read first and then
+   * only the pages that may satisfy the filter and are not deleted, where adjacent pages are read
+   * together. Otherwise, the whole chunk is read.
+   *
+   * <p>The returned chunk may only contain some pages, so it should only be read with the same
+   * filter, and should not be cached unless its data size equals the one in its header.
+   *
+   * @param metaData -given chunk meta data
+   * @param filter the filter of the query, or null to read the whole chunk
+   * @return -chunk
+   */
+  public Chunk readMemChunk(ChunkMetadata metaData, Filter filter) throws IOException {
+    ChunkHeader header = readChunkHeader(metaData);
+    long dataOffset = metaData.getOffsetOfChunkHeader() + header.getSerializedSize();
+    int threshold = config.getLazyChunkReadThresholdInByte();
+    if (filter == null
+        || threshold <= 0
+        || header.getDataSize() < threshold
+        || ((byte) (header.getChunkType() & 0x3F)) == MetaMarker.ONLY_ONE_PAGE_CHUNK_HEADER) {
+      return new Chunk(
+          header,
+          readChunk(dataOffset, header.getDataSize()),
+          metaData.getDeleteIntervalList(),
+          metaData.getStatistics());
+    }
+
+    // the [start, end) offsets of the runs of adjacent pages to be read
+    List<long[]> pageRuns = new ArrayList<>();
+    long chunkEnd = dataOffset + header.getDataSize();
+    long pageOffset = dataOffset;
+    ByteBuffer window = ByteBuffer.allocate(0);
+    long windowOffset = dataOffset;
+    long neededSize = 0;
+    while (pageOffset < chunkEnd) {
+      // page headers are read through a window, so the headers of small pages share one read
+      PageHeader pageHeader = null;
+      int headerSize = 0;
+      int windowSize = PAGE_HEADER_WINDOW_SIZE;
+      while (pageHeader == null) {
+        if (pageOffset >= windowOffset && pageOffset < windowOffset + window.limit()) {
+          ByteBuffer headerBuffer = window.duplicate();
+          headerBuffer.position((int) (pageOffset - windowOffset));
+          try {
+            pageHeader = PageHeader.deserializeFrom(headerBuffer, header.getDataType());
+            headerSize = headerBuffer.position() - (int) (pageOffset - windowOffset);
+            break;
+          } catch (BufferUnderflowException e) {
+            if (windowOffset + window.limit() >= chunkEnd) {
+              throw new IOException(
+                  String.format(
+                      "Incomplete page header of chunk %s at %d in %s",
+                      metaData.getMeasurementUid(), pageOffset, file),
+                  e);
+            }
+            // the page header crosses the end of the window
+          }
+        }
+        windowOffset = pageOffset;
+        window = readData(pageOffset, (int) Math.min(windowSize, chunkEnd - pageOffset));
+        windowSize *= 2;
+      }
+
+      long pageEnd = pageOffset + headerSize + pageHeader.getCompressedSize();
+      if (isPageNeeded(pageHeader, filter, metaData.getDeleteIntervalList())) {
+        long[] lastRun = pageRuns.isEmpty() ? null : pageRuns.get(pageRuns.size() - 1);
+        if (lastRun != null && lastRun[1] == pageOffset) {
+          lastRun[1] = pageEnd;
+        } else {
+          pageRuns.add(new long[] {pageOffset, pageEnd});
+        }
+        neededSize += pageEnd - pageOffset;
+      }
+      pageOffset = pageEnd;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate((int) neededSize);
+    for (long[] pageRun : pageRuns) {
+      int runSize = (int) (pageRun[1] - pageRun[0]);
+      if (readRaw(pageRun[0], runSize, buffer) != runSize) {
+        throw new IOException(
+            String.format(
+                "reach the end of the data. Size of data that want to read: %s, position: %s",
+                runSize, pageRun[0]));
+      }
+    }
+    buffer.flip();
+    return new Chunk(header, buffer, metaData.getDeleteIntervalList(), metaData.getStatistics());
+  }
+
+  private boolean isPageNeeded(
+      PageHeader pageHeader, Filter filter, List<TimeRange> deleteIntervalList) {
+    if (deleteIntervalList != null) {
+      for (TimeRange range : deleteIntervalList) {
+        if (range.contains(pageHeader.getStartTime(), pageHeader.getEndTime())) {
+          return false;
+        }
+      }
+    }
+    return filter.satisfy(pageHeader.getStatistics());
+  }
+
   /**
    * not thread safe.
    *
@@ -22,6 +22,7 @@ import org.apache.iotdb.tsfile.common.cache.LRUCache;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 
 import java.io.IOException;
 
@@ -66,6 +67,20 @@ public class CachedChunkLoaderImpl implements IChunkLoader {
         chunkMetaData.getStatistics());
   }
 
+  /** a chunk that is cached is read from the cache, otherwise only its needed pages are read */
+  @Override
+  public Chunk loadChunk(ChunkMetadata chunkMetaData, Filter filter) throws IOException {
+    if (filter == null || chunkCache.containsKey(chunkMetaData)) {
+      return loadChunk(chunkMetaData);
+    }
+    Chunk chunk = reader.readMemChunk(chunkMetaData, filter);
+    if (chunk.getData().remaining() == chunk.getHeader().getDataSize()) {
+      chunkCache.put(chunkMetaData, chunk);
+      return loadChunk(chunkMetaData);
+    }
+    return chunk;
+  }
+
   @Override
   public void close() throws IOException {
     reader.close();
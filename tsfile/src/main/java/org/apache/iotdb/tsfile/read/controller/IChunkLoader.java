@@ -20,6 +20,7 @@ package org.apache.iotdb.tsfile.read.controller;
 
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 
 import java.io.IOException;
 
@@ -28,6 +29,14 @@ public interface IChunkLoader {
   /** read all content of any chunk. */
   Chunk loadChunk(ChunkMetadata chunkMetaData) throws IOException;
 
+  /**
+   * read the content of a chunk that is needed by a reader with the given filter, the pages that do
+   * not satisfy the filter may be absent.
+   */
+  default Chunk loadChunk(ChunkMetadata chunkMetaData, Filter filter) throws IOException {
+    return loadChunk(chunkMetaData);
+  }
+
   /** close the file reader. */
   void close() throws IOException;
 }
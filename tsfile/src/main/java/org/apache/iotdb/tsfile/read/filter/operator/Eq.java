@@ -47,10 +47,11 @@ public class Eq<T extends Comparable<T>> extends UnaryFilter<T> {
           && ((Long) value) <= statistics.getEndTime();
     } else {
       if (statistics.getType() == TSDataType.TEXT || statistics.getType() == TSDataType.BOOLEAN) {
-        return true;
+        return statistics.mayContainValue(value);
       }
       return value.compareTo((T) statistics.getMinValue()) >= 0
-          && value.compareTo((T) statistics.getMaxValue()) <= 0;
+          && value.compareTo((T) statistics.getMaxValue()) <= 0
+          && statistics.mayContainValue(value);
     }
   }
 
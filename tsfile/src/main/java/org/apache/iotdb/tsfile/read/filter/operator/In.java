@@ -58,7 +58,15 @@ public class In<T extends Comparable<T>> implements Filter {
 
   @Override
   public boolean satisfy(Statistics statistics) {
-    return true;
+    if (filterType == FilterType.TIME_FILTER || not) {
+      return true;
+    }
+    for (T value : values) {
+      if (statistics.mayContainValue(value)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
@@ -122,4 +130,8 @@ public class In<T extends Comparable<T>> implements Filter {
   public Set<T> getValues() {
     return values;
   }
+
+  public boolean isNot() {
+    return not;
+  }
 }
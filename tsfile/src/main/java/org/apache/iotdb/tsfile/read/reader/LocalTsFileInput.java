@@ -19,6 +19,7 @@
 package org.apache.iotdb.tsfile.read.reader;
 
 import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +31,7 @@ import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
 
 public class LocalTsFileInput implements TsFileInput {
 
@@ -94,6 +96,21 @@ public class LocalTsFileInput implements TsFileInput {
     }
   }
 
+  /**
+   * Reads in the pool of {@link TsFileReadExecutor}. As the positional reads of a FileChannel can
+   * run concurrently, the reads share the channel with the synchronous ones.
+   */
+  @Override
+  public CompletableFuture<ByteBuffer> readAsync(long position, int length) {
+    return TsFileReadExecutor.submit(
+        () -> {
+          ByteBuffer buffer = ByteBuffer.allocate(length);
+          ReadWriteIOUtils.readAsPossible(this, buffer, position, length);
+          buffer.flip();
+          return buffer;
+        });
+  }
+
   @Override
   public int read() {
     throw new UnsupportedOperationException();
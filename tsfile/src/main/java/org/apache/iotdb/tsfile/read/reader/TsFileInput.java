@@ -18,6 +18,8 @@
  */
 package org.apache.iotdb.tsfile.read.reader;
 
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
@@ -26,6 +28,7 @@ import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.CompletableFuture;
 
 public interface TsFileInput {
 
@@ -97,6 +100,31 @@ public interface TsFileInput {
    */
   int read(ByteBuffer dst, long position) throws IOException;
 
+  /**
+   * Reads the given number of bytes starting at the given position without waiting for them. This
+   * method does not modify this TsFileInput's position, and the implementations that can serve
+   * reads concurrently may issue the read in the background. The default implementation reads in
+   * the calling thread.
+   *
+   * @param position The position at which the read is to begin; must be non-negative
+   * @param length The number of bytes to be read
+   * @return a future completed with a flipped buffer of the bytes, which has fewer bytes than the
+   *     given length only if the end of this TsFileInput is reached, or completed exceptionally
+   *     with the IOException of the read
+   */
+  default CompletableFuture<ByteBuffer> readAsync(long position, int length) {
+    CompletableFuture<ByteBuffer> future = new CompletableFuture<>();
+    try {
+      ByteBuffer buffer = ByteBuffer.allocate(length);
+      ReadWriteIOUtils.readAsPossible(this, buffer, position, length);
+      buffer.flip();
+      future.complete(buffer);
+    } catch (IOException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
   /** read a byte from the Input. */
   int read() throws IOException;
 
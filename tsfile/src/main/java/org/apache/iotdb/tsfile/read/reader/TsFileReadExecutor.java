@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.reader;
+
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TsFileReadExecutor runs the asynchronous reads of TsFiles in a pool shared by all the files, so a
+ * reader can keep many reads in flight instead of blocking on them one after another. The number of
+ * the submitted reads that are not finished, i.e., the depth of the I/O queue, is kept as a metric.
+ */
+public class TsFileReadExecutor {
+
+  private static final AtomicInteger queueDepth = new AtomicInteger();
+
+  private TsFileReadExecutor() {}
+
+  /**
+   * Run a read in the pool.
+   *
+   * @return a future completed with the result of the read, or exceptionally with the exception it
+   *     throws
+   */
+  public static <T> CompletableFuture<T> submit(Callable<T> read) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    queueDepth.incrementAndGet();
+    try {
+      ReadPoolHolder.POOL.execute(
+          () -> {
+            try {
+              future.complete(read.call());
+            } catch (Throwable e) {
+              future.completeExceptionally(e);
+            } finally {
+              queueDepth.decrementAndGet();
+            }
+          });
+    } catch (RuntimeException e) {
+      queueDepth.decrementAndGet();
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /** @return the number of the submitted reads that are waiting or running */
+  public static int getQueueDepth() {
+    return queueDepth.get();
+  }
+
+  /** the pool is created on the first asynchronous read */
+  private static class ReadPoolHolder {
+
+    private static final AtomicInteger threadCnt = new AtomicInteger();
+
+    private static final ExecutorService POOL =
+        Executors.newFixedThreadPool(
+            Math.max(1, TSFileDescriptor.getInstance().getConfig().getAsyncReadThreadNum()),
+            r -> {
+              Thread thread = new Thread(r, "TsFileRead-" + threadCnt.getAndIncrement());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+}
@@ -18,7 +18,9 @@
  */
 package org.apache.iotdb.tsfile.read.reader.page;
 
+import org.apache.iotdb.tsfile.encoding.decoder.BinaryMatchingDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
+import org.apache.iotdb.tsfile.encoding.decoder.TimeSeekableDecoder;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
@@ -26,18 +28,34 @@ import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.BatchDataFactory;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter.TimeEq;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter.TimeGt;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter.TimeGtEq;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter.TimeLt;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter.TimeLtEq;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter.ValueEq;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter.ValueIn;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter.VectorValueEq;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter.VectorValueIn;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.operator.AndFilter;
+import org.apache.iotdb.tsfile.read.filter.operator.OrFilter;
 import org.apache.iotdb.tsfile.read.reader.IPageReader;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class PageReader implements IPageReader {
 
+  /** the number of TEXT values decoded together when they are not matched */
+  private static final int BINARY_BATCH_SIZE = 128;
+
   private PageHeader pageHeader;
 
   protected TSDataType dataType;
@@ -106,9 +124,30 @@ public class PageReader implements IPageReader {
   public BatchData getAllSatisfiedPageData(boolean ascending) throws IOException {
 
     BatchData pageData = BatchDataFactory.createBatchData(dataType, ascending, false);
+    // the values that do not satisfy the filter are skipped without being decoded if possible
+    Set<Binary> matchedValues =
+        dataType == TSDataType.TEXT && valueDecoder instanceof BinaryMatchingDecoder
+            ? getNecessaryValues(filter)
+            : null;
+    // the points out of the time range of the filter are skipped without being decoded if possible
+    long minTime = getMinTime(filter);
+    long maxTime = getMaxTime(filter);
+    if (minTime != Long.MIN_VALUE && timeDecoder instanceof TimeSeekableDecoder) {
+      int skipped = ((TimeSeekableDecoder) timeDecoder).skipTimestampsBefore(minTime, timeBuffer);
+      valueDecoder.skip(dataType, skipped, valueBuffer);
+    }
+    if (dataType == TSDataType.TEXT && matchedValues == null) {
+      readAllSatisfiedBinaries(pageData, maxTime);
+      return pageData.flip();
+    }
 
     while (timeDecoder.hasNext(timeBuffer)) {
       long timestamp = timeDecoder.readLong(timeBuffer);
+      if (timestamp > maxTime) {
+        // the time decoder may be shared by the pages of a chunk
+        timeDecoder.reset();
+        break;
+      }
       switch (dataType) {
         case BOOLEAN:
           boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
@@ -141,8 +180,14 @@ public class PageReader implements IPageReader {
           }
           break;
         case TEXT:
-          Binary aBinary = valueDecoder.readBinary(valueBuffer);
-          if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aBinary))) {
+          Binary aBinary =
+              matchedValues == null
+                  ? valueDecoder.readBinary(valueBuffer)
+                  : ((BinaryMatchingDecoder) valueDecoder)
+                      .readBinaryIfIn(valueBuffer, matchedValues);
+          if (aBinary != null
+              && !isDeleted(timestamp)
+              && (filter == null || filter.satisfy(timestamp, aBinary))) {
             pageData.putBinary(timestamp, aBinary);
           }
           break;
@@ -153,6 +198,107 @@ public class PageReader implements IPageReader {
     return pageData.flip();
   }
 
+  /** read the TEXT values in batches, as there are no values to match them against */
+  private void readAllSatisfiedBinaries(BatchData pageData, long maxTime) throws IOException {
+    Binary[] values = new Binary[BINARY_BATCH_SIZE];
+    int valueNum = 0;
+    int index = 0;
+    while (timeDecoder.hasNext(timeBuffer)) {
+      long timestamp = timeDecoder.readLong(timeBuffer);
+      if (timestamp > maxTime) {
+        // the time decoder may be shared by the pages of a chunk
+        timeDecoder.reset();
+        break;
+      }
+      if (index == valueNum) {
+        valueNum = valueDecoder.readBinaries(valueBuffer, values);
+        index = 0;
+        if (valueNum == 0) {
+          throw new IOException("The values of the page end before its timestamps");
+        }
+      }
+      Binary aBinary = values[index++];
+      if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aBinary))) {
+        pageData.putBinary(timestamp, aBinary);
+      }
+    }
+  }
+
+  /** @return the min time a point must have to satisfy the filter, or Long.MIN_VALUE if unknown */
+  private static long getMinTime(Filter filter) {
+    if (filter instanceof TimeGt) {
+      long value = (long) ((TimeGt) filter).getValue();
+      return value == Long.MAX_VALUE ? value : value + 1;
+    } else if (filter instanceof TimeGtEq) {
+      return (long) ((TimeGtEq) filter).getValue();
+    } else if (filter instanceof TimeEq) {
+      return (long) ((TimeEq) filter).getValue();
+    } else if (filter instanceof AndFilter) {
+      return Math.max(
+          getMinTime(((AndFilter) filter).getLeft()), getMinTime(((AndFilter) filter).getRight()));
+    } else if (filter instanceof OrFilter) {
+      return Math.min(
+          getMinTime(((OrFilter) filter).getLeft()), getMinTime(((OrFilter) filter).getRight()));
+    }
+    return Long.MIN_VALUE;
+  }
+
+  /** @return the max time a point can have to satisfy the filter, or Long.MAX_VALUE if unknown */
+  private static long getMaxTime(Filter filter) {
+    if (filter instanceof TimeLt) {
+      long value = (long) ((TimeLt) filter).getValue();
+      return value == Long.MIN_VALUE ? value : value - 1;
+    } else if (filter instanceof TimeLtEq) {
+      return (long) ((TimeLtEq) filter).getValue();
+    } else if (filter instanceof TimeEq) {
+      return (long) ((TimeEq) filter).getValue();
+    } else if (filter instanceof AndFilter) {
+      return Math.min(
+          getMaxTime(((AndFilter) filter).getLeft()), getMaxTime(((AndFilter) filter).getRight()));
+    } else if (filter instanceof OrFilter) {
+      return Math.max(
+          getMaxTime(((OrFilter) filter).getLeft()), getMaxTime(((OrFilter) filter).getRight()));
+    }
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * @return the TEXT values one of which a value must equal to satisfy the filter, or null if the
+   *     filter is not restricted to some values
+   */
+  private static Set<Binary> getNecessaryValues(Filter filter) {
+    if (filter instanceof ValueEq && !(filter instanceof VectorValueEq)) {
+      Object value = ((ValueEq<?>) filter).getValue();
+      return value instanceof Binary ? Collections.singleton((Binary) value) : null;
+    } else if (filter instanceof ValueIn && !(filter instanceof VectorValueIn)) {
+      ValueIn<?> in = (ValueIn<?>) filter;
+      if (in.isNot()) {
+        return null;
+      }
+      Set<Binary> values = new HashSet<>();
+      for (Object value : in.getValues()) {
+        if (!(value instanceof Binary)) {
+          return null;
+        }
+        values.add((Binary) value);
+      }
+      return values;
+    } else if (filter instanceof AndFilter) {
+      Set<Binary> values = getNecessaryValues(((AndFilter) filter).getLeft());
+      return values != null ? values : getNecessaryValues(((AndFilter) filter).getRight());
+    } else if (filter instanceof OrFilter) {
+      Set<Binary> leftValues = getNecessaryValues(((OrFilter) filter).getLeft());
+      Set<Binary> rightValues = getNecessaryValues(((OrFilter) filter).getRight());
+      if (leftValues == null || rightValues == null) {
+        return null;
+      }
+      Set<Binary> values = new HashSet<>(leftValues);
+      values.addAll(rightValues);
+      return values;
+    }
+    return null;
+  }
+
   @Override
   public Statistics getStatistics() {
     return pageHeader.getStatistics();
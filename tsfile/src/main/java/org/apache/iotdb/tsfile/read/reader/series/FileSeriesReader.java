@@ -41,7 +41,7 @@ public class FileSeriesReader extends AbstractFileSeriesReader {
 
   @Override
   protected void initChunkReader(IChunkMetadata chunkMetaData) throws IOException {
-    Chunk chunk = chunkLoader.loadChunk((ChunkMetadata) chunkMetaData);
+    Chunk chunk = chunkLoader.loadChunk((ChunkMetadata) chunkMetaData, filter);
     this.chunkReader = new ChunkReader(chunk, filter);
   }
 
@@ -32,6 +32,7 @@ import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.reader.TsFileInput;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
@@ -559,6 +560,12 @@ public class TsFileSequenceReaderForV2 extends TsFileSequenceReader implements A
     return chunk;
   }
 
+  /** chunks of old files are always read as a whole */
+  @Override
+  public Chunk readMemChunk(ChunkMetadata metaData, Filter filter) throws IOException {
+    return readMemChunk(metaData);
+  }
+
   /**
    * not thread safe.
    *
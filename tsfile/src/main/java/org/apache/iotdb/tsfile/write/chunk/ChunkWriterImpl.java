@@ -25,7 +25,9 @@ import org.apache.iotdb.tsfile.exception.write.PageException;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.file.metadata.statistics.ValueBloomFilter;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.PublicBAOS;
 import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
@@ -91,10 +93,13 @@ public class ChunkWriterImpl implements IChunkWriter {
 
   private Statistics<?> firstPageStatistics;
 
+  /** bloom filter of the values of this chunk, null if disabled or some values are unknown */
+  private ValueBloomFilter valueBloomFilter;
+
   /** @param schema schema of this measurement */
   public ChunkWriterImpl(IMeasurementSchema schema) {
     this.measurementSchema = schema;
-    this.compressor = ICompressor.getCompressor(schema.getCompressor());
+    this.compressor = ICompressor.getCompressor(schema.getCompressor(), schema.getProps());
     this.pageBuffer = new PublicBAOS();
 
     this.pageSizeThreshold = TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
@@ -110,6 +115,7 @@ public class ChunkWriterImpl implements IChunkWriter {
 
     this.pageWriter.setTimeEncoder(measurementSchema.getTimeEncoder());
     this.pageWriter.setValueEncoder(measurementSchema.getValueEncoder());
+    resetValueBloomFilter();
 
     // check if the measurement schema uses SDT
     checkSdtEncoding();
@@ -300,13 +306,8 @@ public class ChunkWriterImpl implements IChunkWriter {
         this.firstPageStatistics = pageWriter.getStatistics();
         this.sizeWithoutStatistic = pageWriter.writePageHeaderAndDataIntoBuff(pageBuffer, true);
       } else if (numOfPages == 1) { // put the firstPageStatistics into pageBuffer
-        byte[] b = pageBuffer.toByteArray();
-        pageBuffer.reset();
-        pageBuffer.write(b, 0, this.sizeWithoutStatistic);
-        firstPageStatistics.serialize(pageBuffer);
-        pageBuffer.write(b, this.sizeWithoutStatistic, b.length - this.sizeWithoutStatistic);
+        writeFirstPageStatisticsIntoBuff();
         pageWriter.writePageHeaderAndDataIntoBuff(pageBuffer, false);
-        firstPageStatistics = null;
       } else {
         pageWriter.writePageHeaderAndDataIntoBuff(pageBuffer, false);
       }
@@ -322,9 +323,54 @@ public class ChunkWriterImpl implements IChunkWriter {
     }
   }
 
+  /**
+   * the header of the first page is written without statistics in case the chunk only has one page,
+   * put them back when the second page comes
+   */
+  private void writeFirstPageStatisticsIntoBuff() throws IOException {
+    byte[] b = pageBuffer.toByteArray();
+    pageBuffer.reset();
+    pageBuffer.write(b, 0, this.sizeWithoutStatistic);
+    firstPageStatistics.serialize(pageBuffer);
+    pageBuffer.write(b, this.sizeWithoutStatistic, b.length - this.sizeWithoutStatistic);
+    firstPageStatistics = null;
+  }
+
+  /**
+   * append a sealed page to this chunk without decoding it, the page must have the same data type,
+   * encoding and compression type as this chunk writer and contain data later than the pages
+   * written before. The page being written is sealed first.
+   *
+   * @param compressedPageData the compressed page body
+   * @param header the page header, its statistics are carried over to the new chunk
+   */
+  public void writeRawPage(ByteBuffer compressedPageData, PageHeader header) throws IOException {
+    sealCurrentPage();
+    discardValueBloomFilter();
+    if (numOfPages == 1) {
+      writeFirstPageStatisticsIntoBuff();
+    }
+    ReadWriteForEncodingUtils.writeUnsignedVarInt(header.getUncompressedSize(), pageBuffer);
+    ReadWriteForEncodingUtils.writeUnsignedVarInt(header.getCompressedSize(), pageBuffer);
+    if (numOfPages == 0) {
+      firstPageStatistics = header.getStatistics();
+      sizeWithoutStatistic = pageBuffer.size();
+    } else {
+      header.getStatistics().serialize(pageBuffer);
+    }
+    try (WritableByteChannel channel = Channels.newChannel(pageBuffer)) {
+      channel.write(compressedPageData);
+    }
+    numOfPages++;
+    statistics.mergeStatistics(header.getStatistics());
+  }
+
   @Override
   public void writeToFileWriter(TsFileIOWriter tsfileWriter) throws IOException {
     sealCurrentPage();
+    if (valueBloomFilter != null && valueBloomFilter.compact()) {
+      statistics.setValueBloomFilter(valueBloomFilter);
+    }
     writeAllPagesOfChunkToTsFile(tsfileWriter, statistics);
 
     // reinit this chunk writer
@@ -332,6 +378,38 @@ public class ChunkWriterImpl implements IChunkWriter {
     numOfPages = 0;
     firstPageStatistics = null;
     this.statistics = Statistics.getStatsByType(measurementSchema.getType());
+    resetValueBloomFilter();
+  }
+
+  private void resetValueBloomFilter() {
+    valueBloomFilter =
+        isLossyFloatEncoding()
+            ? null
+            : ValueBloomFilter.getEmptyFilter(
+                measurementSchema.getType(),
+                TSFileDescriptor.getInstance().getConfig().getValueBloomFilterSizeInByte());
+    if (pageWriter != null) {
+      pageWriter.setValueBloomFilter(valueBloomFilter);
+    }
+  }
+
+  /**
+   * FLOAT and DOUBLE values encoded with RLE or TS_2DIFF are rounded to the float precision, so a
+   * filter of the raw values would reject the values that are read back.
+   */
+  private boolean isLossyFloatEncoding() {
+    TSDataType dataType = measurementSchema.getType();
+    TSEncoding encoding = measurementSchema.getEncodingType();
+    return (dataType == TSDataType.FLOAT || dataType == TSDataType.DOUBLE)
+        && (encoding == TSEncoding.RLE || encoding == TSEncoding.TS_2DIFF);
+  }
+
+  /** the values of the pages written without being decoded are not in the filter */
+  private void discardValueBloomFilter() {
+    valueBloomFilter = null;
+    if (pageWriter != null) {
+      pageWriter.setValueBloomFilter(null);
+    }
   }
 
   @Override
@@ -380,6 +458,7 @@ public class ChunkWriterImpl implements IChunkWriter {
    */
   public void writePageHeaderAndDataIntoBuff(
       ByteBuffer data, PageHeader header, boolean isOnlyOnePageChunk) throws PageException {
+    discardValueBloomFilter();
 
     // write the page header to pageBuffer
     try {
@@ -37,6 +37,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Map;
 
 public class TimeChunkWriter {
 
@@ -80,6 +81,16 @@ public class TimeChunkWriter {
       CompressionType compressionType,
       TSEncoding encodingType,
       Encoder timeEncoder) {
+    this(measurementId, compressionType, null, encodingType, timeEncoder);
+  }
+
+  /** @param props the properties of the compressor, e.g. the compression level */
+  public TimeChunkWriter(
+      String measurementId,
+      CompressionType compressionType,
+      Map<String, String> props,
+      TSEncoding encodingType,
+      Encoder timeEncoder) {
     this.measurementId = measurementId;
     this.encodingType = encodingType;
     this.compressionType = compressionType;
@@ -94,7 +105,8 @@ public class TimeChunkWriter {
     // init statistics for this chunk and page
     this.statistics = new TimeStatistics();
 
-    this.pageWriter = new TimePageWriter(timeEncoder, ICompressor.getCompressor(compressionType));
+    this.pageWriter =
+        new TimePageWriter(timeEncoder, ICompressor.getCompressor(compressionType, props));
   }
 
   public void write(long time) {
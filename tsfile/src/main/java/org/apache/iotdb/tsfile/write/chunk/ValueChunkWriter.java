@@ -36,6 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Map;
 
 public class ValueChunkWriter {
 
@@ -71,6 +72,17 @@ public class ValueChunkWriter {
       TSDataType dataType,
       TSEncoding encodingType,
       Encoder valueEncoder) {
+    this(measurementId, compressionType, null, dataType, encodingType, valueEncoder);
+  }
+
+  /** @param props the properties of the compressor, e.g. the compression level */
+  public ValueChunkWriter(
+      String measurementId,
+      CompressionType compressionType,
+      Map<String, String> props,
+      TSDataType dataType,
+      TSEncoding encodingType,
+      Encoder valueEncoder) {
     this.measurementId = measurementId;
     this.encodingType = encodingType;
     this.dataType = dataType;
@@ -81,7 +93,8 @@ public class ValueChunkWriter {
     this.statistics = Statistics.getStatsByType(dataType);
 
     this.pageWriter =
-        new ValuePageWriter(valueEncoder, ICompressor.getCompressor(compressionType), dataType);
+        new ValuePageWriter(
+            valueEncoder, ICompressor.getCompressor(compressionType, props), dataType);
   }
 
   public void write(long time, long value, boolean isNull) {
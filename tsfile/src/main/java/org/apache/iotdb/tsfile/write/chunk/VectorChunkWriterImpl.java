@@ -41,6 +41,7 @@ public class VectorChunkWriterImpl implements IChunkWriter {
         new TimeChunkWriter(
             schema.getMeasurementId(),
             schema.getCompressor(),
+            schema.getProps(),
             schema.getTimeTSEncoding(),
             schema.getTimeEncoder());
 
@@ -55,6 +56,7 @@ public class VectorChunkWriterImpl implements IChunkWriter {
           new ValueChunkWriter(
               valueMeasurementIdList.get(i),
               schema.getCompressor(),
+              schema.getProps(),
               valueTSDataTypeList.get(i),
               valueTSEncodingList.get(i),
               valueEncoderList.get(i)));
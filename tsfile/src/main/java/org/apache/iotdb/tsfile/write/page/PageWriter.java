@@ -23,6 +23,7 @@ import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.file.metadata.statistics.ValueBloomFilter;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.PublicBAOS;
 import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
@@ -59,6 +60,9 @@ public class PageWriter {
    */
   private Statistics<?> statistics;
 
+  /** bloom filter of the values of the chunk this page belongs to, may be null */
+  private ValueBloomFilter valueBloomFilter;
+
   public PageWriter() {
     this(null, null);
   }
@@ -66,7 +70,8 @@ public class PageWriter {
   public PageWriter(IMeasurementSchema measurementSchema) {
     this(measurementSchema.getTimeEncoder(), measurementSchema.getValueEncoder());
     this.statistics = Statistics.getStatsByType(measurementSchema.getType());
-    this.compressor = ICompressor.getCompressor(measurementSchema.getCompressor());
+    this.compressor =
+        ICompressor.getCompressor(measurementSchema.getCompressor(), measurementSchema.getProps());
   }
 
   private PageWriter(Encoder timeEncoder, Encoder valueEncoder) {
@@ -95,6 +100,9 @@ public class PageWriter {
     timeEncoder.encode(time, timeOut);
     valueEncoder.encode(value, valueOut);
     statistics.update(time, value);
+    if (valueBloomFilter != null) {
+      valueBloomFilter.add(value);
+    }
   }
 
   /** write a time value pair into encoder */
@@ -102,6 +110,9 @@ public class PageWriter {
     timeEncoder.encode(time, timeOut);
     valueEncoder.encode(value, valueOut);
     statistics.update(time, value);
+    if (valueBloomFilter != null) {
+      valueBloomFilter.add(value);
+    }
   }
 
   /** write a time value pair into encoder */
@@ -109,6 +120,9 @@ public class PageWriter {
     timeEncoder.encode(time, timeOut);
     valueEncoder.encode(value, valueOut);
     statistics.update(time, value);
+    if (valueBloomFilter != null) {
+      valueBloomFilter.add(value);
+    }
   }
 
   /** write a time value pair into encoder */
@@ -116,6 +130,9 @@ public class PageWriter {
     timeEncoder.encode(time, timeOut);
     valueEncoder.encode(value, valueOut);
     statistics.update(time, value);
+    if (valueBloomFilter != null) {
+      valueBloomFilter.add(value);
+    }
   }
 
   /** write a time value pair into encoder */
@@ -123,6 +140,9 @@ public class PageWriter {
     timeEncoder.encode(time, timeOut);
     valueEncoder.encode(value, valueOut);
     statistics.update(time, value);
+    if (valueBloomFilter != null) {
+      valueBloomFilter.add(value);
+    }
   }
 
   /** write time series into encoder */
@@ -140,6 +160,11 @@ public class PageWriter {
       timeEncoder.encode(timestamps[i], timeOut);
       valueEncoder.encode(values[i], valueOut);
     }
+    if (valueBloomFilter != null) {
+      for (int i = 0; i < batchSize; i++) {
+        valueBloomFilter.add(values[i]);
+      }
+    }
     statistics.update(timestamps, values, batchSize);
   }
 
@@ -149,6 +174,11 @@ public class PageWriter {
       timeEncoder.encode(timestamps[i], timeOut);
       valueEncoder.encode(values[i], valueOut);
     }
+    if (valueBloomFilter != null) {
+      for (int i = 0; i < batchSize; i++) {
+        valueBloomFilter.add(values[i]);
+      }
+    }
     statistics.update(timestamps, values, batchSize);
   }
 
@@ -158,6 +188,11 @@ public class PageWriter {
       timeEncoder.encode(timestamps[i], timeOut);
       valueEncoder.encode(values[i], valueOut);
     }
+    if (valueBloomFilter != null) {
+      for (int i = 0; i < batchSize; i++) {
+        valueBloomFilter.add(values[i]);
+      }
+    }
     statistics.update(timestamps, values, batchSize);
   }
 
@@ -167,6 +202,11 @@ public class PageWriter {
       timeEncoder.encode(timestamps[i], timeOut);
       valueEncoder.encode(values[i], valueOut);
     }
+    if (valueBloomFilter != null) {
+      for (int i = 0; i < batchSize; i++) {
+        valueBloomFilter.add(values[i]);
+      }
+    }
     statistics.update(timestamps, values, batchSize);
   }
 
@@ -176,6 +216,11 @@ public class PageWriter {
       timeEncoder.encode(timestamps[i], timeOut);
       valueEncoder.encode(values[i], valueOut);
     }
+    if (valueBloomFilter != null) {
+      for (int i = 0; i < batchSize; i++) {
+        valueBloomFilter.add(values[i]);
+      }
+    }
     statistics.update(timestamps, values, batchSize);
   }
 
@@ -277,6 +322,10 @@ public class PageWriter {
     this.valueEncoder = encoder;
   }
 
+  public void setValueBloomFilter(ValueBloomFilter valueBloomFilter) {
+    this.valueBloomFilter = valueBloomFilter;
+  }
+
   public void initStatistics(TSDataType dataType) {
     statistics = Statistics.getStatsByType(dataType);
   }
@@ -35,6 +35,7 @@ import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -51,6 +52,7 @@ public class VectorMeasurementSchema
   private byte[] encodings;
   private TSEncodingBuilder[] encodingConverters;
   private byte compressor;
+  private Map<String, String> props = null;
 
   public VectorMeasurementSchema() {}
 
@@ -77,6 +79,18 @@ public class VectorMeasurementSchema
     this.compressor = compressionType.serialize();
   }
 
+  /** @param props the properties of the compressor, e.g. the compression level */
+  public VectorMeasurementSchema(
+      String measurementId,
+      String[] measurements,
+      TSDataType[] types,
+      TSEncoding[] encodings,
+      CompressionType compressionType,
+      Map<String, String> props) {
+    this(measurementId, measurements, types, encodings, compressionType);
+    this.props = props;
+  }
+
   public VectorMeasurementSchema(
       String[] measurements, byte[] types, byte[] encodings, byte compressor) {
     this.measurements = measurements;
@@ -159,7 +173,7 @@ public class VectorMeasurementSchema
 
   @Override
   public Map<String, String> getProps() {
-    throw new UnsupportedOperationException("unsupported method for VectorMeasurementSchema");
+    return props;
   }
 
   @Override
@@ -224,6 +238,16 @@ public class VectorMeasurementSchema
     }
     byteLen += ReadWriteIOUtils.write(compressor, buffer);
 
+    if (props == null) {
+      byteLen += ReadWriteIOUtils.write(0, buffer);
+    } else {
+      byteLen += ReadWriteIOUtils.write(props.size(), buffer);
+      for (Map.Entry<String, String> entry : props.entrySet()) {
+        byteLen += ReadWriteIOUtils.write(entry.getKey(), buffer);
+        byteLen += ReadWriteIOUtils.write(entry.getValue(), buffer);
+      }
+    }
+
     return byteLen;
   }
 
@@ -246,6 +270,16 @@ public class VectorMeasurementSchema
     }
     byteLen += ReadWriteIOUtils.write(compressor, outputStream);
 
+    if (props == null) {
+      byteLen += ReadWriteIOUtils.write(0, outputStream);
+    } else {
+      byteLen += ReadWriteIOUtils.write(props.size(), outputStream);
+      for (Map.Entry<String, String> entry : props.entrySet()) {
+        byteLen += ReadWriteIOUtils.write(entry.getKey(), outputStream);
+        byteLen += ReadWriteIOUtils.write(entry.getValue(), outputStream);
+      }
+    }
+
     return byteLen;
   }
 
@@ -291,6 +325,16 @@ public class VectorMeasurementSchema
     vectorMeasurementSchema.encodings = encodings;
 
     vectorMeasurementSchema.compressor = ReadWriteIOUtils.readByte(inputStream);
+
+    int size = ReadWriteIOUtils.readInt(inputStream);
+    if (size > 0) {
+      vectorMeasurementSchema.props = new HashMap<>();
+      for (int i = 0; i < size; i++) {
+        String key = ReadWriteIOUtils.readString(inputStream);
+        String value = ReadWriteIOUtils.readString(inputStream);
+        vectorMeasurementSchema.props.put(key, value);
+      }
+    }
     return vectorMeasurementSchema;
   }
 
@@ -318,6 +362,16 @@ public class VectorMeasurementSchema
     vectorMeasurementSchema.encodings = encodings;
 
     vectorMeasurementSchema.compressor = ReadWriteIOUtils.readByte(buffer);
+
+    int size = ReadWriteIOUtils.readInt(buffer);
+    if (size > 0) {
+      vectorMeasurementSchema.props = new HashMap<>();
+      for (int i = 0; i < size; i++) {
+        String key = ReadWriteIOUtils.readString(buffer);
+        String value = ReadWriteIOUtils.readString(buffer);
+        vectorMeasurementSchema.props.put(key, value);
+      }
+    }
     return vectorMeasurementSchema;
   }
 
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.write.writer;
+
+import org.apache.iotdb.tsfile.file.MetaMarker;
+import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetadata;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.MetadataIndexNode;
+import org.apache.iotdb.tsfile.file.metadata.StreamingMetadataIndexConstructor;
+import org.apache.iotdb.tsfile.file.metadata.TsFileMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.file.metadata.statistics.ValueBloomFilter;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
+import org.apache.iotdb.tsfile.utils.Pair;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * StreamingTsFileIOWriter writes a TsFile with bounded memory however many series and chunks it
+ * holds, which suits generating large TsFiles offline, e.g., for loading historical data. Instead
+ * of keeping the metadata of all the chunks until the file ends, it sorts them by series and spills
+ * them to a temporary file whenever their estimated size reaches a threshold. When the file ends,
+ * the spilled runs are merged to build the TimeseriesMetadata series by series, which are
+ * serialized and indexed at once by {@link StreamingMetadataIndexConstructor}.
+ *
+ * <p>The chunk metadata that have been spilled are not returned by {@link
+ * #getChunkGroupMetadataList()}, and aligned series are not supported.
+ */
+public class StreamingTsFileIOWriter extends TsFileIOWriter {
+
+  private static final String CHUNK_METADATA_RUN_SUFFIX = ".cmt";
+  private static final String DEVICE_NODE_SUFFIX = ".dnd";
+  private static final String PATH_SUFFIX = ".pth";
+
+  private final long maxChunkMetadataSizeInByte;
+  /** the estimated size of the chunk metadata in chunkGroupMetadataList */
+  private long chunkMetadataSize;
+
+  private final List<File> runFiles = new ArrayList<>();
+  private final List<Integer> runSizes = new ArrayList<>();
+
+  /**
+   * @param file be used to output written data
+   * @param maxChunkMetadataSizeInByte the chunk metadata in memory are spilled when their estimated
+   *     size reaches it
+   */
+  public StreamingTsFileIOWriter(File file, long maxChunkMetadataSizeInByte) throws IOException {
+    super(file);
+    this.maxChunkMetadataSizeInByte = maxChunkMetadataSizeInByte;
+  }
+
+  @Override
+  public void startFlushChunk(
+      String measurementId,
+      CompressionType compressionCodecName,
+      TSDataType tsDataType,
+      TSEncoding encodingType,
+      Statistics<?> statistics,
+      int dataSize,
+      int numOfPages,
+      int mask)
+      throws IOException {
+    if (mask != 0) {
+      throw new IOException("Aligned series are not supported by StreamingTsFileIOWriter");
+    }
+    super.startFlushChunk(
+        measurementId,
+        compressionCodecName,
+        tsDataType,
+        encodingType,
+        statistics,
+        dataSize,
+        numOfPages,
+        mask);
+  }
+
+  @Override
+  public void endChunkGroup() throws IOException {
+    int chunkGroupNum = chunkGroupMetadataList.size();
+    super.endChunkGroup();
+    if (chunkGroupMetadataList.size() == chunkGroupNum) {
+      return;
+    }
+    for (ChunkMetadata chunkMetadata :
+        chunkGroupMetadataList.get(chunkGroupNum).getChunkMetadataList()) {
+      chunkMetadataSize += chunkMetadata.calculateRamSize();
+    }
+    if (chunkMetadataSize >= maxChunkMetadataSizeInByte) {
+      spillChunkMetadata();
+    }
+  }
+
+  /** sort the chunk metadata in memory by series and then offset, and write them as a run */
+  private void spillChunkMetadata() throws IOException {
+    List<Pair<String, ChunkMetadata>> chunkMetadataList = new ArrayList<>();
+    for (ChunkGroupMetadata chunkGroupMetadata : chunkGroupMetadataList) {
+      for (ChunkMetadata chunkMetadata : chunkGroupMetadata.getChunkMetadataList()) {
+        chunkMetadataList.add(new Pair<>(chunkGroupMetadata.getDevice(), chunkMetadata));
+      }
+    }
+    if (chunkMetadataList.isEmpty()) {
+      return;
+    }
+    chunkMetadataList.sort(
+        Comparator.comparing((Pair<String, ChunkMetadata> pair) -> pair.left)
+            .thenComparing(pair -> pair.right.getMeasurementUid())
+            .thenComparingLong(pair -> pair.right.getOffsetOfChunkHeader()));
+
+    File runFile = new File(file.getPath() + CHUNK_METADATA_RUN_SUFFIX + runFiles.size());
+    runFiles.add(runFile);
+    try (DataOutputStream output =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(runFile)))) {
+      PublicBAOS buffer = new PublicBAOS();
+      for (Pair<String, ChunkMetadata> pair : chunkMetadataList) {
+        buffer.reset();
+        ReadWriteIOUtils.write(pair.left, buffer);
+        ReadWriteIOUtils.write(pair.right.getMeasurementUid(), buffer);
+        ReadWriteIOUtils.write(pair.right.getDataType(), buffer);
+        pair.right.serializeTo(buffer, true, true);
+        output.writeInt(buffer.size());
+        buffer.writeTo(output);
+      }
+    }
+    runSizes.add(chunkMetadataList.size());
+    chunkGroupMetadataList.clear();
+    chunkMetadataSize = 0;
+  }
+
+  /**
+   * merge the spilled runs of chunk metadata to write the TsFileMetadata series by series, and
+   * close the file.
+   */
+  @Override
+  public void endFile() throws IOException {
+    spillChunkMetadata();
+    long metaOffset = out.getPosition();
+
+    // serialize the SEPARATOR of MetaData
+    ReadWriteIOUtils.write(MetaMarker.SEPARATOR, out.wrapAsStream());
+
+    List<RunReader> runReaders = new ArrayList<>(runFiles.size());
+    File pathFile = new File(file.getPath() + PATH_SUFFIX);
+    int pathNum = 0;
+    MetadataIndexNode metadataIndex;
+    try (StreamingMetadataIndexConstructor indexConstructor =
+            new StreamingMetadataIndexConstructor(
+                out, new File(file.getPath() + DEVICE_NODE_SUFFIX));
+        DataOutputStream pathOutput =
+            new DataOutputStream(new BufferedOutputStream(new FileOutputStream(pathFile)))) {
+      // the chunks of a series are merged in the order of the runs, i.e., their offsets
+      PriorityQueue<RunReader> mergeQueue =
+          new PriorityQueue<>(
+              Comparator.comparing((RunReader reader) -> reader.device)
+                  .thenComparing(reader -> reader.chunkMetadata.getMeasurementUid())
+                  .thenComparingInt(reader -> reader.runIndex));
+      for (int i = 0; i < runFiles.size(); i++) {
+        RunReader runReader = new RunReader(i, runFiles.get(i), runSizes.get(i));
+        runReaders.add(runReader);
+        if (runReader.next()) {
+          mergeQueue.add(runReader);
+        }
+      }
+
+      String device = null;
+      String measurement = null;
+      List<IChunkMetadata> seriesChunkMetadataList = new ArrayList<>();
+      while (!mergeQueue.isEmpty()) {
+        RunReader runReader = mergeQueue.poll();
+        if (!runReader.device.equals(device)
+            || !runReader.chunkMetadata.getMeasurementUid().equals(measurement)) {
+          if (!seriesChunkMetadataList.isEmpty()) {
+            indexConstructor.addTimeseriesMetadata(
+                device, createTimeseriesMetadata(measurement, seriesChunkMetadataList));
+            ReadWriteIOUtils.write(new Path(device, measurement).toString(), pathOutput);
+            pathNum++;
+          }
+          device = runReader.device;
+          measurement = runReader.chunkMetadata.getMeasurementUid();
+          seriesChunkMetadataList = new ArrayList<>();
+        }
+        seriesChunkMetadataList.add(runReader.chunkMetadata);
+        if (runReader.next()) {
+          mergeQueue.add(runReader);
+        }
+      }
+      if (!seriesChunkMetadataList.isEmpty()) {
+        indexConstructor.addTimeseriesMetadata(
+            device, createTimeseriesMetadata(measurement, seriesChunkMetadataList));
+        ReadWriteIOUtils.write(new Path(device, measurement).toString(), pathOutput);
+        pathNum++;
+      }
+      metadataIndex = indexConstructor.finish();
+    } finally {
+      for (RunReader runReader : runReaders) {
+        runReader.close();
+      }
+      deleteRunFiles();
+    }
+
+    BloomFilter bloomFilter = TsFileMetadata.getEmptyBloomFilter(pathNum);
+    try (DataInputStream pathInput =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(pathFile)))) {
+      for (int i = 0; i < pathNum; i++) {
+        bloomFilter.add(ReadWriteIOUtils.readString(pathInput));
+      }
+    } finally {
+      Files.deleteIfExists(pathFile.toPath());
+    }
+
+    endFile(metaOffset, metadataIndex, bloomFilter);
+  }
+
+  @Override
+  public void close() throws IOException {
+    super.close();
+    deleteRunFiles();
+  }
+
+  private void deleteRunFiles() throws IOException {
+    for (File runFile : runFiles) {
+      Files.deleteIfExists(runFile.toPath());
+    }
+    runFiles.clear();
+    runSizes.clear();
+  }
+
+  /** reads the chunk metadata of a spilled run one by one */
+  private static class RunReader implements Closeable {
+
+    private final int runIndex;
+    private final DataInputStream input;
+    private int remaining;
+
+    private String device;
+    private ChunkMetadata chunkMetadata;
+
+    private RunReader(int runIndex, File runFile, int size) throws IOException {
+      this.runIndex = runIndex;
+      this.input = new DataInputStream(new BufferedInputStream(new FileInputStream(runFile)));
+      this.remaining = size;
+    }
+
+    /** @return whether a chunk metadata is read */
+    private boolean next() throws IOException {
+      if (remaining == 0) {
+        return false;
+      }
+      remaining--;
+      byte[] bytes = new byte[input.readInt()];
+      input.readFully(bytes);
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      device = ReadWriteIOUtils.readString(buffer);
+      String measurementUid = ReadWriteIOUtils.readString(buffer);
+      TSDataType dataType = ReadWriteIOUtils.readDataType(buffer);
+      long offset = ReadWriteIOUtils.readLong(buffer);
+      Statistics<?> statistics = Statistics.deserialize(buffer, dataType);
+      if (ReadWriteIOUtils.readBool(buffer)) {
+        statistics.setValueBloomFilter(ValueBloomFilter.deserializeFrom(buffer, dataType));
+      }
+      chunkMetadata = new ChunkMetadata(measurementUid, dataType, offset, statistics);
+      return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      input.close();
+    }
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.iotdb.tsfile.write.writer;
 
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.file.MetaMarker;
 import org.apache.iotdb.tsfile.file.header.ChunkGroupHeader;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
@@ -37,6 +38,7 @@ import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.fileSystem.FSFactoryProducer;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.BytesUtils;
 import org.apache.iotdb.tsfile.utils.PublicBAOS;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
@@ -280,6 +282,20 @@ public class TsFileIOWriter {
     }
 
     MetadataIndexNode metadataIndex = flushMetadataIndex(chunkMetadataListMap, vectorToPathsMap);
+    BloomFilter bloomFilter = TsFileMetadata.getEmptyBloomFilter(chunkMetadataListMap.size());
+    for (Path path : chunkMetadataListMap.keySet()) {
+      bloomFilter.add(path.toString());
+    }
+    endFile(metaOffset, metadataIndex, bloomFilter);
+  }
+
+  /**
+   * write the TsFileMetadata of the given metadata index and bloom filter, and close the file.
+   *
+   * @param metaOffset the offset of the SEPARATOR of MetaData
+   */
+  protected void endFile(long metaOffset, MetadataIndexNode metadataIndex, BloomFilter bloomFilter)
+      throws IOException {
     TsFileMetadata tsFileMetaData = new TsFileMetadata();
     tsFileMetaData.setMetadataIndex(metadataIndex);
     tsFileMetaData.setMetaOffset(metaOffset);
@@ -296,7 +312,7 @@ public class TsFileIOWriter {
     }
 
     // write bloom filter
-    size += tsFileMetaData.serializeBloomFilter(out.wrapAsStream(), chunkMetadataListMap.keySet());
+    size += tsFileMetaData.serializeBloomFilter(out.wrapAsStream(), bloomFilter);
     if (logger.isDebugEnabled()) {
       logger.debug("finish flushing the bloom filter file pos:{}", out.getPosition());
     }
@@ -337,36 +353,63 @@ public class TsFileIOWriter {
     return MetadataIndexConstructor.constructMetadataIndex(deviceTimeseriesMetadataMap, out);
   }
 
-  private void flushOneChunkMetadata(
-      Path path,
-      List<IChunkMetadata> chunkMetadataList,
-      Map<Path, Map<Path, List<IChunkMetadata>>> vectorToPathsMap)
-      throws IOException {
-    // create TimeseriesMetaData
+  /** value bloom filters are only kept for the chunks of non-aligned series */
+  private boolean hasValueBloomFilter(List<IChunkMetadata> chunkMetadataList, TSDataType dataType) {
+    for (IChunkMetadata chunkMetadata : chunkMetadataList) {
+      if (chunkMetadata.getMask() == 0
+          && chunkMetadata.getDataType() == dataType
+          && chunkMetadata.getStatistics().getValueBloomFilter() != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * create the TimeseriesMetadata of a series from the metadata of its chunks, where the chunks of
+   * another data type than the last one are ignored.
+   */
+  protected TimeseriesMetadata createTimeseriesMetadata(
+      String measurementId, List<IChunkMetadata> chunkMetadataList) throws IOException {
     PublicBAOS publicBAOS = new PublicBAOS();
     TSDataType dataType = chunkMetadataList.get(chunkMetadataList.size() - 1).getDataType();
     Statistics seriesStatistics = Statistics.getStatsByType(dataType);
 
     int chunkMetadataListLength = 0;
     boolean serializeStatistic = (chunkMetadataList.size() > 1);
+    boolean serializeValueBloomFilter = hasValueBloomFilter(chunkMetadataList, dataType);
     // flush chunkMetadataList one by one
     for (IChunkMetadata chunkMetadata : chunkMetadataList) {
       if (!chunkMetadata.getDataType().equals(dataType)) {
         continue;
       }
-      chunkMetadataListLength += chunkMetadata.serializeTo(publicBAOS, serializeStatistic);
+      chunkMetadataListLength +=
+          serializeValueBloomFilter
+              ? ((ChunkMetadata) chunkMetadata)
+                  .serializeTo(publicBAOS, serializeStatistic, serializeValueBloomFilter)
+              : chunkMetadata.serializeTo(publicBAOS, serializeStatistic);
       seriesStatistics.mergeStatistics(chunkMetadata.getStatistics());
     }
 
+    return new TimeseriesMetadata(
+        (byte)
+            ((serializeStatistic ? (byte) 1 : (byte) 0)
+                | chunkMetadataList.get(0).getMask()
+                | (serializeValueBloomFilter ? TsFileConstant.VALUE_BLOOM_FILTER_MASK : 0)),
+        chunkMetadataListLength,
+        measurementId,
+        dataType,
+        seriesStatistics,
+        publicBAOS);
+  }
+
+  private void flushOneChunkMetadata(
+      Path path,
+      List<IChunkMetadata> chunkMetadataList,
+      Map<Path, Map<Path, List<IChunkMetadata>>> vectorToPathsMap)
+      throws IOException {
     TimeseriesMetadata timeseriesMetadata =
-        new TimeseriesMetadata(
-            (byte)
-                ((serializeStatistic ? (byte) 1 : (byte) 0) | chunkMetadataList.get(0).getMask()),
-            chunkMetadataListLength,
-            path.getMeasurement(),
-            dataType,
-            seriesStatistics,
-            publicBAOS);
+        createTimeseriesMetadata(path.getMeasurement(), chunkMetadataList);
     deviceTimeseriesMetadataMap
         .computeIfAbsent(path.getDevice(), k -> new ArrayList<>())
         .add(timeseriesMetadata);
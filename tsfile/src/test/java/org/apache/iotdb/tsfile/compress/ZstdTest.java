@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.compress;
+
+import org.apache.iotdb.tsfile.compress.ICompressor.ZstdCompressor;
+import org.apache.iotdb.tsfile.compress.IUnCompressor.ZstdUnCompressor;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ZstdTest {
+
+  private String randomString(int length) {
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append((char) (ThreadLocalRandom.current().nextInt(33, 128)));
+    }
+    return builder.toString();
+  }
+
+  /** a page of slowly changing sensor values, as the encoders would leave it */
+  private byte[] sensorPage(int pointNum) {
+    ByteBuffer buffer = ByteBuffer.allocate(pointNum * 2 * Long.BYTES);
+    long time = System.currentTimeMillis();
+    double value = 100;
+    for (int i = 0; i < pointNum; i++) {
+      buffer.putLong(time + i * 1000L);
+      value += ThreadLocalRandom.current().nextInt(-2, 3) * 0.25;
+      buffer.putDouble(value);
+    }
+    return buffer.array();
+  }
+
+  @Test
+  public void testBytes() throws IOException {
+    String input = randomString(2000000);
+    byte[] uncom = input.getBytes(StandardCharsets.UTF_8);
+    long time = System.currentTimeMillis();
+    ICompressor compressor = new ZstdCompressor();
+
+    byte[] compressed = compressor.compress(uncom);
+    System.out.println("compression time cost:" + (System.currentTimeMillis() - time));
+    time = System.currentTimeMillis();
+    System.out.println("ratio: " + (double) compressed.length / uncom.length);
+
+    IUnCompressor unCompressor = new ZstdUnCompressor();
+    Assert.assertEquals(
+        uncom.length, unCompressor.getUncompressedLength(compressed, 0, compressed.length));
+    byte[] uncompressed = new byte[uncom.length];
+    unCompressor.uncompress(compressed, 0, compressed.length, uncompressed, 0);
+    System.out.println("decompression time cost:" + (System.currentTimeMillis() - time));
+
+    Assert.assertArrayEquals(uncom, uncompressed);
+  }
+
+  @Test
+  public void testByteBuffer() throws IOException {
+    for (boolean direct : new boolean[] {true, false}) {
+      for (int i = 1; i < 500000; i += 100000) {
+        byte[] input = randomString(i).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer source =
+            direct ? ByteBuffer.allocateDirect(input.length) : allocate(input.length);
+        source.put(input);
+        source.flip();
+
+        ICompressor compressor = new ZstdCompressor();
+        int maxSize = compressor.getMaxBytesForCompression(source.remaining());
+        ByteBuffer compressed = direct ? ByteBuffer.allocateDirect(maxSize) : allocate(maxSize);
+        int compressedSize = compressor.compress(source, compressed);
+        Assert.assertEquals(compressedSize, compressed.position());
+        Assert.assertFalse(source.hasRemaining());
+        compressed.flip();
+
+        IUnCompressor unCompressor = new ZstdUnCompressor();
+        int uncompressedSize = unCompressor.getUncompressedLength(compressed);
+        Assert.assertEquals(input.length, uncompressedSize);
+        ByteBuffer uncompressed =
+            direct ? ByteBuffer.allocateDirect(uncompressedSize) : allocate(uncompressedSize);
+        Assert.assertEquals(input.length, unCompressor.uncompress(compressed, uncompressed));
+        uncompressed.flip();
+
+        byte[] output = new byte[uncompressed.remaining()];
+        uncompressed.get(output);
+        Assert.assertArrayEquals(input, output);
+      }
+    }
+  }
+
+  /** a heap buffer that does not start at the beginning of its array */
+  private ByteBuffer allocate(int size) {
+    ByteBuffer buffer = ByteBuffer.allocate(size + 7);
+    buffer.position(7);
+    return buffer.slice();
+  }
+
+  @Test
+  public void testCompressionLevel() throws IOException {
+    ICompressor defaultCompressor = ICompressor.getCompressor(CompressionType.ZSTD, null);
+    Assert.assertEquals(3, ((ZstdCompressor) defaultCompressor).getLevel());
+    ICompressor compressor =
+        ICompressor.getCompressor(
+            CompressionType.ZSTD, Collections.singletonMap(ICompressor.COMPRESSION_LEVEL, "19"));
+    Assert.assertEquals(19, ((ZstdCompressor) compressor).getLevel());
+
+    byte[] input = sensorPage(10000);
+    byte[] compressed = compressor.compress(input);
+    Assert.assertTrue(compressed.length <= defaultCompressor.compress(input).length);
+    Assert.assertArrayEquals(input, new ZstdUnCompressor().uncompress(compressed));
+
+    Assert.assertTrue(ZstdCompressor.isValidLevel(19));
+    Assert.assertFalse(ZstdCompressor.isValidLevel(1000));
+  }
+}
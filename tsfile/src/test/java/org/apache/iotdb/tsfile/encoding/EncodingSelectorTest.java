@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding;
+
+import org.apache.iotdb.tsfile.encoding.encoder.EncodingSelector;
+import org.apache.iotdb.tsfile.encoding.encoder.EncodingSelector.SampleWriter;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EncodingSelectorTest {
+
+  private static final int POINT_NUM = 1024;
+
+  @Test
+  public void testCounter() throws IOException {
+    long[] values = new long[POINT_NUM];
+    for (int i = 0; i < POINT_NUM; i++) {
+      values[i] = 1_000_000L + i * 10L;
+    }
+    assertEquals(
+        TSEncoding.TS_2DIFF,
+        EncodingSelector.select(TSDataType.INT64, TSEncoding.PLAIN, longWriter(values)));
+  }
+
+  @Test
+  public void testFlatValues() throws IOException {
+    int[] values = new int[POINT_NUM];
+    for (int i = 0; i < POINT_NUM; i++) {
+      values[i] = i < POINT_NUM / 2 ? 7 : 8;
+    }
+    TSEncoding selected =
+        EncodingSelector.select(TSDataType.INT32, TSEncoding.PLAIN, intWriter(values));
+    assertTrue(selected == TSEncoding.RLE || selected == TSEncoding.TS_2DIFF);
+    // an encoding that is already compact enough is kept
+    assertEquals(selected, EncodingSelector.select(TSDataType.INT32, selected, intWriter(values)));
+  }
+
+  @Test
+  public void testNoisyDouble() throws IOException {
+    Random random = new Random(0);
+    double[] values = new double[POINT_NUM];
+    double value = 20.0;
+    for (int i = 0; i < POINT_NUM; i++) {
+      // a slowly changing reading with a few significant digits
+      value += (random.nextInt(11) - 5) / 100.0;
+      values[i] = value;
+    }
+    assertEquals(
+        TSEncoding.GORILLA,
+        EncodingSelector.select(TSDataType.DOUBLE, TSEncoding.PLAIN, doubleWriter(values)));
+  }
+
+  @Test
+  public void testLossyEncodingKept() throws IOException {
+    // RLE and TS_2DIFF of floating numbers keep a precision chosen by the user
+    assertTrue(EncodingSelector.getCandidates(TSDataType.FLOAT, TSEncoding.RLE).isEmpty());
+    assertTrue(EncodingSelector.getCandidates(TSDataType.DOUBLE, TSEncoding.TS_2DIFF).isEmpty());
+    assertTrue(EncodingSelector.getCandidates(TSDataType.TEXT, TSEncoding.PLAIN).isEmpty());
+    assertEquals(
+        TSEncoding.RLE,
+        EncodingSelector.select(
+            TSDataType.FLOAT,
+            TSEncoding.RLE,
+            (encoder, out) -> {
+              throw new AssertionError("the sample should not be encoded");
+            }));
+  }
+
+  private SampleWriter intWriter(int[] values) {
+    return (encoder, out) -> {
+      for (int value : values) {
+        encoder.encode(value, out);
+      }
+    };
+  }
+
+  private SampleWriter longWriter(long[] values) {
+    return (encoder, out) -> {
+      for (long value : values) {
+        encoder.encode(value, out);
+      }
+    };
+  }
+
+  private SampleWriter doubleWriter(double[] values) {
+    return (encoder, out) -> {
+      for (double value : values) {
+        encoder.encode(value, out);
+      }
+    };
+  }
+}
@@ -19,11 +19,14 @@
 
 package org.apache.iotdb.tsfile.encoding.bitpacking;
 
+import org.apache.iotdb.tsfile.utils.BytesUtils;
+
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class IntPackerTest {
@@ -76,4 +79,35 @@ public class IntPackerTest {
       }
     }
   }
+
+  @Test
+  public void testAllWidths() {
+    Random rand = new Random(0);
+    int num = 1000;
+    for (int width = 0; width <= 32; width++) {
+      int[] values = new int[num];
+      for (int i = 0; i < num; i++) {
+        values[i] = width == 0 ? 0 : rand.nextInt() >>> (32 - width);
+      }
+      // odd numbers of values are not aligned to bytes or groups of 8 values
+      for (int count : new int[] {num, num - 1, 7, 1}) {
+        byte[] expected = new byte[(count * width + 7) / 8];
+        for (int i = 0; i < count; i++) {
+          BytesUtils.intToBytes(values[i], expected, i * width, width);
+        }
+        byte[] buf = new byte[expected.length];
+        IntPacker.packValues(values, 0, count, width, buf);
+        assertArrayEquals(expected, buf);
+
+        // decode from an offset of a larger array
+        byte[] shifted = new byte[buf.length + 3];
+        System.arraycopy(buf, 0, shifted, 3, buf.length);
+        int[] decoded = new int[count + 2];
+        IntPacker.unpackValues(shifted, 3, width, decoded, 2, count);
+        for (int i = 0; i < count; i++) {
+          assertEquals(values[i], decoded[i + 2]);
+        }
+      }
+    }
+  }
 }
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import org.apache.iotdb.tsfile.encoding.encoder.FsstEncoder;
+import org.apache.iotdb.tsfile.utils.Binary;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FsstDecoderTest {
+  private FsstEncoder encoder = new FsstEncoder(Integer.MAX_VALUE);
+  private FsstDecoder decoder = new FsstDecoder();
+
+  @Test
+  public void testSingle() {
+    testAll("a");
+    testAll("");
+    testAll("root.sg.d1.s1");
+  }
+
+  @Test
+  public void testSharedPrefix() {
+    testAll("abc", "abcd", "abd", "", "abd", "b", "bcdefgh", "bcdefgh");
+  }
+
+  @Test
+  public void testMixed() {
+    // all characters
+    String[] allChars = new String[256];
+    for (int i = 0; i < 256; i++) {
+      allChars[i] = "" + (char) (i) + (char) (i) + (char) (i);
+    }
+    testAll(allChars);
+    testAll(generateLogs(1000, 0).toArray(new String[0]));
+  }
+
+  @Test
+  public void testMultiplePages() {
+    List<String> logs = generateLogs(3000, 1);
+    for (int i = 0; i < logs.size(); i += 1000) {
+      testAll(logs.subList(i, i + 1000).toArray(new String[0]));
+    }
+  }
+
+  @Test
+  public void testReadIfIn() {
+    List<String> logs = generateLogs(1000, 2);
+    Set<Binary> targets =
+        new HashSet<>(
+            Arrays.asList(
+                new Binary(logs.get(10)),
+                new Binary(logs.get(500)),
+                new Binary("a value that does not exist"),
+                new Binary("")));
+    ByteBuffer buffer = encode(logs);
+    decoder.reset();
+    for (String log : logs) {
+      assertTrue(decoder.hasNext(buffer));
+      Binary value = decoder.readBinaryIfIn(buffer, targets);
+      if (targets.contains(new Binary(log))) {
+        assertEquals(log, value.getStringValue());
+      } else {
+        assertNull(value);
+      }
+    }
+    assertFalse(decoder.hasNext(buffer));
+
+    // reading and matching can be mixed
+    buffer = encode(logs);
+    decoder.reset();
+    for (int i = 0; i < logs.size(); i++) {
+      if (i % 3 == 0) {
+        assertEquals(logs.get(i), decoder.readBinary(buffer).getStringValue());
+      } else {
+        Binary value = decoder.readBinaryIfIn(buffer, targets);
+        assertEquals(targets.contains(new Binary(logs.get(i))), value != null);
+      }
+    }
+  }
+
+  @Test
+  public void testReadBinaries() {
+    List<String> logs = generateLogs(1000, 3);
+    ByteBuffer buffer = encode(logs);
+    decoder.reset();
+    List<Binary> decoded = new ArrayList<>();
+    Binary[] values = new Binary[64];
+    while (decoder.hasNext(buffer)) {
+      int num = decoder.readBinaries(buffer, values);
+      decoded.addAll(Arrays.asList(values).subList(0, num));
+      // batch reads can be mixed with single reads
+      if (decoder.hasNext(buffer)) {
+        decoded.add(decoder.readBinary(buffer));
+      }
+    }
+    // the decoded values are not changed by decoding the later ones
+    assertEquals(logs.size(), decoded.size());
+    for (int i = 0; i < logs.size(); i++) {
+      assertEquals(logs.get(i), decoded.get(i).getStringValue());
+    }
+  }
+
+  /** Generate log-like strings, which share prefixes and substrings with each other. */
+  private static List<String> generateLogs(int num, int seed) {
+    Random random = new Random(seed);
+    String[] levels = {"INFO", "WARN", "ERROR"};
+    String[] modules = {"StorageEngine", "MemTableFlushTask", "CompactionTaskManager"};
+    List<String> logs = new ArrayList<>(num);
+    for (int i = 0; i < num; i++) {
+      logs.add(
+          String.format(
+              "2021-06-%02d 10:%02d:%02d,%03d %s [pool-%d-thread-%d] %s: device root.sg.d%d is %s",
+              1 + i / 500,
+              i / 60 % 60,
+              i % 60,
+              random.nextInt(1000),
+              levels[random.nextInt(levels.length)],
+              random.nextInt(3),
+              random.nextInt(8),
+              modules[random.nextInt(modules.length)],
+              random.nextInt(100),
+              random.nextBoolean() ? "online" : "offline"));
+    }
+    return logs;
+  }
+
+  private ByteBuffer encode(List<String> values) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    for (String s : values) {
+      encoder.encode(new Binary(s), baos);
+    }
+    encoder.flush(baos);
+    return ByteBuffer.wrap(baos.toByteArray());
+  }
+
+  private void testAll(String... all) {
+    ByteBuffer out = encode(Arrays.asList(all));
+    decoder.reset();
+    for (String s : all) {
+      assertTrue(decoder.hasNext(out));
+      assertEquals(s, decoder.readBinary(out).getStringValue());
+    }
+    assertFalse(decoder.hasNext(out));
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.iotdb.tsfile.encoding.decoder.delta;
 
 import org.apache.iotdb.tsfile.encoding.decoder.DeltaBinaryDecoder;
 import org.apache.iotdb.tsfile.encoding.encoder.DeltaBinaryEncoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -39,6 +40,7 @@ import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 public class DeltaBinaryEncoderLongTest {
 
@@ -159,6 +161,73 @@ public class DeltaBinaryEncoderLongTest {
     shouldReadAndWrite(data, ROW_NUM);
   }
 
+  @Test
+  public void testSkipTimestamps() throws IOException {
+    ROW_NUM = 10000;
+    long[] data = new long[ROW_NUM];
+    for (int i = 0; i < ROW_NUM; i++) {
+      data[i] = i == 0 ? 1000 : data[i - 1] + 1 + ran.nextInt(10);
+    }
+    out = new ByteArrayOutputStream();
+    writeData(data, ROW_NUM);
+    byte[] page = out.toByteArray();
+
+    long[] times = {0, data[0], data[1], data[127], data[128] + 1, data[5000], data[ROW_NUM - 1]};
+    for (long time : times) {
+      buffer = ByteBuffer.wrap(page);
+      reader = new DeltaBinaryDecoder.LongDeltaDecoder();
+      int skipped =
+          ((DeltaBinaryDecoder.LongDeltaDecoder) reader).skipTimestampsBefore(time, buffer);
+      int expected = 0;
+      while (expected < ROW_NUM && data[expected] < time) {
+        expected++;
+      }
+      assertEquals(expected, skipped);
+      assertEquals(data[expected], reader.readLong(buffer));
+    }
+
+    // seek forward repeatedly in one page
+    buffer = ByteBuffer.wrap(page);
+    reader = new DeltaBinaryDecoder.LongDeltaDecoder();
+    int index = 0;
+    while (index < ROW_NUM - 1) {
+      int target = Math.min(ROW_NUM - 1, index + ran.nextInt(300));
+      index +=
+          ((DeltaBinaryDecoder.LongDeltaDecoder) reader).skipTimestampsBefore(data[target], buffer);
+      assertEquals(target, index);
+      assertEquals(data[index++], reader.readLong(buffer));
+    }
+    buffer = ByteBuffer.wrap(page);
+    reader = new DeltaBinaryDecoder.LongDeltaDecoder();
+    assertEquals(
+        ROW_NUM,
+        ((DeltaBinaryDecoder.LongDeltaDecoder) reader)
+            .skipTimestampsBefore(data[ROW_NUM - 1] + 1, buffer));
+    assertFalse(reader.hasNext(buffer));
+  }
+
+  @Test
+  public void testSkip() throws IOException {
+    ROW_NUM = 10000;
+    long[] data = new long[ROW_NUM];
+    for (int i = 0; i < ROW_NUM; i++) {
+      data[i] = ran.nextLong();
+    }
+    out = new ByteArrayOutputStream();
+    writeData(data, ROW_NUM);
+    buffer = ByteBuffer.wrap(out.toByteArray());
+    int index = 0;
+    while (index < ROW_NUM) {
+      int num = Math.min(ROW_NUM - index, ran.nextInt(300));
+      reader.skip(TSDataType.INT64, num, buffer);
+      index += num;
+      if (index < ROW_NUM) {
+        assertEquals(data[index++], reader.readLong(buffer));
+      }
+    }
+    assertFalse(reader.hasNext(buffer));
+  }
+
   private List<String> getBetweenDate(String start, String end) {
     List<String> list = new ArrayList<>();
     LocalDate startDate = LocalDate.parse(start);
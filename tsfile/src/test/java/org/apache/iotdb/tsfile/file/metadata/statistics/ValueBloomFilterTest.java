@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.file.metadata.statistics;
+
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.ReadOnlyTsFile;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.SingleSeriesExpression;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.FileGenerator;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.FloatDataPoint;
+import org.apache.iotdb.tsfile.write.record.datapoint.IntDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class ValueBloomFilterTest {
+
+  @Test
+  public void testMightContain() {
+    ValueBloomFilter filter = ValueBloomFilter.getEmptyFilter(TSDataType.INT64, 256);
+    for (long i = 0; i < 100; i++) {
+      filter.add(i * 7);
+    }
+    int falsePositiveNum = 0;
+    for (long i = 0; i < 700; i++) {
+      if (i % 7 == 0) {
+        Assert.assertTrue(filter.mightContain(i));
+      } else if (filter.mightContain(i)) {
+        falsePositiveNum++;
+      }
+    }
+    Assert.assertTrue(falsePositiveNum < 600 * 0.05);
+    // a value of another type is not judged
+    Assert.assertTrue(filter.mightContain(3));
+    Assert.assertTrue(filter.mightContain("3"));
+  }
+
+  @Test
+  public void testCompact() throws IOException {
+    // a few distinct values get a small filter
+    ValueBloomFilter filter = ValueBloomFilter.getEmptyFilter(TSDataType.TEXT, 1024);
+    Assert.assertEquals(8192, filter.getBitNum());
+    for (int i = 0; i < 1000; i++) {
+      filter.add(new Binary("status" + i % 5));
+    }
+    Assert.assertTrue(filter.compact());
+    Assert.assertTrue(filter.getBitNum() <= 128);
+    for (int i = 0; i < 5; i++) {
+      Assert.assertTrue(filter.mightContain(new Binary("status" + i)));
+    }
+
+    PublicBAOS out = new PublicBAOS();
+    Assert.assertEquals(4 + filter.getBitNum() / 8, filter.serializeTo(out));
+    ValueBloomFilter deserialized =
+        ValueBloomFilter.deserializeFrom(
+            ByteBuffer.wrap(out.getBuf(), 0, out.size()), TSDataType.TEXT);
+    Assert.assertEquals(filter, deserialized);
+
+    // a filter of too many distinct values is dropped
+    filter = ValueBloomFilter.getEmptyFilter(TSDataType.DOUBLE, 64);
+    for (int i = 0; i < 1000; i++) {
+      filter.add(i * 0.5);
+    }
+    Assert.assertFalse(filter.compact());
+
+    Assert.assertNull(ValueBloomFilter.getEmptyFilter(TSDataType.BOOLEAN, 64));
+    Assert.assertNull(ValueBloomFilter.getEmptyFilter(TSDataType.INT32, 0));
+  }
+
+  @Test
+  public void testStatisticsUpdate() {
+    Statistics<?> statistics = Statistics.getStatsByType(TSDataType.INT32);
+    statistics.update(1, 1);
+    ValueBloomFilter filter = ValueBloomFilter.getEmptyFilter(TSDataType.INT32, 64);
+    filter.add(1);
+    statistics.setValueBloomFilter(filter);
+    Assert.assertTrue(statistics.mayContainValue(1));
+    Assert.assertFalse(ValueFilter.eq(2).satisfy(statistics));
+    Assert.assertFalse(
+        ValueFilter.in(new HashSet<>(Arrays.asList(2, 3)), false).satisfy(statistics));
+    Assert.assertTrue(ValueFilter.in(Collections.singleton(2), true).satisfy(statistics));
+    // the filter no longer describes the values once the statistics are updated
+    statistics.update(2, 2);
+    Assert.assertNull(statistics.getValueBloomFilter());
+    Assert.assertTrue(ValueFilter.eq(2).satisfy(statistics));
+  }
+
+  @Test
+  public void testSkipChunks() throws Exception {
+    TSFileConfig config = TSFileDescriptor.getInstance().getConfig();
+    int valueBloomFilterSize = config.getValueBloomFilterSizeInByte();
+    File file = new File(FileGenerator.outputDataFile + ".bloom");
+    Path path = new Path("d1", "s1");
+    try {
+      config.setValueBloomFilterSizeInByte(256);
+      // 10 chunks of 100 points, the values of each chunk are in [0, 1000) but differ
+      try (TsFileWriter writer = new TsFileWriter(file)) {
+        writer.registerTimeseries(
+            path, new MeasurementSchema("s1", TSDataType.INT32, TSEncoding.RLE));
+        for (int chunk = 0; chunk < 10; chunk++) {
+          for (int i = 0; i < 100; i++) {
+            TSRecord record = new TSRecord(chunk * 100L + i, "d1");
+            record.addTuple(new IntDataPoint("s1", i * 10 + chunk));
+            writer.write(record);
+          }
+          writer.flushAllChunkGroups();
+        }
+      }
+
+      try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath())) {
+        List<ChunkMetadata> chunkMetadataList = reader.getChunkMetadataList(path);
+        Assert.assertEquals(10, chunkMetadataList.size());
+        Filter filter = ValueFilter.eq(503);
+        int satisfiedChunkNum = 0;
+        for (ChunkMetadata chunkMetadata : chunkMetadataList) {
+          Assert.assertNotNull(chunkMetadata.getStatistics().getValueBloomFilter());
+          if (filter.satisfy(chunkMetadata.getStatistics())) {
+            satisfiedChunkNum++;
+          }
+        }
+        // min and max can not tell, but the filters exclude (almost) all other chunks
+        Assert.assertTrue(filter.satisfy(chunkMetadataList.get(3).getStatistics()));
+        Assert.assertTrue(satisfiedChunkNum <= 2);
+
+        ReadOnlyTsFile tsFile = new ReadOnlyTsFile(reader);
+        QueryDataSet dataSet =
+            tsFile.query(
+                QueryExpression.create(
+                    Collections.singletonList(path), new SingleSeriesExpression(path, filter)));
+        Assert.assertTrue(dataSet.hasNext());
+        RowRecord record = dataSet.next();
+        Assert.assertEquals(350, record.getTimestamp());
+        Assert.assertFalse(dataSet.hasNext());
+      }
+    } finally {
+      config.setValueBloomFilterSizeInByte(valueBloomFilterSize);
+      Files.deleteIfExists(file.toPath());
+    }
+  }
+
+  @Test
+  public void testLossyFloatEncoding() throws Exception {
+    TSFileConfig config = TSFileDescriptor.getInstance().getConfig();
+    int valueBloomFilterSize = config.getValueBloomFilterSizeInByte();
+    File file = new File(FileGenerator.outputDataFile + ".bloom");
+    Path path = new Path("d1", "s1");
+    try {
+      // the values are read back rounded to the float precision
+      config.setValueBloomFilterSizeInByte(0);
+      List<Long> expected = writeAndQueryFloats(file, path, ValueFilter.eq(1.23f));
+      Assert.assertEquals(Collections.singletonList(1L), expected);
+
+      config.setValueBloomFilterSizeInByte(1024);
+      Assert.assertEquals(expected, writeAndQueryFloats(file, path, ValueFilter.eq(1.23f)));
+    } finally {
+      config.setValueBloomFilterSizeInByte(valueBloomFilterSize);
+      Files.deleteIfExists(file.toPath());
+    }
+  }
+
+  private List<Long> writeAndQueryFloats(File file, Path path, Filter filter) throws Exception {
+    Files.deleteIfExists(file.toPath());
+    try (TsFileWriter writer = new TsFileWriter(file)) {
+      writer.registerTimeseries(
+          path, new MeasurementSchema("s1", TSDataType.FLOAT, TSEncoding.RLE));
+      float[] values = {1.0f, 1.2345f, 2.0f};
+      for (int i = 0; i < values.length; i++) {
+        TSRecord record = new TSRecord(i, "d1");
+        record.addTuple(new FloatDataPoint("s1", values[i]));
+        writer.write(record);
+      }
+    }
+
+    List<Long> times = new ArrayList<>();
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath())) {
+      ReadOnlyTsFile tsFile = new ReadOnlyTsFile(reader);
+      QueryDataSet dataSet =
+          tsFile.query(
+              QueryExpression.create(
+                  Collections.singletonList(path), new SingleSeriesExpression(path, filter)));
+      while (dataSet.hasNext()) {
+        times.add(dataSet.next().getTimestamp());
+      }
+    }
+    return times;
+  }
+}
@@ -20,25 +20,43 @@
 package org.apache.iotdb.tsfile.read;
 
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.file.MetaMarker;
 import org.apache.iotdb.tsfile.file.header.ChunkGroupHeader;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
 import org.apache.iotdb.tsfile.utils.FileGenerator;
 import org.apache.iotdb.tsfile.utils.Pair;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class TsFileSequenceReaderTest {
 
@@ -125,4 +143,104 @@ public class TsFileSequenceReaderTest {
     Assert.assertTrue(reader.readChunkMetadataInDevice("d3").isEmpty());
     reader.close();
   }
+
+  @Test
+  public void testReadChunkLazily() throws Exception {
+    TSFileConfig config = TSFileDescriptor.getInstance().getConfig();
+    int maxNumberOfPointsInPage = config.getMaxNumberOfPointsInPage();
+    int lazyChunkReadThreshold = config.getLazyChunkReadThresholdInByte();
+    File file = new File(FILE_PATH + ".lazy");
+    try {
+      // one chunk of 100 pages
+      config.setMaxNumberOfPointsInPage(100);
+      config.setLazyChunkReadThresholdInByte(1);
+      try (TsFileWriter writer = new TsFileWriter(file)) {
+        writer.registerTimeseries(
+            new Path("d1", "s1"), new MeasurementSchema("s1", TSDataType.INT64, TSEncoding.RLE));
+        for (long time = 0; time < 10000; time++) {
+          TSRecord record = new TSRecord(time, "d1");
+          record.addTuple(new LongDataPoint("s1", time * 2));
+          writer.write(record);
+        }
+      }
+
+      try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath())) {
+        ChunkMetadata chunkMetadata = reader.getChunkMetadataList(new Path("d1", "s1")).get(0);
+        Chunk wholeChunk = reader.readMemChunk(chunkMetadata);
+
+        // the pages of [4950, 5249] are read together
+        Filter filter = FilterFactory.and(TimeFilter.gtEq(5000L), TimeFilter.lt(5200L));
+        Chunk chunk = reader.readMemChunk(chunkMetadata, filter);
+        Assert.assertTrue(chunk.getData().remaining() < wholeChunk.getData().remaining() / 10);
+        long expectedTime = 5000;
+        ChunkReader chunkReader = new ChunkReader(chunk, filter);
+        while (chunkReader.hasNextSatisfiedPage()) {
+          BatchData batchData = chunkReader.nextPageData();
+          while (batchData.hasCurrent()) {
+            Assert.assertEquals(expectedTime, batchData.currentTime());
+            Assert.assertEquals(expectedTime * 2, batchData.getLong());
+            expectedTime++;
+            batchData.next();
+          }
+        }
+        Assert.assertEquals(5200, expectedTime);
+
+        // no page satisfies the filter
+        chunk = reader.readMemChunk(chunkMetadata, TimeFilter.gt(20000L));
+        Assert.assertEquals(0, chunk.getData().remaining());
+
+        // the whole chunk is read without a filter
+        chunk = reader.readMemChunk(chunkMetadata, null);
+        Assert.assertEquals(chunk.getHeader().getDataSize(), chunk.getData().remaining());
+      }
+    } finally {
+      config.setMaxNumberOfPointsInPage(maxNumberOfPointsInPage);
+      config.setLazyChunkReadThresholdInByte(lazyChunkReadThreshold);
+      Files.deleteIfExists(file.toPath());
+    }
+  }
+
+  @Test
+  public void testReadChunksAsync() throws Exception {
+    TSFileConfig config = TSFileDescriptor.getInstance().getConfig();
+    int maxCoalescedReadSize = config.getMaxCoalescedReadSizeInByte();
+    int lazyChunkReadThreshold = config.getLazyChunkReadThresholdInByte();
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(FILE_PATH)) {
+      List<ChunkMetadata> chunkMetadataList = new ArrayList<>();
+      for (List<ChunkMetadata> list : reader.readChunkMetadataInDevice("d2").values()) {
+        chunkMetadataList.addAll(list);
+      }
+      // out of order, and a chunk is asked for twice
+      Collections.reverse(chunkMetadataList);
+      chunkMetadataList.add(chunkMetadataList.get(0));
+
+      // all the chunks are read together, each one separately, and a few of them together
+      for (int coalescedReadSize : new int[] {maxCoalescedReadSize, 0, 100}) {
+        config.setMaxCoalescedReadSizeInByte(coalescedReadSize);
+        List<CompletableFuture<Chunk>> futures = reader.readMemChunksAsync(chunkMetadataList);
+        Assert.assertEquals(chunkMetadataList.size(), futures.size());
+        for (int i = 0; i < chunkMetadataList.size(); i++) {
+          Chunk expected = reader.readMemChunk(chunkMetadataList.get(i));
+          Chunk chunk = futures.get(i).get();
+          Assert.assertEquals(
+              expected.getHeader().getMeasurementID(), chunk.getHeader().getMeasurementID());
+          Assert.assertEquals(expected.getHeader().getDataSize(), chunk.getHeader().getDataSize());
+          Assert.assertEquals(expected.getData(), chunk.getData());
+          Assert.assertSame(chunkMetadataList.get(i).getStatistics(), chunk.getChunkStatistic());
+        }
+      }
+
+      // the chunks not smaller than the threshold of lazy reads are not read ahead
+      config.setLazyChunkReadThresholdInByte(1);
+      for (int coalescedReadSize : new int[] {maxCoalescedReadSize, 0}) {
+        config.setMaxCoalescedReadSizeInByte(coalescedReadSize);
+        for (CompletableFuture<Chunk> future : reader.readMemChunksAsync(chunkMetadataList)) {
+          Assert.assertNull(future.get());
+        }
+      }
+    } finally {
+      config.setMaxCoalescedReadSizeInByte(maxCoalescedReadSize);
+      config.setLazyChunkReadThresholdInByte(lazyChunkReadThreshold);
+    }
+  }
 }
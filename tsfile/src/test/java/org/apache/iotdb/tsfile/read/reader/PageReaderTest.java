@@ -21,6 +21,8 @@ package org.apache.iotdb.tsfile.read.reader;
 import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
 import org.apache.iotdb.tsfile.encoding.decoder.DeltaBinaryDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.DoublePrecisionDecoderV1;
+import org.apache.iotdb.tsfile.encoding.decoder.FrontCodingDecoder;
+import org.apache.iotdb.tsfile.encoding.decoder.FsstDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.IntRleDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.LongRleDecoder;
 import org.apache.iotdb.tsfile.encoding.decoder.PlainDecoder;
@@ -28,6 +30,8 @@ import org.apache.iotdb.tsfile.encoding.decoder.SinglePrecisionDecoderV1;
 import org.apache.iotdb.tsfile.encoding.encoder.DeltaBinaryEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.DoublePrecisionEncoderV1;
 import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.FrontCodingEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.FsstEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.IntRleEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.LongRleEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.PlainEncoder;
@@ -35,6 +39,10 @@ import org.apache.iotdb.tsfile.encoding.encoder.SinglePrecisionEncoderV1;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 import org.apache.iotdb.tsfile.read.reader.page.PageReader;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.write.page.PageWriter;
@@ -45,6 +53,8 @@ import org.junit.Test;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
 public class PageReaderTest {
@@ -312,4 +322,131 @@ public class PageReaderTest {
         };
     test.testDelete(TSDataType.INT64);
   }
+
+  @Test
+  public void testTextFilter() throws IOException {
+    testTextFilter(new FrontCodingEncoder(1000), new FrontCodingDecoder());
+    testTextFilter(new FsstEncoder(1000), new FsstDecoder());
+    testTextFilter(new PlainEncoder(TSDataType.TEXT, 1000), new PlainDecoder());
+  }
+
+  private void testTextFilter(Encoder encoder, Decoder decoder) throws IOException {
+    PageWriter pageWriter = new PageWriter();
+    pageWriter.setTimeEncoder(new DeltaBinaryEncoder.LongDeltaEncoder());
+    pageWriter.setValueEncoder(encoder);
+    pageWriter.initStatistics(TSDataType.TEXT);
+    for (int i = 0; i < 1000; i++) {
+      pageWriter.write(i, new Binary("device" + i % 10 + " is online"));
+    }
+    Binary value3 = new Binary("device3 is online");
+    Binary value5 = new Binary("device5 is online");
+    Filter[] filters = {
+      ValueFilter.eq(value3),
+      ValueFilter.in(new HashSet<>(Arrays.asList(value3, value5)), false),
+      FilterFactory.and(TimeFilter.lt(500), ValueFilter.eq(value5)),
+      FilterFactory.or(ValueFilter.eq(value3), ValueFilter.eq(new Binary("device"))),
+      ValueFilter.in(new HashSet<>(Arrays.asList(value3, value5)), true),
+      // the values are decoded in batches without a value filter
+      TimeFilter.lt(500),
+      TimeFilter.gtEq(900)
+    };
+    int[] expectedCounts = {100, 200, 50, 100, 800, 500, 100};
+    for (int i = 0; i < filters.length; i++) {
+      decoder.reset();
+      ByteBuffer page = ByteBuffer.wrap(pageWriter.getUncompressedBytes().array());
+      PageReader pageReader =
+          new PageReader(
+              page,
+              TSDataType.TEXT,
+              decoder,
+              new DeltaBinaryDecoder.LongDeltaDecoder(),
+              filters[i]);
+      BatchData data = pageReader.getAllSatisfiedPageData();
+      int count = 0;
+      while (data.hasCurrent()) {
+        Assert.assertTrue(filters[i].satisfy(data.currentTime(), data.currentValue()));
+        Assert.assertEquals(
+            new Binary("device" + data.currentTime() % 10 + " is online"), data.currentValue());
+        data.next();
+        count++;
+      }
+      Assert.assertEquals(expectedCounts[i], count);
+    }
+  }
+
+  @Test
+  public void testTimeFilter() throws IOException {
+    testTimeFilter(
+        TSDataType.INT64,
+        new DeltaBinaryEncoder.LongDeltaEncoder(),
+        new DeltaBinaryDecoder.LongDeltaDecoder());
+    testTimeFilter(TSDataType.DOUBLE, new PlainEncoder(TSDataType.DOUBLE, 0), new PlainDecoder());
+    testTimeFilter(TSDataType.TEXT, new PlainEncoder(TSDataType.TEXT, 0), new PlainDecoder());
+    testTimeFilter(TSDataType.INT32, new IntRleEncoder(), new IntRleDecoder());
+  }
+
+  private void testTimeFilter(TSDataType dataType, Encoder encoder, Decoder decoder)
+      throws IOException {
+    PageWriter pageWriter = new PageWriter();
+    pageWriter.setTimeEncoder(new DeltaBinaryEncoder.LongDeltaEncoder());
+    pageWriter.setValueEncoder(encoder);
+    pageWriter.initStatistics(dataType);
+    // irregular intervals spanning several packs of the time encoding
+    for (long time = 0; time < 10000; time += 1 + time % 7) {
+      switch (dataType) {
+        case INT64:
+          pageWriter.write(time, (long) getValue(dataType, time));
+          break;
+        case DOUBLE:
+          pageWriter.write(time, (double) getValue(dataType, time));
+          break;
+        case TEXT:
+          pageWriter.write(time, (Binary) getValue(dataType, time));
+          break;
+        default:
+          pageWriter.write(time, (int) getValue(dataType, time));
+      }
+    }
+    Filter[] filters = {
+      TimeFilter.gtEq(5000L),
+      TimeFilter.gt(4999L),
+      TimeFilter.eq(7777L),
+      TimeFilter.eq(7778L),
+      FilterFactory.and(TimeFilter.gtEq(300L), TimeFilter.lt(700L)),
+      FilterFactory.or(TimeFilter.gt(9000L), TimeFilter.eq(8000L)),
+      TimeFilter.ltEq(100L),
+      TimeFilter.gtEq(20000L)
+    };
+    for (Filter filter : filters) {
+      decoder.reset();
+      ByteBuffer page = ByteBuffer.wrap(pageWriter.getUncompressedBytes().array());
+      PageReader pageReader =
+          new PageReader(
+              page, dataType, decoder, new DeltaBinaryDecoder.LongDeltaDecoder(), filter);
+      BatchData data = pageReader.getAllSatisfiedPageData();
+      for (long time = 0; time < 10000; time += 1 + time % 7) {
+        if (!filter.satisfy(time, null)) {
+          continue;
+        }
+        Assert.assertTrue(data.hasCurrent());
+        Assert.assertEquals(time, data.currentTime());
+        Assert.assertEquals(getValue(dataType, time), data.currentValue());
+        data.next();
+      }
+      Assert.assertFalse(data.hasCurrent());
+    }
+  }
+
+  private Object getValue(TSDataType dataType, long time) {
+    switch (dataType) {
+      case INT64:
+        return time * 3;
+      case DOUBLE:
+        return time * 3.0;
+      case TEXT:
+        return new Binary(String.valueOf(time * 3));
+      default:
+        return (int) time * 3;
+    }
+  }
 }
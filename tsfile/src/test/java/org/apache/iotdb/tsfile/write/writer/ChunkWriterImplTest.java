@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.write.writer;
+
+import org.apache.iotdb.tsfile.file.MetaMarker;
+import org.apache.iotdb.tsfile.file.header.ChunkHeader;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+import org.apache.iotdb.tsfile.write.chunk.ChunkWriterImpl;
+import org.apache.iotdb.tsfile.write.page.PageWriter;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+
+public class ChunkWriterImplTest {
+
+  private final MeasurementSchema schema =
+      new MeasurementSchema("s1", TSDataType.INT64, TSEncoding.RLE, CompressionType.SNAPPY);
+
+  @Test
+  public void testRawPageAfterEncodedPage() throws IOException {
+    ChunkWriterImpl chunkWriter = new ChunkWriterImpl(schema);
+    writePoints(chunkWriter, 0, 10);
+    writeRawPage(chunkWriter, 10, 20);
+    writeRawPage(chunkWriter, 20, 30);
+    writePoints(chunkWriter, 30, 40);
+    checkChunk(chunkWriter, 4, 40, null);
+  }
+
+  @Test
+  public void testEncodedPageAfterRawPage() throws IOException {
+    ChunkWriterImpl chunkWriter = new ChunkWriterImpl(schema);
+    writeRawPage(chunkWriter, 0, 10);
+    writePoints(chunkWriter, 10, 20);
+    checkChunk(chunkWriter, 2, 20, null);
+  }
+
+  @Test
+  public void testOnlyOneRawPage() throws IOException {
+    ChunkWriterImpl chunkWriter = new ChunkWriterImpl(schema);
+    // the statistics of a chunk with only one page are kept in the chunk metadata
+    PageHeader pageHeader = writeRawPage(chunkWriter, 0, 10);
+    checkChunk(chunkWriter, 1, 10, pageHeader.getStatistics());
+  }
+
+  private void writePoints(ChunkWriterImpl chunkWriter, long start, long end) {
+    for (long time = start; time < end; time++) {
+      chunkWriter.write(time, time * 2, false);
+    }
+  }
+
+  /** encode a page with a separate page writer, then append its bytes to the chunk writer */
+  private PageHeader writeRawPage(ChunkWriterImpl chunkWriter, long start, long end)
+      throws IOException {
+    PageWriter pageWriter = new PageWriter(schema);
+    for (long time = start; time < end; time++) {
+      pageWriter.write(time, time * 2);
+    }
+    PublicBAOS pageBuffer = new PublicBAOS();
+    pageWriter.writePageHeaderAndDataIntoBuff(pageBuffer, false);
+    ByteBuffer buffer = ByteBuffer.wrap(pageBuffer.getBuf(), 0, pageBuffer.size());
+    PageHeader pageHeader = PageHeader.deserializeFrom(buffer, TSDataType.INT64);
+    chunkWriter.writeRawPage(buffer.slice(), pageHeader);
+    return pageHeader;
+  }
+
+  private void checkChunk(
+      ChunkWriterImpl chunkWriter, int pageNum, long pointNum, Statistics<?> chunkStatistics)
+      throws IOException {
+    chunkWriter.sealCurrentPage();
+    assertEquals(pageNum, chunkWriter.getNumOfPages());
+
+    TestTsFileOutput testTsFileOutput = new TestTsFileOutput();
+    TsFileIOWriter writer = new TsFileIOWriter(testTsFileOutput, true);
+    chunkWriter.writeToFileWriter(writer);
+    PublicBAOS publicBAOS = testTsFileOutput.publicBAOS;
+    ByteArrayInputStream inputStream =
+        new ByteArrayInputStream(publicBAOS.getBuf(), 0, publicBAOS.size());
+    byte chunkType = ReadWriteIOUtils.readByte(inputStream);
+    assertEquals(
+        pageNum == 1 ? MetaMarker.ONLY_ONE_PAGE_CHUNK_HEADER : MetaMarker.CHUNK_HEADER,
+        (byte) (chunkType & 0x3F));
+    ChunkHeader chunkHeader = ChunkHeader.deserializeFrom(inputStream, chunkType);
+    byte[] chunkData = new byte[chunkHeader.getDataSize()];
+    assertEquals(chunkData.length, inputStream.read(chunkData));
+
+    Chunk chunk = new Chunk(chunkHeader, ByteBuffer.wrap(chunkData), null, chunkStatistics);
+    ChunkReader chunkReader = new ChunkReader(chunk, null);
+    long expectedTime = 0;
+    while (chunkReader.hasNextSatisfiedPage()) {
+      BatchData batchData = chunkReader.nextPageData();
+      while (batchData.hasCurrent()) {
+        assertEquals(expectedTime, batchData.currentTime());
+        assertEquals(expectedTime * 2, batchData.getLong());
+        expectedTime++;
+        batchData.next();
+      }
+    }
+    assertEquals(pointNum, expectedTime);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.write.writer;
+
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.constant.TestConstant;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.ReadOnlyTsFile;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.LongDataPoint;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingTsFileIOWriterTest {
+
+  private static final String FILE_PATH = TestConstant.BASE_OUTPUT_PATH.concat("streaming.tsfile");
+  private static final String EXPECTED_FILE_PATH =
+      TestConstant.BASE_OUTPUT_PATH.concat("expected.tsfile");
+  private static final int DEVICE_NUM = 12;
+  private static final int MEASUREMENT_NUM = 6;
+
+  private final TSFileConfig config = TSFileDescriptor.getInstance().getConfig();
+  private int maxDegreeOfIndexNode;
+
+  @Before
+  public void setUp() {
+    maxDegreeOfIndexNode = config.getMaxDegreeOfIndexNode();
+    // build several levels of index for both the devices and the measurements
+    config.setMaxDegreeOfIndexNode(3);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    config.setMaxDegreeOfIndexNode(maxDegreeOfIndexNode);
+    Files.deleteIfExists(new File(FILE_PATH).toPath());
+    Files.deleteIfExists(new File(EXPECTED_FILE_PATH).toPath());
+  }
+
+  @Test
+  public void testSameAsTsFileIOWriter() throws Exception {
+    File expectedFile = new File(EXPECTED_FILE_PATH);
+    File file = new File(FILE_PATH);
+    writeFile(new TsFileIOWriter(expectedFile));
+    // spill the chunk metadata of every chunk group
+    writeFile(new StreamingTsFileIOWriter(file, 1));
+
+    assertArrayEquals(Files.readAllBytes(expectedFile.toPath()), Files.readAllBytes(file.toPath()));
+    File[] leftFiles =
+        file.getParentFile()
+            .listFiles(
+                (dir, name) -> name.startsWith(file.getName()) && !name.equals(file.getName()));
+    assertTrue(leftFiles == null || leftFiles.length == 0);
+
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(FILE_PATH);
+        ReadOnlyTsFile tsFile = new ReadOnlyTsFile(reader)) {
+      assertEquals(DEVICE_NUM, reader.getAllDevices().size());
+      Path path = new Path("d11", "s5");
+      QueryDataSet dataSet =
+          tsFile.query(QueryExpression.create(Collections.singletonList(path), null));
+      long time = 0;
+      while (dataSet.hasNext()) {
+        RowRecord record = dataSet.next();
+        assertEquals(time, record.getTimestamp());
+        assertEquals(time * 11 + 5, record.getFields().get(0).getLongV());
+        time++;
+      }
+      assertEquals(300, time);
+      // a series with only one chunk
+      assertEquals(1, reader.getChunkMetadataList(new Path("d0", "s0")).size());
+      assertEquals(3, reader.getChunkMetadataList(new Path("d0", "s1")).size());
+    }
+  }
+
+  @Test
+  public void testAbort() throws Exception {
+    File file = new File(FILE_PATH);
+    StreamingTsFileIOWriter fileWriter = new StreamingTsFileIOWriter(file, 1);
+    TsFileWriter writer = new TsFileWriter(fileWriter);
+    writer.registerTimeseries(
+        new Path("d0", "s0"), new MeasurementSchema("s0", TSDataType.INT64, TSEncoding.RLE));
+    writer.write(new TSRecord(0, "d0").addTuple(new LongDataPoint("s0", 0)));
+    writer.flushAllChunkGroups();
+    fileWriter.close();
+    File[] leftFiles =
+        file.getParentFile()
+            .listFiles(
+                (dir, name) -> name.startsWith(file.getName()) && !name.equals(file.getName()));
+    assertFalse(leftFiles != null && leftFiles.length > 0);
+  }
+
+  /** 3 chunk groups of each device, where s0 of each device is only written in the first one */
+  private void writeFile(TsFileIOWriter fileWriter) throws Exception {
+    try (TsFileWriter writer = new TsFileWriter(fileWriter)) {
+      for (int d = 0; d < DEVICE_NUM; d++) {
+        for (int m = 0; m < MEASUREMENT_NUM; m++) {
+          writer.registerTimeseries(
+              new Path("d" + d, "s" + m),
+              new MeasurementSchema("s" + m, TSDataType.INT64, TSEncoding.RLE));
+        }
+      }
+      for (long time = 0; time < 300; time++) {
+        for (int d = 0; d < DEVICE_NUM; d++) {
+          TSRecord record = new TSRecord(time, "d" + d);
+          for (int m = time < 100 ? 0 : 1; m < MEASUREMENT_NUM; m++) {
+            record.addTuple(new LongDataPoint("s" + m, time * d + m));
+          }
+          writer.write(record);
+        }
+        if (time % 100 == 99) {
+          writer.flushAllChunkGroups();
+        }
+      }
+    }
+  }
+}